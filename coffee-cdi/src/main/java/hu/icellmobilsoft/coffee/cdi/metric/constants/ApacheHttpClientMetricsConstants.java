@@ -0,0 +1,93 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.cdi.metric.constants;
+
+/**
+ * Apache HTTP client connection pool metric constants
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public interface ApacheHttpClientMetricsConstants {
+
+    /**
+     * Apache HTTP client connection pool metrics tags
+     */
+    interface Tag {
+
+        /**
+         * key for the pooled client name
+         */
+        String COFFEE_APACHE_HTTP_CLIENT = "client";
+    }
+
+    /**
+     * Apache HTTP client connection pool metrics description
+     */
+    interface Description {
+
+        /**
+         * Leased connections
+         */
+        String COFFEE_APACHE_HTTP_POOL_LEASED_DESCRIPTION = "Number of connections in use";
+
+        /**
+         * Available connections
+         */
+        String COFFEE_APACHE_HTTP_POOL_AVAILABLE_DESCRIPTION = "Number of idle persistent connections";
+
+        /**
+         * Pending requests
+         */
+        String COFFEE_APACHE_HTTP_POOL_PENDING_DESCRIPTION = "Number of requests waiting for a connection";
+
+        /**
+         * Max connections
+         */
+        String COFFEE_APACHE_HTTP_POOL_MAX_DESCRIPTION = "Maximum number of connections in the pool";
+    }
+
+    /**
+     * Gauge constants
+     *
+     */
+    interface Gauge {
+
+        /**
+         * Leased connections
+         */
+        String COFFEE_APACHE_HTTP_POOL_LEASED = "coffee_apache_http_pool_leased";
+
+        /**
+         * Available connections
+         */
+        String COFFEE_APACHE_HTTP_POOL_AVAILABLE = "coffee_apache_http_pool_available";
+
+        /**
+         * Pending requests
+         */
+        String COFFEE_APACHE_HTTP_POOL_PENDING = "coffee_apache_http_pool_pending";
+
+        /**
+         * Max connections
+         */
+        String COFFEE_APACHE_HTTP_POOL_MAX = "coffee_apache_http_pool_max";
+    }
+}
@@ -0,0 +1,62 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.cdi.metric.constants;
+
+/**
+ * Asynchronous request/response log writer metric constants
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public interface AsyncLogMetricsConstants {
+
+    /**
+     * Asynchronous log writer metrics description
+     */
+    interface Description {
+
+        /**
+         * Queue size
+         */
+        String COFFEE_LOG_ASYNC_QUEUE_SIZE_DESCRIPTION = "Number of log records waiting for the writer";
+
+        /**
+         * Dropped records
+         */
+        String COFFEE_LOG_ASYNC_DROPPED_DESCRIPTION = "Number of log records dropped because of full queue";
+    }
+
+    /**
+     * Gauge constants
+     *
+     */
+    interface Gauge {
+
+        /**
+         * Queue size
+         */
+        String COFFEE_LOG_ASYNC_QUEUE_SIZE = "coffee_log_async_queue_size";
+
+        /**
+         * Dropped records
+         */
+        String COFFEE_LOG_ASYNC_DROPPED = "coffee_log_async_dropped";
+    }
+}
@@ -0,0 +1,92 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.cdi.metric.constants;
+
+/**
+ * Application configuration cache metric constants
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public interface ConfigurationCacheMetricsConstants {
+
+    /**
+     * Application configuration cache metrics description
+     */
+    interface Description {
+
+        /**
+         * Cache hits
+         */
+        String COFFEE_CONFIG_CACHE_HIT_DESCRIPTION = "Number of configuration lookups served from the cache";
+
+        /**
+         * Cache misses
+         */
+        String COFFEE_CONFIG_CACHE_MISS_DESCRIPTION = "Number of configuration lookups loading the value from the config sources";
+
+        /**
+         * Missing value lookups
+         */
+        String COFFEE_CONFIG_CACHE_MISSING_DESCRIPTION = "Number of configuration lookups of keys without value";
+
+        /**
+         * Average load time
+         */
+        String COFFEE_CONFIG_CACHE_LOAD_TIME_DESCRIPTION = "Average time of loading a value from the config sources in milliseconds";
+
+        /**
+         * Cache size
+         */
+        String COFFEE_CONFIG_CACHE_SIZE_DESCRIPTION = "Number of cached configuration keys, including the keys without value";
+    }
+
+    /**
+     * Gauge constants
+     *
+     */
+    interface Gauge {
+
+        /**
+         * Cache hits
+         */
+        String COFFEE_CONFIG_CACHE_HIT = "coffee_config_cache_hit";
+
+        /**
+         * Cache misses
+         */
+        String COFFEE_CONFIG_CACHE_MISS = "coffee_config_cache_miss";
+
+        /**
+         * Missing value lookups
+         */
+        String COFFEE_CONFIG_CACHE_MISSING = "coffee_config_cache_missing";
+
+        /**
+         * Average load time
+         */
+        String COFFEE_CONFIG_CACHE_LOAD_TIME = "coffee_config_cache_load_time";
+
+        /**
+         * Cache size
+         */
+        String COFFEE_CONFIG_CACHE_SIZE = "coffee_config_cache_size";
+    }
+}
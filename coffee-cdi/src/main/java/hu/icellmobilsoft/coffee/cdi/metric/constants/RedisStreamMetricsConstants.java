@@ -0,0 +1,87 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.cdi.metric.constants;
+
+/**
+ * Redis stream consumer metric constants
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public interface RedisStreamMetricsConstants {
+
+    /**
+     * Redis stream consumer metrics tags
+     */
+    interface Tag {
+
+        /**
+         * key for redis stream group
+         */
+        String COFFEE_REDISSTREAM_GROUP = "group";
+        /**
+         * key for redis stream consumer identifier
+         */
+        String COFFEE_REDISSTREAM_CONSUMER = "consumer";
+    }
+
+    /**
+     * Redis stream consumer metrics description
+     */
+    interface Description {
+
+        /**
+         * Consumer lag
+         */
+        String COFFEE_REDISSTREAM_CONSUMER_LAG_DESCRIPTION = "Age of the last consumed message in millis, 0 if the stream is drained";
+
+        /**
+         * Processed messages
+         */
+        String COFFEE_REDISSTREAM_CONSUMER_PROCESSED_DESCRIPTION = "Successfully processed message count";
+
+        /**
+         * Failed messages
+         */
+        String COFFEE_REDISSTREAM_CONSUMER_FAILED_DESCRIPTION = "Failed message count";
+    }
+
+    /**
+     * Gauge constants
+     *
+     */
+    interface Gauge {
+
+        /**
+         * Consumer lag
+         */
+        String COFFEE_REDISSTREAM_CONSUMER_LAG = "coffee_redisstream_consumer_lag";
+
+        /**
+         * Processed messages
+         */
+        String COFFEE_REDISSTREAM_CONSUMER_PROCESSED = "coffee_redisstream_consumer_processed";
+
+        /**
+         * Failed messages
+         */
+        String COFFEE_REDISSTREAM_CONSUMER_FAILED = "coffee_redisstream_consumer_failed";
+    }
+}
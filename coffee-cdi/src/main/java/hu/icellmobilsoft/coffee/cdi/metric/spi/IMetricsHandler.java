@@ -19,6 +19,8 @@
  */
 package hu.icellmobilsoft.coffee.cdi.metric.spi;
 
+import java.util.function.Supplier;
+
 import org.apache.commons.lang3.ClassUtils;
 
 import hu.icellmobilsoft.coffee.cdi.metric.MetricTag;
@@ -43,6 +45,37 @@ public interface IMetricsHandler {
      */
     Double searchGauge(String name, MetricTag... tags);
 
+    /**
+     * Registers gauge metric in metric registry. The value is read from the supplier on every metric collection.
+     *
+     * @param name
+     *            metric name
+     * @param description
+     *            metric description
+     * @param valueSupplier
+     *            method to return the current value of the gauge
+     * @param tags
+     *            metric tags
+     * @since 2.8.0
+     */
+    default void addGauge(String name, String description, Supplier<Number> valueSupplier, MetricTag... tags) {
+        // no metric registry by default
+    }
+
+    /**
+     * Removes gauge metric registered by {@link #addGauge(String, String, Supplier, MetricTag...)} from metric registry. Gauges of short lived
+     * components (e.g. tagged with an instance id) have to be removed at the end of the lifecycle of the component.
+     *
+     * @param name
+     *            metric name
+     * @param tags
+     *            metric tags, the same as on registration
+     * @since 2.8.0
+     */
+    default void removeGauge(String name, MetricTag... tags) {
+        // no metric registry by default
+    }
+
     /**
      * Metric implementation enum
      */
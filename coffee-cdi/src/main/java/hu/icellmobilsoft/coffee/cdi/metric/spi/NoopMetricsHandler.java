@@ -19,6 +19,8 @@
  */
 package hu.icellmobilsoft.coffee.cdi.metric.spi;
 
+import java.util.function.Supplier;
+
 import hu.icellmobilsoft.coffee.cdi.metric.MetricTag;
 
 /**
@@ -40,4 +42,14 @@ public class NoopMetricsHandler implements IMetricsHandler {
     public Double searchGauge(String name, MetricTag... tags) {
         return null;
     }
+
+    @Override
+    public void addGauge(String name, String description, Supplier<Number> valueSupplier, MetricTag... tags) {
+        // no metric
+    }
+
+    @Override
+    public void removeGauge(String name, MetricTag... tags) {
+        // no metric
+    }
 }
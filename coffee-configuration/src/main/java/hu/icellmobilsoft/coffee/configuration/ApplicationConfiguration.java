@@ -22,24 +22,59 @@ package hu.icellmobilsoft.coffee.configuration;
 import java.text.MessageFormat;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 
-import hu.icellmobilsoft.coffee.dto.exception.BONotFoundException;
+import hu.icellmobilsoft.coffee.cdi.metric.constants.ConfigurationCacheMetricsConstants;
+import hu.icellmobilsoft.coffee.cdi.metric.spi.IMetricsHandler;
 import hu.icellmobilsoft.coffee.se.logging.Logger;
 import hu.icellmobilsoft.coffee.tool.utils.string.StringHelper;
 
 /**
- * An application-level configuration collector that periodically (every {@value #CACHE_TIME_MINUTES} minutes)
+ * An application-level configuration collector that periodically (every {@value #CACHE_TIME_MINUTES} minutes by default)
  * retrieves settings from configuration sources or allows immediate refreshing of them.
+ * <p>
+ * After the refresh time the cached value is reloaded on a background thread, the callers get the previous value until the reload is
+ * finished. Values not used until the expire time are removed, then the next lookup loads the value on the calling thread. Keys without
+ * value are cached too, they are looked up again after the missing value TTL. The reload runs on the container
+ * {@link ManagedExecutorService}, if it is not available on an own pool of at most {@value #DEFAULT_REFRESH_MAX_THREADS} threads by
+ * default, stopped on destroy.
+ *
+ * <pre>
+ * coffee:
+ *   config:
+ *     cache:
+ *       refreshAfterWriteMinutes: 30 # default: 30
+ *       expireAfterWriteMinutes: 60 # default: 2 * refreshAfterWriteMinutes
+ *       missingValueTtlSeconds: 60 # default: 60
+ *       refreshMaxThreads: 2 # default: 2
+ * </pre>
+ *
+ * The cache registers the {@value ConfigurationCacheMetricsConstants.Gauge#COFFEE_CONFIG_CACHE_HIT},
+ * {@value ConfigurationCacheMetricsConstants.Gauge#COFFEE_CONFIG_CACHE_MISS},
+ * {@value ConfigurationCacheMetricsConstants.Gauge#COFFEE_CONFIG_CACHE_MISSING},
+ * {@value ConfigurationCacheMetricsConstants.Gauge#COFFEE_CONFIG_CACHE_LOAD_TIME} and
+ * {@value ConfigurationCacheMetricsConstants.Gauge#COFFEE_CONFIG_CACHE_SIZE} gauges.
  *
  * @author imre.scheffer
  * @since 1.0.0
@@ -50,6 +85,39 @@ public class ApplicationConfiguration {
     /** Constant <code>CACHE_TIME_MINUTES=30</code> */
     public static final int CACHE_TIME_MINUTES = 30;
 
+    /**
+     * Config key of the time after the cached value is reloaded in background, default {@value #CACHE_TIME_MINUTES}
+     */
+    public static final String REFRESH_AFTER_WRITE_MINUTES = "coffee.config.cache.refreshAfterWriteMinutes";
+
+    /**
+     * Config key of the time after the not used cached value is removed, default twice the refresh time
+     */
+    public static final String EXPIRE_AFTER_WRITE_MINUTES = "coffee.config.cache.expireAfterWriteMinutes";
+
+    /**
+     * Config key of the time while a key without value is not looked up again, default {@value #DEFAULT_MISSING_VALUE_TTL_SECONDS}
+     */
+    public static final String MISSING_VALUE_TTL_SECONDS = "coffee.config.cache.missingValueTtlSeconds";
+
+    /**
+     * Default missing value TTL
+     */
+    public static final int DEFAULT_MISSING_VALUE_TTL_SECONDS = 60;
+
+    /**
+     * Config key of the maximum number of own reload threads, used if there is no managed executor, default
+     * {@value #DEFAULT_REFRESH_MAX_THREADS}
+     */
+    public static final String REFRESH_MAX_THREADS = "coffee.config.cache.refreshMaxThreads";
+
+    /**
+     * Default maximum number of own reload threads
+     */
+    public static final int DEFAULT_REFRESH_MAX_THREADS = 2;
+
+    private static final long REFRESH_THREAD_KEEP_ALIVE_SECONDS = 60;
+
     /** Constant <code>ERROR_IN_GETTING_KEY=Error in getting configuration for key [{0}]: [{1}]</code> */
     public static final String ERROR_IN_GETTING_KEY = "Error in getting configuration for key [{0}]: [{1}]";
 
@@ -65,6 +133,22 @@ public class ApplicationConfiguration {
     @Inject
     private ConfigurationHelper configurationHelper;
 
+    @Inject
+    private IMetricsHandler metricsHandler;
+
+    @Resource
+    private ManagedExecutorService managedExecutorService;
+
+    private final AtomicLong missingValueCount = new AtomicLong();
+
+    private long missingValueTtlNanos;
+
+    private ExecutorService refreshExecutor;
+
+    private ExecutorService ownRefreshExecutor;
+
+    private LoadingCache<CompositeCacheLoaderKey, CachedValue> cache;
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -72,22 +156,73 @@ public class ApplicationConfiguration {
         super();
     }
 
-    private LoadingCache<CompositeCacheLoaderKey, Optional<?>> cache = CacheBuilder.newBuilder()
-            .expireAfterWrite(CACHE_TIME_MINUTES, TimeUnit.MINUTES).build(new CacheLoader<CompositeCacheLoaderKey, Optional<?>>() {
-                @SuppressWarnings("unchecked")
-                @Override
-                public Optional<?> load(CompositeCacheLoaderKey compositeCacheLoaderKey) throws Exception {
-                    Optional<?> optValue = configurationHelper.getConfigOptionalValue(compositeCacheLoaderKey.getKey(),
-                            compositeCacheLoaderKey.getValueClass());
-                    // if the value is missing or ETCD cluster failure happened
-                    if (optValue.isEmpty()) {
-                        String msg = MessageFormat.format(MSG_ETCD_VALUE_NOT_FOUND, compositeCacheLoaderKey.getKey(),
-                                compositeCacheLoaderKey.getValueClass());
-                        throw new BONotFoundException(msg);
+    /**
+     * Reads the cache config, creates the cache and registers the cache gauges
+     */
+    @PostConstruct
+    public void init() {
+        Config config = ConfigProvider.getConfig();
+        long refreshAfterWriteMinutes = Math.max(1,
+                config.getOptionalValue(REFRESH_AFTER_WRITE_MINUTES, Long.class).orElse((long) CACHE_TIME_MINUTES));
+        long expireAfterWriteMinutes = config.getOptionalValue(EXPIRE_AFTER_WRITE_MINUTES, Long.class).orElse(2 * refreshAfterWriteMinutes);
+        missingValueTtlNanos = TimeUnit.SECONDS
+                .toNanos(config.getOptionalValue(MISSING_VALUE_TTL_SECONDS, Long.class).orElse((long) DEFAULT_MISSING_VALUE_TTL_SECONDS));
+
+        refreshExecutor = managedExecutorService;
+        if (refreshExecutor == null) {
+            int refreshMaxThreads = Math.max(1, config.getOptionalValue(REFRESH_MAX_THREADS, Integer.class).orElse(DEFAULT_REFRESH_MAX_THREADS));
+            log.warn("ManagedExecutorService is not available, the configuration cache is reloaded in own pool of [{0}] unmanaged threads",
+                    refreshMaxThreads);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(refreshMaxThreads, refreshMaxThreads, REFRESH_THREAD_KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<>(), createPlatformThreadFactory());
+            executor.allowCoreThreadTimeOut(true);
+            ownRefreshExecutor = executor;
+            refreshExecutor = executor;
+        }
+        // the reload runs with the class loader of the application, as the lookup on the calling thread
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        cache = CacheBuilder.newBuilder()
+                .refreshAfterWrite(refreshAfterWriteMinutes, TimeUnit.MINUTES)
+                .expireAfterWrite(Math.max(expireAfterWriteMinutes, refreshAfterWriteMinutes), TimeUnit.MINUTES)
+                .recordStats()
+                .build(CacheLoader.asyncReloading(new CacheLoader<CompositeCacheLoaderKey, CachedValue>() {
+                    @Override
+                    public CachedValue load(CompositeCacheLoaderKey compositeCacheLoaderKey) throws Exception {
+                        return loadValue(compositeCacheLoaderKey);
                     }
-                    return optValue;
-                }
-            });
+                }, command -> refreshExecutor.execute(() -> runWithClassLoader(command, classLoader))));
+
+        metricsHandler.addGauge(ConfigurationCacheMetricsConstants.Gauge.COFFEE_CONFIG_CACHE_HIT,
+                ConfigurationCacheMetricsConstants.Description.COFFEE_CONFIG_CACHE_HIT_DESCRIPTION, () -> cache.stats().hitCount());
+        metricsHandler.addGauge(ConfigurationCacheMetricsConstants.Gauge.COFFEE_CONFIG_CACHE_MISS,
+                ConfigurationCacheMetricsConstants.Description.COFFEE_CONFIG_CACHE_MISS_DESCRIPTION, () -> cache.stats().missCount());
+        metricsHandler.addGauge(ConfigurationCacheMetricsConstants.Gauge.COFFEE_CONFIG_CACHE_MISSING,
+                ConfigurationCacheMetricsConstants.Description.COFFEE_CONFIG_CACHE_MISSING_DESCRIPTION, missingValueCount::get);
+        metricsHandler.addGauge(ConfigurationCacheMetricsConstants.Gauge.COFFEE_CONFIG_CACHE_LOAD_TIME,
+                ConfigurationCacheMetricsConstants.Description.COFFEE_CONFIG_CACHE_LOAD_TIME_DESCRIPTION,
+                () -> cache.stats().averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1));
+        metricsHandler.addGauge(ConfigurationCacheMetricsConstants.Gauge.COFFEE_CONFIG_CACHE_SIZE,
+                ConfigurationCacheMetricsConstants.Description.COFFEE_CONFIG_CACHE_SIZE_DESCRIPTION, cache::size);
+    }
+
+    /**
+     * Stops the own background reload threads, the managed executor is left to the container
+     */
+    @PreDestroy
+    public void destroy() {
+        if (ownRefreshExecutor != null) {
+            ownRefreshExecutor.shutdownNow();
+        }
+    }
+
+    private CachedValue loadValue(CompositeCacheLoaderKey compositeCacheLoaderKey) {
+        Optional<?> optValue = configurationHelper.getConfigOptionalValue(compositeCacheLoaderKey.getKey(), compositeCacheLoaderKey.getValueClass());
+        // if the value is missing or ETCD cluster failure happened, it is cached until the missing value TTL
+        if (optValue.isEmpty()) {
+            log.warn(MessageFormat.format(MSG_ETCD_VALUE_NOT_FOUND, compositeCacheLoaderKey.getKey(), compositeCacheLoaderKey.getValueClass()));
+        }
+        return new CachedValue(optValue, System.nanoTime());
+    }
 
     /**
      * Getting string value by key from application cache
@@ -254,17 +389,22 @@ public class ApplicationConfiguration {
             return Optional.empty();
         }
         try {
-            Optional<T> value = (Optional<T>) cache.get(new CompositeCacheLoaderKey(key, clazz));
+            CompositeCacheLoaderKey cacheKey = new CompositeCacheLoaderKey(key, clazz);
+            CachedValue cachedValue = cache.get(cacheKey);
+            Optional<T> value = (Optional<T>) cachedValue.value;
+            if (value.isEmpty()) {
+                missingValueCount.incrementAndGet();
+                if (System.nanoTime() - cachedValue.loadedNanos > missingValueTtlNanos) {
+                    // reloaded in background, the next lookup gets the new value
+                    cache.refresh(cacheKey);
+                }
+            }
             if (log.isTraceEnabled()) {
                 log.trace(MSG_ETCD_VALUE_FOR_KEY, key, StringHelper.maskPropertyValue(key, value));
             }
             return value;
         } catch (ExecutionException e) {
-            if (e.getCause() instanceof BONotFoundException) {
-                log.warn(e.getCause().getMessage());
-            } else {
-                log.error(MessageFormat.format(ERROR_IN_GETTING_KEY, key, e.getLocalizedMessage()), e);
-            }
+            log.error(MessageFormat.format(ERROR_IN_GETTING_KEY, key, e.getLocalizedMessage()), e);
         }
         return Optional.empty();
     }
@@ -275,4 +415,39 @@ public class ApplicationConfiguration {
     public void clear() {
         cache.invalidateAll();
     }
+
+    private static void runWithClassLoader(Runnable command, ClassLoader classLoader) {
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            command.run();
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    private static ThreadFactory createPlatformThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "coffee-config-refresh-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Cached value with its load time
+     */
+    private static final class CachedValue {
+
+        private final Optional<?> value;
+
+        private final long loadedNanos;
+
+        private CachedValue(Optional<?> value, long loadedNanos) {
+            this.value = value;
+            this.loadedNanos = loadedNanos;
+        }
+    }
 }
@@ -22,6 +22,7 @@ package hu.icellmobilsoft.coffee.configuration;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
@@ -38,6 +39,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import hu.icellmobilsoft.coffee.cdi.logger.AppLoggerImpl;
 import hu.icellmobilsoft.coffee.cdi.logger.LogContainer;
 import hu.icellmobilsoft.coffee.cdi.logger.LogProducer;
+import hu.icellmobilsoft.coffee.cdi.metric.spi.MetricsHandlerProducer;
 import hu.icellmobilsoft.coffee.tool.utils.string.RandomUtil;
 import io.smallrye.config.inject.ConfigExtension;
 
@@ -63,7 +65,7 @@ class ApplicationConfigurationTest {
     @WeldSetup
     public WeldInitiator weld = WeldInitiator
             .from(WeldInitiator.createWeld().addExtensions(ConfigExtension.class).addBeanClasses(LogContainer.class, AppLoggerImpl.class,
-                    LogProducer.class, ApplicationConfiguration.class, ConfigurationHelper.class))
+                    LogProducer.class, ApplicationConfiguration.class, ConfigurationHelper.class, MetricsHandlerProducer.class))
             .activate(RequestScoped.class).build();
 
     @Test
@@ -96,4 +98,43 @@ class ApplicationConfigurationTest {
         assertEquals(null, applicationConfiguration.getValue(TEST_CONFIG_KEY, String.class));
     }
 
+    @Test
+    @DisplayName("Test missing value is cached")
+    void missingValueCached() {
+        // given
+        String key = "coffee.test.missing." + RandomUtil.generateId();
+        assertEquals(Optional.empty(), applicationConfiguration.getOptionalString(key));
+        // when
+        String value = RandomUtil.generateId();
+        System.setProperty(key, value);
+        // then
+        assertEquals(Optional.empty(), applicationConfiguration.getOptionalString(key));
+        applicationConfiguration.clear();
+        assertEquals(value, applicationConfiguration.getString(key));
+    }
+
+    @Test
+    @DisplayName("Test missing value is reloaded in background after the missing value TTL")
+    void missingValueReloaded() throws InterruptedException {
+        System.setProperty(ApplicationConfiguration.MISSING_VALUE_TTL_SECONDS, "0");
+        try {
+            // given
+            String key = "coffee.test.missing." + RandomUtil.generateId();
+            assertEquals(Optional.empty(), applicationConfiguration.getOptionalString(key));
+            // when
+            String value = RandomUtil.generateId();
+            System.setProperty(key, value);
+            // then
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            String actual = applicationConfiguration.getString(key);
+            while (actual == null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+                actual = applicationConfiguration.getString(key);
+            }
+            assertEquals(value, actual);
+        } finally {
+            System.clearProperty(ApplicationConfiguration.MISSING_VALUE_TTL_SECONDS);
+        }
+    }
+
 }
@@ -46,6 +46,18 @@ public interface IGrpcMetricConstant {
          * Metric key of Coffee gRPC server communication: Request-Response durations in seconds
          */
         String METADATA_NAME_TIMER = "coffee_grpc_server_processing_duration_seconds";
+        /**
+         * Metric key of Coffee gRPC server thread pool: Count of rejected tasks
+         */
+        String METADATA_NAME_THREAD_POOL_REJECTED = "coffee_grpc_server_threadpool_rejected";
+        /**
+         * Metric key of Coffee gRPC server thread pool: Count of actively executing threads
+         */
+        String METADATA_NAME_THREAD_POOL_ACTIVE = "coffee_grpc_server_threadpool_active";
+        /**
+         * Metric key of Coffee gRPC server thread pool: Count of queued tasks
+         */
+        String METADATA_NAME_THREAD_POOL_QUEUE_SIZE = "coffee_grpc_server_threadpool_queue_size";
     }
 
     /**
@@ -23,13 +23,17 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.text.MessageFormat;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.annotation.Resource;
 import jakarta.enterprise.concurrent.ManagedExecutorService;
@@ -42,9 +46,11 @@ import jakarta.inject.Inject;
 
 import org.apache.commons.lang3.ArrayUtils;
 
+import hu.icellmobilsoft.coffee.cdi.metric.spi.IMetricsHandler;
 import hu.icellmobilsoft.coffee.grpc.api.service.IGrpcService;
 import hu.icellmobilsoft.coffee.grpc.metrics.api.IMetricsInterceptor;
 import hu.icellmobilsoft.coffee.grpc.metrics.api.ServerMetricsInterceptorQualifier;
+import hu.icellmobilsoft.coffee.grpc.metrics.api.constants.IGrpcMetricConstant;
 import hu.icellmobilsoft.coffee.grpc.server.config.GrpcServerConfig;
 import hu.icellmobilsoft.coffee.grpc.server.config.GrpcServerConnection;
 import hu.icellmobilsoft.coffee.grpc.server.config.IGrpcServerConfig;
@@ -54,6 +60,7 @@ import hu.icellmobilsoft.coffee.grpc.server.interceptor.ServerResponseIntercepto
 import hu.icellmobilsoft.coffee.grpc.traces.api.ServerTracesInterceptorQualifier;
 import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
 import hu.icellmobilsoft.coffee.se.logging.Logger;
+import hu.icellmobilsoft.coffee.tool.utils.concurrent.VirtualThreadUtil;
 import io.grpc.BindableService;
 import io.grpc.Server;
 import io.grpc.ServerBuilder;
@@ -80,6 +87,9 @@ public class GrpcServerManager {
     @GrpcServerConnection(configKey = IGrpcServerConfig.DEFAULT_SERVER_KEY)
     private GrpcServerConfig serverConfig;
 
+    @Inject
+    private IMetricsHandler metricsHandler;
+
     @Resource(lookup = "java:jboss/ee/concurrency/executor/grpc")
     private ManagedExecutorService managedExecutorService;
 
@@ -149,17 +159,40 @@ public class GrpcServerManager {
         if (serverConfig.isThreadPoolJakartaActive()) {
             serverBuilder.executor(managedExecutorService);
             log.info("gRPC server using Jakarta ManagedExecutorService.");
-        } else {
-            serverBuilder.executor(createThreadPool());
-            log.info("gRPC server using default ThreadPoolExecutor.");
+            return;
+        }
+        if (serverConfig.isThreadPoolVirtualActive()) {
+            Optional<ExecutorService> virtualExecutor = VirtualThreadUtil.newVirtualThreadPerTaskExecutor("grpc-server-");
+            if (virtualExecutor.isPresent()) {
+                serverBuilder.executor(virtualExecutor.get());
+                log.info("gRPC server using virtual threads.");
+                return;
+            }
+            log.warn("Virtual threads are not supported on this JDK, gRPC server falls back to default ThreadPoolExecutor.");
         }
+        serverBuilder.executor(createThreadPool());
+        log.info("gRPC server using default ThreadPoolExecutor.");
     }
 
     // simple executor to control server threads
     private Executor createThreadPool() throws BaseException {
         ThreadFactory threadFactory = Executors.defaultThreadFactory();
-        return new ThreadPoolExecutor(serverConfig.getThreadPoolCorePoolSize(), serverConfig.getThreadPoolMaximumPoolSize(),
-                serverConfig.getThreadPoolKeepAliveTime(), TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        AtomicLong rejectedCount = new AtomicLong();
+        // the pool grows over the core size only if the queue is full, so the queue has to be bounded
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(serverConfig.getThreadPoolCorePoolSize(), serverConfig.getThreadPoolMaximumPoolSize(),
+                serverConfig.getThreadPoolKeepAliveTime(), TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(serverConfig.getThreadPoolQueueSize()),
+                threadFactory, (task, executor) -> {
+                    rejectedCount.incrementAndGet();
+                    throw new RejectedExecutionException(
+                            MessageFormat.format("gRPC server thread pool is exhausted, active threads: [{0}], queued: [{1}]",
+                                    executor.getActiveCount(), executor.getQueue().size()));
+                });
+        metricsHandler.addGauge(IGrpcMetricConstant.Server.METADATA_NAME_THREAD_POOL_REJECTED, "Count of rejected gRPC calls", rejectedCount::get);
+        metricsHandler.addGauge(IGrpcMetricConstant.Server.METADATA_NAME_THREAD_POOL_ACTIVE, "Count of actively executing gRPC server threads",
+                threadPool::getActiveCount);
+        metricsHandler.addGauge(IGrpcMetricConstant.Server.METADATA_NAME_THREAD_POOL_QUEUE_SIZE, "Count of queued gRPC calls",
+                () -> threadPool.getQueue().size());
+        return threadPool;
     }
 
     /**
@@ -46,10 +46,13 @@ import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
  *       threadPool:
  *         jakarta:
  *           active: true  # default false, if true then coffee.grpc.server.threadpool.default is ignored
+ *         virtual:
+ *           active: true  # default false, if true and JDK 21+ then coffee.grpc.server.threadpool.default is ignored
  *         default:
  *           corePoolSize: 32 # default 32
  *           maximumPoolSize: 32 # default 32
  *           keepAliveTime: 0 # milliseconds, default 0
+ *           queueSize: 1000 # default 1000
  * </pre>
  *
  * @author czenczl
@@ -124,11 +127,21 @@ public class GrpcServerConfig implements IGrpcServerConfig {
      */
     public static final String THREAD_POOL_KEEP_ALIVE_TIME = "threadPool.default.keepAliveTime";
 
+    /**
+     * gRPC server thread pool {@value} config
+     */
+    public static final String THREAD_POOL_QUEUE_SIZE = "threadPool.default.queueSize";
+
     /**
      * gRPC server thread pool {@value} config
      */
     public static final String THREAD_POOL_JAKARTA_ACTIVE = "threadPool.jakarta.active";
 
+    /**
+     * gRPC server thread pool {@value} config
+     */
+    public static final String THREAD_POOL_VIRTUAL_ACTIVE = "threadPool.virtual.active";
+
     @Inject
     private Config config;
 
@@ -211,6 +224,16 @@ public class GrpcServerConfig implements IGrpcServerConfig {
         return config.getOptionalValue(joinKey(THREAD_POOL_JAKARTA_ACTIVE), Boolean.class).orElse(false);
     }
 
+    @Override
+    public Integer getThreadPoolQueueSize() throws BaseException {
+        return config.getOptionalValue(joinKey(THREAD_POOL_QUEUE_SIZE), Integer.class).orElse(1000);
+    }
+
+    @Override
+    public boolean isThreadPoolVirtualActive() throws BaseException {
+        return config.getOptionalValue(joinKey(THREAD_POOL_VIRTUAL_ACTIVE), Boolean.class).orElse(false);
+    }
+
     /**
      * Getter for the field {@code configKey}.
      *
@@ -174,4 +174,30 @@ public interface IGrpcServerConfig {
      */
     boolean isThreadPoolJakartaActive() throws BaseException;
 
+    /**
+     * Gets the capacity of the task queue of the default thread pool, the default is {@code 1000}. If the queue is full, the pool grows up to
+     * {@link #getThreadPoolMaximumPoolSize()} threads, then the new calls are rejected.
+     *
+     * @return the maximum number of queued tasks
+     * @throws BaseException
+     *             Exception on read properties
+     * @since 2.8.0
+     */
+    default Integer getThreadPoolQueueSize() throws BaseException {
+        return 1000;
+    }
+
+    /**
+     * Gets whether to run every call in a new virtual thread, the default is false. Virtual threads are available from JDK 21, on older JDK the
+     * default thread pool is used. Ignored if {@link #isThreadPoolJakartaActive()} is {@code true}.
+     *
+     * @return the server uses virtual threads to handle calls.
+     * @throws BaseException
+     *             Exception on read properties
+     * @since 2.8.0
+     */
+    default boolean isThreadPoolVirtualActive() throws BaseException {
+        return false;
+    }
+
 }
@@ -39,6 +39,8 @@ import hu.icellmobilsoft.coffee.rest.log.annotation.enumeration.LogSpecifierTarg
 import hu.icellmobilsoft.coffee.rest.utils.RestLoggerUtil;
 import hu.icellmobilsoft.coffee.se.logging.DefaultLogger;
 import hu.icellmobilsoft.coffee.se.logging.Logger;
+import hu.icellmobilsoft.coffee.tool.utils.stream.AsyncLogRecord;
+import hu.icellmobilsoft.coffee.tool.utils.stream.AsyncLogWriter;
 import hu.icellmobilsoft.coffee.tool.utils.string.RandomUtil;
 import io.grpc.Context;
 import io.grpc.Contexts;
@@ -62,6 +64,8 @@ public class ServerRequestInterceptor implements ServerInterceptor {
 
     private static final Logger LOGGER = DefaultLogger.getLogger(ServerRequestInterceptor.class);
 
+    private AsyncLogWriter asyncLogWriter;
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -90,18 +94,14 @@ public class ServerRequestInterceptor implements ServerInterceptor {
             public void onCancel() {
                 GrpcLogging.handleMdc(extSessionId);
                 super.onCancel();
-                String serviceName = serverCall.getMethodDescriptor().getServiceName();
-                String methodName = serverCall.getMethodDescriptor().getBareMethodName();
-                LOGGER.info("Call [{0}].[{1}] request message onCancel in [{2}] parts: [\n{3}]", serviceName, methodName, count, messageToPrint);
+                logRequestMessage("onCancel", serverCall.getMethodDescriptor(), count, messageToPrint);
             }
 
             @Override
             public void onComplete() {
                 GrpcLogging.handleMdc(extSessionId);
                 super.onComplete();
-                String serviceName = serverCall.getMethodDescriptor().getServiceName();
-                String methodName = serverCall.getMethodDescriptor().getBareMethodName();
-                LOGGER.info("Call [{0}].[{1}] request message onComplete in [{2}] parts: [\n{3}]", serviceName, methodName, count, messageToPrint);
+                logRequestMessage("onComplete", serverCall.getMethodDescriptor(), count, messageToPrint);
             }
 
             @Override
@@ -131,6 +131,37 @@ public class ServerRequestInterceptor implements ServerInterceptor {
         };
     }
 
+    /**
+     * Logs the collected request message. If the {@link AsyncLogWriter} is enabled, the message is formatted and written on its thread.
+     *
+     * @param event
+     *            call event
+     * @param methodDescriptor
+     *            Triggered GRPC method on call
+     * @param count
+     *            number of request message parts
+     * @param messageToPrint
+     *            collected request message, it must not be modified after this call
+     */
+    protected void logRequestMessage(String event, MethodDescriptor<?, ?> methodDescriptor, int count, StringBuilder messageToPrint) {
+        String serviceName = methodDescriptor.getServiceName();
+        String methodName = methodDescriptor.getBareMethodName();
+        AsyncLogWriter writer = getAsyncLogWriter();
+        if (writer.isEnabled()) {
+            writer.write(AsyncLogRecord.of(ServerRequestInterceptor.class, () -> MessageFormat
+                    .format("Call [{0}].[{1}] request message {2} in [{3}] parts: [\n{4}]", serviceName, methodName, event, count, messageToPrint)));
+            return;
+        }
+        LOGGER.info("Call [{0}].[{1}] request message {2} in [{3}] parts: [\n{4}]", serviceName, methodName, event, count, messageToPrint);
+    }
+
+    private AsyncLogWriter getAsyncLogWriter() {
+        if (asyncLogWriter == null) {
+            asyncLogWriter = CDI.current().select(AsyncLogWriter.class).get();
+        }
+        return asyncLogWriter;
+    }
+
     /**
      * Getting defined max logging size value for request
      * 
@@ -23,18 +23,23 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.TypedQuery;
 
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 
 import hu.icellmobilsoft.coffee.cdi.logger.AppLogger;
 import hu.icellmobilsoft.coffee.cdi.logger.ThisLogger;
@@ -44,6 +49,7 @@ import hu.icellmobilsoft.coffee.dto.exception.InvalidParameterException;
 import hu.icellmobilsoft.coffee.dto.exception.TechnicalException;
 import hu.icellmobilsoft.coffee.dto.exception.enums.CoffeeFaultType;
 import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+import hu.icellmobilsoft.coffee.se.function.BaseExceptionConsumer;
 import hu.icellmobilsoft.coffee.se.function.BaseExceptionFunction;
 import hu.icellmobilsoft.coffee.se.function.BaseExceptionFunction2;
 import hu.icellmobilsoft.coffee.se.function.BaseExceptionFunction3;
@@ -64,6 +70,12 @@ import hu.icellmobilsoft.coffee.se.function.BaseExceptionSupplier;
 @Dependent
 public class BaseService<T> {
 
+    /** Default chunk size of the streaming read methods */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    /** Default batch size of the batch write methods */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
     @SuppressWarnings("cdi-ambiguous-dependency")
     @Inject
     private EntityManager em;
@@ -183,6 +195,113 @@ public class BaseService<T> {
         }
     }
 
+    /**
+     * Reads all entity of the class in chunks of {@value #DEFAULT_CHUNK_SIZE} without materializing the whole result list. See
+     * {@link #forEachChunk(TypedQuery, int, BaseExceptionConsumer)}.
+     *
+     * @param clazz
+     *            Entity class
+     * @param consumer
+     *            processes one chunk of entities
+     * @return number of processed entities
+     * @throws BaseException
+     *             exception
+     */
+    public long forEachChunk(Class<T> clazz, BaseExceptionConsumer<List<T>> consumer) throws BaseException {
+        return forEachChunk(clazz, DEFAULT_CHUNK_SIZE, consumer);
+    }
+
+    /**
+     * Reads all entity of the class in chunks without materializing the whole result list. See
+     * {@link #forEachChunk(TypedQuery, int, BaseExceptionConsumer)}.
+     *
+     * @param clazz
+     *            Entity class
+     * @param chunkSize
+     *            number of entities passed to the consumer at once
+     * @param consumer
+     *            processes one chunk of entities
+     * @return number of processed entities
+     * @throws BaseException
+     *             exception
+     */
+    public long forEachChunk(Class<T> clazz, int chunkSize, BaseExceptionConsumer<List<T>> consumer) throws BaseException {
+        if (clazz == null) {
+            throw new InvalidParameterException("clazz is null!");
+        }
+        TypedQuery<T> query;
+        try {
+            query = getEntityManager().createQuery("SELECT e FROM " + clazz.getSimpleName() + " e", clazz);
+        } catch (Exception e) {
+            String msg = MessageFormat.format("Error occured in creating query for class: [{0}] : [{1}]", clazz.getCanonicalName(),
+                    e.getLocalizedMessage());
+            log.error(msg, e);
+            throw new TechnicalException(CoffeeFaultType.REPOSITORY_FAILED, msg, e);
+        }
+        return forEachChunk(query, chunkSize, consumer);
+    }
+
+    /**
+     * Reads the query result in chunks without materializing the whole result list. The result is read through
+     * {@link TypedQuery#getResultStream()} with JDBC fetch size set to the chunk size, every chunk is passed to the consumer and after that the
+     * {@link EntityManager} is cleared, so the memory usage is independent from the size of the result.
+     * <p>
+     * Note: every managed entity is detached after each chunk, even the ones loaded before the call, and unflushed changes are lost. Use it for
+     * read-only bulk processing (e.g. exports).
+     *
+     * @param query
+     *            the query to read
+     * @param chunkSize
+     *            number of entities passed to the consumer at once
+     * @param consumer
+     *            processes one chunk of entities, the list is cleared after the consumer returned, copy it if it is needed later
+     * @param <RESPONSE>
+     *            response object type
+     * @return number of processed entities
+     * @throws BaseException
+     *             exception thrown by the consumer as is, or {@link TechnicalException} with {@link CoffeeFaultType#REPOSITORY_FAILED} on query
+     *             error
+     */
+    protected <RESPONSE> long forEachChunk(TypedQuery<RESPONSE> query, int chunkSize, BaseExceptionConsumer<List<RESPONSE>> consumer)
+            throws BaseException {
+        String methodInfo = getCalledMethodWithOnlyPathParams("forEachChunk", "chunkSize");
+        logEnter(methodInfo, chunkSize);
+        if (query == null || consumer == null || chunkSize < 1) {
+            throw invalidParameter(methodInfo, chunkSize);
+        }
+        long count = 0;
+        try (Stream<RESPONSE> stream = query.setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize).getResultStream()) {
+            List<RESPONSE> chunk = new ArrayList<>(chunkSize);
+            Iterator<RESPONSE> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    count += processChunk(chunk, consumer);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                count += processChunk(chunk, consumer);
+            }
+            return count;
+        } catch (BaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw repositoryFailed(e, methodInfo, chunkSize);
+        } finally {
+            if (log.isTraceEnabled()) {
+                log.trace("<<" + methodInfo + " processed: [{1}]", chunkSize, count);
+            }
+        }
+    }
+
+    private <RESPONSE> int processChunk(List<RESPONSE> chunk, BaseExceptionConsumer<List<RESPONSE>> consumer) throws BaseException {
+        int size = chunk.size();
+        consumer.accept(chunk);
+        chunk.clear();
+        getEntityManager().clear();
+        return size;
+    }
+
     /**
      * Transaction required!
      *
@@ -219,6 +338,124 @@ public class BaseService<T> {
         }
     }
 
+    /**
+     * Saves the entities in batches of {@value #DEFAULT_BATCH_SIZE} without refresh. See {@link #saveAll(Collection, int, boolean)}.
+     *
+     * @param entities
+     *            entities to save
+     * @return saved entities
+     * @throws BaseException
+     *             exception
+     */
+    public List<T> saveAll(Collection<T> entities) throws BaseException {
+        return saveAll(entities, DEFAULT_BATCH_SIZE, false);
+    }
+
+    /**
+     * Saves the entities in batches without refresh. See {@link #saveAll(Collection, int, boolean)}.
+     *
+     * @param entities
+     *            entities to save
+     * @param batchSize
+     *            number of entities flushed at once
+     * @return saved entities
+     * @throws BaseException
+     *             exception
+     */
+    public List<T> saveAll(Collection<T> entities, int batchSize) throws BaseException {
+        return saveAll(entities, batchSize, false);
+    }
+
+    /**
+     * Saves the entities in batches. Transaction required!
+     * <p>
+     * Unlike {@link #save(Object)} new entities (without identifier) are persisted without merge, the persistence context is flushed and cleared
+     * only once per batch and the JDBC batch size of the session is set to the batch size, so the inserts and updates of a batch are sent in JDBC
+     * batches. The returned entities are detached after the call.
+     *
+     * @param entities
+     *            entities to save
+     * @param batchSize
+     *            number of entities flushed at once
+     * @param refresh
+     *            if {@code true} the saved entities are refreshed after flush (one select per entity)
+     * @return saved entities in the order of the input
+     * @throws BaseException
+     *             exception
+     */
+    public List<T> saveAll(Collection<T> entities, int batchSize, boolean refresh) throws BaseException {
+        if (entities == null || batchSize < 1) {
+            log.warn("Entities is null or batchSize [{0}] is invalid, skipped to save!", batchSize);
+            throw new InvalidParameterException("entities is null or batchSize is invalid!");
+        }
+        log.debug(">> saveAll(size: [{0}], batchSize: [{1}], refresh: [{2}])", entities.size(), batchSize, refresh);
+        List<T> savedEntities = new ArrayList<>(entities.size());
+        List<T> batch = new ArrayList<>(batchSize);
+        Integer originalJdbcBatchSize = null;
+        Session session = null;
+        int batchIndex = 0;
+        try {
+            session = getEntityManager().unwrap(Session.class);
+            originalJdbcBatchSize = session.getJdbcBatchSize();
+            session.setJdbcBatchSize(batchSize);
+            long start = System.currentTimeMillis();
+            for (T entity : entities) {
+                if (entity == null) {
+                    throw new InvalidParameterException("entity is null!");
+                }
+                batch.add(persistOrMerge(entity));
+                if (batch.size() == batchSize) {
+                    flushSavedBatch(batch, ++batchIndex, refresh, start);
+                    savedEntities.addAll(batch);
+                    batch.clear();
+                    start = System.currentTimeMillis();
+                }
+            }
+            if (!batch.isEmpty()) {
+                flushSavedBatch(batch, ++batchIndex, refresh, start);
+                savedEntities.addAll(batch);
+            }
+            return savedEntities;
+        } catch (BaseException e) {
+            throw e;
+        } catch (OptimisticLockException e) {
+            String msg = MessageFormat.format("Optimistic Lock Error in saving batch [{0}]: [{1}]", batchIndex, e.getLocalizedMessage());
+            log.error(msg, e);
+            throw new hu.icellmobilsoft.coffee.dto.exception.OptimisticLockException(CoffeeFaultType.OPTIMISTIC_LOCK_EXCEPTION, msg, e);
+        } catch (Exception e) {
+            String msg = MessageFormat.format("Error in saving batch [{0}]: [{1}]", batchIndex, e.getLocalizedMessage());
+            log.error(msg, e);
+            throw new TechnicalException(CoffeeFaultType.ENTITY_SAVE_FAILED, msg, e);
+        } finally {
+            if (session != null) {
+                session.setJdbcBatchSize(originalJdbcBatchSize);
+            }
+            log.debug("<< saveAll(size: [{0}], batchSize: [{1}], saved: [{2}])", entities.size(), batchSize, savedEntities.size());
+        }
+    }
+
+    private T persistOrMerge(T entity) {
+        if (getEntityManager().contains(entity)) {
+            return entity;
+        }
+        if (getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity) == null) {
+            getEntityManager().persist(entity);
+            return entity;
+        }
+        return getEntityManager().merge(entity);
+    }
+
+    private void flushSavedBatch(List<T> batch, int batchIndex, boolean refresh, long start) {
+        getEntityManager().flush();
+        if (refresh) {
+            for (T entity : batch) {
+                getEntityManager().refresh(entity);
+            }
+        }
+        getEntityManager().clear();
+        log.debug("Batch [{0}] of [{1}] entities has been saved in [{2}] ms", batchIndex, batch.size(), System.currentTimeMillis() - start);
+    }
+
     /**
      * Refresh entity.
      *
@@ -280,6 +517,84 @@ public class BaseService<T> {
         }
     }
 
+    /**
+     * Deletes the entities in batches of {@value #DEFAULT_BATCH_SIZE}. See {@link #deleteAll(Collection, int)}.
+     *
+     * @param entities
+     *            entities to delete
+     * @throws BaseException
+     *             exception
+     */
+    public void deleteAll(Collection<T> entities) throws BaseException {
+        deleteAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Deletes the entities in batches. Transaction required!
+     * <p>
+     * The persistence context is flushed and cleared only once per batch and the JDBC batch size of the session is set to the batch size, so the
+     * deletes of a batch are sent in JDBC batches. Detached entities are merged before removal.
+     *
+     * @param entities
+     *            entities to delete
+     * @param batchSize
+     *            number of entities flushed at once
+     * @throws BaseException
+     *             exception
+     */
+    public void deleteAll(Collection<T> entities, int batchSize) throws BaseException {
+        if (entities == null || batchSize < 1) {
+            log.warn("Entities is null or batchSize [{0}] is invalid, skipped to delete!", batchSize);
+            throw new InvalidParameterException("entities is null or batchSize is invalid!");
+        }
+        log.debug(">> deleteAll(size: [{0}], batchSize: [{1}])", entities.size(), batchSize);
+        Integer originalJdbcBatchSize = null;
+        Session session = null;
+        int batchIndex = 0;
+        int batchCount = 0;
+        try {
+            session = getEntityManager().unwrap(Session.class);
+            originalJdbcBatchSize = session.getJdbcBatchSize();
+            session.setJdbcBatchSize(batchSize);
+            long start = System.currentTimeMillis();
+            for (T entity : entities) {
+                if (entity == null) {
+                    throw new InvalidParameterException("entity is null!");
+                }
+                getEntityManager().remove(getEntityManager().contains(entity) ? entity : getEntityManager().merge(entity));
+                if (++batchCount == batchSize) {
+                    flushDeletedBatch(++batchIndex, batchCount, start);
+                    batchCount = 0;
+                    start = System.currentTimeMillis();
+                }
+            }
+            if (batchCount > 0) {
+                flushDeletedBatch(++batchIndex, batchCount, start);
+            }
+        } catch (BaseException e) {
+            throw e;
+        } catch (OptimisticLockException e) {
+            String msg = MessageFormat.format("Optimistic Lock Error in deleting batch [{0}]: [{1}]", batchIndex, e.getLocalizedMessage());
+            log.error(msg, e);
+            throw new hu.icellmobilsoft.coffee.dto.exception.OptimisticLockException(CoffeeFaultType.OPTIMISTIC_LOCK_EXCEPTION, msg, e);
+        } catch (Exception e) {
+            String msg = MessageFormat.format("Error in deleting batch [{0}]: [{1}]", batchIndex, e.getLocalizedMessage());
+            log.error(msg, e);
+            throw new TechnicalException(CoffeeFaultType.ENTITY_DELETE_FAILED, msg, e);
+        } finally {
+            if (session != null) {
+                session.setJdbcBatchSize(originalJdbcBatchSize);
+            }
+            log.debug("<< deleteAll(size: [{0}], batchSize: [{1}])", entities.size(), batchSize);
+        }
+    }
+
+    private void flushDeletedBatch(int batchIndex, int batchCount, long start) {
+        getEntityManager().flush();
+        getEntityManager().clear();
+        log.debug("Batch [{0}] of [{1}] entities has been deleted in [{2}] ms", batchIndex, batchCount, System.currentTimeMillis() - start);
+    }
+
     /**
      * Getter of {@link EntityManager}.
      *
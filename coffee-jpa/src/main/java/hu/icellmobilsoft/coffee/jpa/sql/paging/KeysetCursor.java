@@ -0,0 +1,242 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.jpa.sql.paging;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+
+import hu.icellmobilsoft.coffee.dto.exception.InvalidParameterException;
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+
+/**
+ * Opaque position of a keyset (seek) paging query. It holds the sort key value and the id of the last entity of the previous page, the next page
+ * continues right after this position.
+ * <p>
+ * The sort key can be {@code null} (ordering only by id), or one of: {@link String}, {@link Long}, {@link Integer}, {@link BigDecimal},
+ * {@link Date}, {@link Instant}, {@link OffsetDateTime}, {@link LocalDate}, {@link LocalDateTime}.
+ * <p>
+ * The encoded form is URL safe Base64 without padding, it can be passed to the client as is.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public final class KeysetCursor {
+
+    private static final char TYPE_NULL = 'N';
+    private static final char TYPE_STRING = 'S';
+    private static final char TYPE_LONG = 'L';
+    private static final char TYPE_INTEGER = 'I';
+    private static final char TYPE_DECIMAL = 'D';
+    private static final char TYPE_DATE = 'U';
+    private static final char TYPE_INSTANT = 'K';
+    private static final char TYPE_OFFSET_DATE_TIME = 'T';
+    private static final char TYPE_LOCAL_DATE = 'A';
+    private static final char TYPE_LOCAL_DATE_TIME = 'E';
+
+    private static final char LENGTH_SEPARATOR = ':';
+
+    private final Object sortKey;
+    private final String id;
+
+    private KeysetCursor(Object sortKey, String id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    /**
+     * Creates cursor from the sort key value and the id of an entity.
+     *
+     * @param sortKey
+     *            sort key value of the entity, can be {@code null}
+     * @param id
+     *            id of the entity
+     * @return cursor
+     * @throws BaseException
+     *             if id is blank or the type of the sort key is not supported
+     */
+    public static KeysetCursor of(Object sortKey, String id) throws BaseException {
+        if (StringUtils.isBlank(id)) {
+            throw new InvalidParameterException("Keyset cursor id is blank!");
+        }
+        typeOf(sortKey);
+        return new KeysetCursor(sortKey, id);
+    }
+
+    /**
+     * Decodes cursor created by {@link #encode()}.
+     *
+     * @param cursor
+     *            encoded cursor
+     * @return decoded cursor, or {@code null} if cursor is blank (first page)
+     * @throws BaseException
+     *             if cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor) throws BaseException {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            char type = raw.charAt(0);
+            int separator = raw.indexOf(LENGTH_SEPARATOR, 1);
+            int length = Integer.parseInt(raw.substring(1, separator));
+            int valueEnd = separator + 1 + length;
+            String value = raw.substring(separator + 1, valueEnd);
+            return of(parse(type, value), raw.substring(valueEnd));
+        } catch (BaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidParameterException("Invalid keyset cursor: [" + cursor + "]");
+        }
+    }
+
+    /**
+     * Encodes cursor to an opaque {@link String}.
+     *
+     * @return encoded cursor
+     */
+    public String encode() {
+        String value = sortKey == null ? "" : format(sortKey);
+        String raw = new StringBuilder(value.length() + id.length() + 8).append(typeOfSafe(sortKey)).append(value.length()).append(LENGTH_SEPARATOR)
+                .append(value).append(id).toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Getter for the field {@code sortKey}.
+     *
+     * @param <K>
+     *            type of the sort key
+     * @return sort key value of the last entity on the previous page
+     */
+    @SuppressWarnings("unchecked")
+    public <K> K getSortKey() {
+        return (K) sortKey;
+    }
+
+    /**
+     * Getter for the field {@code id}.
+     *
+     * @return id of the last entity on the previous page
+     */
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof KeysetCursor)) {
+            return false;
+        }
+        KeysetCursor other = (KeysetCursor) obj;
+        return Objects.equals(sortKey, other.sortKey) && Objects.equals(id, other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sortKey, id);
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor [sortKey=" + sortKey + ", id=" + id + "]";
+    }
+
+    private static char typeOf(Object sortKey) throws BaseException {
+        char type = typeOfSafe(sortKey);
+        if (type == 0) {
+            throw new InvalidParameterException("Unsupported keyset sort key type: [" + sortKey.getClass().getName() + "]");
+        }
+        return type;
+    }
+
+    private static char typeOfSafe(Object sortKey) {
+        if (sortKey == null) {
+            return TYPE_NULL;
+        } else if (sortKey instanceof String) {
+            return TYPE_STRING;
+        } else if (sortKey instanceof Long) {
+            return TYPE_LONG;
+        } else if (sortKey instanceof Integer) {
+            return TYPE_INTEGER;
+        } else if (sortKey instanceof BigDecimal) {
+            return TYPE_DECIMAL;
+        } else if (sortKey instanceof Date) {
+            return TYPE_DATE;
+        } else if (sortKey instanceof Instant) {
+            return TYPE_INSTANT;
+        } else if (sortKey instanceof OffsetDateTime) {
+            return TYPE_OFFSET_DATE_TIME;
+        } else if (sortKey instanceof LocalDate) {
+            return TYPE_LOCAL_DATE;
+        } else if (sortKey instanceof LocalDateTime) {
+            return TYPE_LOCAL_DATE_TIME;
+        }
+        return 0;
+    }
+
+    private static String format(Object sortKey) {
+        if (sortKey instanceof Date) {
+            return String.valueOf(((Date) sortKey).getTime());
+        } else if (sortKey instanceof BigDecimal) {
+            return ((BigDecimal) sortKey).toPlainString();
+        }
+        return sortKey.toString();
+    }
+
+    private static Object parse(char type, String value) throws BaseException {
+        switch (type) {
+        case TYPE_NULL:
+            return null;
+        case TYPE_STRING:
+            return value;
+        case TYPE_LONG:
+            return Long.valueOf(value);
+        case TYPE_INTEGER:
+            return Integer.valueOf(value);
+        case TYPE_DECIMAL:
+            return new BigDecimal(value);
+        case TYPE_DATE:
+            return new Date(Long.parseLong(value));
+        case TYPE_INSTANT:
+            return Instant.parse(value);
+        case TYPE_OFFSET_DATE_TIME:
+            return OffsetDateTime.parse(value);
+        case TYPE_LOCAL_DATE:
+            return LocalDate.parse(value);
+        case TYPE_LOCAL_DATE_TIME:
+            return LocalDateTime.parse(value);
+        default:
+            throw new InvalidParameterException("Unsupported keyset sort key type tag: [" + type + "]");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.jpa.sql.paging;
+
+import java.util.List;
+
+/**
+ * Result of a keyset (seek) paging query.
+ *
+ * @author imre.scheffer
+ * @param <T>
+ *            entity
+ * @since 2.8.0
+ */
+public class KeysetPagingResult<T> {
+
+    private List<T> results;
+    private KeysetQueryMetaData metaData;
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public KeysetPagingResult() {
+        super();
+    }
+
+    /**
+     * Getter for the field {@code results}.
+     *
+     * @return paging result list
+     */
+    public List<T> getResults() {
+        return results;
+    }
+
+    /**
+     * Setter for the field {@code results}.
+     *
+     * @param results
+     *            paging result list
+     */
+    public void setResults(List<T> results) {
+        this.results = results;
+    }
+
+    /**
+     * Getter for the query metadata.
+     *
+     * @return query metadata
+     */
+    public KeysetQueryMetaData getDetails() {
+        return metaData;
+    }
+
+    /**
+     * Setter for the query metadata.
+     *
+     * @param metaData
+     *            query metadata
+     */
+    public void setDetails(KeysetQueryMetaData metaData) {
+        this.metaData = metaData;
+    }
+}
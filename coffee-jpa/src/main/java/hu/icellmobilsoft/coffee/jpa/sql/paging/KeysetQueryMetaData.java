@@ -0,0 +1,158 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.jpa.sql.paging;
+
+import java.math.BigInteger;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlType;
+
+/**
+ * <p>
+ * Java class for KeysetQueryMetaData complex type.
+ *
+ * <p>
+ * The following schema fragment specifies the expected content contained within this class.
+ *
+ * <pre>
+ * &lt;complexType name="KeysetQueryMetaData"&gt;
+ *   &lt;complexContent&gt;
+ *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *       &lt;sequence&gt;
+ *         &lt;element name="rows" type="{http://www.w3.org/2001/XMLSchema}integer"/&gt;
+ *         &lt;element name="hasNext" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/&gt;
+ *         &lt;element name="nextCursor" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/&gt;
+ *         &lt;element name="estimatedTotalRows" type="{http://www.w3.org/2001/XMLSchema}integer" minOccurs="0"/&gt;
+ *       &lt;/sequence&gt;
+ *     &lt;/restriction&gt;
+ *   &lt;/complexContent&gt;
+ * &lt;/complexType&gt;
+ * </pre>
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "KeysetQueryMetaData", propOrder = { "rows", "hasNext", "nextCursor", "estimatedTotalRows" })
+public class KeysetQueryMetaData {
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public KeysetQueryMetaData() {
+        super();
+    }
+
+    /**
+     * Row count of the current page
+     */
+    @XmlElement(required = true)
+    protected BigInteger rows;
+    /**
+     * Is there any row after the current page, {@code null} if it is not known (probe was not requested)
+     */
+    protected Boolean hasNext;
+    /**
+     * Cursor of the next page, {@code null} if the current page is empty or there is no next page
+     */
+    protected String nextCursor;
+    /**
+     * Estimated total number of rows, {@code null} if estimation was not requested
+     */
+    protected BigInteger estimatedTotalRows;
+
+    /**
+     * Gets the value of the rows property.
+     *
+     * @return row count of the current page
+     */
+    public BigInteger getRows() {
+        return rows;
+    }
+
+    /**
+     * Sets the value of the rows property.
+     *
+     * @param value
+     *            allowed object is {@link BigInteger }
+     */
+    public void setRows(BigInteger value) {
+        this.rows = value;
+    }
+
+    /**
+     * Gets the value of the hasNext property.
+     *
+     * @return {@code true} if there is a next page, {@code null} if unknown
+     */
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    /**
+     * Sets the value of the hasNext property.
+     *
+     * @param value
+     *            allowed object is {@link Boolean }
+     */
+    public void setHasNext(Boolean value) {
+        this.hasNext = value;
+    }
+
+    /**
+     * Gets the value of the nextCursor property.
+     *
+     * @return encoded {@link KeysetCursor} of the next page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets the value of the nextCursor property.
+     *
+     * @param value
+     *            allowed object is {@link String }
+     */
+    public void setNextCursor(String value) {
+        this.nextCursor = value;
+    }
+
+    /**
+     * Gets the value of the estimatedTotalRows property.
+     *
+     * @return estimated total row count
+     */
+    public BigInteger getEstimatedTotalRows() {
+        return estimatedTotalRows;
+    }
+
+    /**
+     * Sets the value of the estimatedTotalRows property.
+     *
+     * @param value
+     *            allowed object is {@link BigInteger }
+     */
+    public void setEstimatedTotalRows(BigInteger value) {
+        this.estimatedTotalRows = value;
+    }
+
+}
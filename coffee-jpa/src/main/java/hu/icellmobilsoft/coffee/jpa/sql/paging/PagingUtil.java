@@ -28,6 +28,8 @@ import jakarta.persistence.TypedQuery;
 
 import hu.icellmobilsoft.coffee.dto.exception.InvalidParameterException;
 import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+import hu.icellmobilsoft.coffee.se.function.BaseExceptionFunction;
+import hu.icellmobilsoft.coffee.se.function.BaseExceptionSupplier;
 
 /**
  * <p>
@@ -229,6 +231,104 @@ public final class PagingUtil {
         return result;
     }
 
+    /**
+     * Returns a keyset (seek) paging result. Unlike offset paging, no total count is queried and the database does not have to skip the rows of
+     * the previous pages, so fetching any page costs the same.
+     * <p>
+     * The query provider gets the decoded cursor ({@code null} for the first page) and has to return a query that is ordered by the sort key and
+     * the entity id, and filters the rows after the cursor position, e.g.:
+     *
+     * <pre>
+     * SELECT e FROM Entity e WHERE e.creationDate &gt; :sortKey OR (e.creationDate = :sortKey AND e.id &gt; :id) ORDER BY e.creationDate, e.id
+     * </pre>
+     *
+     * @param queryProvider
+     *            creates the query for the given cursor
+     * @param cursorFunction
+     *            creates the cursor from an entity, typically {@code e -> KeysetCursor.of(e.getCreationDate(), e.getId())}
+     * @param cursor
+     *            encoded cursor of the requested page ({@link KeysetQueryMetaData#getNextCursor()} of the previous page), blank for the first page
+     * @param rows
+     *            Row counter.
+     * @param probeNext
+     *            if {@code true} one more row is fetched to find out if there is a next page
+     * @param <T>
+     *            entity
+     * @return Keyset paging result.
+     * @throws BaseException
+     *             on error
+     */
+    public static <T> KeysetPagingResult<T> getKeysetPagingResult(BaseExceptionFunction<KeysetCursor, TypedQuery<T>> queryProvider,
+            BaseExceptionFunction<T, KeysetCursor> cursorFunction, String cursor, long rows, boolean probeNext) throws BaseException {
+        return getKeysetPagingResult(queryProvider, cursorFunction, cursor, rows, probeNext, null);
+    }
+
+    /**
+     * Returns a keyset (seek) paging result with estimated total row count. See
+     * {@link #getKeysetPagingResult(BaseExceptionFunction, BaseExceptionFunction, String, long, boolean)}.
+     * <p>
+     * The estimation is up to the caller, it can be a cached count or a cheap database statistic (e.g. {@code pg_class.reltuples} on
+     * PostgreSQL or {@code num_rows} from {@code all_tables} on Oracle).
+     *
+     * @param queryProvider
+     *            creates the query for the given cursor
+     * @param cursorFunction
+     *            creates the cursor from an entity
+     * @param cursor
+     *            encoded cursor of the requested page, blank for the first page
+     * @param rows
+     *            Row counter.
+     * @param probeNext
+     *            if {@code true} one more row is fetched to find out if there is a next page
+     * @param estimatedCountSupplier
+     *            supplies the estimated total row count, can be null
+     * @param <T>
+     *            entity
+     * @return Keyset paging result.
+     * @throws BaseException
+     *             on error
+     */
+    public static <T> KeysetPagingResult<T> getKeysetPagingResult(BaseExceptionFunction<KeysetCursor, TypedQuery<T>> queryProvider,
+            BaseExceptionFunction<T, KeysetCursor> cursorFunction, String cursor, long rows, boolean probeNext,
+            BaseExceptionSupplier<Long> estimatedCountSupplier) throws BaseException {
+        if (queryProvider == null || cursorFunction == null) {
+            throw new InvalidParameterException("queryProvider or cursorFunction is null!");
+        }
+        validateRows(rows);
+        TypedQuery<T> query = queryProvider.apply(KeysetCursor.decode(cursor));
+        if (query == null) {
+            throw new InvalidParameterException("queryProvider returned null query!");
+        }
+        query.setFirstResult(0);
+        query.setMaxResults((int) (probeNext ? rows + 1 : rows));
+
+        List<T> resultList = query.getResultList();
+        Boolean hasNext = null;
+        if (resultList.size() > rows) {
+            hasNext = Boolean.TRUE;
+            resultList = new ArrayList<>(resultList.subList(0, (int) rows));
+        } else if (probeNext || resultList.size() < rows) {
+            hasNext = Boolean.FALSE;
+        }
+
+        KeysetQueryMetaData details = new KeysetQueryMetaData();
+        details.setRows(BigInteger.valueOf(resultList.size()));
+        details.setHasNext(hasNext);
+        if (!resultList.isEmpty() && !Boolean.FALSE.equals(hasNext)) {
+            KeysetCursor nextCursor = cursorFunction.apply(resultList.get(resultList.size() - 1));
+            details.setNextCursor(nextCursor == null ? null : nextCursor.encode());
+        }
+        if (estimatedCountSupplier != null) {
+            Long estimatedCount = estimatedCountSupplier.get();
+            details.setEstimatedTotalRows(estimatedCount == null ? null : BigInteger.valueOf(estimatedCount));
+        }
+
+        KeysetPagingResult<T> result = new KeysetPagingResult<>();
+        result.setResults(resultList);
+        result.setDetails(details);
+        return result;
+    }
+
     /**
      * Creates the {@link QueryMetaData} with the given parameters.
      *
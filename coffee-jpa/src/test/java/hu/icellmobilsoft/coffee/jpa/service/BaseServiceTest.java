@@ -19,17 +19,43 @@
  */
 package hu.icellmobilsoft.coffee.jpa.service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.TypedQuery;
+
+import org.hibernate.Session;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
 
+import hu.icellmobilsoft.coffee.cdi.logger.AppLogger;
+import hu.icellmobilsoft.coffee.dto.exception.BusinessException;
+import hu.icellmobilsoft.coffee.dto.exception.InvalidParameterException;
 import hu.icellmobilsoft.coffee.dto.exception.TechnicalException;
 import hu.icellmobilsoft.coffee.dto.exception.enums.CoffeeFaultType;
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
 
 /**
  * @author zsolt.tomai
  */
 @DisplayName("Testing BaseService")
+@ExtendWith(MockitoExtension.class)
 public class BaseServiceTest {
 
     @Test
@@ -65,4 +91,312 @@ public class BaseServiceTest {
         Assertions.assertEquals("Error occurred in  BaseService.testMethod(param1: [param1]) : [test exception message with {brace} bracket]",
                 technicalException.getMessage());
     }
+
+    @Nested
+    @DisplayName("Testing forEachChunk")
+    class ForEachChunkTest {
+
+        @Mock
+        private EntityManager em;
+
+        @Mock
+        private AppLogger log;
+
+        @Mock
+        private TypedQuery<String> query;
+
+        @InjectMocks
+        private BaseService<String> underTest;
+
+        @ParameterizedTest(name = "{0} rows, chunk size {1}")
+        @CsvSource({ "5, 2, 3", "4, 2, 2", "1, 500, 1", "3, 1, 3" })
+        @DisplayName("Testing chunk boundaries")
+        void chunkBoundaries(int rows, int chunkSize, int expectedChunks) throws BaseException {
+            // given
+            List<String> result = rows(rows);
+            givenResult(result);
+            List<List<String>> chunks = new ArrayList<>();
+
+            // when
+            long count = underTest.forEachChunk(query, chunkSize, chunk -> chunks.add(new ArrayList<>(chunk)));
+
+            // then
+            Assertions.assertEquals(rows, count);
+            Assertions.assertEquals(expectedChunks, chunks.size());
+            for (int i = 0; i < chunks.size() - 1; i++) {
+                Assertions.assertEquals(chunkSize, chunks.get(i).size());
+            }
+            Assertions.assertEquals(result, chunks.stream().flatMap(List::stream).toList());
+            Mockito.verify(query).setHint(ArgumentMatchers.anyString(), ArgumentMatchers.eq(chunkSize));
+        }
+
+        @Test
+        @DisplayName("Testing empty table")
+        void emptyTable() throws BaseException {
+            // given
+            Mockito.when(em.createQuery("SELECT e FROM String e", String.class)).thenReturn(query);
+            givenResult(List.of());
+            List<List<String>> chunks = new ArrayList<>();
+
+            // when
+            long count = underTest.forEachChunk(String.class, chunks::add);
+
+            // then
+            Assertions.assertEquals(0, count);
+            Assertions.assertTrue(chunks.isEmpty());
+            Mockito.verify(query).setHint(ArgumentMatchers.anyString(), ArgumentMatchers.eq(BaseService.DEFAULT_CHUNK_SIZE));
+            Mockito.verify(em, Mockito.never()).clear();
+        }
+
+        @Test
+        @DisplayName("Testing BaseException of the consumer is thrown as is and the stream is closed")
+        void consumerBaseException() {
+            // given
+            AtomicBoolean closed = givenResult(rows(5));
+            BusinessException expected = new BusinessException(CoffeeFaultType.OPERATION_FAILED, "consumer failed");
+
+            // when
+            BaseException actual = Assertions.assertThrows(BaseException.class, () -> underTest.forEachChunk(query, 2, chunk -> {
+                throw expected;
+            }));
+
+            // then
+            Assertions.assertSame(expected, actual);
+            Assertions.assertTrue(closed.get());
+        }
+
+        @Test
+        @DisplayName("Testing RuntimeException of the consumer is wrapped and the stream is closed")
+        void consumerRuntimeException() {
+            // given
+            AtomicBoolean closed = givenResult(rows(5));
+
+            // when
+            TechnicalException actual = Assertions.assertThrows(TechnicalException.class, () -> underTest.forEachChunk(query, 2, chunk -> {
+                throw new IllegalStateException("consumer failed");
+            }));
+
+            // then
+            Assertions.assertEquals(CoffeeFaultType.REPOSITORY_FAILED, actual.getFaultTypeEnum());
+            Assertions.assertInstanceOf(IllegalStateException.class, actual.getCause());
+            Assertions.assertTrue(closed.get());
+        }
+
+        @Test
+        @DisplayName("Testing entity manager is cleared after every chunk")
+        void clearBetweenChunks() throws BaseException {
+            // given
+            givenResult(rows(5));
+            List<String> events = new ArrayList<>();
+            Mockito.doAnswer(invocation -> events.add("clear")).when(em).clear();
+
+            // when
+            underTest.forEachChunk(query, 2, chunk -> events.add("chunk" + chunk.size()));
+
+            // then
+            Assertions.assertEquals(List.of("chunk2", "clear", "chunk2", "clear", "chunk1", "clear"), events);
+        }
+
+        @Test
+        @DisplayName("Testing invalid parameters")
+        void invalidParameters() {
+            Assertions.assertThrows(InvalidParameterException.class, () -> underTest.forEachChunk(query, 0, chunk -> {
+            }));
+            Assertions.assertThrows(InvalidParameterException.class, () -> underTest.forEachChunk(query, 1, null));
+            Assertions.assertThrows(InvalidParameterException.class, () -> underTest.forEachChunk((TypedQuery<String>) null, 1, chunk -> {
+            }));
+            Mockito.verifyNoInteractions(query, em);
+        }
+
+        private AtomicBoolean givenResult(List<String> result) {
+            AtomicBoolean closed = new AtomicBoolean();
+            Mockito.when(query.setHint(ArgumentMatchers.anyString(), ArgumentMatchers.any())).thenReturn(query);
+            Mockito.when(query.getResultStream()).thenReturn(result.stream().onClose(() -> closed.set(true)));
+            return closed;
+        }
+
+        private List<String> rows(int count) {
+            List<String> rows = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                rows.add("row" + i);
+            }
+            return rows;
+        }
+    }
+
+    @Nested
+    @DisplayName("Testing saveAll and deleteAll")
+    class BatchTest {
+
+        private static final Integer ORIGINAL_JDBC_BATCH_SIZE = 25;
+
+        @Mock
+        private EntityManager em;
+
+        @Mock
+        private AppLogger log;
+
+        @Mock
+        private Session session;
+
+        @InjectMocks
+        private BaseService<String> underTest;
+
+        @ParameterizedTest(name = "{0} entities, batch size {1}")
+        @CsvSource({ "5, 2, 3", "4, 2, 2", "1, 100, 1", "3, 1, 3" })
+        @DisplayName("Testing saveAll batch boundaries")
+        void saveAllBatches(int size, int batchSize, int expectedFlushes) throws BaseException {
+            // given
+            givenSession();
+            givenNewEntities();
+            List<String> entities = entities(size);
+
+            // when
+            List<String> saved = underTest.saveAll(entities, batchSize);
+
+            // then
+            Assertions.assertEquals(entities, saved);
+            Mockito.verify(em, Mockito.times(size)).persist(ArgumentMatchers.anyString());
+            Mockito.verify(em, Mockito.times(expectedFlushes)).flush();
+            Mockito.verify(em, Mockito.times(expectedFlushes)).clear();
+            Mockito.verify(em, Mockito.never()).refresh(ArgumentMatchers.any());
+            Mockito.verify(session).setJdbcBatchSize(batchSize);
+            Mockito.verify(session).setJdbcBatchSize(ORIGINAL_JDBC_BATCH_SIZE);
+        }
+
+        @Test
+        @DisplayName("Testing saveAll refreshes the entities after flush")
+        void saveAllRefresh() throws BaseException {
+            // given
+            givenSession();
+            givenNewEntities();
+            List<String> entities = entities(3);
+            List<String> events = new ArrayList<>();
+            Mockito.doAnswer(invocation -> events.add("flush")).when(em).flush();
+            Mockito.doAnswer(invocation -> events.add("refresh " + invocation.getArgument(0))).when(em).refresh(ArgumentMatchers.any());
+
+            // when
+            underTest.saveAll(entities, 2, true);
+
+            // then
+            Assertions.assertEquals(List.of("flush", "refresh e0", "refresh e1", "flush", "refresh e2"), events);
+        }
+
+        @Test
+        @DisplayName("Testing saveAll merges entities with identifier")
+        void saveAllMerge() throws BaseException {
+            // given
+            givenSession();
+            PersistenceUnitUtil persistenceUnitUtil = givenNewEntities();
+            Mockito.when(persistenceUnitUtil.getIdentifier("e0")).thenReturn("ID0");
+            Mockito.when(em.merge("e0")).thenReturn("merged");
+
+            // when
+            List<String> saved = underTest.saveAll(entities(2), 10);
+
+            // then
+            Assertions.assertEquals(List.of("merged", "e1"), saved);
+            Mockito.verify(em).persist("e1");
+        }
+
+        @Test
+        @DisplayName("Testing saveAll with empty collection")
+        void saveAllEmpty() throws BaseException {
+            // given
+            givenSession();
+
+            // when
+            List<String> saved = underTest.saveAll(List.of());
+
+            // then
+            Assertions.assertTrue(saved.isEmpty());
+            Mockito.verify(em, Mockito.never()).flush();
+        }
+
+        @ParameterizedTest(name = "batch size {0}")
+        @ValueSource(ints = { 0, -1 })
+        @DisplayName("Testing invalid batch size")
+        void invalidBatchSize(int batchSize) {
+            Assertions.assertThrows(InvalidParameterException.class, () -> underTest.saveAll(entities(1), batchSize, false));
+            Assertions.assertThrows(InvalidParameterException.class, () -> underTest.deleteAll(entities(1), batchSize));
+            Mockito.verifyNoInteractions(em);
+        }
+
+        @Test
+        @DisplayName("Testing null collection")
+        void nullCollection() {
+            Assertions.assertThrows(InvalidParameterException.class, () -> underTest.saveAll(null));
+            Assertions.assertThrows(InvalidParameterException.class, () -> underTest.deleteAll(null));
+            Mockito.verifyNoInteractions(em);
+        }
+
+        @ParameterizedTest(name = "{0} entities, batch size {1}")
+        @CsvSource({ "5, 2, 3", "4, 2, 2", "1, 100, 1", "3, 1, 3" })
+        @DisplayName("Testing deleteAll batch boundaries")
+        void deleteAllBatches(int size, int batchSize, int expectedFlushes) throws BaseException {
+            // given
+            givenSession();
+            Mockito.when(em.contains(ArgumentMatchers.any())).thenReturn(true);
+
+            // when
+            underTest.deleteAll(entities(size), batchSize);
+
+            // then
+            Mockito.verify(em, Mockito.times(size)).remove(ArgumentMatchers.anyString());
+            Mockito.verify(em, Mockito.times(expectedFlushes)).flush();
+            Mockito.verify(em, Mockito.times(expectedFlushes)).clear();
+            Mockito.verify(session).setJdbcBatchSize(batchSize);
+            Mockito.verify(session).setJdbcBatchSize(ORIGINAL_JDBC_BATCH_SIZE);
+        }
+
+        @Test
+        @DisplayName("Testing deleteAll merges detached entities")
+        void deleteAllDetached() throws BaseException {
+            // given
+            givenSession();
+            Mockito.when(em.contains("e0")).thenReturn(false);
+            Mockito.when(em.merge("e0")).thenReturn("merged");
+
+            // when
+            underTest.deleteAll(entities(1));
+
+            // then
+            Mockito.verify(em).remove("merged");
+        }
+
+        @Test
+        @DisplayName("Testing deleteAll with empty collection")
+        void deleteAllEmpty() throws BaseException {
+            // given
+            givenSession();
+
+            // when
+            underTest.deleteAll(List.of());
+
+            // then
+            Mockito.verify(em, Mockito.never()).flush();
+            Mockito.verify(session).setJdbcBatchSize(ORIGINAL_JDBC_BATCH_SIZE);
+        }
+
+        private void givenSession() {
+            Mockito.when(em.unwrap(Session.class)).thenReturn(session);
+            Mockito.when(session.getJdbcBatchSize()).thenReturn(ORIGINAL_JDBC_BATCH_SIZE);
+        }
+
+        private PersistenceUnitUtil givenNewEntities() {
+            EntityManagerFactory entityManagerFactory = Mockito.mock(EntityManagerFactory.class);
+            PersistenceUnitUtil persistenceUnitUtil = Mockito.mock(PersistenceUnitUtil.class);
+            Mockito.when(em.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+            Mockito.when(entityManagerFactory.getPersistenceUnitUtil()).thenReturn(persistenceUnitUtil);
+            return persistenceUnitUtil;
+        }
+
+        private List<String> entities(int count) {
+            List<String> entities = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                entities.add("e" + i);
+            }
+            return entities;
+        }
+    }
 }
@@ -0,0 +1,115 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.jpa.sql.paging;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.TypedQuery;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mockito;
+
+import hu.icellmobilsoft.coffee.dto.exception.InvalidParameterException;
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+
+/**
+ * Testing keyset paging
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing keyset paging")
+class KeysetPagingTest {
+
+    static Stream<Arguments> sortKeys() {
+        return Stream.of(Arguments.of((Object) null), Arguments.of("a:b:c"), Arguments.of(42L), Arguments.of(7), Arguments.of(new BigDecimal("12.50")),
+                Arguments.of(new Date(1_700_000_000_000L)), Arguments.of(OffsetDateTime.parse("2024-01-02T03:04:05.123+01:00")),
+                Arguments.of(LocalDate.parse("2024-01-02")));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sortKeys")
+    @DisplayName("Testing cursor encode-decode roundtrip")
+    void cursorRoundtrip(Object sortKey) throws BaseException {
+        // given
+        KeysetCursor cursor = KeysetCursor.of(sortKey, "ID:1");
+        // when
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+        // then
+        Assertions.assertEquals(cursor, decoded);
+    }
+
+    @Test
+    @DisplayName("Testing invalid cursor")
+    void invalidCursor() throws BaseException {
+        Assertions.assertNull(KeysetCursor.decode(" "));
+        Assertions.assertThrows(InvalidParameterException.class, () -> KeysetCursor.decode("invalid"));
+        Assertions.assertThrows(InvalidParameterException.class, () -> KeysetCursor.of(new Object(), "ID"));
+    }
+
+    @Test
+    @DisplayName("Testing next page probe")
+    void probeNext() throws BaseException {
+        // given
+        @SuppressWarnings("unchecked")
+        TypedQuery<String> query = Mockito.mock(TypedQuery.class);
+        Mockito.when(query.getResultList()).thenReturn(List.of("A", "B", "C"));
+        // when
+        KeysetPagingResult<String> result = PagingUtil.getKeysetPagingResult(c -> query, e -> KeysetCursor.of(null, e), null, 2, true, () -> 100L);
+        // then
+        Mockito.verify(query).setMaxResults(3);
+        Assertions.assertEquals(List.of("A", "B"), result.getResults());
+        Assertions.assertEquals(Boolean.TRUE, result.getDetails().getHasNext());
+        Assertions.assertEquals(BigInteger.valueOf(2), result.getDetails().getRows());
+        Assertions.assertEquals(BigInteger.valueOf(100), result.getDetails().getEstimatedTotalRows());
+        Assertions.assertEquals("B", KeysetCursor.decode(result.getDetails().getNextCursor()).getId());
+    }
+
+    @Test
+    @DisplayName("Testing last page")
+    void lastPage() throws BaseException {
+        // given
+        @SuppressWarnings("unchecked")
+        TypedQuery<String> query = Mockito.mock(TypedQuery.class);
+        Mockito.when(query.getResultList()).thenReturn(List.of("C"));
+        String cursor = KeysetCursor.of(null, "B").encode();
+        // when
+        KeysetPagingResult<String> result = PagingUtil.getKeysetPagingResult(c -> {
+            Assertions.assertEquals("B", c.getId());
+            return query;
+        }, e -> KeysetCursor.of(null, e), cursor, 2, false);
+        // then
+        Mockito.verify(query).setMaxResults(2);
+        Assertions.assertEquals(Boolean.FALSE, result.getDetails().getHasNext());
+        Assertions.assertNull(result.getDetails().getNextCursor());
+        Assertions.assertNull(result.getDetails().getEstimatedTotalRows());
+    }
+}
@@ -26,6 +26,8 @@ import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
 
 import hu.icellmobilsoft.coffee.model.base.exception.ProviderException;
+import hu.icellmobilsoft.coffee.model.base.metadata.EntityMetadata;
+import hu.icellmobilsoft.coffee.model.base.metadata.EntityMetadataRegistry;
 
 /**
  * Abstract class of providers.
@@ -35,7 +37,7 @@ import hu.icellmobilsoft.coffee.model.base.exception.ProviderException;
  */
 public abstract class AbstractProvider {
 
-    private static ClassFieldsAndMethodsCache classFieldsAndMethodsCache = new ClassFieldsAndMethodsCache();
+    private static final ClassFieldsAndMethodsCache classFieldsAndMethodsCache = new ClassFieldsAndMethodsCache();
 
     /**
      * Default constructor, constructs a new object.
@@ -44,6 +46,17 @@ public abstract class AbstractProvider {
         super();
     }
 
+    /**
+     * Returns the precomputed metadata of the entity class
+     *
+     * @param clazz
+     *            the entity class
+     * @return metadata of the entity class
+     */
+    protected EntityMetadata getEntityMetadata(Class<?> clazz) {
+        return EntityMetadataRegistry.getMetadata(clazz);
+    }
+
     /**
      * Returns the field from the specified list associated with the specified getter method based on its name
      *
@@ -52,7 +65,9 @@ public abstract class AbstractProvider {
      * @param allFields
      *            list of fields
      * @return the associated field
+     * @deprecated use {@link #getEntityMetadata(Class)} instead, since 2.8.0
      */
+    @Deprecated(since = "2.8.0")
     protected Field getFieldByMethod(Method method, List<Field> allFields) {
         for (Field field : allFields) {
             String fieldName = field.getName();
@@ -72,9 +87,13 @@ public abstract class AbstractProvider {
      * @param clazz
      *            the specified class
      * @return pair of fields and methods lists
+     * @deprecated use {@link #getEntityMetadata(Class)} instead, since 2.8.0
      */
+    @Deprecated(since = "2.8.0")
     protected Pair<List<Field>, List<Method>> getAllFieldsAndMethods(Class<?> clazz) {
-        return classFieldsAndMethodsCache.getFieldsAndMethods(clazz);
+        synchronized (classFieldsAndMethodsCache) {
+            return classFieldsAndMethodsCache.getFieldsAndMethods(clazz);
+        }
     }
 
 }
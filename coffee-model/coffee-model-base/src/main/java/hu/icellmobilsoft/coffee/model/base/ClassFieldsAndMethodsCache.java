@@ -40,7 +40,9 @@ import org.apache.commons.lang3.tuple.Pair;
  *
  * @author zsolt.vasi
  * @since 2.0.0
+ * @deprecated not thread safe, use {@link hu.icellmobilsoft.coffee.model.base.metadata.EntityMetadataRegistry} instead, since 2.8.0
  */
+@Deprecated(since = "2.8.0")
 public class ClassFieldsAndMethodsCache<K extends Class, V extends Pair<List<Field>, List<Method>>> extends LinkedHashMap<K, V> {
 
     private static final int DEFAULT_CACHE_SIZE = 10_000;
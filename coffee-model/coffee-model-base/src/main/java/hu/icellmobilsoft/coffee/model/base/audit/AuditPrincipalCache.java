@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.audit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Request scoped memory of the {@link hu.icellmobilsoft.coffee.model.base.annotation.CurrentUser} principals resolved by {@link AuditProvider},
+ * keyed by the property type. The principal is resolved at most once per request and property type.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@RequestScoped
+public class AuditPrincipalCache {
+
+    private final Map<Class<?>, Object> principals = new HashMap<>();
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public AuditPrincipalCache() {
+        super();
+    }
+
+    /**
+     * Returns the cached principal of the property type, resolves and caches it if not present
+     *
+     * @param propertyClass
+     *            type of the audited property
+     * @param resolver
+     *            resolves the principal
+     * @return the principal
+     */
+    public Object get(Class<?> propertyClass, Function<Class<?>, Object> resolver) {
+        Object principal = principals.get(propertyClass);
+        if (principal == null) {
+            principal = resolver.apply(propertyClass);
+            principals.put(propertyClass, principal);
+        }
+        return principal;
+    }
+
+    /**
+     * Clears the cached principals, e.g. if the current user changed within the request
+     */
+    public void clear() {
+        principals.clear();
+    }
+}
@@ -19,32 +19,37 @@
  */
 package hu.icellmobilsoft.coffee.model.base.audit;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.List;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+import jakarta.enterprise.context.ContextNotActiveException;
 import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.inject.Inject;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 
-import org.apache.commons.lang3.tuple.Pair;
-
 import hu.icellmobilsoft.coffee.model.base.AbstractProvider;
 import hu.icellmobilsoft.coffee.model.base.annotation.CreatedBy;
 import hu.icellmobilsoft.coffee.model.base.annotation.CurrentUser;
 import hu.icellmobilsoft.coffee.model.base.annotation.ModifiedBy;
-import hu.icellmobilsoft.coffee.model.base.exception.ProviderException;
+import hu.icellmobilsoft.coffee.model.base.metadata.EntityMetadata;
+import hu.icellmobilsoft.coffee.model.base.metadata.EntityProperty;
 
 /**
  * Persist entity @CreatedBy property before persist with the value provided by @CurrentUser
  *
  * Update entity @ModifiedBy property before update with the value provided by @CurrentUser
  *
+ * The principal is resolved once per request and property type if the request context is active (see {@link AuditPrincipalCache}).
+ *
  * @author czenczl
  * @author zsolt.vasi
  * @since 1.0.0
@@ -55,6 +60,13 @@ public class AuditProvider extends AbstractProvider {
     @Inject
     private BeanManager manager;
 
+    @Inject
+    private Instance<AuditPrincipalCache> principalCacheInstance;
+
+    private volatile AuditPrincipalCache principalCache;
+
+    private final Map<Class<?>, Bean<?>> principalBeans = new ConcurrentHashMap<>();
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -70,75 +82,115 @@ public class AuditProvider extends AbstractProvider {
      */
     @PrePersist
     public void prePersist(Object entity) {
-        Pair<List<Field>, List<Method>> pair = getAllFieldsAndMethods(entity.getClass());
-        List<Field> allFields = pair.getLeft();
-        for (Field field : allFields) {
-            setPropertyIfAnnotated(entity, field, CreatedBy.class);
-            if (field.isAnnotationPresent(ModifiedBy.class) && field.getAnnotation(ModifiedBy.class).onCreate()) {
-                Object value = resolvePrincipal(field.getType());
-                setProperty(entity, field, value);
-            }
+        applyCreation(entity, this::resolvePrincipal);
+    }
+
+    /**
+     * Update entity @ModifiedBy property before update with the value provided by @CurrentUser
+     *
+     * @param entity
+     *            Object entity to update
+     */
+    @PreUpdate
+    public void preUpdate(Object entity) {
+        applyModification(entity, this::resolvePrincipal);
+    }
+
+    /**
+     * Bulk variant of {@link #prePersist(Object)} for batch inserts where the entity listeners are not called (e.g. stateless session or JDBC
+     * batch). The principal is resolved only once per property type for the whole collection.
+     *
+     * @param entities
+     *            entities to persist
+     */
+    public void prePersistAll(Collection<?> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+        Map<Class<?>, Object> principals = new HashMap<>();
+        Function<Class<?>, Object> resolver = propertyClass -> principals.computeIfAbsent(propertyClass, this::resolvePrincipal);
+        for (Object entity : entities) {
+            applyCreation(entity, resolver);
         }
-        for (Method method : pair.getRight()) {
-            setPropertyIfGetterAnnotated(entity, allFields, method, CreatedBy.class);
-            if (method.isAnnotationPresent(ModifiedBy.class) && method.getAnnotation(ModifiedBy.class).onCreate()) {
-                Object value = resolvePrincipal(method.getReturnType());
-                Field field = getFieldByMethod(method, allFields);
-                setProperty(entity, field, value);
+    }
+
+    /**
+     * Bulk variant of {@link #preUpdate(Object)} for batch updates where the entity listeners are not called (e.g. stateless session or JDBC
+     * batch). The principal is resolved only once per property type for the whole collection.
+     *
+     * @param entities
+     *            entities to update
+     */
+    public void preUpdateAll(Collection<?> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+        Map<Class<?>, Object> principals = new HashMap<>();
+        Function<Class<?>, Object> resolver = propertyClass -> principals.computeIfAbsent(propertyClass, this::resolvePrincipal);
+        for (Object entity : entities) {
+            applyModification(entity, resolver);
+        }
+    }
+
+    private void applyCreation(Object entity, Function<Class<?>, Object> resolver) {
+        EntityMetadata metadata = getEntityMetadata(entity.getClass());
+        for (EntityProperty property : metadata.getProperties(CreatedBy.class)) {
+            property.set(entity, resolver.apply(property.getType()));
+        }
+        for (EntityProperty property : metadata.getProperties(ModifiedBy.class)) {
+            if (property.<ModifiedBy> getAnnotation().onCreate()) {
+                property.set(entity, resolver.apply(property.getType()));
             }
         }
     }
 
-    private void setPropertyIfGetterAnnotated(Object entity, List<Field> allFields, Method method, Class<? extends Annotation> annotationClass) {
-        if (method.isAnnotationPresent(annotationClass)) {
-            Object value = resolvePrincipal(method.getReturnType());
-            Field field = getFieldByMethod(method, allFields);
-            setProperty(entity, field, value);
+    private void applyModification(Object entity, Function<Class<?>, Object> resolver) {
+        for (EntityProperty property : getEntityMetadata(entity.getClass()).getProperties(ModifiedBy.class)) {
+            property.set(entity, resolver.apply(property.getType()));
         }
     }
 
-    private void setPropertyIfAnnotated(Object entity, Field field, Class<? extends Annotation> annotationClass) {
-        if (field.isAnnotationPresent(annotationClass)) {
-            Object value = resolvePrincipal(field.getType());
-            setProperty(entity, field, value);
+    private Object resolvePrincipal(Class<?> propertyClass) {
+        AuditPrincipalCache cache = getPrincipalCache();
+        if (cache != null) {
+            return cache.get(propertyClass, this::lookupPrincipal);
         }
+        return lookupPrincipal(propertyClass);
     }
 
     /**
-     * Update entity @ModifiedBy property before update with the value provided by @CurrentUser
+     * Returns the request scoped principal cache if the request context is active
      *
-     * @param entity
-     *            Object entity to update
+     * @return the principal cache client proxy, or {@code null} if caching is not possible
      */
-    @PreUpdate
-    public void preUpdate(Object entity) {
-        Pair<List<Field>, List<Method>> pair = getAllFieldsAndMethods(entity.getClass());
-        List<Field> allFields = pair.getLeft();
-        for (Field field : allFields) {
-            setPropertyIfAnnotated(entity, field, ModifiedBy.class);
+    private AuditPrincipalCache getPrincipalCache() {
+        if (!isRequestContextActive()) {
+            return null;
         }
-        List<Method> allMethods = pair.getRight();
-        for (Method method : allMethods) {
-            setPropertyIfGetterAnnotated(entity, allFields, method, ModifiedBy.class);
+        if (principalCache == null && principalCacheInstance.isResolvable()) {
+            // client proxy, valid for every request
+            principalCache = principalCacheInstance.get();
         }
+        return principalCache;
     }
 
-    private void setProperty(Object entity, Field field, Object value) {
+    private boolean isRequestContextActive() {
         try {
-            field.setAccessible(true);
-            field.set(entity, value);
-        } catch (Exception e) {
-            throw new ProviderException(
-                    "Failed to write value [" + value + "] to field[" + field + "], entity [" + entity.getClass() + "]: " + e.getLocalizedMessage(),
-                    e);
+            return manager.getContext(RequestScoped.class).isActive();
+        } catch (ContextNotActiveException e) {
+            return false;
         }
     }
 
-    private Object resolvePrincipal(Class<?> propertyClass) {
+    private Object lookupPrincipal(Class<?> propertyClass) {
+        Bean<?> bean = principalBeans.computeIfAbsent(propertyClass, this::findPrincipalBean);
+        return manager.getReference(bean, propertyClass, manager.createCreationalContext(bean));
+    }
+
+    private Bean<?> findPrincipalBean(Class<?> propertyClass) {
         Set<Bean<?>> beans = manager.getBeans(propertyClass, () -> CurrentUser.class);
         if (!beans.isEmpty() && beans.size() == 1) {
-            Bean<?> bean = beans.iterator().next();
-            return manager.getReference(bean, propertyClass, manager.createCreationalContext(bean));
+            return beans.iterator().next();
         }
         throw new IllegalArgumentException("Principal " + (beans.isEmpty() ? "not found" : "not unique"));
     }
@@ -20,22 +20,27 @@
 package hu.icellmobilsoft.coffee.model.base.generator;
 
 import java.io.Serializable;
+import java.util.Iterator;
+import java.util.ServiceLoader;
 
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.id.IdentifierGenerator;
 
 import hu.icellmobilsoft.coffee.model.base.IIdentifiedEntity;
-import hu.icellmobilsoft.coffee.se.util.string.RandomUtil;
+import hu.icellmobilsoft.coffee.se.logging.Logger;
 
 /**
- * Entity identifier generator.
+ * Entity identifier generator. Ids are generated by the {@link IdGeneratorStrategy} registered with {@link ServiceLoader}, or by
+ * {@link RandomUtilIdGeneratorStrategy} if none is registered.
  *
  * @author imre.scheffer
  * @since 1.0.0
  */
 public class EntityIdGenerator implements IdentifierGenerator {
 
+    private static final IdGeneratorStrategy STRATEGY = loadStrategy();
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -62,7 +67,26 @@ public class EntityIdGenerator implements IdentifierGenerator {
      * @return entityId
      */
     public static String generateId() {
-        return RandomUtil.generateId();
+        return STRATEGY.generateId();
+    }
+
+    /**
+     * Returns the active id generator strategy.
+     *
+     * @return id generator strategy
+     */
+    public static IdGeneratorStrategy getStrategy() {
+        return STRATEGY;
+    }
+
+    private static IdGeneratorStrategy loadStrategy() {
+        Iterator<IdGeneratorStrategy> strategies = ServiceLoader.load(IdGeneratorStrategy.class).iterator();
+        if (strategies.hasNext()) {
+            IdGeneratorStrategy strategy = strategies.next();
+            Logger.getLogger(EntityIdGenerator.class).info("Using entity id generator strategy: [{0}]", strategy.getClass().getName());
+            return strategy;
+        }
+        return new RandomUtilIdGeneratorStrategy();
     }
 
 }
@@ -0,0 +1,41 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.generator;
+
+/**
+ * Strategy of entity identifier generation used by {@link EntityIdGenerator}.
+ * <p>
+ * Custom strategy can be registered with the {@link java.util.ServiceLoader} mechanism, in a
+ * {@code META-INF/services/hu.icellmobilsoft.coffee.model.base.generator.IdGeneratorStrategy} file. If none is registered,
+ * {@link RandomUtilIdGeneratorStrategy} is used. The time ordered {@link TimeOrderedIdGeneratorStrategy} is used only if it is registered
+ * in this file. Implementations must be thread-safe.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public interface IdGeneratorStrategy {
+
+    /**
+     * Generates a new unique identifier.
+     *
+     * @return generated identifier
+     */
+    String generateId();
+}
@@ -0,0 +1,44 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.generator;
+
+import hu.icellmobilsoft.coffee.se.util.string.RandomUtil;
+
+/**
+ * Default {@link IdGeneratorStrategy} delegating to {@link RandomUtil#generateId()}, unique and non-sequential ids.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public class RandomUtilIdGeneratorStrategy implements IdGeneratorStrategy {
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public RandomUtilIdGeneratorStrategy() {
+        super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String generateId() {
+        return RandomUtil.generateId();
+    }
+}
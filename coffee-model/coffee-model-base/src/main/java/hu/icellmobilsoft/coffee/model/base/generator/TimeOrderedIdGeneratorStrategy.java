@@ -0,0 +1,161 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Lock-free, time ordered {@link IdGeneratorStrategy}, opt-in, see {@link IdGeneratorStrategy}. The generated id is 16 characters of
+ * {@code [0-9A-Z]}:
+ * <ul>
+ * <li>8 characters: milliseconds elapsed since 2013-01-01 UTC (enough until 2102)</li>
+ * <li>4 characters: sequence within the millisecond (1 679 616 ids per millisecond)</li>
+ * <li>4 characters: node id</li>
+ * </ul>
+ * The timestamp and the sequence are held in a single {@link AtomicLong}, every call increments it with a CAS loop, so ids of one
+ * node are strictly increasing and never repeat, even if more ids are requested within a millisecond than the sequence can hold (then the
+ * timestamp part runs ahead of the clock until the load drops).
+ * <p>
+ * Unlike the default {@link RandomUtilIdGeneratorStrategy} ids, these ids are sequential, the next id of a node can be guessed from the
+ * previous one.
+ * <p>
+ * The node id separates the processes writing the same table, it must be set by the {@value #NODE_ID_ENV} environment variable or the
+ * {@value #NODE_ID_PROP} system property (0 - 1679615), every process has to get a distinct node id. Ids of processes with the same node
+ * id can collide.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public class TimeOrderedIdGeneratorStrategy implements IdGeneratorStrategy {
+
+    /**
+     * Environment variable of the node id
+     */
+    public static final String NODE_ID_ENV = "COFFEE_MODEL_BASE_ID_GENERATOR_NODE_ID";
+    /**
+     * System property of the node id
+     */
+    public static final String NODE_ID_PROP = "coffee.model.base.id.generator.node.id";
+
+    /**
+     * Length of the generated id
+     */
+    public static final int ID_LENGTH = 16;
+
+    /**
+     * Highest allowed node id
+     */
+    public static final int MAX_NODE_ID = 36 * 36 * 36 * 36 - 1;
+
+    private static final long EPOCH = 1356998400000L;
+    private static final int RADIX = 36;
+    private static final int TIME_LENGTH = 8;
+    private static final int SEQUENCE_LENGTH = 4;
+    private static final int NODE_LENGTH = 4;
+    private static final long SEQUENCE_RANGE = 36L * 36 * 36 * 36;
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+    private final char[] node;
+
+    /**
+     * Constructs generator with the configured node id.
+     *
+     * @throws IllegalStateException
+     *             if the node id is not configured or it is invalid
+     */
+    public TimeOrderedIdGeneratorStrategy() {
+        this(resolveNodeId());
+    }
+
+    /**
+     * Constructs generator with the given node id.
+     *
+     * @param nodeId
+     *            node id, 0 - {@value #MAX_NODE_ID}
+     * @throws IllegalArgumentException
+     *             if node id is out of range
+     */
+    public TimeOrderedIdGeneratorStrategy(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id [" + nodeId + "] is out of range [0 - " + MAX_NODE_ID + "]!");
+        }
+        node = new char[NODE_LENGTH];
+        encode(nodeId, node, 0, NODE_LENGTH);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String generateId() {
+        long value = nextTimeAndSequence();
+        char[] id = new char[ID_LENGTH];
+        encode(value, id, 0, TIME_LENGTH + SEQUENCE_LENGTH);
+        System.arraycopy(node, 0, id, TIME_LENGTH + SEQUENCE_LENGTH, NODE_LENGTH);
+        return new String(id);
+    }
+
+    /**
+     * Returns the node id part of the generated ids.
+     *
+     * @return node id part
+     */
+    public String getNode() {
+        return new String(node);
+    }
+
+    private long nextTimeAndSequence() {
+        long now = (System.currentTimeMillis() - EPOCH) * SEQUENCE_RANGE;
+        long prev;
+        long next;
+        do {
+            prev = lastTimeAndSequence.get();
+            next = Math.max(prev + 1, now);
+        } while (!lastTimeAndSequence.compareAndSet(prev, next));
+        return next;
+    }
+
+    private static void encode(long value, char[] target, int offset, int length) {
+        long rest = value;
+        for (int i = offset + length - 1; i >= offset; i--) {
+            target[i] = DIGITS[(int) (rest % RADIX)];
+            rest /= RADIX;
+        }
+    }
+
+    private static int resolveNodeId() {
+        String nodeIdString = StringUtils.defaultIfBlank(System.getenv(NODE_ID_ENV), System.getProperty(NODE_ID_PROP));
+        if (StringUtils.isBlank(nodeIdString)) {
+            // a random node id could be the same on two processes, their ids would collide
+            throw new IllegalStateException("The " + NODE_ID_ENV + " environment or " + NODE_ID_PROP + " property is required!");
+        }
+        try {
+            int nodeId = Integer.parseInt(nodeIdString.trim());
+            if (nodeId >= 0 && nodeId <= MAX_NODE_ID) {
+                return nodeId;
+            }
+        } catch (NumberFormatException e) {
+            // invalid, handled below
+        }
+        throw new IllegalStateException("The " + NODE_ID_ENV + " environment or " + NODE_ID_PROP + " property is not a valid node id (0 - "
+                + MAX_NODE_ID + "): [" + nodeIdString + "]!");
+    }
+}
@@ -20,9 +20,7 @@
 package hu.icellmobilsoft.coffee.model.base.javatime.listener;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -32,18 +30,17 @@ import java.time.OffsetTime;
 import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.List;
 
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 
 import hu.icellmobilsoft.coffee.model.base.AbstractProvider;
 import hu.icellmobilsoft.coffee.model.base.exception.ProviderException;
 import hu.icellmobilsoft.coffee.model.base.javatime.annotation.CreatedOn;
 import hu.icellmobilsoft.coffee.model.base.javatime.annotation.ModifiedOn;
+import hu.icellmobilsoft.coffee.model.base.metadata.EntityProperty;
 import hu.icellmobilsoft.coffee.se.logging.Logger;
 
 /**
@@ -92,23 +89,12 @@ public class TimestampsProvider extends AbstractProvider {
 
     private void updateTimestamps(Object entity, Class<? extends Annotation> annotationClass) {
         long sysTime = System.currentTimeMillis();
-
-        Pair<List<Field>, List<Method>> pair = getAllFieldsAndMethods(entity.getClass());
-        List<Field> allFields = pair.getLeft();
-        for (Field field : allFields) {
-            if (field.isAnnotationPresent(annotationClass)) {
-                setValue(entity, field.getType(), sysTime, field);
-            }
-        }
-        for (Method method : pair.getRight()) {
-            if (method.isAnnotationPresent(annotationClass)) {
-                Field field = getFieldByMethod(method, allFields);
-                setValue(entity, field.getType(), sysTime, field);
-            }
+        for (EntityProperty property : getEntityMetadata(entity.getClass()).getProperties(annotationClass)) {
+            setValue(entity, property.getField().getType(), sysTime, property);
         }
     }
 
-    private void setValue(Object entity, Class<?> fieldClass, long systime, Field field) {
+    private void setValue(Object entity, Class<?> fieldClass, long systime, EntityProperty property) {
         Object object = null;
         try {
             if (isCalendarClass(fieldClass)) {
@@ -130,12 +116,11 @@ public class TimestampsProvider extends AbstractProvider {
             } else {
                 throw new IllegalArgumentException("Annotated fieldClass is not a date class: " + fieldClass);
             }
-            field.setAccessible(true);
-            field.set(entity, object);
-        } catch (IllegalAccessException | NoSuchMethodException | InstantiationException | InvocationTargetException exception) {
-            throw new ProviderException("Failed to write value [" + object + "] to field [" + field + "], fieldClass [" + fieldClass + "], entity ["
-                    + entity.getClass() + "]: " + exception.getLocalizedMessage(), exception);
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException exception) {
+            throw new ProviderException("Failed to write value [" + object + "] to field [" + property.getField() + "], fieldClass [" + fieldClass
+                    + "], entity [" + entity.getClass() + "]: " + exception.getLocalizedMessage(), exception);
         }
+        property.set(entity, object);
     }
 
     private ZoneId getZoneId() {
@@ -0,0 +1,132 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.metadata;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import hu.icellmobilsoft.coffee.model.base.exception.ProviderException;
+
+/**
+ * Immutable metadata of an entity class: the properties annotated with the tracked annotations, collected from the whole class hierarchy.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public final class EntityMetadata {
+
+    private final Class<?> entityClass;
+    private final Map<Class<? extends Annotation>, List<EntityProperty>> properties;
+
+    /**
+     * Collects the metadata of the given class
+     *
+     * @param entityClass
+     *            the entity class
+     * @param annotationClasses
+     *            the tracked annotations
+     */
+    EntityMetadata(Class<?> entityClass, Set<Class<? extends Annotation>> annotationClasses) {
+        this.entityClass = entityClass;
+        Map<Class<? extends Annotation>, List<EntityProperty>> collected = new HashMap<>();
+        for (Class<? extends Annotation> annotationClass : annotationClasses) {
+            List<EntityProperty> annotated = collect(entityClass, annotationClass);
+            if (!annotated.isEmpty()) {
+                collected.put(annotationClass, annotated);
+            }
+        }
+        this.properties = Collections.unmodifiableMap(collected);
+    }
+
+    /**
+     * Returns the properties annotated with the given annotation
+     *
+     * @param annotationClass
+     *            the annotation
+     * @return the annotated properties, empty list if there is none
+     */
+    public List<EntityProperty> getProperties(Class<? extends Annotation> annotationClass) {
+        return properties.getOrDefault(annotationClass, Collections.emptyList());
+    }
+
+    /**
+     * Returns the entity class
+     *
+     * @return the entity class
+     */
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    private static List<EntityProperty> collect(Class<?> clazz, Class<? extends Annotation> annotationClass) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(0, current);
+        }
+        // one property per field, even if both the field and its getter is annotated
+        Map<Field, EntityProperty> result = new LinkedHashMap<>();
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                Annotation annotation = field.getAnnotation(annotationClass);
+                if (annotation != null) {
+                    result.putIfAbsent(field, new EntityProperty(field, field.getType(), annotation));
+                }
+            }
+        }
+        for (Class<?> current : hierarchy) {
+            for (Method method : current.getDeclaredMethods()) {
+                Annotation annotation = method.getAnnotation(annotationClass);
+                if (annotation != null) {
+                    Field field = getFieldByGetter(method);
+                    result.putIfAbsent(field, new EntityProperty(field, method.getReturnType(), annotation));
+                }
+            }
+        }
+        return List.copyOf(result.values());
+    }
+
+    private static Field getFieldByGetter(Method method) {
+        String methodName = method.getName();
+        String suffix = null;
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            suffix = methodName.substring(3);
+        } else if (methodName.startsWith("is") && methodName.length() > 2) {
+            suffix = methodName.substring(2);
+        }
+        if (suffix != null) {
+            String fieldName = Character.toLowerCase(suffix.charAt(0)) + suffix.substring(1);
+            for (Field field : method.getDeclaringClass().getDeclaredFields()) {
+                if (field.getName().equals(fieldName)) {
+                    return field;
+                }
+            }
+        }
+        throw new ProviderException(
+                "Field is not found based on the name of the annotated method: " + method.getDeclaringClass() + "." + method.getName());
+    }
+}
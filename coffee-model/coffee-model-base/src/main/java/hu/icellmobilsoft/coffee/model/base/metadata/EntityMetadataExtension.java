@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.metadata;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.spi.AfterDeploymentValidation;
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.enterprise.inject.spi.ProcessAnnotatedType;
+import jakarta.enterprise.inject.spi.WithAnnotations;
+import jakarta.persistence.Entity;
+
+import hu.icellmobilsoft.coffee.model.base.exception.ProviderException;
+import hu.icellmobilsoft.coffee.se.logging.Logger;
+
+/**
+ * CDI extension which builds the {@link EntityMetadataRegistry} for the discovered {@link Entity} classes after deployment validation, so the
+ * entity listeners do not pay for the reflection on the first persist. Entities outside of the scanned bean archives are registered lazily.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public class EntityMetadataExtension implements Extension {
+
+    private static final Logger LOGGER = Logger.getLogger(EntityMetadataExtension.class);
+
+    private final List<Class<?>> entityClasses = new ArrayList<>();
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public EntityMetadataExtension() {
+        super();
+    }
+
+    /**
+     * Collects the entity classes
+     *
+     * @param <T>
+     *            type of the processed class
+     * @param pat
+     *            event fired for every discovered entity class
+     */
+    public <T> void processEntity(@Observes @WithAnnotations(Entity.class) ProcessAnnotatedType<T> pat) {
+        entityClasses.add(pat.getAnnotatedType().getJavaClass());
+    }
+
+    /**
+     * Builds the metadata of the collected entity classes
+     *
+     * @param adv
+     *            event fired by the CDI container after deployment validation
+     */
+    public void afterDeploymentValidation(@Observes AfterDeploymentValidation adv) {
+        for (Class<?> entityClass : entityClasses) {
+            try {
+                EntityMetadataRegistry.register(entityClass);
+            } catch (ProviderException e) {
+                // invalid mapping is reported on first use by the entity listener as well
+                LOGGER.warn("Failed to collect entity metadata of [{0}]: [{1}]", entityClass, e.getLocalizedMessage());
+            }
+        }
+        LOGGER.debug("Entity metadata collected for [{0}] entity classes", entityClasses.size());
+        // free memory
+        entityClasses.clear();
+    }
+}
@@ -0,0 +1,85 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.metadata;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import hu.icellmobilsoft.coffee.model.base.annotation.CreatedBy;
+import hu.icellmobilsoft.coffee.model.base.annotation.ModifiedBy;
+import hu.icellmobilsoft.coffee.model.base.javatime.annotation.CreatedOn;
+import hu.icellmobilsoft.coffee.model.base.javatime.annotation.ModifiedOn;
+
+/**
+ * Thread safe registry of {@link EntityMetadata} keyed by entity class. The metadata of a class is built once, either eagerly by
+ * {@link EntityMetadataExtension} after deployment validation, or lazily on first access (e.g. entity listener called outside of CDI).
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public final class EntityMetadataRegistry {
+
+    /**
+     * Annotations tracked by the coffee entity listeners
+     */
+    public static final Set<Class<? extends Annotation>> TRACKED_ANNOTATIONS = Set.of(CreatedBy.class, ModifiedBy.class, CreatedOn.class,
+            ModifiedOn.class);
+
+    private static final Map<Class<?>, EntityMetadata> METADATA = new ConcurrentHashMap<>();
+
+    private EntityMetadataRegistry() {
+    }
+
+    /**
+     * Returns the metadata of the given class, builds it on the first call
+     *
+     * @param entityClass
+     *            the entity class
+     * @return metadata of the class
+     */
+    public static EntityMetadata getMetadata(Class<?> entityClass) {
+        EntityMetadata metadata = METADATA.get(entityClass);
+        if (metadata == null) {
+            metadata = METADATA.computeIfAbsent(entityClass, clazz -> new EntityMetadata(clazz, TRACKED_ANNOTATIONS));
+        }
+        return metadata;
+    }
+
+    /**
+     * Builds the metadata of the given class if not already present
+     *
+     * @param entityClass
+     *            the entity class
+     */
+    public static void register(Class<?> entityClass) {
+        getMetadata(entityClass);
+    }
+
+    /**
+     * Returns the number of registered classes
+     *
+     * @return number of registered classes
+     */
+    public static int size() {
+        return METADATA.size();
+    }
+}
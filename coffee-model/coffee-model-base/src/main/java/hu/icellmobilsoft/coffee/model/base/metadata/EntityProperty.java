@@ -0,0 +1,115 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.metadata;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+import hu.icellmobilsoft.coffee.model.base.exception.ProviderException;
+
+/**
+ * Annotated property of an entity with precomputed setter. The annotation can be placed on the field or on its getter method, the value is
+ * always written directly to the field.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public final class EntityProperty {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final Class<?> type;
+    private final Annotation annotation;
+    private final MethodHandle setter;
+
+    /**
+     * Creates property
+     *
+     * @param field
+     *            the field holding the value
+     * @param type
+     *            type of the annotated member (field type or getter return type)
+     * @param annotation
+     *            the annotation found on the member
+     */
+    EntityProperty(Field field, Class<?> type, Annotation annotation) {
+        this.field = field;
+        this.type = type;
+        this.annotation = annotation;
+        try {
+            field.setAccessible(true);
+            this.setter = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new ProviderException("Failed to create setter for field [" + field + "]: " + e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the value to the field of the entity
+     *
+     * @param entity
+     *            the entity
+     * @param value
+     *            the value to write
+     */
+    public void set(Object entity, Object value) {
+        try {
+            setter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw new ProviderException(
+                    "Failed to write value [" + value + "] to field [" + field + "], entity [" + entity.getClass() + "]: " + e.getLocalizedMessage(),
+                    e);
+        }
+    }
+
+    /**
+     * Returns the field holding the value
+     *
+     * @return the field
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Returns the type of the annotated member
+     *
+     * @return field type or getter return type
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the annotation found on the member
+     *
+     * @param <A>
+     *            annotation type
+     * @return the annotation
+     */
+    @SuppressWarnings("unchecked")
+    public <A extends Annotation> A getAnnotation() {
+        return (A) annotation;
+    }
+}
@@ -0,0 +1,90 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.model.base.DefaultImplAbstractIdentifiedAuditEntity;
+
+/**
+ * Testing principal caching of AuditProvider
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@EnableWeld
+@Tag("weld")
+@DisplayName("Testing principal caching of AuditProvider")
+class AuditPrincipalCacheTest {
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator.from(AuditProvider.class, AuditPrincipalCache.class, BeanManager.class, CountingUserProvider.class)
+            .activate(RequestScoped.class).build();
+
+    @Inject
+    private AuditProvider auditProvider;
+
+    @BeforeEach
+    void reset() {
+        CountingUserProvider.CALLS.set(0);
+    }
+
+    @Test
+    @DisplayName("principal resolved once per request test")
+    void cachedPerRequestTest() {
+        // given
+        DefaultImplAbstractIdentifiedAuditEntity first = new DefaultImplAbstractIdentifiedAuditEntity();
+        DefaultImplAbstractIdentifiedAuditEntity second = new DefaultImplAbstractIdentifiedAuditEntity();
+        // when
+        auditProvider.prePersist(first);
+        auditProvider.preUpdate(second);
+        // then
+        assertEquals(UserProvider.DEFAULT_SYSTEM_USER, first.getCreatorUser());
+        assertEquals(UserProvider.DEFAULT_SYSTEM_USER, second.getModifierUser());
+        assertEquals(1, CountingUserProvider.CALLS.get());
+    }
+
+    @Test
+    @DisplayName("bulk prePersist test")
+    void prePersistAllTest() {
+        // given
+        List<DefaultImplAbstractIdentifiedAuditEntity> entities = List.of(new DefaultImplAbstractIdentifiedAuditEntity(),
+                new DefaultImplAbstractIdentifiedAuditEntity());
+        // when
+        auditProvider.prePersistAll(entities);
+        // then
+        entities.forEach(entity -> assertEquals(UserProvider.DEFAULT_SYSTEM_USER, entity.getCreatorUser()));
+        assertEquals(1, CountingUserProvider.CALLS.get());
+    }
+}
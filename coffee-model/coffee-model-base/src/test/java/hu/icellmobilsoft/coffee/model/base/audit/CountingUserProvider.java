@@ -0,0 +1,50 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.audit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+
+import hu.icellmobilsoft.coffee.model.base.annotation.CurrentUser;
+
+/**
+ * Current user producer counting its calls
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@ApplicationScoped
+public class CountingUserProvider {
+
+    /**
+     * Number of the producer calls
+     */
+    public static final AtomicInteger CALLS = new AtomicInteger();
+
+    @Produces
+    @CurrentUser
+    public String currentUser() {
+        CALLS.incrementAndGet();
+        return UserProvider.DEFAULT_SYSTEM_USER;
+    }
+
+}
@@ -51,6 +51,17 @@ public class EntityIdGeneratorTest {
         }
     }
 
+    @Test
+    @DisplayName("Testing default strategy generates random ids")
+    public void defaultStrategyTest() {
+        // given
+
+        // when
+
+        // then
+        Assertions.assertInstanceOf(RandomUtilIdGeneratorStrategy.class, EntityIdGenerator.getStrategy());
+    }
+
     @Test
     @DisplayName("Testing generateId length")
     public void generateIdLengthTest() {
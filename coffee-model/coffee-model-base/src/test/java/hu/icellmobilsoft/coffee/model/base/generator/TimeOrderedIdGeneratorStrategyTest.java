@@ -0,0 +1,157 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing TimeOrderedIdGeneratorStrategy class
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing TimeOrderedIdGeneratorStrategy class")
+class TimeOrderedIdGeneratorStrategyTest {
+
+    private static final String ID_REGEX = "[0-9A-Z]{16}";
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    @DisplayName("Testing id format and node part")
+    void formatTest() {
+        // given
+        TimeOrderedIdGeneratorStrategy strategy = new TimeOrderedIdGeneratorStrategy(35);
+
+        // when
+        String actual = strategy.generateId();
+
+        // then
+        Assertions.assertTrue(actual.matches(ID_REGEX), actual);
+        Assertions.assertEquals("000Z", strategy.getNode());
+        Assertions.assertTrue(actual.endsWith("000Z"));
+    }
+
+    @Test
+    @DisplayName("Testing ids are strictly increasing on one thread")
+    void orderTest() {
+        // given
+        TimeOrderedIdGeneratorStrategy strategy = new TimeOrderedIdGeneratorStrategy(1);
+        String prev = strategy.generateId();
+
+        // when
+        for (int i = 0; i < 100_000; i++) {
+            String actual = strategy.generateId();
+            // then
+            Assertions.assertTrue(actual.compareTo(prev) > 0, actual + " <= " + prev);
+            prev = actual;
+        }
+    }
+
+    @Test
+    @DisplayName("Testing invalid node id")
+    void invalidNodeIdTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGeneratorStrategy(-1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new TimeOrderedIdGeneratorStrategy(TimeOrderedIdGeneratorStrategy.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    @DisplayName("Testing node id from system property")
+    void configuredNodeIdTest() {
+        // given
+        System.setProperty(TimeOrderedIdGeneratorStrategy.NODE_ID_PROP, "35");
+        try {
+            // when
+            TimeOrderedIdGeneratorStrategy strategy = new TimeOrderedIdGeneratorStrategy();
+
+            // then
+            Assertions.assertEquals("000Z", strategy.getNode());
+        } finally {
+            System.clearProperty(TimeOrderedIdGeneratorStrategy.NODE_ID_PROP);
+        }
+    }
+
+    @Test
+    @DisplayName("Testing missing or invalid configured node id")
+    void notConfiguredNodeIdTest() {
+        Assumptions.assumeTrue(System.getenv(TimeOrderedIdGeneratorStrategy.NODE_ID_ENV) == null);
+        Assertions.assertThrows(IllegalStateException.class, TimeOrderedIdGeneratorStrategy::new);
+        System.setProperty(TimeOrderedIdGeneratorStrategy.NODE_ID_PROP, "invalid");
+        try {
+            Assertions.assertThrows(IllegalStateException.class, TimeOrderedIdGeneratorStrategy::new);
+        } finally {
+            System.clearProperty(TimeOrderedIdGeneratorStrategy.NODE_ID_PROP);
+        }
+    }
+
+    @Test
+    @DisplayName("Testing no collision on concurrent generation")
+    void concurrentCollisionTest() throws Exception {
+        // given
+        TimeOrderedIdGeneratorStrategy strategy = new TimeOrderedIdGeneratorStrategy(7);
+        Set<String> ids = ConcurrentHashMap.newKeySet(THREADS * IDS_PER_THREAD);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // when
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                Callable<Integer> task = () -> {
+                    start.await();
+                    int duplicates = 0;
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        if (!ids.add(strategy.generateId())) {
+                            duplicates++;
+                        }
+                    }
+                    return duplicates;
+                };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+            int duplicates = 0;
+            for (Future<Integer> result : results) {
+                duplicates += result.get();
+            }
+
+            // then
+            Assertions.assertEquals(0, duplicates);
+            Assertions.assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
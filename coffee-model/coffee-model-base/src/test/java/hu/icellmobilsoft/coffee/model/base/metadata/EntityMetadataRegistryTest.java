@@ -0,0 +1,100 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.model.base.metadata;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.model.base.DefaultImplAbstractIdentifiedAuditEntity;
+import hu.icellmobilsoft.coffee.model.base.GetterAnnotatedEntity;
+import hu.icellmobilsoft.coffee.model.base.ModifiedByOnCreateImplAbstractIdentifiedAuditEntity;
+import hu.icellmobilsoft.coffee.model.base.annotation.CreatedBy;
+import hu.icellmobilsoft.coffee.model.base.annotation.ModifiedBy;
+import hu.icellmobilsoft.coffee.model.base.javatime.annotation.CreatedOn;
+import hu.icellmobilsoft.coffee.model.base.javatime.annotation.ModifiedOn;
+
+/**
+ * Testing EntityMetadataRegistry class
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing EntityMetadataRegistry class")
+class EntityMetadataRegistryTest {
+
+    @Test
+    @DisplayName("field annotated entity test")
+    void testFieldAnnotated() {
+        // when
+        EntityMetadata metadata = EntityMetadataRegistry.getMetadata(DefaultImplAbstractIdentifiedAuditEntity.class);
+        // then
+        assertProperty(metadata.getProperties(CreatedBy.class), "creatorUser");
+        assertProperty(metadata.getProperties(ModifiedBy.class), "modifierUser");
+        assertProperty(metadata.getProperties(CreatedOn.class), "creationDate");
+        assertProperty(metadata.getProperties(ModifiedOn.class), "modificationDate");
+    }
+
+    @Test
+    @DisplayName("getter annotated entity test")
+    void testGetterAnnotated() {
+        // when
+        EntityMetadata metadata = EntityMetadataRegistry.getMetadata(GetterAnnotatedEntity.class);
+        // then
+        assertProperty(metadata.getProperties(CreatedBy.class), "creatorUser");
+        assertProperty(metadata.getProperties(ModifiedOn.class), "modificationDate");
+    }
+
+    @Test
+    @DisplayName("property setter test")
+    void testSet() {
+        // given
+        ModifiedByOnCreateImplAbstractIdentifiedAuditEntity entity = new ModifiedByOnCreateImplAbstractIdentifiedAuditEntity();
+        // the subclass shadows the modifierUser field of the superclass
+        List<EntityProperty> properties = EntityMetadataRegistry.getMetadata(entity.getClass()).getProperties(ModifiedBy.class);
+        EntityProperty property = properties.get(1);
+        // when
+        property.set(entity, "user");
+        // then
+        Assertions.assertEquals(2, properties.size());
+        Assertions.assertTrue(property.<ModifiedBy> getAnnotation().onCreate());
+        Assertions.assertEquals("user", entity.getModifierUser());
+    }
+
+    @Test
+    @DisplayName("concurrent access test")
+    void testConcurrentAccess() {
+        // when
+        Set<EntityMetadata> result = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 1000).parallel().forEach(i -> result.add(EntityMetadataRegistry.getMetadata(GetterAnnotatedEntity.class)));
+        // then
+        Assertions.assertEquals(1, result.size());
+    }
+
+    private void assertProperty(List<EntityProperty> properties, String fieldName) {
+        Assertions.assertEquals(1, properties.size());
+        Assertions.assertEquals(fieldName, properties.get(0).getField().getName());
+    }
+}
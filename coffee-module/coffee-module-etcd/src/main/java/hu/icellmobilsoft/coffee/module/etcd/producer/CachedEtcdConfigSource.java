@@ -20,7 +20,6 @@
 package hu.icellmobilsoft.coffee.module.etcd.producer;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 
@@ -34,12 +33,6 @@ import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
  */
 public class CachedEtcdConfigSource extends DefaultEtcdConfigSource {
 
-    /**
-     * It caches configuration keys to avoid repeated querying. There are situations where it might be called multiple times
-     * (during runtime, new configuration keys are not added).)
-     */
-    private static final Set<String> PROPERTY_NAME_CACHE = Collections.synchronizedSet(new HashSet<>());
-
     /**
      * Default constructor, constructs a new object.
      */
@@ -48,7 +41,8 @@ public class CachedEtcdConfigSource extends DefaultEtcdConfigSource {
     }
 
     /**
-     * It returns the keys available on the config sources. It caches the result of the first call, serving all subsequent calls from the cache.
+     * It returns the keys available on the config sources. It caches the result of the first call, serving all subsequent calls from the cache
+     * (see {@link EtcdConfigSourceCache#getPropertyNames(java.util.function.Supplier)}).
      *
      * <br>
      * {@inheritDoc}
@@ -59,12 +53,7 @@ public class CachedEtcdConfigSource extends DefaultEtcdConfigSource {
             // not enabled, dont create cache
             Collections.emptyMap();
         }
-        Set<String> propertyNames = new HashSet<>();
-        if (PROPERTY_NAME_CACHE.isEmpty()) {
-            PROPERTY_NAME_CACHE.addAll(super.getPropertyNames());
-        }
-        propertyNames.addAll(PROPERTY_NAME_CACHE);
-        return propertyNames;
+        return EtcdConfigSourceCache.instance().getPropertyNames(super::getPropertyNames);
     }
 
     @Override
@@ -90,6 +90,17 @@ public class DefaultEtcdConfigSource extends ConfigurableConfigSource {
         return configEtcdService;
     }
 
+    /**
+     * ETCD client of the config source
+     *
+     * @return client
+     * @throws BaseException
+     *             if client cannot be created
+     */
+    static Client getEtcdClient() throws BaseException {
+        return getConfigEtcdService().getEtcdService().getEtcdRepository().getEtcdClient();
+    }
+
     private static ConfigEtcdService createConfigEtcdService() throws BaseException {
         EtcdConfig config = new DefaultEtcdConfigImpl();
         Client etcdClient = EtcdClientBuilderUtil.getClientBuilder(config).build();
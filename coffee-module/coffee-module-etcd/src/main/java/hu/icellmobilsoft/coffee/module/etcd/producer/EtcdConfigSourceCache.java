@@ -20,21 +20,44 @@
 package hu.icellmobilsoft.coffee.module.etcd.producer;
 
 import java.text.MessageFormat;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import javax.annotation.concurrent.ThreadSafe;
 
+import org.eclipse.microprofile.config.Config;
+
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import hu.icellmobilsoft.coffee.dto.exception.TechnicalException;
 import hu.icellmobilsoft.coffee.dto.exception.enums.CoffeeFaultType;
 import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+import hu.icellmobilsoft.coffee.tool.utils.config.ConfigUtil;
 
 /**
  * ETCD Config source intentionally avoids CDI. During MP Config initialization, CDI is not always available. It is a thread-safe singleton.
+ * <p>
+ * The settings are read from the default config sources (system properties, environment, <code>microprofile-config.properties</code>):
+ *
+ * <pre>
+ * coffee:
+ *   configSource:
+ *     CachedEtcdConfigSource:
+ *       cache:
+ *         minutes: 30
+ *       watch:
+ *         enabled: true
+ * </pre>
+ *
+ * If the watch is enabled, the changed keys are invalidated by an ETCD watch (see {@link EtcdConfigWatcher}), the cache expiration is only a
+ * fallback while the watch is not working. The watch does not reach the caches built on top of the config, as the one of
+ * {@code ApplicationConfiguration}.
  *
  * @author imre.scheffer
  * @since 1.3.0
@@ -47,17 +70,44 @@ public class EtcdConfigSourceCache {
      */
     public static final int CACHE_TIME_MINUTES = 30;
 
+    /**
+     * Config key of the cache write expiration time in minutes, default {@value #CACHE_TIME_MINUTES}
+     */
+    public static final String CACHE_TIME_MINUTES_KEY = "coffee.configSource.CachedEtcdConfigSource.cache.minutes";
+
+    /**
+     * Config key of the ETCD watch based cache invalidation, default <code>false</code>
+     */
+    public static final String WATCH_ENABLED_KEY = "coffee.configSource.CachedEtcdConfigSource.watch.enabled";
+
+    private final LoadingCache<String, Optional<String>> cache;
+
+    /**
+     * Config keys, to avoid repeated querying of all keys. Without watch it is loaded only once (during runtime, new configuration keys are not
+     * added), with watch it follows the changes in ETCD. The set is immutable, every change publishes a new set, so the readers never see a
+     * partially updated one.
+     */
+    private final AtomicReference<Set<String>> propertyNames = new AtomicReference<>(Set.of());
+
+    private final EtcdConfigWatcher watcher;
+
     private EtcdConfigSourceCache() {
+        Config config = ConfigUtil.getInstance().defaultConfig();
+        int cacheTimeMinutes = config.getOptionalValue(CACHE_TIME_MINUTES_KEY, Integer.class).orElse(CACHE_TIME_MINUTES);
+        cache = CacheBuilder.newBuilder().expireAfterWrite(cacheTimeMinutes, TimeUnit.MINUTES).build(new CacheLoader<String, Optional<String>>() {
+            @Override
+            public Optional<String> load(String key) throws Exception {
+                return DefaultEtcdConfigSource.readEtcdValue(key);
+            }
+        });
+        if (config.getOptionalValue(WATCH_ENABLED_KEY, Boolean.class).orElse(Boolean.FALSE)) {
+            watcher = new EtcdConfigWatcher(this);
+            watcher.start();
+        } else {
+            watcher = null;
+        }
     }
 
-    private final LoadingCache<String, Optional<String>> cache = CacheBuilder.newBuilder().expireAfterWrite(CACHE_TIME_MINUTES, TimeUnit.MINUTES)
-            .build(new CacheLoader<String, Optional<String>>() {
-                @Override
-                public Optional<String> load(String key) throws Exception {
-                    return DefaultEtcdConfigSource.readEtcdValue(key);
-                }
-            });
-
     /**
      * Returns value of given property.
      *
@@ -93,10 +143,66 @@ public class EtcdConfigSourceCache {
         return LazyHolder.INSTANCE;
     }
 
+    /**
+     * Returns the config keys. The keys are loaded by the loader only if there is no key cached yet.
+     *
+     * @param loader
+     *            loader of all the keys from ETCD
+     * @return copy of the cached keys
+     */
+    public Set<String> getPropertyNames(Supplier<Set<String>> loader) {
+        Set<String> names = propertyNames.get();
+        if (names.isEmpty()) {
+            Set<String> loaded = Set.copyOf(loader.get());
+            // a set published meanwhile by the watch is newer than the loaded one
+            names = propertyNames.compareAndSet(names, loaded) ? loaded : propertyNames.get();
+        }
+        return new HashSet<>(names);
+    }
+
     /**
      * Clear cache values
      */
     public void clear() {
         cache.invalidateAll();
     }
+
+    /**
+     * Is the ETCD watch enabled
+     *
+     * @return true if the changes are watched
+     */
+    public boolean isWatchEnabled() {
+        return watcher != null;
+    }
+
+    void invalidate(String propertyName) {
+        cache.invalidate(propertyName);
+    }
+
+    void replacePropertyNames(Set<String> names) {
+        propertyNames.set(Set.copyOf(names));
+    }
+
+    void addPropertyName(String propertyName) {
+        propertyNames.updateAndGet(names -> {
+            if (names.contains(propertyName)) {
+                return names;
+            }
+            Set<String> changed = new HashSet<>(names);
+            changed.add(propertyName);
+            return Set.copyOf(changed);
+        });
+    }
+
+    void removePropertyName(String propertyName) {
+        propertyNames.updateAndGet(names -> {
+            if (!names.contains(propertyName)) {
+                return names;
+            }
+            Set<String> changed = new HashSet<>(names);
+            changed.remove(propertyName);
+            return Set.copyOf(changed);
+        });
+    }
 }
@@ -0,0 +1,278 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.etcd.producer;
+
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+
+import hu.icellmobilsoft.coffee.module.etcd.service.EtcdService;
+import hu.icellmobilsoft.coffee.se.logging.Logger;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
+import io.etcd.jetcd.KeyValue;
+import io.etcd.jetcd.Watch;
+import io.etcd.jetcd.common.exception.CompactedException;
+import io.etcd.jetcd.kv.GetResponse;
+import io.etcd.jetcd.options.GetOption;
+import io.etcd.jetcd.options.WatchOption;
+import io.etcd.jetcd.watch.WatchEvent;
+import io.etcd.jetcd.watch.WatchResponse;
+
+/**
+ * ETCD watch subscription of the {@link EtcdConfigSourceCache}. It avoids CDI, as the cache.
+ * <p>
+ * On start it reads every key with the current revision (the property names and the <code>{key}</code> references), then watches the
+ * changes from the next revision. A changed or deleted key is invalidated in the cache, together with the keys referencing it. If the watch
+ * fails, it is continued from the last seen revision; if that revision is already compacted, the keys are read again and the whole cache is
+ * cleared. While the watch is not working, the cache expiration time is the upper limit of reading a changed value.
+ * <p>
+ * Only the {@link EtcdConfigSourceCache} is invalidated. The own cache of {@code ApplicationConfiguration} (coffee-configuration) is not
+ * notified, the values read through it are reloaded only after its {@code coffee.config.cache.refreshAfterWriteMinutes}.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+class EtcdConfigWatcher {
+
+    private static final Logger LOGGER = Logger.getLogger(EtcdConfigWatcher.class);
+
+    private static final ByteSequence RANGE_START = ByteSequence.from(EtcdService.STARTKEY, StandardCharsets.UTF_8);
+
+    private static final ByteSequence RANGE_END = ByteSequence.from(EtcdService.ENDKEY, StandardCharsets.UTF_8);
+
+    private static final long RESYNC_TIMEOUT_SECONDS = 10;
+
+    private static final long MIN_RETRY_DELAY_MILLIS = 1000;
+
+    private static final long MAX_RETRY_DELAY_MILLIS = 60000;
+
+    private final EtcdConfigSourceCache cache;
+
+    // key -> referenced key, for the values like "{other.key}"
+    private final Map<String, String> references = new ConcurrentHashMap<>();
+
+    private final AtomicLong revision = new AtomicLong();
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "coffee-etcd-config-watch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Watch.Watcher watcher;
+
+    /**
+     * Creates watcher of the cache
+     *
+     * @param cache
+     *            cache to update
+     */
+    EtcdConfigWatcher(EtcdConfigSourceCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Starts the watch in background, the caller is not blocked if ETCD is not available
+     */
+    void start() {
+        scheduler.execute(this::resync);
+    }
+
+    /**
+     * Last revision processed by the watch
+     *
+     * @return revision
+     */
+    long getRevision() {
+        return revision.get();
+    }
+
+    private void resync() {
+        closeWatcher();
+        try {
+            Client client = DefaultEtcdConfigSource.getEtcdClient();
+            GetResponse response = client.getKVClient()
+                    .get(RANGE_START, GetOption.newBuilder().withRange(RANGE_END).build())
+                    .get(RESYNC_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Set<String> propertyNames = new HashSet<>();
+            Map<String, String> currentReferences = new HashMap<>();
+            for (KeyValue keyValue : response.getKvs()) {
+                String key = keyValue.getKey().toString(StandardCharsets.UTF_8);
+                propertyNames.add(key);
+                referenceOf(keyValue).ifPresent(target -> currentReferences.put(key, target));
+            }
+            references.clear();
+            references.putAll(currentReferences);
+            cache.replacePropertyNames(propertyNames);
+            // the changes since the last seen revision are unknown
+            cache.clear();
+            revision.set(response.getHeader().getRevision());
+            watch(client);
+            LOGGER.info("ETCD config watch started from revision [{0}], keys: [{1}]", revision.get() + 1, propertyNames.size());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            retry(this::resync, e);
+        }
+    }
+
+    private void resume() {
+        closeWatcher();
+        try {
+            watch(DefaultEtcdConfigSource.getEtcdClient());
+            LOGGER.info("ETCD config watch continued from revision [{0}]", revision.get() + 1);
+        } catch (Exception e) {
+            retry(this::resync, e);
+        }
+    }
+
+    private void watch(Client client) {
+        WatchOption option = WatchOption.newBuilder().withRange(RANGE_END).withRevision(revision.get() + 1).withProgressNotify(true).build();
+        watcher = client.getWatchClient().watch(RANGE_START, option, Watch.listener(this::onNext, this::onError, this::onCompleted));
+    }
+
+    private void onNext(WatchResponse response) {
+        failures.set(0);
+        for (WatchEvent event : response.getEvents()) {
+            KeyValue keyValue = event.getKeyValue();
+            String key = keyValue.getKey().toString(StandardCharsets.UTF_8);
+            switch (event.getEventType()) {
+            case PUT:
+                cache.addPropertyName(key);
+                Optional<String> target = referenceOf(keyValue);
+                if (target.isPresent()) {
+                    references.put(key, target.get());
+                } else {
+                    references.remove(key);
+                }
+                break;
+            case DELETE:
+                cache.removePropertyName(key);
+                references.remove(key);
+                break;
+            default:
+                continue;
+            }
+            invalidateWithReferences(key);
+            revision.accumulateAndGet(keyValue.getModRevision(), Math::max);
+        }
+        revision.accumulateAndGet(response.getHeader().getRevision(), Math::max);
+    }
+
+    /**
+     * Listener of the watch errors. The broken watch is closed right away, then it is continued from the last seen revision, or all the keys
+     * are read again if that revision is compacted.
+     *
+     * @param throwable
+     *            watch error
+     */
+    void onError(Throwable throwable) {
+        closeWatcher();
+        if (isCompacted(throwable)) {
+            LOGGER.warn("ETCD config watch revision [{0}] is compacted, reading all keys again", revision.get() + 1);
+            retry(this::resync, null);
+        } else {
+            retry(this::resume, throwable);
+        }
+    }
+
+    /**
+     * Listener of the watch completion, the watch is continued from the last seen revision
+     */
+    void onCompleted() {
+        closeWatcher();
+        retry(this::resume, null);
+    }
+
+    private void invalidateWithReferences(String key) {
+        Deque<String> changed = new ArrayDeque<>();
+        Set<String> invalidated = new HashSet<>();
+        changed.add(key);
+        while (!changed.isEmpty()) {
+            String current = changed.poll();
+            if (invalidated.add(current)) {
+                cache.invalidate(current);
+                references.forEach((referencing, target) -> {
+                    if (target.equals(current)) {
+                        changed.add(referencing);
+                    }
+                });
+            }
+        }
+    }
+
+    private void retry(Runnable action, Throwable cause) {
+        int failureCount = failures.getAndIncrement();
+        long delay = Math.min(MAX_RETRY_DELAY_MILLIS, MIN_RETRY_DELAY_MILLIS << Math.min(failureCount, 16));
+        if (cause != null) {
+            LOGGER.warn(MessageFormat.format("ETCD config watch failed, retry in [{0}] ms: [{1}]", delay, cause.getLocalizedMessage()));
+        }
+        scheduler.schedule(action, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void closeWatcher() {
+        Watch.Watcher current = watcher;
+        watcher = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (RuntimeException e) {
+                LOGGER.debug("Error on closing ETCD config watch: [{0}]", e.getLocalizedMessage());
+            }
+        }
+    }
+
+    private static boolean isCompacted(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof CompactedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Optional<String> referenceOf(KeyValue keyValue) {
+        String value = keyValue.getValue() == null ? null : keyValue.getValue().toString(StandardCharsets.UTF_8);
+        // same reference syntax as ConfigEtcdService#getValue
+        if (StringUtils.startsWith(value, "{") && StringUtils.endsWith(value, "}")) {
+            return Optional.of(value.substring(1, value.length() - 1));
+        }
+        return Optional.empty();
+    }
+}
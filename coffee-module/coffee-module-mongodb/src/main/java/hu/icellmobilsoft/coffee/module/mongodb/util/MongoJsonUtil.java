@@ -64,6 +64,10 @@ public class MongoJsonUtil {
 
     private static final String DATE_PROPERTY = "$date";
 
+    // Gson is thread safe, created once instead of on every call
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().registerTypeAdapter(Class.class, new ClassTypeAdapter())
+            .registerTypeAdapter(XMLGregorianCalendar.class, new XMLGregorianCalendarConverter()).create();
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -169,11 +173,7 @@ public class MongoJsonUtil {
      * @return JSON String
      */
     public static String toJsonGson(Object dto) {
-        // ez mehetne a class konstruktorba is
-        Gson gson = new GsonBuilder().disableHtmlEscaping().registerTypeAdapter(Class.class, new ClassTypeAdapter())
-                .registerTypeAdapter(XMLGregorianCalendar.class, new XMLGregorianCalendarConverter()).create();
-
-        return gson.toJson(dto);
+        return GSON.toJson(dto);
     }
 
     /**
@@ -188,8 +188,7 @@ public class MongoJsonUtil {
      * @return DTO
      */
     public static <T> T toObjectGson(String json, Class<T> classType) {
-        Gson gson = new GsonBuilder().disableHtmlEscaping().registerTypeAdapter(Class.class, new ClassTypeAdapter())
-                .registerTypeAdapter(XMLGregorianCalendar.class, new XMLGregorianCalendarConverter()).create();
+        Gson gson = GSON;
 
         try {
             return gson.fromJson(json, classType);
@@ -22,13 +22,16 @@ package hu.icellmobilsoft.coffee.module.mp.metrics;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Metadata;
 import org.eclipse.microprofile.metrics.MetricID;
 import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
 import org.eclipse.microprofile.metrics.Tag;
 import org.eclipse.microprofile.metrics.annotation.RegistryType;
 
@@ -52,6 +55,9 @@ public class MpMetricsHandler implements IMetricsHandler {
     @RegistryType(type = MetricRegistry.Type.VENDOR)
     private MetricRegistry vendorRegistry;
 
+    @Inject
+    private MetricRegistry metricRegistry;
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -80,4 +86,25 @@ public class MpMetricsHandler implements IMetricsHandler {
             return null;
         }
     }
+
+    @Override
+    public void addGauge(String name, String description, Supplier<Number> valueSupplier, MetricTag... metricTags) {
+        Metadata metadata = Metadata.builder().withName(name).withDescription(description).withType(MetricType.GAUGE).build();
+        metricRegistry.gauge(metadata, valueSupplier, toTags(metricTags));
+    }
+
+    @Override
+    public void removeGauge(String name, MetricTag... metricTags) {
+        metricRegistry.remove(new MetricID(name, toTags(metricTags)));
+    }
+
+    private static Tag[] toTags(MetricTag... metricTags) {
+        Collection<Tag> tags = new ArrayList<>();
+        if (metricTags != null) {
+            for (MetricTag metricTag : metricTags) {
+                tags.add(new Tag(metricTag.getKey(), metricTag.getValue()));
+            }
+        }
+        return tags.toArray(new Tag[tags.size()]);
+    }
 }
@@ -22,6 +22,7 @@ package hu.icellmobilsoft.coffee.module.mp.micrometer;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -71,4 +72,29 @@ public class MicrometerHandler implements IMetricsHandler {
             return null;
         }
     }
+
+    @Override
+    public void addGauge(String name, String description, Supplier<Number> valueSupplier, MetricTag... metricTags) {
+        Gauge.Builder<Supplier<Number>> builder = Gauge.builder(name, valueSupplier).description(description);
+        if (metricTags != null) {
+            for (MetricTag metricTag : metricTags) {
+                builder.tag(metricTag.getKey(), metricTag.getValue());
+            }
+        }
+        builder.register(meterRegistry);
+    }
+
+    @Override
+    public void removeGauge(String name, MetricTag... metricTags) {
+        Collection<Tag> tags = new ArrayList<>();
+        if (metricTags != null) {
+            for (MetricTag metricTag : metricTags) {
+                tags.add(Tag.of(metricTag.getKey(), metricTag.getValue()));
+            }
+        }
+        Gauge gauge = meterRegistry.find(name).tags(tags).gauge();
+        if (gauge != null) {
+            meterRegistry.remove(gauge);
+        }
+    }
 }
@@ -38,18 +38,25 @@ import jakarta.ws.rs.core.NewCookie;
 import org.apache.commons.io.IOUtils;
 
 import hu.icellmobilsoft.coffee.cdi.logger.AppLogger;
-import hu.icellmobilsoft.coffee.cdi.logger.LogProducer;
 import hu.icellmobilsoft.coffee.cdi.logger.ThisLogger;
 import hu.icellmobilsoft.coffee.module.mp.restclient.RestClientPriority;
 import hu.icellmobilsoft.coffee.rest.log.RequestResponseLogger;
 import hu.icellmobilsoft.coffee.rest.log.annotation.LogSpecifier;
 import hu.icellmobilsoft.coffee.rest.log.annotation.enumeration.LogSpecifierTarget;
 import hu.icellmobilsoft.coffee.rest.utils.RestLoggerUtil;
+import hu.icellmobilsoft.coffee.tool.utils.stream.LoggingEvent;
+import hu.icellmobilsoft.coffee.tool.utils.stream.LoggingPublisher;
+import hu.icellmobilsoft.coffee.tool.utils.stream.RequestLoggerInputStream;
 import hu.icellmobilsoft.coffee.tool.utils.string.StringHelper;
 
 /**
  * Default REST client response log filter. Among the response filters, this one should be the first to log untouched data.<br>
  * <br>
+ * The status and the headers are logged right away. The response entity is not buffered, the entity stream is wrapped and the entity is
+ * collected until the log limit while the application reads it. The entity log is published when the limit or the end of the entity is
+ * reached, or the entity stream is closed. The log messages are published through {@link LoggingPublisher}, they are logged by the logger of
+ * this filter.<br>
+ * <br>
  * The priority value must be higher than "1" for the io.smallrye.restclient.ExceptionMapping binding.
  *
  * @author imre.scheffer
@@ -73,6 +80,9 @@ public class DefaultLoggerClientResponseFilter implements ClientResponseFilter {
     @Inject
     private RequestResponseLogger requestResponseLogger;
 
+    @Inject
+    private LoggingPublisher loggingPublisher;
+
     /** {@inheritDoc} */
     @Override
     public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
@@ -83,8 +93,36 @@ public class DefaultLoggerClientResponseFilter implements ClientResponseFilter {
         msg.append("<< ").append(getClass().getName()).append(" response from [").append(requestContext.getUri()).append("] ->\n");
         msg.append(logStatus(requestContext, responseContext));
         msg.append(logHeader(requestContext, responseContext));
-        msg.append(logEntity(requestContext, responseContext));
-        LogProducer.logToAppLogger((AppLogger appLogger) -> appLogger.info(msg.toString()), DefaultLoggerClientResponseFilter.class);
+        InputStream entityStream = responseContext.getEntityStream();
+        if (entityStream == null) {
+            msg.append(logEntity(requestContext, responseContext));
+            loggingPublisher.publish(new LoggingEvent(DefaultLoggerClientResponseFilter.class, msg.toString()));
+            return;
+        }
+        // status and headers are logged right away, even if the application never reads the entity
+        loggingPublisher.publish(new LoggingEvent(DefaultLoggerClientResponseFilter.class, msg.toString()));
+        // the entity is logged separately while the application reads it
+        StringBuilder entityMsg = new StringBuilder();
+        entityMsg.append("<< ").append(getClass().getName()).append(" response entity from [").append(requestContext.getUri()).append("] ->\n");
+        responseContext.setEntityStream(
+                createLoggerEntityStream(entityStream, getMaxResponseEntityLogSize(requestContext, responseContext), entityMsg));
+    }
+
+    /**
+     * Creates the entity stream wrapper, which collects the entity until the log limit and publishes the log message with the entity
+     *
+     * @param entityStream
+     *            original entity stream
+     * @param maxResponseEntityLogSize
+     *            entity log limit
+     * @param msg
+     *            entity log message header, the entity is appended to it
+     * @return entity stream passed to the application
+     * @since 2.8.0
+     */
+    protected InputStream createLoggerEntityStream(InputStream entityStream, int maxResponseEntityLogSize, StringBuilder msg) {
+        return new RequestLoggerInputStream(entityStream, maxResponseEntityLogSize, RequestResponseLogger.RESPONSE_PREFIX, msg, loggingPublisher,
+                DefaultLoggerClientResponseFilter.class);
     }
 
     /**
@@ -139,7 +177,8 @@ public class DefaultLoggerClientResponseFilter implements ClientResponseFilter {
     }
 
     /**
-     * Logs entity.
+     * Logs entity. The whole entity is read and the entity stream of the response is replaced, the filter uses it only if there is no entity
+     * stream, otherwise the entity is logged by {@link #createLoggerEntityStream(InputStream, int, StringBuilder)}.
      *
      * @param requestContext
      *            request context
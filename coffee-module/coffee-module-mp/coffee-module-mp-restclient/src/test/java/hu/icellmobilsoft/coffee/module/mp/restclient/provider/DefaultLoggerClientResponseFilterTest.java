@@ -0,0 +1,165 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.mp.restclient.provider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.Response;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import hu.icellmobilsoft.coffee.cdi.logger.AppLogger;
+import hu.icellmobilsoft.coffee.rest.log.RequestResponseLogger;
+import hu.icellmobilsoft.coffee.tool.utils.stream.LoggingEvent;
+import hu.icellmobilsoft.coffee.tool.utils.stream.LoggingPublisher;
+
+/**
+ * Unit tests for {@link DefaultLoggerClientResponseFilter}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testing DefaultLoggerClientResponseFilter")
+class DefaultLoggerClientResponseFilterTest {
+
+    private static final String ENTITY = "{\"name\":\"value\"}";
+
+    @Mock
+    private AppLogger log;
+
+    @Mock
+    private RequestResponseLogger requestResponseLogger;
+
+    @Mock
+    private LoggingPublisher loggingPublisher;
+
+    @Mock
+    private ClientRequestContext requestContext;
+
+    @Mock
+    private ClientResponseContext responseContext;
+
+    @Captor
+    private ArgumentCaptor<LoggingEvent> eventCaptor;
+
+    @Captor
+    private ArgumentCaptor<InputStream> entityStreamCaptor;
+
+    @InjectMocks
+    private DefaultLoggerClientResponseFilter underTest;
+
+    @BeforeEach
+    void beforeEach() {
+        MultivaluedHashMap<String, String> headers = new MultivaluedHashMap<>();
+        headers.put("X-Test", List.of("testValue"));
+        Mockito.when(requestContext.getUri()).thenReturn(URI.create("http://localhost/test"));
+        Mockito.when(responseContext.getStatusInfo()).thenReturn(Response.Status.OK);
+        Mockito.when(responseContext.getHeaders()).thenReturn(headers);
+        Mockito.when(responseContext.getCookies()).thenReturn(Map.of());
+        Mockito.when(responseContext.getMediaType()).thenReturn(MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    @Test
+    @DisplayName("Testing status and headers are logged before the entity is read")
+    void statusAndHeadersLoggedImmediately() throws IOException {
+        // given
+        Mockito.when(responseContext.getEntityStream()).thenReturn(new ByteArrayInputStream(ENTITY.getBytes(StandardCharsets.UTF_8)));
+        // when
+        underTest.filter(requestContext, responseContext);
+        // then
+        Mockito.verify(loggingPublisher).publish(eventCaptor.capture());
+        String message = eventCaptor.getValue().getMessage();
+        Assertions.assertTrue(message.contains("< status: [200]"), message);
+        Assertions.assertTrue(message.contains("X-Test"), message);
+        Assertions.assertFalse(message.contains("entity"), message);
+    }
+
+    @Test
+    @DisplayName("Testing the entity is logged separately when the application reads it")
+    void entityLoggedOnRead() throws IOException {
+        // given
+        Mockito.when(responseContext.getEntityStream()).thenReturn(new ByteArrayInputStream(ENTITY.getBytes(StandardCharsets.UTF_8)));
+        // when
+        underTest.filter(requestContext, responseContext);
+        Mockito.verify(responseContext).setEntityStream(entityStreamCaptor.capture());
+        byte[] read;
+        try (InputStream entityStream = entityStreamCaptor.getValue()) {
+            read = entityStream.readAllBytes();
+        }
+        // then
+        Assertions.assertEquals(ENTITY, new String(read, StandardCharsets.UTF_8));
+        Mockito.verify(loggingPublisher, Mockito.times(2)).publish(eventCaptor.capture());
+        String entityMessage = eventCaptor.getAllValues().get(1).getMessage();
+        Assertions.assertTrue(entityMessage.contains("response entity from [http://localhost/test]"), entityMessage);
+        Assertions.assertTrue(entityMessage.contains(ENTITY), entityMessage);
+        Assertions.assertFalse(entityMessage.contains("status"), entityMessage);
+    }
+
+    @Test
+    @DisplayName("Testing the entity log is published when the stream is closed unread")
+    void entityLoggedOnClose() throws IOException {
+        // given
+        Mockito.when(responseContext.getEntityStream()).thenReturn(new ByteArrayInputStream(ENTITY.getBytes(StandardCharsets.UTF_8)));
+        // when
+        underTest.filter(requestContext, responseContext);
+        Mockito.verify(responseContext).setEntityStream(entityStreamCaptor.capture());
+        entityStreamCaptor.getValue().close();
+        // then
+        Mockito.verify(loggingPublisher, Mockito.times(2)).publish(eventCaptor.capture());
+        Assertions.assertTrue(eventCaptor.getAllValues().get(1).getMessage().contains("entity: []"));
+    }
+
+    @Test
+    @DisplayName("Testing a response without entity stream is logged in one message")
+    void noEntityStream() throws IOException {
+        // given
+        Mockito.when(responseContext.getEntityStream()).thenReturn(null);
+        Mockito.when(requestResponseLogger.printEntity(Mockito.isNull(), Mockito.anyInt(), Mockito.anyString())).thenReturn("< entity: []\n");
+        // when
+        underTest.filter(requestContext, responseContext);
+        // then
+        Mockito.verify(loggingPublisher).publish(eventCaptor.capture());
+        Mockito.verify(responseContext, Mockito.never()).setEntityStream(Mockito.any());
+        String message = eventCaptor.getValue().getMessage();
+        Assertions.assertTrue(message.contains("< status: [200]"), message);
+        Assertions.assertTrue(message.contains("< entity: []"), message);
+    }
+}
@@ -0,0 +1,155 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import hu.icellmobilsoft.coffee.cdi.logger.AppLogger;
+import hu.icellmobilsoft.coffee.cdi.logger.ThisLogger;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+import hu.icellmobilsoft.coffee.module.redis.manager.RedisManager;
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+
+/**
+ * Evicts the values cached by {@link RedisCached} in bulk, by tag or by namespace. The values are removed from Redis and from the near-caches
+ * of this application (the near-caches of other instances expire by {@link RedisCached#nearCacheExpireInSeconds()}).
+ *
+ * <pre>
+ * &#64;Inject
+ * &#64;RedisConnection(configKey = "auth")
+ * private RedisManager redisManager;
+ *
+ * redisCacheEvictor.evictTag(redisManager, "country");
+ * </pre>
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@ApplicationScoped
+public class RedisCacheEvictor {
+
+    /**
+     * Key prefix of the sets holding the cache keys of a tag
+     */
+    public static final String TAG_KEY_PREFIX = "redisCached:tag:";
+
+    private static final int SCAN_COUNT = 1000;
+
+    @Inject
+    @ThisLogger
+    private AppLogger log;
+
+    @Inject
+    private RedisCachedNearCache nearCache;
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public RedisCacheEvictor() {
+        super();
+    }
+
+    /**
+     * Returns the key of the set holding the cache keys of the tag.
+     *
+     * @param tag
+     *            tag, see {@link RedisCached#tags()}
+     * @return key of the tag set
+     */
+    public static String getTagKey(String tag) {
+        return TAG_KEY_PREFIX + tag;
+    }
+
+    /**
+     * Evicts the values cached with the tag.
+     *
+     * @param redisManager
+     *            redis manager of the connection used by the cached methods
+     * @param tag
+     *            tag, see {@link RedisCached#tags()}
+     * @return number of removed keys
+     * @throws BaseException
+     *             on Redis error
+     */
+    public long evictTag(RedisManager redisManager, String tag) throws BaseException {
+        String tagKey = getTagKey(tag);
+        Set<String> keys = redisManager.runWithConnection(Jedis::smembers, "smembers", tagKey).orElse(Set.of());
+        long removed = 0;
+        if (!keys.isEmpty()) {
+            removed = redisManager.runWithConnection(Jedis::del, "del", keys.toArray(new String[0])).orElse(0L);
+            keys.forEach(nearCache::invalidate);
+        }
+        redisManager.runWithConnection(Jedis::del, "del", tagKey);
+        log.debug("Evicted [{0}] cached values of tag [{1}]", removed, tag);
+        return removed;
+    }
+
+    /**
+     * Evicts the values cached in the namespace and version of the method, see {@link RedisCached#namespace()}. It iterates the keys with
+     * {@code SCAN}, so it is not atomic, values cached during the eviction may remain.
+     *
+     * @param redisManager
+     *            redis manager of the connection used by the cached method
+     * @param method
+     *            cached method
+     * @return number of removed keys
+     * @throws BaseException
+     *             on Redis error
+     */
+    public long evictNamespace(RedisManager redisManager, Method method) throws BaseException {
+        String prefix = nearCache.getKeyGenerator(method).getPrefix(method, nearCache.getSettings(method));
+        ScanParams scanParams = new ScanParams().match(escapeGlob(prefix) + "*").count(SCAN_COUNT);
+        long removed = redisManager.runWithConnection(jedis -> {
+            long count = 0;
+            String cursor = ScanParams.SCAN_POINTER_START;
+            do {
+                ScanResult<String> scanResult = jedis.scan(cursor, scanParams);
+                List<String> keys = scanResult.getResult();
+                if (!keys.isEmpty()) {
+                    count += jedis.del(keys.toArray(new String[0]));
+                }
+                cursor = scanResult.getCursor();
+            } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+            return count;
+        }, "evictNamespace").orElse(0L);
+        nearCache.invalidatePrefix(prefix);
+        log.debug("Evicted [{0}] cached values with prefix [{1}]", removed, prefix);
+        return removed;
+    }
+
+    private static String escapeGlob(String prefix) {
+        StringBuilder escaped = new StringBuilder(prefix.length() + 8);
+        for (char c : prefix.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
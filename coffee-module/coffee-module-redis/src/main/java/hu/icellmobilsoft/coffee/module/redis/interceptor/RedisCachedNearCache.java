@@ -0,0 +1,232 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.CDI;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.key.HashedRedisCacheKeyGenerator;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.key.IRedisCacheKeyGenerator;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.serializer.EnvelopeJsonRedisCacheSerializer;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.serializer.IRedisCacheSerializer;
+
+/**
+ * Application wide state of the {@link RedisCachingInterceptor}: the settings, key generators, serializers and in-process near-caches of the
+ * {@link RedisCached} methods, the currently running (single-flight) loads and the running early refreshes.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@ApplicationScoped
+public class RedisCachedNearCache {
+
+    private static final Optional<Cache<String, byte[]>> DISABLED = Optional.empty();
+
+    private final Map<Method, RedisCached> settings = new ConcurrentHashMap<>();
+
+    private final Map<Method, Optional<Cache<String, byte[]>>> nearCaches = new ConcurrentHashMap<>();
+
+    private final Map<Method, IRedisCacheSerializer> serializers = new ConcurrentHashMap<>();
+
+    private final Map<Method, IRedisCacheKeyGenerator> keyGenerators = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Object> instances = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<byte[]>> loading = new ConcurrentHashMap<>();
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public RedisCachedNearCache() {
+        super();
+    }
+
+    /**
+     * Returns the {@link RedisCached} annotation of the method or of its declaring class.
+     *
+     * @param method
+     *            intercepted method
+     * @return caching settings
+     */
+    public RedisCached getSettings(Method method) {
+        return settings.computeIfAbsent(method, m -> {
+            RedisCached redisCached = m.getAnnotation(RedisCached.class);
+            return redisCached != null ? redisCached : m.getDeclaringClass().getAnnotation(RedisCached.class);
+        });
+    }
+
+    /**
+     * Returns the near-cache of the method.
+     *
+     * @param method
+     *            intercepted method
+     * @return near-cache of serialized values, or {@code null} if near-cache is disabled for the method
+     */
+    public Cache<String, byte[]> getNearCache(Method method) {
+        return nearCaches.computeIfAbsent(method, m -> createNearCache(getSettings(m))).orElse(null);
+    }
+
+    /**
+     * Returns the serializer of the method selected by {@link RedisCached#serializer()}. The serializer is looked up as CDI bean, or
+     * instantiated with its default constructor if it is not a bean.
+     *
+     * @param method
+     *            intercepted method
+     * @return serializer of the cached values
+     */
+    public IRedisCacheSerializer getSerializer(Method method) {
+        return serializers.computeIfAbsent(method, m -> {
+            RedisCached redisCached = getSettings(m);
+            Class<? extends IRedisCacheSerializer> type = redisCached == null ? EnvelopeJsonRedisCacheSerializer.class : redisCached.serializer();
+            return (IRedisCacheSerializer) instances.computeIfAbsent(type, RedisCachedNearCache::createInstance);
+        });
+    }
+
+    /**
+     * Returns the key generator of the method selected by {@link RedisCached#keyGenerator()}. The generator is looked up as CDI bean, or
+     * instantiated with its default constructor if it is not a bean.
+     *
+     * @param method
+     *            intercepted method
+     * @return key generator of the method
+     */
+    public IRedisCacheKeyGenerator getKeyGenerator(Method method) {
+        return keyGenerators.computeIfAbsent(method, m -> {
+            RedisCached redisCached = getSettings(m);
+            Class<? extends IRedisCacheKeyGenerator> type = redisCached == null ? HashedRedisCacheKeyGenerator.class : redisCached.keyGenerator();
+            return (IRedisCacheKeyGenerator) instances.computeIfAbsent(type, RedisCachedNearCache::createInstance);
+        });
+    }
+
+    /**
+     * Registers the loading of the key, if there is no other load of it running.
+     *
+     * @param key
+     *            cache key
+     * @param flight
+     *            future to be completed by {@link #finishLoading(String, CompletableFuture, byte[])}
+     * @return the future of the already running load, or {@code null} if the caller has to load the value
+     */
+    public CompletableFuture<byte[]> startLoading(String key, CompletableFuture<byte[]> flight) {
+        return loading.putIfAbsent(key, flight);
+    }
+
+    /**
+     * Finishes the loading of the key started by {@link #startLoading(String, CompletableFuture)}, the waiting callers get the serialized
+     * value.
+     *
+     * @param key
+     *            cache key
+     * @param flight
+     *            future registered on start
+     * @param payload
+     *            serialized value, {@code null} if the load failed
+     */
+    public void finishLoading(String key, CompletableFuture<byte[]> flight, byte[] payload) {
+        loading.remove(key, flight);
+        flight.complete(payload);
+    }
+
+    /**
+     * Marks the early refresh of the key as running.
+     *
+     * @param key
+     *            cache key
+     * @return {@code true} if the caller has to refresh the value, {@code false} if an other caller is already refreshing it
+     */
+    public boolean startRefresh(String key) {
+        return refreshing.add(key);
+    }
+
+    /**
+     * Marks the early refresh of the key as finished.
+     *
+     * @param key
+     *            cache key
+     */
+    public void finishRefresh(String key) {
+        refreshing.remove(key);
+    }
+
+    /**
+     * Removes the key from the near-caches. It does not remove the value from Redis.
+     *
+     * @param key
+     *            cache key
+     */
+    public void invalidate(String key) {
+        nearCaches.values().forEach(nearCache -> nearCache.ifPresent(cache -> cache.invalidate(key)));
+    }
+
+    /**
+     * Removes the keys starting with the prefix from the near-caches. It does not remove the values from Redis.
+     *
+     * @param prefix
+     *            key prefix
+     */
+    public void invalidatePrefix(String prefix) {
+        nearCaches.values().forEach(nearCache -> nearCache.ifPresent(cache -> cache.asMap().keySet().removeIf(key -> key.startsWith(prefix))));
+    }
+
+    /**
+     * Clears all near-caches. It does not remove the values from Redis.
+     */
+    public void invalidateAll() {
+        nearCaches.values().forEach(nearCache -> nearCache.ifPresent(Cache::invalidateAll));
+    }
+
+    private static <T> T createInstance(Class<T> type) {
+        Instance<T> instance = CDI.current().select(type);
+        if (instance.isResolvable()) {
+            return instance.get();
+        }
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate @RedisCached extension: [" + type.getName() + "]", e);
+        }
+    }
+
+    private Optional<Cache<String, byte[]>> createNearCache(RedisCached redisCached) {
+        if (redisCached == null || redisCached.nearCacheSize() <= 0) {
+            return DISABLED;
+        }
+        long expire = Math.min(redisCached.nearCacheExpireInSeconds(), redisCached.expireInSeconds());
+        if (expire <= 0) {
+            return DISABLED;
+        }
+        return Optional.of(CacheBuilder.newBuilder().maximumSize(redisCached.nearCacheSize()).expireAfterWrite(expire, TimeUnit.SECONDS).build());
+    }
+}
@@ -20,9 +20,13 @@
 package hu.icellmobilsoft.coffee.module.redis.interceptor;
 
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
-import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.inject.Inject;
@@ -32,21 +36,20 @@ import jakarta.interceptor.InvocationContext;
 
 import org.apache.commons.lang3.StringUtils;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
+import com.google.common.cache.Cache;
+
 import hu.icellmobilsoft.coffee.cdi.logger.AppLogger;
 import hu.icellmobilsoft.coffee.cdi.logger.ThisLogger;
-import hu.icellmobilsoft.coffee.dto.common.Envelope;
 import hu.icellmobilsoft.coffee.dto.exception.enums.CoffeeFaultType;
 import hu.icellmobilsoft.coffee.module.redis.annotation.RedisConnection;
 import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.serializer.IRedisCacheSerializer;
 import hu.icellmobilsoft.coffee.module.redis.manager.RedisManager;
 import hu.icellmobilsoft.coffee.module.redis.manager.RedisManagerConnection;
 import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
-import hu.icellmobilsoft.coffee.tool.gson.ClassTypeAdapter;
-import hu.icellmobilsoft.coffee.tool.gson.JsonUtil;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 
 /**
  * <p>
@@ -63,7 +66,8 @@ public class RedisCachingInterceptor {
     @ThisLogger
     private AppLogger log;
 
-    private Gson gson;
+    @Inject
+    private RedisCachedNearCache nearCache;
 
     /**
      * <p>
@@ -71,7 +75,7 @@ public class RedisCachingInterceptor {
      * </p>
      */
     public RedisCachingInterceptor() {
-        gson = new GsonBuilder().registerTypeAdapter(Class.class, new ClassTypeAdapter()).create();
+        super();
     }
 
     /**
@@ -88,53 +92,179 @@ public class RedisCachingInterceptor {
         return getReturnOfCache(ctx);
     }
 
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     private Object getReturnOfCache(final InvocationContext ctx) throws Exception {
+        Method method = ctx.getMethod();
+        RedisCached settings = nearCache.getSettings(method);
+        IRedisCacheSerializer serializer = nearCache.getSerializer(method);
+        final String key;
+        try {
+            key = nearCache.getKeyGenerator(method).generateKey(method, ctx.getParameters(), settings);
+        } catch (Exception e) {
+            log.error("Cannot generate cache key of method [{0}], calling without cache: [{1}]", method.getName(), e.getLocalizedMessage(), e);
+            return ctx.proceed();
+        }
+
+        Cache<String, byte[]> methodNearCache = nearCache.getNearCache(method);
+        if (methodNearCache != null) {
+            byte[] payload = methodNearCache.getIfPresent(key);
+            if (payload != null) {
+                Object objectToReturn = deserializeQuietly(serializer, method, key, payload);
+                if (objectToReturn != null) {
+                    log.trace("Data from near-cache, key: [{0}]", key);
+                    return objectToReturn;
+                }
+                methodNearCache.invalidate(key);
+            }
+        }
+
+        CompletableFuture<byte[]> flight = null;
+        if (settings.singleFlight()) {
+            flight = new CompletableFuture<>();
+            CompletableFuture<byte[]> running = nearCache.startLoading(key, flight);
+            if (running != null) {
+                return awaitLoading(ctx, settings, serializer, key, running);
+            }
+        }
+
+        Loaded loaded = new Loaded();
+        try {
+            loadThroughRedis(ctx, settings, serializer, key, loaded);
+            if (methodNearCache != null && loaded.payload != null) {
+                methodNearCache.put(key, loaded.payload);
+            }
+            return loaded.value;
+        } finally {
+            if (flight != null) {
+                nearCache.finishLoading(key, flight, loaded.payload);
+            }
+        }
+    }
+
+    private Object awaitLoading(InvocationContext ctx, RedisCached settings, IRedisCacheSerializer serializer, String key,
+            CompletableFuture<byte[]> running) throws Exception {
+        log.debug("Waiting for the running load of key: [{0}]", key);
+        byte[] payload = null;
+        try {
+            payload = running.get(settings.singleFlightWaitInSeconds(), TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("Waiting for the running load of key [{0}] failed: [{1}]", key, e.getLocalizedMessage());
+        }
+        if (payload != null) {
+            Object objectToReturn = deserializeQuietly(serializer, ctx.getMethod(), key, payload);
+            if (objectToReturn != null) {
+                return objectToReturn;
+            }
+        }
+        return ctx.proceed();
+    }
+
+    private void loadThroughRedis(InvocationContext ctx, RedisCached settings, IRedisCacheSerializer serializer, String key, Loaded loaded)
+            throws Exception {
         RedisManager redisManager = getRedisManager(ctx.getMethod());
-        final String key = getKey(ctx.getMethod(), ctx.getParameters());
+        byte[] binaryKey = key.getBytes(StandardCharsets.UTF_8);
 
         try (RedisManagerConnection ignored = redisManager.initConnection()) {
-            Optional<String> json = redisManager.run(Jedis::get, "get", key);
+            Optional<byte[]> cached;
+            boolean refresh = false;
+            if (settings.refreshBeforeExpireInSeconds() > 0) {
+                Optional<CachedEntry> entry = redisManager.run(RedisCachingInterceptor::getWithTtl, "getWithTtl", binaryKey);
+                cached = entry.map(CachedEntry::getPayload);
+                refresh = entry.isPresent() && entry.get().isExpiringWithin(settings.refreshBeforeExpireInSeconds()) && nearCache.startRefresh(key);
+            } else {
+                cached = redisManager.run(Jedis::get, "get", binaryKey);
+            }
 
-            if (json.isEmpty()) {
-                log.debug("Data is not cached in Redis, caching key: [{0}]", key);
-                Object objectToReturn = ctx.proceed();
+            if (cached.isEmpty() || refresh) {
+                try {
+                    if (refresh) {
+                        log.debug("Cached data is about to expire in Redis, refreshing key: [{0}]", key);
+                    } else {
+                        log.debug("Data is not cached in Redis, caching key: [{0}]", key);
+                    }
+                    Object objectToReturn = ctx.proceed();
+                    loaded.value = objectToReturn;
+                    if (objectToReturn == null) {
+                        return;
+                    }
 
-                long timeToExpire = getTime(ctx.getMethod());
-                Envelope envelope = new Envelope(gson.toJson(objectToReturn), objectToReturn.getClass());
+                    long timeToExpire = settings.expireInSeconds();
+                    byte[] payload = serializer.serialize(objectToReturn, settings);
 
-                Optional<String> statusCode = redisManager.run(Jedis::setex, "setex", key, timeToExpire, JsonUtil.toJsonEx(envelope));
+                    Optional<String> statusCode = redisManager.run(Jedis::setex, "setex", binaryKey, timeToExpire, payload);
 
-                if (statusCode.isPresent() && !StringUtils.equals(statusCode.get(), "OK")) {
-                    log.warn("Problems in recording cache - status code [{0}]", statusCode);
+                    if (statusCode.isPresent() && !StringUtils.equals(statusCode.get(), "OK")) {
+                        log.warn("Problems in recording cache - status code [{0}]", statusCode);
+                    } else {
+                        loaded.payload = payload;
+                        if (settings.tags().length > 0) {
+                            redisManager.run(RedisCachingInterceptor::addToTags, "addToTags", key, settings);
+                        }
+                    }
+                } finally {
+                    if (refresh) {
+                        nearCache.finishRefresh(key);
+                    }
                 }
-                return objectToReturn;
             } else {
-                Envelope envelope = gson.fromJson(json.get(), Envelope.class);
-                Class type = envelope.getTypeOfJson();
-
-                Object objectToReturn = gson.fromJson(envelope.getJson(), type);
+                Object objectToReturn;
+                try {
+                    objectToReturn = serializer.deserialize(cached.get(), ctx.getMethod().getGenericReturnType());
+                } catch (BaseException e) {
+                    log.error("Syntax problem, removing the key!", e);
+                    redisManager.run(Jedis::del, "del", binaryKey);
+                    loaded.value = ctx.proceed();
+                    return;
+                }
 
                 if (objectToReturn == null) {
-                    log.warn("Problems with the object type - Type Envelop [{0}]", type);
-                    return ctx.proceed();
+                    log.warn("Problems with the object type - key [{0}]", key);
+                    loaded.value = ctx.proceed();
                 } else {
                     log.debug("Data from Redis: [{0}]", objectToReturn);
-                    return objectToReturn;
+                    loaded.value = objectToReturn;
+                    loaded.payload = cached.get();
                 }
             }
-        } catch (JsonSyntaxException e) {
-            log.error("Syntax problem, removing the key!", e);
-            redisManager.run(Jedis::del, "del", key);
-            return ctx.proceed();
         } catch (Exception e) {
             log.error("Exception on Redis [{0}]", e.getMessage(), e);
-            return ctx.proceed();
+            loaded.value = ctx.proceed();
         } finally {
             CDI.current().destroy(redisManager);
         }
     }
 
+    private Object deserializeQuietly(IRedisCacheSerializer serializer, Method method, String key, byte[] payload) {
+        try {
+            return serializer.deserialize(payload, method.getGenericReturnType());
+        } catch (BaseException e) {
+            log.error("Syntax problem in the loaded value of key [{0}]!", key, e);
+            return null;
+        }
+    }
+
+    private static String addToTags(Jedis jedis, String key, RedisCached settings) {
+        try (Pipeline pipeline = jedis.pipelined()) {
+            for (String tag : settings.tags()) {
+                String tagKey = RedisCacheEvictor.getTagKey(tag);
+                pipeline.sadd(tagKey, key);
+                pipeline.expire(tagKey, settings.expireInSeconds());
+            }
+            pipeline.sync();
+        }
+        return key;
+    }
+
+    private static CachedEntry getWithTtl(Jedis jedis, byte[] key) {
+        try (Pipeline pipeline = jedis.pipelined()) {
+            Response<byte[]> payload = pipeline.get(key);
+            Response<Long> ttl = pipeline.pttl(key);
+            pipeline.sync();
+            return payload.get() == null ? null : new CachedEntry(payload.get(), ttl.get());
+        }
+    }
+
     private RedisManager getRedisManager(Method method) throws BaseException {
         RedisConnection redisConnection = method.getAnnotation(RedisConnection.class);
         if (redisConnection == null) {
@@ -154,19 +284,32 @@ public class RedisCachingInterceptor {
         }
     }
 
-    private long getTime(Method method) {
-        RedisCached enableCaching = method.getAnnotation(RedisCached.class);
+    /**
+     * Result of a load through Redis: the value to return and its serialized form, if it is cached.
+     */
+    private static class Loaded {
+        private Object value;
+        private byte[] payload;
+    }
 
-        if (enableCaching == null) {
-            enableCaching = method.getDeclaringClass().getAnnotation(RedisCached.class);
-        }
+    /**
+     * Cached value with its remaining time to live.
+     */
+    private static class CachedEntry {
+        private final byte[] payload;
+        private final long ttlInMillis;
 
-        return enableCaching.expireInSeconds();
-    }
+        CachedEntry(byte[] payload, Long ttlInMillis) {
+            this.payload = payload;
+            this.ttlInMillis = ttlInMillis == null ? -1 : ttlInMillis;
+        }
 
-    private String getKey(Method method, Object[] parameters) {
-        final String parametersInLineCustom = Arrays.toString(parameters).replace(" ", "").replace("null", "");
+        byte[] getPayload() {
+            return payload;
+        }
 
-        return method.getDeclaringClass().getSimpleName() + method.getName() + parametersInLineCustom;
+        boolean isExpiringWithin(int seconds) {
+            return ttlInMillis >= 0 && ttlInMillis < TimeUnit.SECONDS.toMillis(seconds);
+        }
     }
 }
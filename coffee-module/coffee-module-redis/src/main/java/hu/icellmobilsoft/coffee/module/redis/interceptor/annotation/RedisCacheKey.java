@@ -0,0 +1,60 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.annotation;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import hu.icellmobilsoft.coffee.module.redis.interceptor.key.DefaultRedisCacheKeyExtractor;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.key.IRedisCacheKeyExtractor;
+
+/**
+ * Defines how a parameter of a {@link RedisCached} method takes part in the cache key. Parameters without this annotation are converted by
+ * {@link DefaultRedisCacheKeyExtractor}.
+ *
+ * <pre>
+ * &#64;RedisCached
+ * public CountryType getCountry(String code, &#64;RedisCacheKey(ignore = true) RequestContext context) {
+ * </pre>
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@Retention(RUNTIME)
+@Target(PARAMETER)
+public @interface RedisCacheKey {
+
+    /**
+     * Returns the extractor of the key part of the parameter, it is instantiated with its default constructor.
+     *
+     * @return the extractor of the key part
+     */
+    Class<? extends IRedisCacheKeyExtractor> extractor() default DefaultRedisCacheKeyExtractor.class;
+
+    /**
+     * Returns whether the parameter is left out from the key.
+     *
+     * @return {@code true} if the parameter is not part of the key
+     */
+    boolean ignore() default false;
+}
@@ -26,9 +26,20 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
+import java.lang.reflect.Method;
+
 import jakarta.enterprise.util.Nonbinding;
 import jakarta.interceptor.InterceptorBinding;
 
+import hu.icellmobilsoft.coffee.module.redis.interceptor.RedisCacheEvictor;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.key.HashedRedisCacheKeyGenerator;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.key.IRedisCacheKeyGenerator;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.key.ToStringRedisCacheKeyGenerator;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.serializer.BinaryRedisCacheSerializer;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.serializer.EnvelopeJsonRedisCacheSerializer;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.serializer.IRedisCacheSerializer;
+import hu.icellmobilsoft.coffee.module.redis.manager.RedisManager;
+
 /**
  * <p>
  * RedisCached class.
@@ -48,4 +59,111 @@ public @interface RedisCached {
      */
     @Nonbinding
     int expireInSeconds() default 60;
+
+    /**
+     * Returns the maximum number of entries of the in-process near-cache in front of Redis, 0 means the near-cache is disabled. The near-cache
+     * holds the serialized value, every call gets its own deserialized instance.
+     *
+     * @return the maximum size of the near-cache
+     * @since 2.8.0
+     */
+    @Nonbinding
+    int nearCacheSize() default 0;
+
+    /**
+     * Returns the near-cache expiration time in seconds, it is capped by {@link #expireInSeconds()}.
+     *
+     * @return the near-cache expiration time in seconds
+     * @since 2.8.0
+     */
+    @Nonbinding
+    int nearCacheExpireInSeconds() default 5;
+
+    /**
+     * Returns whether concurrent calls with the same key are loaded only once in the application (single-flight). The first caller loads
+     * the value, the others wait for it at most {@link #singleFlightWaitInSeconds()}, then call the method on their own.
+     *
+     * @return {@code true} if single-flight loading is enabled
+     * @since 2.8.0
+     */
+    @Nonbinding
+    boolean singleFlight() default true;
+
+    /**
+     * Returns the maximum time in seconds the callers wait for the value loaded by an other caller.
+     *
+     * @return the single-flight wait time in seconds
+     * @since 2.8.0
+     */
+    @Nonbinding
+    int singleFlightWaitInSeconds() default 10;
+
+    /**
+     * Returns the time in seconds before the Redis expiration when the cached value is refreshed early, 0 means early refresh is disabled. The
+     * refresh is done by one caller of the application, the others get the still valid cached value in the meantime.
+     *
+     * @return the early refresh time in seconds
+     * @since 2.8.0
+     */
+    @Nonbinding
+    int refreshBeforeExpireInSeconds() default 0;
+
+    /**
+     * Returns the serializer of the cached values. The default {@link EnvelopeJsonRedisCacheSerializer} keeps the format of the former
+     * versions, {@link BinaryRedisCacheSerializer} is more compact and faster.
+     *
+     * @return the serializer of the cached values
+     * @since 2.8.0
+     */
+    @Nonbinding
+    Class<? extends IRedisCacheSerializer> serializer() default EnvelopeJsonRedisCacheSerializer.class;
+
+    /**
+     * Returns the serialized size in bytes above which the value is compressed, 0 means no compression. It is applied by the serializers
+     * supporting compression, e.g. {@link BinaryRedisCacheSerializer}.
+     *
+     * @return the compression threshold in bytes
+     * @since 2.8.0
+     */
+    @Nonbinding
+    int compressAboveBytes() default 0;
+
+    /**
+     * Returns the generator of the cache keys. The default {@link HashedRedisCacheKeyGenerator} gives short, deterministic keys,
+     * {@link ToStringRedisCacheKeyGenerator} gives the keys of the former versions.
+     *
+     * @return the generator of the cache keys
+     * @since 2.8.0
+     */
+    @Nonbinding
+    Class<? extends IRedisCacheKeyGenerator> keyGenerator() default HashedRedisCacheKeyGenerator.class;
+
+    /**
+     * Returns the namespace of the cache keys, by default {@code <class simple name>.<method name>}. Methods with the same namespace can be
+     * evicted together with {@link RedisCacheEvictor#evictNamespace(RedisManager, Method)}.
+     *
+     * @return the namespace of the cache keys
+     * @since 2.8.0
+     */
+    @Nonbinding
+    String namespace() default "";
+
+    /**
+     * Returns the version of the cache keys. Increasing it makes the formerly cached values unreachable, e.g. after the return type changed.
+     *
+     * @return the version of the cache keys
+     * @since 2.8.0
+     */
+    @Nonbinding
+    int version() default 0;
+
+    /**
+     * Returns the tags of the cached values. The values with a tag can be evicted together with
+     * {@link RedisCacheEvictor#evictTag(RedisManager, String)}.
+     *
+     * @return the tags of the cached values
+     * @since 2.8.0
+     */
+    @Nonbinding
+    String[] tags() default {};
 }
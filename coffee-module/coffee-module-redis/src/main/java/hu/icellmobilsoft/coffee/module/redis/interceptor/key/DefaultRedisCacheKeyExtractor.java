@@ -0,0 +1,104 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.key;
+
+import java.lang.reflect.Array;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Default {@link IRedisCacheKeyExtractor}: strings, numbers, booleans, characters, enums and temporals are taken as is, {@link Date} and
+ * {@link Calendar} as epoch milliseconds, other objects as their {@code toString()}. The elements of {@link Collection}s, {@link Map}s and
+ * arrays are converted the same way (one level deep), the elements of {@link Set}s and the entries of {@link Map}s are sorted, so equal
+ * hash based collections give the same key regardless of their iteration order.
+ * <p>
+ * The {@code toString()} of a DTO is usually not a canonical form, for such parameters use {@link JsonRedisCacheKeyExtractor} or an own
+ * extractor.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public class DefaultRedisCacheKeyExtractor implements IRedisCacheKeyExtractor {
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public DefaultRedisCacheKeyExtractor() {
+        super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String extract(Object parameter) {
+        if (parameter == null) {
+            return null;
+        } else if (parameter instanceof String) {
+            return (String) parameter;
+        } else if (parameter instanceof Number || parameter instanceof Boolean || parameter instanceof Character || parameter instanceof Enum
+                || parameter instanceof TemporalAccessor) {
+            return parameter.toString();
+        } else if (parameter instanceof Date) {
+            return String.valueOf(((Date) parameter).getTime());
+        } else if (parameter instanceof Calendar) {
+            return String.valueOf(((Calendar) parameter).getTimeInMillis());
+        } else if (parameter instanceof Map) {
+            List<String> entries = new ArrayList<>(((Map<?, ?>) parameter).size());
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) parameter).entrySet()) {
+                entries.add(element(entry.getKey()) + '=' + element(entry.getValue()));
+            }
+            Collections.sort(entries);
+            return "{" + String.join(",", entries) + "}";
+        } else if (parameter instanceof Collection) {
+            List<String> elements = new ArrayList<>(((Collection<?>) parameter).size());
+            for (Object element : (Collection<?>) parameter) {
+                elements.add(element(element));
+            }
+            if (parameter instanceof Set) {
+                Collections.sort(elements);
+            }
+            return "[" + String.join(",", elements) + "]";
+        } else if (parameter.getClass().isArray()) {
+            int length = Array.getLength(parameter);
+            List<String> elements = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                elements.add(element(Array.get(parameter, i)));
+            }
+            return "[" + String.join(",", elements) + "]";
+        }
+        return parameter.toString();
+    }
+
+    private String element(Object element) {
+        if (element instanceof Map || element instanceof Collection || (element != null && element.getClass().isArray())) {
+            // nested containers are not canonicalized, it could recurse infinitely on self containing collections
+            return String.valueOf(element);
+        }
+        String value = extract(element);
+        // length prefix, so the separators in the values cannot make different elements equal
+        return value == null ? "N" : value.length() + ":" + value;
+    }
+}
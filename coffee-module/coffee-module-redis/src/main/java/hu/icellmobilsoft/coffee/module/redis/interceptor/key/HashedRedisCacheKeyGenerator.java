@@ -0,0 +1,139 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.key;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.common.hash.Hashing;
+
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCacheKey;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+
+/**
+ * Default {@link IRedisCacheKeyGenerator}, the key is {@code <namespace>:v<version>:<hash>}, where:
+ * <ul>
+ * <li>namespace: {@link RedisCached#namespace()}, or {@code <class simple name>.<method name>} if it is not set</li>
+ * <li>version: {@link RedisCached#version()}</li>
+ * <li>hash: 128 bit murmur3 hash (hex) of the method signature and the canonical form of the parameters given by the
+ * {@link IRedisCacheKeyExtractor}s, each part prefixed with its length, so {@code null}, empty and {@code "null"} parameters differ</li>
+ * </ul>
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@ApplicationScoped
+public class HashedRedisCacheKeyGenerator implements IRedisCacheKeyGenerator {
+
+    private static final IRedisCacheKeyExtractor DEFAULT_EXTRACTOR = new DefaultRedisCacheKeyExtractor();
+
+    private final Map<Method, MethodKey> methodKeys = new ConcurrentHashMap<>();
+
+    private final Map<Class<? extends IRedisCacheKeyExtractor>, IRedisCacheKeyExtractor> extractors = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public HashedRedisCacheKeyGenerator() {
+        super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String generateKey(Method method, Object[] parameters, RedisCached settings) {
+        MethodKey methodKey = methodKeys.computeIfAbsent(method, m -> createMethodKey(m, settings));
+
+        StringBuilder canonical = new StringBuilder(methodKey.signature);
+        for (int i = 0; i < methodKey.extractors.length; i++) {
+            IRedisCacheKeyExtractor extractor = methodKey.extractors[i];
+            if (extractor == null) {
+                continue;
+            }
+            String part = extractor.extract(parameters[i]);
+            if (part == null) {
+                canonical.append('N');
+            } else {
+                canonical.append('S').append(part.length()).append(':').append(part);
+            }
+        }
+        return methodKey.prefix + Hashing.murmur3_128().hashString(canonical, StandardCharsets.UTF_8);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getPrefix(Method method, RedisCached settings) {
+        String namespace = settings == null || StringUtils.isBlank(settings.namespace())
+                ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                : settings.namespace();
+        int version = settings == null ? 0 : settings.version();
+        return namespace + ":v" + version + ":";
+    }
+
+    private MethodKey createMethodKey(Method method, RedisCached settings) {
+        StringBuilder signature = new StringBuilder(method.getDeclaringClass().getName()).append('#').append(method.getName()).append('(');
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            signature.append(parameterType.getName()).append(',');
+        }
+        signature.append(')');
+
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        IRedisCacheKeyExtractor[] methodExtractors = new IRedisCacheKeyExtractor[parameterAnnotations.length];
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            methodExtractors[i] = DEFAULT_EXTRACTOR;
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof RedisCacheKey) {
+                    RedisCacheKey redisCacheKey = (RedisCacheKey) annotation;
+                    methodExtractors[i] = redisCacheKey.ignore() ? null : extractors.computeIfAbsent(redisCacheKey.extractor(), this::createExtractor);
+                }
+            }
+        }
+        return new MethodKey(getPrefix(method, settings), signature.toString(), methodExtractors);
+    }
+
+    private IRedisCacheKeyExtractor createExtractor(Class<? extends IRedisCacheKeyExtractor> type) {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate @RedisCacheKey extractor: [" + type.getName() + "]", e);
+        }
+    }
+
+    /**
+     * Precomputed key parts of a method.
+     */
+    private static class MethodKey {
+        private final String prefix;
+        private final String signature;
+        private final IRedisCacheKeyExtractor[] extractors;
+
+        MethodKey(String prefix, String signature, IRedisCacheKeyExtractor[] extractors) {
+            this.prefix = prefix;
+            this.signature = signature;
+            this.extractors = extractors;
+        }
+    }
+}
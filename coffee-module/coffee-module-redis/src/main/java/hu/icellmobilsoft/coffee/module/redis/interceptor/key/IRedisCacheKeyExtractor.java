@@ -0,0 +1,41 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.key;
+
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCacheKey;
+
+/**
+ * Converts a parameter of a {@code @RedisCached} method to its canonical form used in the cache key, see {@link RedisCacheKey}.
+ * Implementations must be thread-safe and have a default constructor.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public interface IRedisCacheKeyExtractor {
+
+    /**
+     * Returns the canonical form of the parameter. Equal parameters must give the same result in every JVM.
+     *
+     * @param parameter
+     *            parameter value, can be {@code null}
+     * @return canonical form, {@code null} if the parameter is {@code null}
+     */
+    String extract(Object parameter);
+}
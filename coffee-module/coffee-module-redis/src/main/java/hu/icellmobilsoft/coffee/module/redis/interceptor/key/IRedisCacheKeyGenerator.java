@@ -0,0 +1,58 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.key;
+
+import java.lang.reflect.Method;
+
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+
+/**
+ * Derives the Redis key of a {@link RedisCached} method call. Selected by {@link RedisCached#keyGenerator()}, the implementation is looked up
+ * as CDI bean, or instantiated with its default constructor if it is not a bean. Implementations must be thread-safe.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public interface IRedisCacheKeyGenerator {
+
+    /**
+     * Generates the cache key of the method call.
+     *
+     * @param method
+     *            intercepted method
+     * @param parameters
+     *            parameters of the call
+     * @param settings
+     *            caching settings of the method
+     * @return cache key
+     */
+    String generateKey(Method method, Object[] parameters, RedisCached settings);
+
+    /**
+     * Returns the prefix shared by the keys of the namespace and version of the method, used for bulk eviction.
+     *
+     * @param method
+     *            cached method
+     * @param settings
+     *            caching settings of the method
+     * @return key prefix
+     */
+    String getPrefix(Method method, RedisCached settings);
+}
@@ -0,0 +1,140 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.key;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+
+import hu.icellmobilsoft.coffee.tool.gson.JsonUtil;
+
+/**
+ * {@link IRedisCacheKeyExtractor} of DTO parameters, the canonical form is the JSON of the parameter (with the type adapters of
+ * {@link JsonUtil}). The elements of {@link Set}s and the entries of {@link Map}s are sorted, so equal hash based collections give the same
+ * key regardless of their iteration order. It is much more expensive than the {@link DefaultRedisCacheKeyExtractor}, it has to be selected
+ * explicitly:
+ *
+ * <pre>
+ * &#64;RedisCached
+ * public InvoiceType findInvoice(&#64;RedisCacheKey(extractor = JsonRedisCacheKeyExtractor.class) InvoiceQueryType query) {
+ * </pre>
+ *
+ * If the parameter cannot be serialized (e.g. cyclic object graph, invalid value), {@link IllegalArgumentException} is thrown and the method
+ * is called without caching.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public class JsonRedisCacheKeyExtractor implements IRedisCacheKeyExtractor {
+
+    private static final Comparator<JsonElement> JSON_ORDER = Comparator.comparing(JsonElement::toString);
+
+    private volatile Gson baseGson;
+
+    private volatile Gson gson;
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public JsonRedisCacheKeyExtractor() {
+        super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String extract(Object parameter) {
+        if (parameter == null) {
+            return null;
+        }
+        try {
+            return getGson().toJson(parameter);
+        } catch (RuntimeException | StackOverflowError e) {
+            throw new IllegalArgumentException("Cannot create cache key of parameter type [" + parameter.getClass().getName() + "]", e);
+        }
+    }
+
+    private Gson getGson() {
+        Gson base = JsonUtil.getGson();
+        Gson local = gson;
+        // rebuilt if type adapters were registered in JsonUtil since
+        if (local == null || base != baseGson) {
+            local = base.newBuilder()
+                    .registerTypeHierarchyAdapter(Set.class, new SortedSetSerializer())
+                    .registerTypeHierarchyAdapter(Map.class, new SortedMapSerializer())
+                    .create();
+            gson = local;
+            baseGson = base;
+        }
+        return local;
+    }
+
+    private static class SortedSetSerializer implements JsonSerializer<Set<?>> {
+
+        @Override
+        public JsonElement serialize(Set<?> src, Type typeOfSrc, JsonSerializationContext context) {
+            List<JsonElement> elements = new ArrayList<>(src.size());
+            for (Object element : src) {
+                elements.add(context.serialize(element));
+            }
+            elements.sort(JSON_ORDER);
+            JsonArray array = new JsonArray(elements.size());
+            elements.forEach(array::add);
+            return array;
+        }
+    }
+
+    private static class SortedMapSerializer implements JsonSerializer<Map<?, ?>> {
+
+        @Override
+        public JsonElement serialize(Map<?, ?> src, Type typeOfSrc, JsonSerializationContext context) {
+            List<JsonArray> entries = new ArrayList<>(src.size());
+            boolean primitiveKeys = true;
+            for (Map.Entry<?, ?> entry : src.entrySet()) {
+                JsonElement key = context.serialize(entry.getKey());
+                primitiveKeys &= key.isJsonPrimitive();
+                JsonArray pair = new JsonArray(2);
+                pair.add(key);
+                pair.add(context.serialize(entry.getValue()));
+                entries.add(pair);
+            }
+            entries.sort(Comparator.comparing(pair -> pair.get(0).toString()));
+            if (!primitiveKeys) {
+                JsonArray array = new JsonArray(entries.size());
+                entries.forEach(array::add);
+                return array;
+            }
+            JsonObject object = new JsonObject();
+            for (JsonArray pair : entries) {
+                object.add(pair.get(0).getAsString(), pair.get(1));
+            }
+            return object;
+        }
+    }
+}
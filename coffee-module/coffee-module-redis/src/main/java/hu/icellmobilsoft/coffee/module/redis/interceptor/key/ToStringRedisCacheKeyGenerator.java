@@ -0,0 +1,60 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.key;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+
+/**
+ * {@link IRedisCacheKeyGenerator} of the keys used before 2.8.0: {@code <class simple name><method name><Arrays.toString(parameters)>}, with
+ * the spaces and the {@code null} texts removed. It ignores the namespace and the version, the prefix of the keys is
+ * {@code <class simple name><method name>[}.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@ApplicationScoped
+public class ToStringRedisCacheKeyGenerator implements IRedisCacheKeyGenerator {
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public ToStringRedisCacheKeyGenerator() {
+        super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String generateKey(Method method, Object[] parameters, RedisCached settings) {
+        final String parametersInLineCustom = Arrays.toString(parameters).replace(" ", "").replace("null", "");
+
+        return method.getDeclaringClass().getSimpleName() + method.getName() + parametersInLineCustom;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getPrefix(Method method, RedisCached settings) {
+        return method.getDeclaringClass().getSimpleName() + method.getName() + "[";
+    }
+}
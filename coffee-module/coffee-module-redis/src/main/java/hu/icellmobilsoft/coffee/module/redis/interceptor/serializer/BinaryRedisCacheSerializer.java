@@ -0,0 +1,152 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import hu.icellmobilsoft.coffee.dto.exception.enums.CoffeeFaultType;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+import hu.icellmobilsoft.coffee.se.api.exception.TechnicalException;
+import hu.icellmobilsoft.coffee.tool.gson.ClassTypeAdapter;
+
+/**
+ * Compact binary {@link IRedisCacheSerializer}. The value is serialized to JSON only once, without an envelope:
+ * <ul>
+ * <li>1 byte: format version</li>
+ * <li>1 byte: flags, {@value #FLAG_DEFLATED} if the body is deflate compressed</li>
+ * <li>modified UTF-8 string: type tag, the class name of the value</li>
+ * <li>body: UTF-8 JSON of the value</li>
+ * </ul>
+ * The value is deserialized to the type resolved by {@link IRedisCacheSerializer#resolveType(Type, Class)}, so the element types of generic
+ * collections are kept.
+ * The body is compressed if its size exceeds {@link RedisCached#compressAboveBytes()}.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@ApplicationScoped
+public class BinaryRedisCacheSerializer implements IRedisCacheSerializer {
+
+    /**
+     * Current format version
+     */
+    public static final byte FORMAT_VERSION = 1;
+
+    /**
+     * Flag of deflate compressed body
+     */
+    public static final byte FLAG_DEFLATED = 1;
+
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    private final Gson gson = new GsonBuilder().registerTypeAdapter(Class.class, new ClassTypeAdapter()).create();
+
+    private final Map<String, Class<?>> types = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public BinaryRedisCacheSerializer() {
+        super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public byte[] serialize(Object value, RedisCached settings) throws BaseException {
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+            try (Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8)) {
+                gson.toJson(value, writer);
+            }
+
+            int threshold = settings == null ? 0 : settings.compressAboveBytes();
+            boolean deflate = threshold > 0 && body.size() > threshold;
+
+            ByteArrayOutputStream result = new ByteArrayOutputStream(deflate ? body.size() / 2 : body.size() + 64);
+            DataOutputStream header = new DataOutputStream(result);
+            header.writeByte(FORMAT_VERSION);
+            header.writeByte(deflate ? FLAG_DEFLATED : 0);
+            header.writeUTF(value.getClass().getName());
+            header.flush();
+            if (deflate) {
+                try (DeflaterOutputStream deflater = new DeflaterOutputStream(result)) {
+                    body.writeTo(deflater);
+                }
+            } else {
+                body.writeTo(result);
+            }
+            return result.toByteArray();
+        } catch (IOException | JsonParseException e) {
+            throw new TechnicalException(CoffeeFaultType.OPERATION_FAILED, "Failed to serialize cached value: " + e.getLocalizedMessage(), e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object deserialize(byte[] payload, Type type) throws BaseException {
+        try {
+            ByteArrayInputStream input = new ByteArrayInputStream(payload);
+            DataInputStream header = new DataInputStream(input);
+            byte version = header.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new TechnicalException(CoffeeFaultType.OPERATION_FAILED, "Unsupported cached value format version: [" + version + "]");
+            }
+            byte flags = header.readByte();
+            Type valueType = IRedisCacheSerializer.resolveType(type, getType(header.readUTF()));
+            InputStream body = (flags & FLAG_DEFLATED) != 0 ? new InflaterInputStream(input) : input;
+            try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+                return gson.fromJson(reader, valueType);
+            }
+        } catch (IOException | JsonParseException | ClassNotFoundException e) {
+            throw new TechnicalException(CoffeeFaultType.OPERATION_FAILED, "Invalid cached value: " + e.getLocalizedMessage(), e);
+        }
+    }
+
+    private Class<?> getType(String className) throws ClassNotFoundException {
+        Class<?> type = types.get(className);
+        if (type == null) {
+            type = Class.forName(className);
+            types.put(className, type);
+        }
+        return type;
+    }
+}
@@ -0,0 +1,80 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.serializer;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import hu.icellmobilsoft.coffee.dto.common.Envelope;
+import hu.icellmobilsoft.coffee.dto.exception.enums.CoffeeFaultType;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+import hu.icellmobilsoft.coffee.se.api.exception.TechnicalException;
+import hu.icellmobilsoft.coffee.tool.gson.ClassTypeAdapter;
+import hu.icellmobilsoft.coffee.tool.gson.JsonUtil;
+
+/**
+ * Default {@link IRedisCacheSerializer}: the JSON of the value wrapped into an {@link Envelope} JSON together with the type of the value. It is
+ * the format used before 2.8.0, so values cached by former versions remain readable. The value is deserialized to the type resolved by
+ * {@link IRedisCacheSerializer#resolveType(Type, Class)}, so the element types of generic collections are kept.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@ApplicationScoped
+public class EnvelopeJsonRedisCacheSerializer implements IRedisCacheSerializer {
+
+    private final Gson gson = new GsonBuilder().registerTypeAdapter(Class.class, new ClassTypeAdapter()).create();
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public EnvelopeJsonRedisCacheSerializer() {
+        super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public byte[] serialize(Object value, RedisCached settings) throws BaseException {
+        Envelope<?> envelope = new Envelope<>(gson.toJson(value), value.getClass());
+        return JsonUtil.toJsonEx(envelope).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Object deserialize(byte[] payload, Type type) throws BaseException {
+        try {
+            Envelope envelope = gson.fromJson(new String(payload, StandardCharsets.UTF_8), Envelope.class);
+            if (envelope == null || envelope.getTypeOfJson() == null) {
+                return null;
+            }
+            return gson.fromJson(envelope.getJson(), IRedisCacheSerializer.resolveType(type, envelope.getTypeOfJson()));
+        } catch (JsonParseException e) {
+            throw new TechnicalException(CoffeeFaultType.OPERATION_FAILED, "Invalid cached envelope: " + e.getLocalizedMessage(), e);
+        }
+    }
+}
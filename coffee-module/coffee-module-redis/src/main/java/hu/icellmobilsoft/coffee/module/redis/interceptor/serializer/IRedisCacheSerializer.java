@@ -0,0 +1,82 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.serializer;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+
+/**
+ * Serializer of the values cached by {@link RedisCached}. Selected by {@link RedisCached#serializer()}, the implementation is looked up as
+ * CDI bean, or instantiated with its default constructor if it is not a bean. Implementations must be thread-safe.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public interface IRedisCacheSerializer {
+
+    /**
+     * Serializes the value to be stored in Redis.
+     *
+     * @param value
+     *            return value of the cached method, not {@code null}
+     * @param settings
+     *            caching settings of the method
+     * @return serialized value
+     * @throws BaseException
+     *             if the value cannot be serialized
+     */
+    byte[] serialize(Object value, RedisCached settings) throws BaseException;
+
+    /**
+     * Deserializes the value stored in Redis.
+     *
+     * @param payload
+     *            serialized value
+     * @param type
+     *            generic return type of the cached method, e.g. {@code List<Dto>}
+     * @return deserialized value
+     * @throws BaseException
+     *             if the payload is malformed, the interceptor removes the key in this case
+     * @see #resolveType(Type, Class)
+     */
+    Object deserialize(byte[] payload, Type type) throws BaseException;
+
+    /**
+     * Returns the type the cached value is deserialized to. If the declared type has type arguments (e.g. {@code List<Dto>},
+     * {@code Map<String, Dto>}), it is the declared type, because the class of the stored value has lost them. Otherwise it is the stored class
+     * of the value, which can be a subclass of the declared type.
+     *
+     * @param declaredType
+     *            generic return type of the cached method, can be {@code null}
+     * @param storedClass
+     *            class of the value when it was cached, can be {@code null}
+     * @return type to deserialize to
+     */
+    static Type resolveType(Type declaredType, Class<?> storedClass) {
+        if (storedClass == null || declaredType instanceof ParameterizedType || declaredType instanceof GenericArrayType) {
+            return declaredType;
+        }
+        return storedClass;
+    }
+}
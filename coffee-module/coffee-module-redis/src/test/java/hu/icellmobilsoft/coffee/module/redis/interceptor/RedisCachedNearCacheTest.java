@@ -0,0 +1,129 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.cache.Cache;
+
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+
+/**
+ * Testing RedisCachedNearCache class
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing RedisCachedNearCache class")
+class RedisCachedNearCacheTest {
+
+    private RedisCachedNearCache nearCache;
+
+    @BeforeEach
+    void init() {
+        nearCache = new RedisCachedNearCache();
+    }
+
+    @Test
+    @DisplayName("Testing settings of the method and of the class")
+    void settingsTest() throws Exception {
+        // given
+
+        // when
+        RedisCached methodSettings = nearCache.getSettings(CachedService.class.getMethod("nearCached"));
+        RedisCached classSettings = nearCache.getSettings(CachedService.class.getMethod("classCached"));
+
+        // then
+        Assertions.assertEquals(100, methodSettings.nearCacheSize());
+        Assertions.assertEquals(30, classSettings.expireInSeconds());
+        Assertions.assertEquals(0, classSettings.nearCacheSize());
+    }
+
+    @Test
+    @DisplayName("Testing near-cache is created only if enabled")
+    void nearCacheTest() throws Exception {
+        // given
+
+        // when
+        Cache<String, byte[]> enabled = nearCache.getNearCache(CachedService.class.getMethod("nearCached"));
+        Cache<String, byte[]> disabled = nearCache.getNearCache(CachedService.class.getMethod("classCached"));
+        enabled.put("key", new byte[] { 1 });
+        nearCache.invalidate("key");
+
+        // then
+        Assertions.assertNotNull(enabled);
+        Assertions.assertNull(disabled);
+        Assertions.assertNull(enabled.getIfPresent("key"));
+    }
+
+    @Test
+    @DisplayName("Testing single-flight loading")
+    void singleFlightTest() throws Exception {
+        // given
+        CompletableFuture<byte[]> leader = new CompletableFuture<>();
+        CompletableFuture<byte[]> follower = new CompletableFuture<>();
+
+        // when
+        CompletableFuture<byte[]> leaderRunning = nearCache.startLoading("key", leader);
+        CompletableFuture<byte[]> followerRunning = nearCache.startLoading("key", follower);
+        nearCache.finishLoading("key", leader, new byte[] { 1 });
+
+        // then
+        Assertions.assertNull(leaderRunning);
+        Assertions.assertSame(leader, followerRunning);
+        Assertions.assertArrayEquals(new byte[] { 1 }, followerRunning.get());
+        Assertions.assertNull(nearCache.startLoading("key", follower));
+    }
+
+    @Test
+    @DisplayName("Testing only one early refresh runs")
+    void refreshTest() {
+        // given
+
+        // when
+        boolean first = nearCache.startRefresh("key");
+        boolean second = nearCache.startRefresh("key");
+        nearCache.finishRefresh("key");
+        boolean third = nearCache.startRefresh("key");
+
+        // then
+        Assertions.assertTrue(first);
+        Assertions.assertFalse(second);
+        Assertions.assertTrue(third);
+    }
+
+    @RedisCached(expireInSeconds = 30)
+    static class CachedService {
+
+        @RedisCached(nearCacheSize = 100)
+        public String nearCached() {
+            return "nearCached";
+        }
+
+        public String classCached() {
+            return "classCached";
+        }
+    }
+}
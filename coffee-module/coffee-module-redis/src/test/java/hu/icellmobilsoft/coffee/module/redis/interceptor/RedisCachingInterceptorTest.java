@@ -0,0 +1,91 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor;
+
+import java.lang.reflect.Method;
+
+import jakarta.interceptor.InvocationContext;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import hu.icellmobilsoft.coffee.cdi.logger.AppLogger;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.key.IRedisCacheKeyGenerator;
+
+/**
+ * Testing {@link RedisCachingInterceptor}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing RedisCachingInterceptor")
+@ExtendWith(MockitoExtension.class)
+class RedisCachingInterceptorTest {
+
+    @Mock
+    private AppLogger log;
+
+    @Mock
+    private RedisCachedNearCache nearCache;
+
+    @Mock
+    private InvocationContext ctx;
+
+    @Mock
+    private IRedisCacheKeyGenerator keyGenerator;
+
+    @InjectMocks
+    private RedisCachingInterceptor underTest;
+
+    @Test
+    @DisplayName("Testing the method is called without cache if the key cannot be generated")
+    void keyGenerationFailure() throws Exception {
+        // given
+        Method method = RedisCachingInterceptorTest.class.getDeclaredMethod("find", Object.class);
+        Mockito.when(ctx.getMethod()).thenReturn(method);
+        Mockito.when(ctx.getParameters()).thenReturn(new Object[] { "param" });
+        Mockito.when(ctx.proceed()).thenReturn("result");
+        Mockito.when(nearCache.getSettings(method)).thenReturn(method.getAnnotation(RedisCached.class));
+        Mockito.when(nearCache.getKeyGenerator(method)).thenReturn(keyGenerator);
+        Mockito.when(keyGenerator.generateKey(ArgumentMatchers.eq(method), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenThrow(new IllegalArgumentException("cyclic"));
+
+        // when
+        Object result = underTest.perform(ctx);
+
+        // then
+        Assertions.assertEquals("result", result);
+        Mockito.verify(ctx).proceed();
+        Mockito.verify(nearCache, Mockito.never()).getNearCache(method);
+    }
+
+    @RedisCached
+    static String find(Object param) {
+        return String.valueOf(param);
+    }
+}
@@ -0,0 +1,202 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.key;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCacheKey;
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+
+/**
+ * Testing the @RedisCached key generators
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing the @RedisCached key generators")
+class RedisCacheKeyGeneratorTest {
+
+    private final HashedRedisCacheKeyGenerator hashedGenerator = new HashedRedisCacheKeyGenerator();
+
+    @Test
+    @DisplayName("Testing hashed key is deterministic and prefixed")
+    void hashedDeterministicTest() throws Exception {
+        // given
+        Method method = method("find");
+        RedisCached settings = method.getAnnotation(RedisCached.class);
+
+        // when
+        String first = hashedGenerator.generateKey(method, new Object[] { "a", 1L }, settings);
+        String second = new HashedRedisCacheKeyGenerator().generateKey(method, new Object[] { "a", 1L }, settings);
+
+        // then
+        Assertions.assertEquals(first, second);
+        Assertions.assertTrue(first.startsWith("RedisCacheKeyGeneratorTest.find:v0:"));
+        Assertions.assertEquals("RedisCacheKeyGeneratorTest.find:v0:".length() + 32, first.length());
+        Assertions.assertEquals("RedisCacheKeyGeneratorTest.find:v0:", hashedGenerator.getPrefix(method, settings));
+    }
+
+    @Test
+    @DisplayName("Testing null, empty and \"null\" parameters give different keys")
+    void hashedNullTest() throws Exception {
+        // given
+        Method method = method("find");
+        RedisCached settings = method.getAnnotation(RedisCached.class);
+
+        // when
+        String nullKey = hashedGenerator.generateKey(method, new Object[] { null, 1L }, settings);
+        String emptyKey = hashedGenerator.generateKey(method, new Object[] { "", 1L }, settings);
+        String nullTextKey = hashedGenerator.generateKey(method, new Object[] { "null", 1L }, settings);
+
+        // then
+        Assertions.assertNotEquals(nullKey, emptyKey);
+        Assertions.assertNotEquals(nullKey, nullTextKey);
+        Assertions.assertNotEquals(emptyKey, nullTextKey);
+    }
+
+    @Test
+    @DisplayName("Testing namespace, version and parameter annotations")
+    void hashedNamespaceTest() throws Exception {
+        // given
+        Method method = method("list");
+        RedisCached settings = method.getAnnotation(RedisCached.class);
+
+        // when
+        String key = hashedGenerator.generateKey(method, new Object[] { List.of("a", "b"), "ignored" }, settings);
+        String otherIgnored = hashedGenerator.generateKey(method, new Object[] { List.of("a", "b"), "other" }, settings);
+        String upperCase = hashedGenerator.generateKey(method, new Object[] { List.of("A", "B"), "ignored" }, settings);
+
+        // then
+        Assertions.assertTrue(key.startsWith("country:v2:"));
+        Assertions.assertEquals(key, otherIgnored);
+        Assertions.assertEquals(key, upperCase);
+    }
+
+    @Test
+    @DisplayName("Testing former key format")
+    void toStringTest() throws Exception {
+        // given
+        Method method = method("find");
+
+        // when
+        String key = new ToStringRedisCacheKeyGenerator().generateKey(method, new Object[] { null, 1L }, null);
+
+        // then
+        Assertions.assertEquals("RedisCacheKeyGeneratorTestfind[,1]", key);
+        Assertions.assertTrue(key.startsWith(new ToStringRedisCacheKeyGenerator().getPrefix(method, null)));
+    }
+
+    @Test
+    @DisplayName("Testing equal hash based collections give the same key regardless of iteration order")
+    void canonicalCollectionTest() {
+        // given
+        IRedisCacheKeyExtractor defaultExtractor = new DefaultRedisCacheKeyExtractor();
+        IRedisCacheKeyExtractor jsonExtractor = new JsonRedisCacheKeyExtractor();
+        Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("b", 2);
+        map.put("a", 1);
+        Map<String, Integer> reversedMap = new LinkedHashMap<>();
+        reversedMap.put("a", 1);
+        reversedMap.put("b", 2);
+        Set<String> set = new LinkedHashSet<>(List.of("y", "x"));
+        Set<String> reversedSet = new LinkedHashSet<>(List.of("x", "y"));
+
+        // when
+        // then
+        Assertions.assertEquals(defaultExtractor.extract(map), defaultExtractor.extract(reversedMap));
+        Assertions.assertEquals(defaultExtractor.extract(set), defaultExtractor.extract(reversedSet));
+        Assertions.assertEquals(jsonExtractor.extract(map), jsonExtractor.extract(reversedMap));
+        Assertions.assertEquals(jsonExtractor.extract(new Holder(set)), jsonExtractor.extract(new Holder(reversedSet)));
+        Assertions.assertEquals(defaultExtractor.extract(new HashSet<>(set)), defaultExtractor.extract(new HashSet<>(reversedSet)));
+        Assertions.assertEquals(jsonExtractor.extract(new HashMap<>(map)), jsonExtractor.extract(new HashMap<>(reversedMap)));
+        // list order is significant
+        Assertions.assertNotEquals(defaultExtractor.extract(List.of("x", "y")), defaultExtractor.extract(List.of("y", "x")));
+        Assertions.assertNotEquals(jsonExtractor.extract(List.of("x", "y")), jsonExtractor.extract(List.of("y", "x")));
+        // separators in the elements do not make different collections equal
+        Assertions.assertNotEquals(defaultExtractor.extract(List.of("a,b")), defaultExtractor.extract(List.of("a", "b")));
+    }
+
+    @Test
+    @DisplayName("Testing default extractor uses toString of other objects")
+    void defaultToStringTest() {
+        Assertions.assertEquals("Holder[values=[x]]", new DefaultRedisCacheKeyExtractor().extract(new Holder(Set.of("x"))));
+        Assertions.assertEquals("{\"values\":[\"x\"]}", new JsonRedisCacheKeyExtractor().extract(new Holder(Set.of("x"))));
+    }
+
+    @Test
+    @DisplayName("Testing JSON extractor fails on cyclic object graph")
+    void jsonCyclicTest() {
+        // given
+        List<Object> cyclic = new ArrayList<>();
+        cyclic.add(cyclic);
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new JsonRedisCacheKeyExtractor().extract(new Holder(cyclic)));
+    }
+
+    private static Method method(String name) {
+        for (Method method : RedisCacheKeyGeneratorTest.class.getDeclaredMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    @RedisCached
+    static String find(String name, Long id) {
+        return name + id;
+    }
+
+    @RedisCached(namespace = "country", version = 2)
+    static String list(@RedisCacheKey(extractor = LowerCaseExtractor.class) List<String> codes, @RedisCacheKey(ignore = true) String context) {
+        return codes + context;
+    }
+
+    /**
+     * Parameter DTO for the test
+     */
+    record Holder(Object values) {
+    }
+
+    /**
+     * Case insensitive extractor for the test
+     */
+    public static class LowerCaseExtractor implements IRedisCacheKeyExtractor {
+
+        @Override
+        public String extract(Object parameter) {
+            return parameter == null ? null : parameter.toString().toLowerCase();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redis.interceptor.serializer;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.module.redis.interceptor.annotation.RedisCached;
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+
+/**
+ * Testing the @RedisCached serializers
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing the @RedisCached serializers")
+class RedisCacheSerializerTest {
+
+    private final EnvelopeJsonRedisCacheSerializer envelopeSerializer = new EnvelopeJsonRedisCacheSerializer();
+
+    private final BinaryRedisCacheSerializer binarySerializer = new BinaryRedisCacheSerializer();
+
+    @Test
+    @DisplayName("Testing envelope serializer reads the former format")
+    void envelopeFormerFormatTest() throws BaseException {
+        // given
+        String former = "{\"json\":\"{\\\"name\\\":\\\"coffee\\\",\\\"count\\\":3}\",\"typeOfJson\":\"" + Value.class.getName() + "\"}";
+
+        // when
+        Object actual = envelopeSerializer.deserialize(former.getBytes(StandardCharsets.UTF_8), Value.class);
+
+        // then
+        Assertions.assertEquals(new Value("coffee", 3), actual);
+    }
+
+    @Test
+    @DisplayName("Testing envelope serializer round trip")
+    void envelopeRoundTripTest() throws Exception {
+        // given
+        Value value = new Value("coffee", 3);
+
+        // when
+        byte[] payload = envelopeSerializer.serialize(value, settings("plain"));
+
+        // then
+        Assertions.assertEquals(value, envelopeSerializer.deserialize(payload, Value.class));
+    }
+
+    @Test
+    @DisplayName("Testing binary serializer round trip without compression")
+    void binaryRoundTripTest() throws Exception {
+        // given
+        Value value = new Value("coffee", 3);
+
+        // when
+        byte[] payload = binarySerializer.serialize(value, settings("plain"));
+
+        // then
+        Assertions.assertEquals(BinaryRedisCacheSerializer.FORMAT_VERSION, payload[0]);
+        Assertions.assertEquals(0, payload[1]);
+        Assertions.assertEquals(value, binarySerializer.deserialize(payload, Value.class));
+        Assertions.assertTrue(payload.length < envelopeSerializer.serialize(value, settings("plain")).length);
+    }
+
+    @Test
+    @DisplayName("Testing binary serializer round trip with compression")
+    void binaryCompressedRoundTripTest() throws Exception {
+        // given
+        Value value = new Value(StringUtils.repeat("coffee", 1000), 3);
+
+        // when
+        byte[] payload = binarySerializer.serialize(value, settings("compressed"));
+
+        // then
+        Assertions.assertEquals(BinaryRedisCacheSerializer.FLAG_DEFLATED, payload[1]);
+        Assertions.assertTrue(payload.length < 1000);
+        Assertions.assertEquals(value, binarySerializer.deserialize(payload, Value.class));
+    }
+
+    @Test
+    @DisplayName("Testing binary serializer rejects malformed payload")
+    void binaryMalformedTest() {
+        Assertions.assertThrows(BaseException.class, () -> binarySerializer.deserialize("{\"json\":\"\"}".getBytes(StandardCharsets.UTF_8), Value.class));
+        Assertions.assertThrows(BaseException.class, () -> binarySerializer.deserialize(new byte[0], Value.class));
+    }
+
+    @Test
+    @DisplayName("Testing generic collection round trip keeps the element type")
+    void genericCollectionRoundTripTest() throws Exception {
+        // given
+        List<Value> list = List.of(new Value("coffee", 3), new Value("tea", 1));
+        Map<String, Value> map = Map.of("coffee", new Value("coffee", 3));
+        Type listType = RedisCacheSerializerTest.class.getDeclaredMethod("values").getGenericReturnType();
+        Type mapType = RedisCacheSerializerTest.class.getDeclaredMethod("valueMap").getGenericReturnType();
+
+        for (IRedisCacheSerializer serializer : List.of(envelopeSerializer, binarySerializer)) {
+            // when
+            Object actualList = serializer.deserialize(serializer.serialize(new ArrayList<>(list), settings("plain")), listType);
+            Object actualMap = serializer.deserialize(serializer.serialize(new HashMap<>(map), settings("plain")), mapType);
+
+            // then
+            Assertions.assertEquals(list, actualList);
+            Assertions.assertInstanceOf(Value.class, ((List<?>) actualList).get(0));
+            Assertions.assertEquals(map, actualMap);
+            Assertions.assertInstanceOf(Value.class, ((Map<?, ?>) actualMap).get("coffee"));
+        }
+    }
+
+    @Test
+    @DisplayName("Testing the stored class is used if the declared type has no type arguments")
+    void storedClassTest() throws Exception {
+        // given
+        Value value = new Value("coffee", 3);
+
+        for (IRedisCacheSerializer serializer : List.of(envelopeSerializer, binarySerializer)) {
+            // when
+            Object actual = serializer.deserialize(serializer.serialize(value, settings("plain")), Object.class);
+
+            // then
+            Assertions.assertEquals(value, actual);
+        }
+    }
+
+    static List<Value> values() {
+        return List.of();
+    }
+
+    static Map<String, Value> valueMap() {
+        return Map.of();
+    }
+
+    private static RedisCached settings(String methodName) throws NoSuchMethodException {
+        return RedisCacheSerializerTest.class.getDeclaredMethod(methodName).getAnnotation(RedisCached.class);
+    }
+
+    @RedisCached(serializer = BinaryRedisCacheSerializer.class)
+    static void plain() {
+    }
+
+    @RedisCached(serializer = BinaryRedisCacheSerializer.class, compressAboveBytes = 100)
+    static void compressed() {
+    }
+
+    static class Value {
+        private String name;
+        private int count;
+
+        Value() {
+        }
+
+        Value(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Value && Objects.equals(name, ((Value) obj).name) && count == ((Value) obj).count;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, count);
+        }
+    }
+}
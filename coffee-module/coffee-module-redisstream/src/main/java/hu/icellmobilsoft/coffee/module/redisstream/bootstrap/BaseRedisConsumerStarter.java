@@ -19,9 +19,15 @@
  */
 package hu.icellmobilsoft.coffee.module.redisstream.bootstrap;
 
+import java.text.MessageFormat;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ContextService;
 import jakarta.enterprise.concurrent.ManagedExecutorService;
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.spi.Bean;
@@ -36,6 +42,7 @@ import hu.icellmobilsoft.coffee.module.redisstream.consumer.IRedisStreamConsumer
 import hu.icellmobilsoft.coffee.module.redisstream.consumer.RedisStreamConsumerExecutor;
 import hu.icellmobilsoft.coffee.se.logging.Logger;
 import hu.icellmobilsoft.coffee.tool.utils.annotation.AnnotationUtil;
+import hu.icellmobilsoft.coffee.tool.utils.concurrent.VirtualThreadUtil;
 
 /**
  * Base Redis consumer starter algorithm. Must be activated on implemented project. This logic can be started with
@@ -92,12 +99,17 @@ public class BaseRedisConsumerStarter {
     @Resource
     private ManagedExecutorService managedExecutorService;
 
+    @Resource
+    private ContextService contextService;
+
     @Inject
     private StreamGroupConfig config;
 
     @Inject
     private BeanManager beanManager;
 
+    private final Set<Thread> virtualThreads = ConcurrentHashMap.newKeySet();
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -137,7 +149,9 @@ public class BaseRedisConsumerStarter {
     }
 
     /**
-     * Starts the redis stream consumer thread
+     * Starts the redis stream consumer thread. The consumer runs in a virtual thread if it is configured ({@code consumer.virtualThreads}) and
+     * supported by the JDK, otherwise in a managed executor thread. The virtual thread runs the consumer with the container context captured by
+     * the {@link ContextService}, and it is interrupted on shutdown, see {@link #stopVirtualThreads()}.
      * 
      * @param executor
      *            the consumer executor
@@ -153,7 +167,51 @@ public class BaseRedisConsumerStarter {
         log.info("Starting Redis stream consumer with executor, class [{0}] for configKey [{1}], group [{2}]...", bean.getBeanClass(),
                 redisStreamConsumerAnnotation.configKey(), redisStreamConsumerAnnotation.group());
 
+        if (config.isConsumerVirtualThreads()) {
+            Optional<ThreadFactory> virtualThreadFactory = VirtualThreadUtil
+                    .newVirtualThreadFactory(MessageFormat.format("redis-consumer-{0}-", redisStreamConsumerAnnotation.group()));
+            if (virtualThreadFactory.isPresent()) {
+                startVirtualThread(virtualThreadFactory.get(), executor, bean);
+                return;
+            }
+            log.warn("Virtual threads are not supported on this JDK, consumer class [{0}] falls back to managed executor.", bean.getBeanClass());
+        }
         managedExecutorService.submit(executor);
         log.info("consumer class [{0}] started.", bean.getBeanClass());
     }
+
+    private void startVirtualThread(ThreadFactory virtualThreadFactory, IRedisStreamConsumerExecutor executor, Bean<?> bean) {
+        Runnable consumer;
+        if (contextService != null) {
+            // the container context (JNDI, class loader, security) of the starting thread is propagated to the consumer
+            consumer = contextService.contextualRunnable(executor);
+        } else {
+            log.warn("ContextService is not available, consumer class [{0}] runs in virtual thread without container context.", bean.getBeanClass());
+            consumer = executor;
+        }
+        Thread thread = virtualThreadFactory.newThread(() -> {
+            try {
+                consumer.run();
+            } finally {
+                virtualThreads.remove(Thread.currentThread());
+            }
+        });
+        virtualThreads.add(thread);
+        thread.start();
+        log.info("consumer class [{0}] started in virtual thread.", bean.getBeanClass());
+    }
+
+    /**
+     * Stops the consumers running in virtual threads on shutdown: breaks the consumer loop and interrupts the threads, like the container does
+     * with the managed executor threads.
+     */
+    @PreDestroy
+    public void stopVirtualThreads() {
+        if (virtualThreads.isEmpty()) {
+            return;
+        }
+        log.info("Interrupting [{0}] redis consumer virtual threads", virtualThreads.size());
+        ConsumerLifeCycleManager.stopLoop();
+        virtualThreads.forEach(Thread::interrupt);
+    }
 }
@@ -66,5 +66,34 @@ public interface IRedisStreamConstant {
          * {@code #DATA_KEY_FLOW_ID} message extension for logging searching
          */
         String FLOW_ID_EXTENSION = "flowIdExtension";
+        /**
+         * Key for redis stream message partition key, messages with the same key are processed in order by partitioned consumers
+         */
+        String DATA_KEY_PARTITION_KEY = "partitionKey";
+    }
+
+    /**
+     * Extra keys of the messages moved to the dead-letter stream
+     *
+     * @author imre.scheffer
+     * @since 2.8.0
+     */
+    interface DeadLetter {
+        /**
+         * Key for the stream key the message is moved from
+         */
+        String DATA_KEY_SOURCE_STREAM = "deadLetterSourceStream";
+        /**
+         * Key for the original stream entry ID of the message
+         */
+        String DATA_KEY_SOURCE_ID = "deadLetterSourceId";
+        /**
+         * Key for the delivery count of the message when it was moved
+         */
+        String DATA_KEY_DELIVERIES = "deadLetterDeliveries";
+        /**
+         * Default dead-letter stream group suffix, appended to the source stream group
+         */
+        String DEFAULT_GROUP_SUFFIX = "DeadLetter";
     }
 }
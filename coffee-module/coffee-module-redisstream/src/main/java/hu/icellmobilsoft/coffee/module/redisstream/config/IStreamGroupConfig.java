@@ -22,6 +22,7 @@ package hu.icellmobilsoft.coffee.module.redisstream.config;
 import java.util.Optional;
 
 import hu.icellmobilsoft.coffee.module.redisstream.annotation.RedisStreamConsumer;
+import hu.icellmobilsoft.coffee.module.redisstream.consumer.IRedisStreamBatchConsumer;
 import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
 
 /**
@@ -99,4 +100,135 @@ public interface IStreamGroupConfig {
      */
     boolean isManualAck();
 
+    /**
+     * Maximum number of messages read at once by an {@link IRedisStreamBatchConsumer}
+     *
+     * @return batch size, default 100
+     * @since 2.8.0
+     */
+    default int getConsumerBatchSize() {
+        return 100;
+    }
+
+    /**
+     * Maximum time in millis an {@link IRedisStreamBatchConsumer} waits for more messages to fill the batch, after at least one message has
+     * been read. 0 means the batch is processed with the messages available at once.
+     *
+     * @return batch linger time in millis, default 0
+     * @since 2.8.0
+     */
+    default long getConsumerBatchLingerMillis() {
+        return 0;
+    }
+
+    /**
+     * Minimum idle time in millis of a pending (read but not ACKed) entry, after which a live consumer reclaims it ({@code XAUTOCLAIM}). It is
+     * also the period of the reclaim runs. Only used with {@link #isManualAck()}, 0 means reclaim is disabled.
+     *
+     * @return reclaim idle time in millis, default 0
+     * @since 2.8.0
+     */
+    default long getConsumerReclaimIdleMillis() {
+        return 0;
+    }
+
+    /**
+     * Maximum number of deliveries of a reclaimed entry. If the entry was delivered more times, it is moved to the dead-letter stream (see
+     * {@link #getConsumerDeadLetterGroup()}) instead of processing it again. 0 means no limit.
+     *
+     * @return maximum deliveries, default 0
+     * @since 2.8.0
+     */
+    default int getConsumerMaxDeliveries() {
+        return 0;
+    }
+
+    /**
+     * Stream group of the dead-letter stream, where the reclaimed entries are moved after {@link #getConsumerMaxDeliveries()} deliveries. The
+     * dead-letter stream can be consumed as any other stream group.
+     *
+     * @return dead-letter stream group, default empty, then the {@code <group>DeadLetter} stream group is used
+     * @since 2.8.0
+     */
+    default Optional<String> getConsumerDeadLetterGroup() {
+        return Optional.empty();
+    }
+
+    /**
+     * If true, every consumer thread keeps one dedicated redis connection for the whole consumer loop, instead of getting a new connection
+     * from the pool on every stream read. The connection is reopened only after an error.
+     *
+     * @return {@code true} if the consumer connection is pinned, default false
+     * @since 2.8.0
+     */
+    default boolean isConsumerPinnedConnection() {
+        return false;
+    }
+
+    /**
+     * First wait time in millis after a consumer loop error (e.g. lost connection). The wait time is doubled on every consecutive error up to
+     * {@link #getConsumerBackoffMaxMillis()}, and reset after a successful stream read.
+     *
+     * @return initial backoff in millis, default 1000
+     * @since 2.8.0
+     */
+    default long getConsumerBackoffInitialMillis() {
+        return 1000;
+    }
+
+    /**
+     * Maximum wait time in millis after consecutive consumer loop errors
+     *
+     * @return maximum backoff in millis, default 30000
+     * @since 2.8.0
+     */
+    default long getConsumerBackoffMaxMillis() {
+        return 30000;
+    }
+
+    /**
+     * If true, the consumers of the group run in virtual threads instead of the container managed executor threads. Virtual threads are
+     * available from JDK 21, on older JDK the managed executor is used.
+     *
+     * @return {@code true} if the consumers run in virtual threads, default false
+     * @since 2.8.0
+     */
+    default boolean isConsumerVirtualThreads() {
+        return false;
+    }
+
+    /**
+     * Number of ordered processing lanes of one consumer. If greater than 0, the entries read by the consumer are distributed by their partition
+     * key between the lanes: entries with the same key are processed in order, entries with different keys in parallel. 0 disables the
+     * partitioned processing. Only {@code IRedisStreamConsumer} consumers are processed in partitions.
+     *
+     * @return number of lanes, default 0
+     * @since 2.8.0
+     */
+    default int getConsumerPartitions() {
+        return 0;
+    }
+
+    /**
+     * Maximum number of entries under processing in the lanes of one partitioned consumer. The consumer reads new entries only if there is free
+     * slot.
+     *
+     * @return maximum in-flight entries, default 100
+     * @since 2.8.0
+     */
+    default int getConsumerPartitionMaxInFlight() {
+        return 100;
+    }
+
+    /**
+     * Stream message field holding the partition key of the entry for the partitioned processing. Entries without this field are distributed
+     * by their entry ID.
+     *
+     * @return partition key field, default {@value IRedisStreamConstant.Common#DATA_KEY_PARTITION_KEY}
+     * @since 2.8.0
+     */
+    default String getConsumerPartitionKeyField() {
+        return IRedisStreamConstant.Common.DATA_KEY_PARTITION_KEY;
+    }
+
 }
@@ -42,6 +42,18 @@ import org.eclipse.microprofile.config.Config;
  *       consumer:
  *         threadsCount: 2
  *         manualAck: true
+ *         batchSize: 100
+ *         batchLingerMillis: 50
+ *         reclaimIdleMillis: 300000
+ *         maxDeliveries: 5
+ *         deadLetterGroup: sampleGroupDeadLetter
+ *         pinnedConnection: true
+ *         backoffInitialMillis: 1000
+ *         backoffMaxMillis: 30000
+ *         virtualThreads: true
+ *         partitions: 8
+ *         partitionMaxInFlight: 100
+ *         partitionKeyField: partitionKey
  * </pre>
  * 
  * @author imre.scheffer
@@ -91,6 +103,66 @@ public class StreamGroupConfig implements IStreamGroupConfig {
      */
     public static final String MANUAL_ACK = "consumer.manualAck";
 
+    /**
+     * Default 100 {@link #getConsumerBatchSize()}
+     */
+    public static final String CONSUMER_BATCH_SIZE = "consumer.batchSize";
+
+    /**
+     * Default 0 {@link #getConsumerBatchLingerMillis()}
+     */
+    public static final String CONSUMER_BATCH_LINGER_MILLIS = "consumer.batchLingerMillis";
+
+    /**
+     * Default 0 (disabled) {@link #getConsumerReclaimIdleMillis()}
+     */
+    public static final String CONSUMER_RECLAIM_IDLE_MILLIS = "consumer.reclaimIdleMillis";
+
+    /**
+     * Default 0 (no limit) {@link #getConsumerMaxDeliveries()}
+     */
+    public static final String CONSUMER_MAX_DELIVERIES = "consumer.maxDeliveries";
+
+    /**
+     * Default none {@link #getConsumerDeadLetterGroup()}
+     */
+    public static final String CONSUMER_DEAD_LETTER_GROUP = "consumer.deadLetterGroup";
+
+    /**
+     * Default false {@link #isConsumerPinnedConnection()}
+     */
+    public static final String CONSUMER_PINNED_CONNECTION = "consumer.pinnedConnection";
+
+    /**
+     * Default 1000 {@link #getConsumerBackoffInitialMillis()}
+     */
+    public static final String CONSUMER_BACKOFF_INITIAL_MILLIS = "consumer.backoffInitialMillis";
+
+    /**
+     * Default 30000 {@link #getConsumerBackoffMaxMillis()}
+     */
+    public static final String CONSUMER_BACKOFF_MAX_MILLIS = "consumer.backoffMaxMillis";
+
+    /**
+     * Default false {@link #isConsumerVirtualThreads()}
+     */
+    public static final String CONSUMER_VIRTUAL_THREADS = "consumer.virtualThreads";
+
+    /**
+     * Default 0 {@link #getConsumerPartitions()}
+     */
+    public static final String CONSUMER_PARTITIONS = "consumer.partitions";
+
+    /**
+     * Default 100 {@link #getConsumerPartitionMaxInFlight()}
+     */
+    public static final String CONSUMER_PARTITION_MAX_IN_FLIGHT = "consumer.partitionMaxInFlight";
+
+    /**
+     * Default {@value IRedisStreamConstant.Common#DATA_KEY_PARTITION_KEY} {@link #getConsumerPartitionKeyField()}
+     */
+    public static final String CONSUMER_PARTITION_KEY_FIELD = "consumer.partitionKeyField";
+
     /**
      * Default true {@link #isEnabled()}}
      */
@@ -143,6 +215,73 @@ public class StreamGroupConfig implements IStreamGroupConfig {
         return config.getOptionalValue(joinKey(MANUAL_ACK), Boolean.class).orElse(false);
     }
 
+    @Override
+    public int getConsumerBatchSize() {
+        return config.getOptionalValue(joinKey(CONSUMER_BATCH_SIZE), Integer.class).orElse(IStreamGroupConfig.super.getConsumerBatchSize());
+    }
+
+    @Override
+    public long getConsumerBatchLingerMillis() {
+        return config.getOptionalValue(joinKey(CONSUMER_BATCH_LINGER_MILLIS), Long.class)
+                .orElse(IStreamGroupConfig.super.getConsumerBatchLingerMillis());
+    }
+
+    @Override
+    public long getConsumerReclaimIdleMillis() {
+        return config.getOptionalValue(joinKey(CONSUMER_RECLAIM_IDLE_MILLIS), Long.class)
+                .orElse(IStreamGroupConfig.super.getConsumerReclaimIdleMillis());
+    }
+
+    @Override
+    public int getConsumerMaxDeliveries() {
+        return config.getOptionalValue(joinKey(CONSUMER_MAX_DELIVERIES), Integer.class).orElse(IStreamGroupConfig.super.getConsumerMaxDeliveries());
+    }
+
+    @Override
+    public Optional<String> getConsumerDeadLetterGroup() {
+        return config.getOptionalValue(joinKey(CONSUMER_DEAD_LETTER_GROUP), String.class);
+    }
+
+    @Override
+    public boolean isConsumerPinnedConnection() {
+        return config.getOptionalValue(joinKey(CONSUMER_PINNED_CONNECTION), Boolean.class)
+                .orElse(IStreamGroupConfig.super.isConsumerPinnedConnection());
+    }
+
+    @Override
+    public long getConsumerBackoffInitialMillis() {
+        return config.getOptionalValue(joinKey(CONSUMER_BACKOFF_INITIAL_MILLIS), Long.class)
+                .orElse(IStreamGroupConfig.super.getConsumerBackoffInitialMillis());
+    }
+
+    @Override
+    public long getConsumerBackoffMaxMillis() {
+        return config.getOptionalValue(joinKey(CONSUMER_BACKOFF_MAX_MILLIS), Long.class)
+                .orElse(IStreamGroupConfig.super.getConsumerBackoffMaxMillis());
+    }
+
+    @Override
+    public boolean isConsumerVirtualThreads() {
+        return config.getOptionalValue(joinKey(CONSUMER_VIRTUAL_THREADS), Boolean.class).orElse(IStreamGroupConfig.super.isConsumerVirtualThreads());
+    }
+
+    @Override
+    public int getConsumerPartitions() {
+        return config.getOptionalValue(joinKey(CONSUMER_PARTITIONS), Integer.class).orElse(IStreamGroupConfig.super.getConsumerPartitions());
+    }
+
+    @Override
+    public int getConsumerPartitionMaxInFlight() {
+        return config.getOptionalValue(joinKey(CONSUMER_PARTITION_MAX_IN_FLIGHT), Integer.class)
+                .orElse(IStreamGroupConfig.super.getConsumerPartitionMaxInFlight());
+    }
+
+    @Override
+    public String getConsumerPartitionKeyField() {
+        return config.getOptionalValue(joinKey(CONSUMER_PARTITION_KEY_FIELD), String.class)
+                .orElse(IStreamGroupConfig.super.getConsumerPartitionKeyField());
+    }
+
     /**
      * Getter for the field {@code configKey}.
      *
@@ -32,7 +32,12 @@ public enum StreamMessageParameter {
     /**
      * Logging {@code IRedisStreamConstant.Common#DATA_KEY_FLOW_ID} message extension
      */
-    FLOW_ID_EXTENSION(IRedisStreamConstant.Common.FLOW_ID_EXTENSION);
+    FLOW_ID_EXTENSION(IRedisStreamConstant.Common.FLOW_ID_EXTENSION),
+    /**
+     * Partition key of the message, messages with the same key are processed in order by partitioned consumers (see
+     * {@code IStreamGroupConfig#getConsumerPartitions()})
+     */
+    PARTITION_KEY(IRedisStreamConstant.Common.DATA_KEY_PARTITION_KEY);
 
     String messageKey;
 
@@ -0,0 +1,51 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redisstream.consumer;
+
+import java.util.List;
+
+import hu.icellmobilsoft.coffee.module.redisstream.config.IStreamGroupConfig;
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+import redis.clients.jedis.resps.StreamEntry;
+
+/**
+ * Stream batch consumer interface. The messages are read in batches of at most {@link IStreamGroupConfig#getConsumerBatchSize()} entries,
+ * waiting at most {@link IStreamGroupConfig#getConsumerBatchLingerMillis()} to fill the batch. After successfully running
+ * {@code #onStream(List)}, all entries of the batch are ACKed with one command. If it fails, the whole batch is retried, then left without
+ * ACK.<br>
+ * <br>
+ * For processing the messages one by one, see {@link IRedisStreamConsumer}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ * @see IRedisStreamConsumer
+ */
+public interface IRedisStreamBatchConsumer extends IRedisStreamBaseConsumer {
+
+    /**
+     * Incoming events handle logic. Executed in one separated own request scope for the whole batch
+     *
+     * @param streamEntries
+     *            stream messages in stream order, not empty
+     * @throws BaseException
+     *             technical error
+     */
+    void onStream(List<StreamEntry> streamEntries) throws BaseException;
+}
@@ -21,11 +21,20 @@ package hu.icellmobilsoft.coffee.module.redisstream.consumer;
 
 import java.text.MessageFormat;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedThreadFactory;
 import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.spi.Bean;
@@ -36,10 +45,12 @@ import jakarta.inject.Inject;
 import org.apache.commons.lang3.StringUtils;
 import org.jboss.weld.context.bound.BoundRequestContext;
 
+import hu.icellmobilsoft.coffee.cdi.metric.MetricTag;
+import hu.icellmobilsoft.coffee.cdi.metric.constants.RedisStreamMetricsConstants;
+import hu.icellmobilsoft.coffee.cdi.metric.spi.IMetricsHandler;
 import hu.icellmobilsoft.coffee.dto.common.LogConstants;
 import hu.icellmobilsoft.coffee.module.redis.annotation.RedisConnection;
 import hu.icellmobilsoft.coffee.module.redis.manager.RedisManager;
-import hu.icellmobilsoft.coffee.module.redis.manager.RedisManagerConnection;
 import hu.icellmobilsoft.coffee.module.redisstream.annotation.RedisStreamConsumer;
 import hu.icellmobilsoft.coffee.module.redisstream.bootstrap.ConsumerLifeCycleManager;
 import hu.icellmobilsoft.coffee.module.redisstream.config.IRedisStreamConstant;
@@ -49,6 +60,7 @@ import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
 import hu.icellmobilsoft.coffee.se.logging.Logger;
 import hu.icellmobilsoft.coffee.se.logging.mdc.MDC;
 import hu.icellmobilsoft.coffee.tool.utils.annotation.AnnotationUtil;
+import hu.icellmobilsoft.coffee.tool.utils.concurrent.VirtualThreadUtil;
 import hu.icellmobilsoft.coffee.tool.utils.string.RandomUtil;
 import redis.clients.jedis.StreamEntryID;
 import redis.clients.jedis.exceptions.JedisDataException;
@@ -69,6 +81,16 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
      */
     private static final String NOGROUP_PREFIX = "NOGROUP";
 
+    /**
+     * Maximum wait for free lane slot and for new entries while the lanes are working in partitioned mode
+     */
+    private static final int PARTITION_POLL_MILLIS = 100;
+
+    /**
+     * Maximum wait for the lanes to finish the in-flight entries on shutdown
+     */
+    private static final long PARTITION_SHUTDOWN_TIMEOUT_MILLIS = 60_000;
+
     @Inject
     private Logger log;
 
@@ -84,12 +106,34 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
     @Inject
     private StreamGroupConfig streamGroupConfig;
 
+    @Inject
+    private IMetricsHandler metricsHandler;
+
+    @Resource
+    private ManagedThreadFactory managedThreadFactory;
+
     private String consumerIdentifier;
 
     private String redisConfigKey;
 
     private Bean<? super IRedisStreamBaseConsumer> consumerBean;
 
+    private StreamEntryID reclaimCursor = StreamEntryID.MINIMUM_ID;
+
+    private long nextReclaimMillis;
+
+    private long backoffMillis;
+
+    private volatile long lagMillis;
+
+    private final AtomicLong processedCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private RedisStreamPartitionLanes partitionLanes;
+
+    private MetricTag[] metricTags;
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -112,13 +156,23 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
         // register consumer as a counter
         ConsumerLifeCycleManager.CONSUMER_COUNTER.getAndIncrement();
         consumerIdentifier = RandomUtil.generateId();
+        registerMetrics();
+        partitionLanes = createPartitionLanes();
+        boolean pinnedConnection = streamGroupConfig.isConsumerPinnedConnection();
+        backoffMillis = streamGroupConfig.getConsumerBackoffInitialMillis();
         // Careful execution, checking the existence of the stream and group.
         boolean prudentRun = true;
+        Instance<RedisManager> redisManagerInstance = null;
+        RedisManager redisManager = null;
         while (!ConsumerLifeCycleManager.ENDLOOP) {
             Optional<StreamEntry> streamEntry = Optional.empty();
-            Instance<RedisManager> redisManagerInstance = CDI.current().select(RedisManager.class, new RedisConnection.Literal(redisConfigKey));
-            RedisManager redisManager = redisManagerInstance.get();
-            try (RedisManagerConnection ignore = redisManager.initConnection()) {
+            if (redisManager == null) {
+                redisManagerInstance = CDI.current().select(RedisManager.class, new RedisConnection.Literal(redisConfigKey));
+                redisManager = redisManagerInstance.get();
+            }
+            try {
+                // in pinned mode the connection stays open from the previous iteration
+                redisManager.initConnection();
                 redisStreamService.setRedisManager(redisManager);
 
                 if (prudentRun) {
@@ -127,7 +181,33 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
                     prudentRun = false;
                 }
 
+                reclaimIdleEntries(redisManager);
+
+                if (partitionLanes != null) {
+                    consumePartitioned();
+                    continue;
+                }
+
+                if (isBatchConsumer()) {
+                    List<StreamEntry> streamEntries = redisStreamService.consumeBatch(consumerIdentifier, streamGroupConfig.getConsumerBatchSize(),
+                            streamGroupConfig.getConsumerBatchLingerMillis());
+                    resetBackoff();
+                    if (ConsumerLifeCycleManager.ENDLOOP == true) {
+                        log.info("Skipping message processing because of shut down event.");
+                        continue;
+                    }
+                    if (streamEntries.isEmpty()) {
+                        lagMillis = 0;
+                    } else {
+                        streamEntry = Optional.of(streamEntries.get(0));
+                        handleMDC(streamEntries.get(0));
+                        consumeStreamEntries(streamEntries, redisManager);
+                    }
+                    continue;
+                }
+
                 streamEntry = redisStreamService.consumeOne(consumerIdentifier);
+                resetBackoff();
 
                 // if a SIGTERM arrives while the xreadGroup blocking operation is in progress, we do not process the read message completely because
                 // it may run out of time.
@@ -140,6 +220,8 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
                     var entry = streamEntry.get();
                     handleMDC(entry);
                     consumeStreamEntry(entry, redisManager);
+                } else {
+                    lagMillis = 0;
                 }
             } catch (BaseException e) {
                 log.error(MessageFormat.format("Exception on consume streamEntry [{0}]: [{1}]", streamEntry, e.getLocalizedMessage()), e);
@@ -160,22 +242,32 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
                             redisStreamService.getGroup(), message), cause);
                 }
                 redisManager.closeConnection();
-                sleep();
+                backoff();
             } catch (Throwable e) {
                 log.error(MessageFormat.format("Exception during consume on redisConfigKey [{0}] with stream group [{1}]: [{2}]", redisConfigKey,
                         redisStreamService.getGroup(), e.getLocalizedMessage()), e);
                 redisManager.closeConnection();
-                sleep();
+                backoff();
             } finally {
-                cleanup(redisManagerInstance, redisManager);
+                if (pinnedConnection) {
+                    MDC.clear();
+                } else {
+                    cleanup(redisManagerInstance, redisManager);
+                    redisManager = null;
+                }
             }
         }
+        if (redisManager != null) {
+            cleanup(redisManagerInstance, redisManager);
+        }
+        closePartitionLanes();
     }
 
     private void cleanup(Instance<RedisManager> redisManagerInstance, RedisManager redisManager) {
         try {
             if (redisManager != null) {
                 // The connection needs to be released.
+                redisManager.closeConnection();
                 redisManagerInstance.destroy(redisManager);
             }
             MDC.clear();
@@ -185,6 +277,238 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
         }
     }
 
+    /**
+     * Reclaims the entries left pending by dead or stuck consumers to this consumer and processes them. Entries delivered more times than
+     * {@code consumer.maxDeliveries} are moved to the dead-letter stream instead. It runs only with manual ACK, at most once in
+     * {@code consumer.reclaimIdleMillis} period, until the whole pending list is scanned.
+     * <p>
+     * In partitioned mode the entries still in flight in the lanes of this consumer are idle as well (XAUTOCLAIM counts the idle time from the
+     * delivery), they are skipped, so they are not processed twice. After a whole scan the parked entries which are not pending at this
+     * consumer any more (taken over or ACKed by another consumer) are released.
+     *
+     * @param redisManager
+     *            redis connection, operation manager object
+     * @throws BaseException
+     *             Technical exception
+     */
+    protected void reclaimIdleEntries(RedisManager redisManager) throws BaseException {
+        long reclaimIdleMillis = streamGroupConfig.getConsumerReclaimIdleMillis();
+        if (reclaimIdleMillis <= 0 || !streamGroupConfig.isManualAck() || ConsumerLifeCycleManager.ENDLOOP
+                || System.currentTimeMillis() < nextReclaimMillis) {
+            return;
+        }
+        Entry<StreamEntryID, List<StreamEntry>> claimed = redisStreamService.autoClaimInCurrentConnection(consumerIdentifier, reclaimIdleMillis,
+                reclaimCursor, streamGroupConfig.getConsumerBatchSize());
+        reclaimCursor = claimed.getKey();
+        List<StreamEntry> streamEntries = claimed.getValue();
+        if (StreamEntryID.MINIMUM_ID.equals(reclaimCursor)) {
+            // whole pending list scanned, next scan in the next period
+            nextReclaimMillis = System.currentTimeMillis() + reclaimIdleMillis;
+            releaseParkedNotOwned();
+        }
+        if (partitionLanes != null) {
+            // still queued or running in a lane of this consumer, must not be processed twice
+            streamEntries = streamEntries.stream().filter(entry -> !partitionLanes.isInFlight(entry.getID())).collect(Collectors.toList());
+        }
+        if (streamEntries.isEmpty()) {
+            return;
+        }
+        log.info("Reclaimed [{0}] idle entries from stream group [{1}]", streamEntries.size(), redisStreamService.getGroup());
+
+        int maxDeliveries = streamGroupConfig.getConsumerMaxDeliveries();
+        if (maxDeliveries > 0) {
+            Map<StreamEntryID, Long> deliveredTimes = redisStreamService.deliveredTimesInCurrentConnection(consumerIdentifier,
+                    streamEntries.stream().map(StreamEntry::getID).collect(Collectors.toList()));
+            Map<Boolean, List<StreamEntry>> poison = streamEntries.stream()
+                    .collect(Collectors.partitioningBy(entry -> deliveredTimes.getOrDefault(entry.getID(), 0L) > maxDeliveries));
+            redisStreamService.deadLetterInCurrentConnection(poison.get(Boolean.TRUE), deliveredTimes, getDeadLetterGroup());
+            if (partitionLanes != null) {
+                // the later entries of the key must not wait for the dead-lettered entry
+                poison.get(Boolean.TRUE).forEach(entry -> partitionLanes.release(getLanePartitionKey(entry), entry.getID()));
+            }
+            streamEntries = poison.get(Boolean.FALSE);
+        }
+
+        if (partitionLanes != null) {
+            streamEntries.forEach(this::submitToLane);
+            return;
+        }
+        if (isBatchConsumer()) {
+            if (!streamEntries.isEmpty()) {
+                handleMDC(streamEntries.get(0));
+                consumeStreamEntries(streamEntries, redisManager);
+            }
+            return;
+        }
+        for (StreamEntry streamEntry : streamEntries) {
+            try {
+                handleMDC(streamEntry);
+                consumeStreamEntry(streamEntry, redisManager);
+            } catch (BaseException e) {
+                // the entry stays pending, it is reclaimed again in the next period
+                log.error(MessageFormat.format("Exception on consume reclaimed streamEntry [{0}]: [{1}]", streamEntry.getID(),
+                        e.getLocalizedMessage()), e);
+            } finally {
+                MDC.clear();
+            }
+        }
+    }
+
+    private void releaseParkedNotOwned() throws BaseException {
+        if (partitionLanes == null) {
+            return;
+        }
+        Set<StreamEntryID> parkedIDs = partitionLanes.parkedEntryIDs();
+        if (!parkedIDs.isEmpty()) {
+            // entries pending at this consumer, the others were taken over or ACKed by another consumer
+            partitionLanes.retainParked(redisStreamService.deliveredTimesInCurrentConnection(consumerIdentifier, parkedIDs).keySet());
+        }
+    }
+
+    /**
+     * One iteration of the partitioned processing. ACKs the entries finished by the lanes, then reads at most as many new entries as free
+     * lane slots and submits them to the lanes by their partition key.
+     *
+     * @throws BaseException
+     *             Technical exception
+     */
+    protected void consumePartitioned() throws BaseException {
+        ackCompletedInLanes();
+        int freeSlots;
+        try {
+            freeSlots = partitionLanes.awaitFreeSlots(PARTITION_POLL_MILLIS);
+        } catch (InterruptedException e) {
+            log.warn("Interrupted waiting for free lane slot.", e);
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (freeSlots == 0) {
+            return;
+        }
+        // while the lanes are working, the read must not block long, the finished entries are waiting for ACK
+        int blockMillis = partitionLanes.inFlight() > 0 ? PARTITION_POLL_MILLIS : streamGroupConfig.getStreamReadTimeoutMillis().intValue();
+        List<StreamEntry> streamEntries = redisStreamService.consumeBatch(consumerIdentifier,
+                Math.min(freeSlots, streamGroupConfig.getConsumerBatchSize()), 0, blockMillis);
+        resetBackoff();
+        if (ConsumerLifeCycleManager.ENDLOOP == true) {
+            log.info("Skipping message processing because of shut down event.");
+            return;
+        }
+        if (streamEntries.isEmpty() && partitionLanes.inFlight() == 0) {
+            lagMillis = 0;
+        }
+        streamEntries.forEach(this::submitToLane);
+    }
+
+    /**
+     * Returns the partition key of the stream entry. Entries with the same key are processed in order on the same lane. By default it is the
+     * value of the {@code consumer.partitionKeyField} message field.
+     *
+     * @param streamEntry
+     *            Stream event element
+     * @return partition key, or {@code null} if the entry has no partition key, then the entry ID is used
+     */
+    protected String getPartitionKey(StreamEntry streamEntry) {
+        return streamEntry.getFields().get(streamGroupConfig.getConsumerPartitionKeyField());
+    }
+
+    private RedisStreamPartitionLanes createPartitionLanes() {
+        int partitions = streamGroupConfig.getConsumerPartitions();
+        if (partitions < 1) {
+            return null;
+        }
+        if (!IRedisStreamConsumer.class.isAssignableFrom(consumerBean.getBeanClass())) {
+            log.warn("Partitioned processing is supported only for [{0}], consumer class [{1}] is processed without partitions.",
+                    IRedisStreamConsumer.class.getSimpleName(), consumerBean.getBeanClass());
+            return null;
+        }
+        String namePrefix = MessageFormat.format("redis-consumer-{0}-{1}-lane-", redisStreamService.getGroup(), consumerIdentifier);
+        ThreadFactory threadFactory = null;
+        if (streamGroupConfig.isConsumerVirtualThreads()) {
+            threadFactory = VirtualThreadUtil.newVirtualThreadFactory(namePrefix).orElse(null);
+        }
+        if (threadFactory == null) {
+            threadFactory = managedThreadFactory;
+        }
+        if (threadFactory == null) {
+            log.warn("ManagedThreadFactory is not available, consumer [{0}] lanes run in unmanaged threads", consumerIdentifier);
+            threadFactory = RedisStreamPartitionLanes.platformThreadFactory(namePrefix);
+        }
+        // a failed entry is redelivered only by reclaim, without it the later entries of the key would wait forever
+        boolean parkFailedKeys = streamGroupConfig.isManualAck() && streamGroupConfig.getConsumerReclaimIdleMillis() > 0;
+        if (!parkFailedKeys) {
+            log.warn("Consumer [{0}] has no reclaim (consumer.manualAck, consumer.reclaimIdleMillis), the order of a key is not kept after a failure",
+                    consumerIdentifier);
+        }
+        log.info("Consumer [{0}] processes stream group [{1}] in [{2}] partitions", consumerIdentifier, redisStreamService.getGroup(), partitions);
+        return new RedisStreamPartitionLanes(partitions, Math.max(1, streamGroupConfig.getConsumerPartitionMaxInFlight()), threadFactory,
+                parkFailedKeys);
+    }
+
+    private void submitToLane(StreamEntry streamEntry) {
+        if (!partitionLanes.submit(getLanePartitionKey(streamEntry), streamEntry.getID(), () -> consumeStreamEntryInLane(streamEntry))) {
+            log.debug("Stream entry [{0}] is already in flight, not submitted again", streamEntry.getID());
+        }
+    }
+
+    private String getLanePartitionKey(StreamEntry streamEntry) {
+        String partitionKey = getPartitionKey(streamEntry);
+        return partitionKey != null ? partitionKey : streamEntry.getID().toString();
+    }
+
+    private boolean consumeStreamEntryInLane(StreamEntry streamEntry) {
+        try {
+            handleMDC(streamEntry);
+            updateLag(streamEntry);
+            executeOnStream(streamEntry, 1);
+            processedCount.incrementAndGet();
+            return true;
+        } catch (BaseException e) {
+            failedCount.incrementAndGet();
+            // not ACKed, the entry stays pending and can be reclaimed
+            log.error(MessageFormat.format("Exception on consume streamEntry [{0}] in lane: [{1}]", streamEntry.getID(), e.getLocalizedMessage()),
+                    e);
+            return false;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private void ackCompletedInLanes() throws BaseException {
+        List<StreamEntryID> streamEntryIDs = partitionLanes.drainCompleted();
+        if (!streamEntryIDs.isEmpty() && streamGroupConfig.isManualAck()) {
+            ack(streamEntryIDs);
+        }
+    }
+
+    private void closePartitionLanes() {
+        if (partitionLanes == null) {
+            return;
+        }
+        if (!partitionLanes.shutdown(PARTITION_SHUTDOWN_TIMEOUT_MILLIS)) {
+            log.warn("Consumer [{0}] lanes did not finish in [{1}] ms, unfinished entries stay pending", consumerIdentifier,
+                    PARTITION_SHUTDOWN_TIMEOUT_MILLIS);
+            partitionLanes.shutdownNow();
+        }
+        Instance<RedisManager> redisManagerInstance = CDI.current().select(RedisManager.class, new RedisConnection.Literal(redisConfigKey));
+        RedisManager redisManager = redisManagerInstance.get();
+        try {
+            redisManager.initConnection();
+            redisStreamService.setRedisManager(redisManager);
+            ackCompletedInLanes();
+        } catch (Throwable e) {
+            log.error(MessageFormat.format("Exception on ACK of finished lane entries on redisConfigKey [{0}] with stream group [{1}]: [{2}]",
+                    redisConfigKey, redisStreamService.getGroup(), e.getLocalizedMessage()), e);
+        } finally {
+            cleanup(redisManagerInstance, redisManager);
+        }
+    }
+
+    private String getDeadLetterGroup() {
+        return streamGroupConfig.getConsumerDeadLetterGroup()
+                .orElseGet(() -> redisStreamService.getGroup() + IRedisStreamConstant.DeadLetter.DEFAULT_GROUP_SUFFIX);
+    }
+
     /**
      * It represents one iteration on one stream (even empty). If the process exists and runs successfully, it sends the ACK
      *
@@ -196,7 +520,15 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
      *             Technical exception
      */
     protected void consumeStreamEntry(StreamEntry streamEntry, RedisManager redisManager) throws BaseException {
-        Optional<Map<String, Object>> result = executeOnStream(streamEntry, 1);
+        updateLag(streamEntry);
+        Optional<Map<String, Object>> result;
+        try {
+            result = executeOnStream(streamEntry, 1);
+        } catch (BaseException e) {
+            failedCount.incrementAndGet();
+            throw e;
+        }
+        processedCount.incrementAndGet();
 
         if (!streamGroupConfig.isManualAck()) {
             return;
@@ -206,6 +538,46 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
         afterAckInRequestScope(streamEntry, result.orElse(Collections.emptyMap()));
     }
 
+    /**
+     * It represents one batch read from the stream by an {@link IRedisStreamBatchConsumer}. If the process runs successfully, it sends one ACK
+     * for all entries
+     *
+     * @param streamEntries
+     *            Stream event elements, not empty
+     * @param redisManager
+     *            redis connection, operation manager object
+     * @throws BaseException
+     *             Technical exception
+     */
+    protected void consumeStreamEntries(List<StreamEntry> streamEntries, RedisManager redisManager) throws BaseException {
+        updateLag(streamEntries.get(0));
+        try {
+            executeOnStreamBatch(streamEntries, 1);
+        } catch (BaseException e) {
+            failedCount.addAndGet(streamEntries.size());
+            throw e;
+        }
+        processedCount.addAndGet(streamEntries.size());
+
+        if (!streamGroupConfig.isManualAck()) {
+            return;
+        }
+        // one ack for the whole batch
+        ack(streamEntries.stream().map(StreamEntry::getID).collect(Collectors.toList()));
+    }
+
+    /**
+     * Stream entries ACK with one command
+     *
+     * @param streamEntryIDs
+     *            Jedis StreamEntry IDs
+     * @throws BaseException
+     *             Technical exception
+     */
+    protected void ack(List<StreamEntryID> streamEntryIDs) throws BaseException {
+        redisStreamService.ackInCurrentConnection(streamEntryIDs);
+    }
+
     /**
      * Stream entry ACK
      *
@@ -234,9 +606,7 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
         try {
             return onStreamInRequestScope(streamEntry);
         } catch (BaseException e) {
-            RedisStreamConsumer redisStreamConsumerAnnotation = AnnotationUtil.getAnnotation(consumerBean.getBeanClass(), RedisStreamConsumer.class);
-            streamGroupConfig.setConfigKey(redisStreamConsumerAnnotation.group());
-            int retryCount = streamGroupConfig.getRetryCount().orElse(redisStreamConsumerAnnotation.retryCount());
+            int retryCount = getRetryCount();
             if (counter < retryCount) {
                 String msg = MessageFormat.format("Exception occured on running class [{0}], trying again [{1}]/[{2}]", consumerBean.getBeanClass(),
                         counter + 1, retryCount);
@@ -255,6 +625,64 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
         }
     }
 
+    /**
+     * Batch process execution with retry count. If retry {@code RedisStreamConsumer#retryCount()} &gt; count then on processing exception the
+     * whole batch is run again
+     *
+     * @param streamEntries
+     *            Redis stream input entries
+     * @param counter
+     *            currently run count
+     * @throws BaseException
+     *             exception is error
+     */
+    protected void executeOnStreamBatch(List<StreamEntry> streamEntries, int counter) throws BaseException {
+        try {
+            onStreamBatchInRequestScope(streamEntries);
+        } catch (BaseException e) {
+            int retryCount = getRetryCount();
+            if (counter < retryCount) {
+                log.info("Exception occured on running class [{0}] with batch of [{1}] entries, trying again [{2}]/[{3}]: [{4}]",
+                        consumerBean.getBeanClass(), streamEntries.size(), counter + 1, retryCount, e.getLocalizedMessage());
+                executeOnStreamBatch(streamEntries, counter + 1);
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Batch process execution wrapper. Running {@link IRedisStreamBatchConsumer#onStream(List)} in self started request scope
+     *
+     * @param streamEntries
+     *            Redis stream input entries
+     * @throws BaseException
+     *             exception is error
+     */
+    protected void onStreamBatchInRequestScope(List<StreamEntry> streamEntries) throws BaseException {
+        // get reference for the consumerBean
+        Object consumer = beanManager.getReference(consumerBean, consumerBean.getBeanClass(), beanManager.createCreationalContext(consumerBean));
+
+        Map<String, Object> requestScopeStore = null;
+        try {
+            requestScopeStore = new ConcurrentHashMap<>();
+            startRequestScope(requestScopeStore);
+            ((IRedisStreamBatchConsumer) consumer).onStream(streamEntries);
+        } finally {
+            endRequestScope(requestScopeStore);
+        }
+    }
+
+    private boolean isBatchConsumer() {
+        return IRedisStreamBatchConsumer.class.isAssignableFrom(consumerBean.getBeanClass());
+    }
+
+    private int getRetryCount() {
+        RedisStreamConsumer redisStreamConsumerAnnotation = AnnotationUtil.getAnnotation(consumerBean.getBeanClass(), RedisStreamConsumer.class);
+        // the config key is set once in init, the lanes read the config concurrently
+        return streamGroupConfig.getRetryCount().orElse(redisStreamConsumerAnnotation.retryCount());
+    }
+
     /**
      * Process execution wrapper. Running process in self started request scope
      *
@@ -329,11 +757,16 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
         }
     }
 
-    private void sleep() {
+    private void resetBackoff() {
+        backoffMillis = streamGroupConfig.getConsumerBackoffInitialMillis();
+    }
+
+    private void backoff() {
         try {
-            // fIt's important to pause operations so that, for example, 
-            //a connection failure doesn't flood the logs or lead to unnecessary infinite retry attempts.
-            TimeUnit.SECONDS.sleep(30);
+            // It's important to pause operations so that, for example,
+            // a connection failure doesn't flood the logs or lead to unnecessary infinite retry attempts.
+            log.info("Consumer [{0}] waits [{1}] ms before the next attempt", consumerIdentifier, backoffMillis);
+            TimeUnit.MILLISECONDS.sleep(backoffMillis);
         } catch (InterruptedException ex) {
             log.warn("Interrupted sleep.", ex);
             // sonar: "InterruptedException" should not be ignored (java:S2142)
@@ -342,9 +775,43 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
             } catch (Exception e) {
                 log.warn("Exception during interrupt.", ex);
             }
+        } finally {
+            backoffMillis = Math.min(backoffMillis * 2, streamGroupConfig.getConsumerBackoffMaxMillis());
         }
     }
 
+    private void registerMetrics() {
+        MetricTag groupTag = new MetricTag(RedisStreamMetricsConstants.Tag.COFFEE_REDISSTREAM_GROUP, redisStreamService.getGroup());
+        MetricTag consumerTag = new MetricTag(RedisStreamMetricsConstants.Tag.COFFEE_REDISSTREAM_CONSUMER, consumerIdentifier);
+        metricTags = new MetricTag[] { groupTag, consumerTag };
+        metricsHandler.addGauge(RedisStreamMetricsConstants.Gauge.COFFEE_REDISSTREAM_CONSUMER_LAG,
+                RedisStreamMetricsConstants.Description.COFFEE_REDISSTREAM_CONSUMER_LAG_DESCRIPTION, () -> lagMillis, metricTags);
+        metricsHandler.addGauge(RedisStreamMetricsConstants.Gauge.COFFEE_REDISSTREAM_CONSUMER_PROCESSED,
+                RedisStreamMetricsConstants.Description.COFFEE_REDISSTREAM_CONSUMER_PROCESSED_DESCRIPTION, processedCount::get, metricTags);
+        metricsHandler.addGauge(RedisStreamMetricsConstants.Gauge.COFFEE_REDISSTREAM_CONSUMER_FAILED,
+                RedisStreamMetricsConstants.Description.COFFEE_REDISSTREAM_CONSUMER_FAILED_DESCRIPTION, failedCount::get, metricTags);
+    }
+
+    private void unregisterMetrics() {
+        if (metricTags == null) {
+            return;
+        }
+        // the consumer id is random, the gauges of a stopped consumer would stay in the registry forever
+        try {
+            metricsHandler.removeGauge(RedisStreamMetricsConstants.Gauge.COFFEE_REDISSTREAM_CONSUMER_LAG, metricTags);
+            metricsHandler.removeGauge(RedisStreamMetricsConstants.Gauge.COFFEE_REDISSTREAM_CONSUMER_PROCESSED, metricTags);
+            metricsHandler.removeGauge(RedisStreamMetricsConstants.Gauge.COFFEE_REDISSTREAM_CONSUMER_FAILED, metricTags);
+        } catch (Exception e) {
+            log.warn("Cannot remove metrics of consumer [{0}]: [{1}]", consumerIdentifier, e.getLocalizedMessage());
+        } finally {
+            metricTags = null;
+        }
+    }
+
+    private void updateLag(StreamEntry streamEntry) {
+        lagMillis = Math.max(0, System.currentTimeMillis() - streamEntry.getID().getTime());
+    }
+
     /**
      * Logging MDC handling, setting variables
      *
@@ -358,6 +825,16 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
         MDC.put(LogConstants.LOG_SESSION_ID, flowId);
     }
 
+    /**
+     * Stops the lanes if the bean is destroyed while they are running (e.g. container shutdown without the end of the consumer loop)
+     */
+    @PreDestroy
+    public void destroy() {
+        if (partitionLanes != null) {
+            partitionLanes.shutdownNow();
+        }
+    }
+
     /**
      * Uniq stream consumer identifier
      *
@@ -372,6 +849,7 @@ public class RedisStreamConsumerExecutor implements IRedisStreamConsumerExecutor
         try {
             startLoop();
         } finally {
+            unregisterMetrics();
             CDI.current().destroy(this);
             // decrement consumer counter because the process loop has been finished
             // if finish release the lock
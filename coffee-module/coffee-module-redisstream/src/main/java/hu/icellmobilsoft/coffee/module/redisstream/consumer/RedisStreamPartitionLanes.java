@@ -0,0 +1,363 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redisstream.consumer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hu.icellmobilsoft.coffee.se.logging.Logger;
+import redis.clients.jedis.StreamEntryID;
+
+/**
+ * Ordered processing lanes of one partitioned stream consumer. Every lane is a single threaded executor, the tasks with the same partition key
+ * are always submitted to the same lane, so they are processed in order, while different lanes run in parallel. The number of submitted but not
+ * finished tasks is bounded, the IDs of the successfully finished entries are collected for ACK.
+ * <p>
+ * If parking is enabled and the processing of an entry fails, its partition key is parked: the later entries of the key are skipped (left
+ * pending, not ACKed) until the failed entry is processed successfully or released (e.g. moved to dead-letter). The skipped entries have to be
+ * redelivered in ID order (reclaim), then they are processed in their original order. If a parked entry is taken over or ACKed by another
+ * consumer, it has to be released by {@link #retainParked(Set)}, otherwise the key would stay parked.
+ * <p>
+ * The IDs of the submitted entries are kept until they are finished and, if successful, drained for ACK. The same entry is not submitted
+ * twice meanwhile (e.g. reclaimed while it is still processed), see {@link #isInFlight(StreamEntryID)}.
+ * <p>
+ * Only one thread (the consumer loop) is expected to submit tasks.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public class RedisStreamPartitionLanes {
+
+    private static final Logger LOGGER = Logger.getLogger(RedisStreamPartitionLanes.class);
+
+    private final ExecutorService[] lanes;
+
+    private final Semaphore slots;
+
+    private final int maxInFlight;
+
+    private final Queue<StreamEntryID> completed = new ConcurrentLinkedQueue<>();
+
+    private final boolean parkFailedKeys;
+
+    // IDs of the submitted entries, until they are finished or drained for ACK
+    private final Set<StreamEntryID> inFlightIDs = ConcurrentHashMap.newKeySet();
+
+    // partition key -> not yet processed entry IDs of a parked key, a set is modified only by the lane thread of its key
+    private final Map<String, NavigableSet<StreamEntryID>> parkedKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Task running on a lane
+     */
+    @FunctionalInterface
+    public interface LaneTask {
+
+        /**
+         * Processes one stream entry
+         *
+         * @return {@code true} if the entry is processed successfully and can be ACKed
+         */
+        boolean run();
+    }
+
+    /**
+     * Creates the lanes
+     *
+     * @param partitions
+     *            number of lanes, at least 1
+     * @param maxInFlight
+     *            maximum number of submitted but not finished tasks, at least 1
+     * @param threadFactory
+     *            factory of the lane threads
+     * @param parkFailedKeys
+     *            if {@code true}, the later entries of a failed partition key are skipped until the failed entry is processed or released
+     */
+    public RedisStreamPartitionLanes(int partitions, int maxInFlight, ThreadFactory threadFactory, boolean parkFailedKeys) {
+        if (partitions < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("partitions and maxInFlight must be positive");
+        }
+        this.lanes = new ExecutorService[partitions];
+        for (int i = 0; i < partitions; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+        this.maxInFlight = maxInFlight;
+        this.slots = new Semaphore(maxInFlight);
+        this.parkFailedKeys = parkFailedKeys;
+    }
+
+    /**
+     * Creates named platform thread factory for the lanes
+     *
+     * @param namePrefix
+     *            thread name prefix
+     * @return thread factory
+     */
+    public static ThreadFactory platformThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Calculates the lane of the partition key
+     *
+     * @param partitionKey
+     *            partition key
+     * @param partitions
+     *            number of lanes
+     * @return lane index
+     */
+    public static int lane(String partitionKey, int partitions) {
+        int hash = partitionKey.hashCode();
+        // spread the higher bits, similar to HashMap
+        return Math.floorMod(hash ^ (hash >>> 16), partitions);
+    }
+
+    /**
+     * Waits for at least one free slot if all slots are in use
+     *
+     * @param timeoutMillis
+     *            maximum wait time
+     * @return number of free slots, 0 if there is no free slot after the timeout
+     * @throws InterruptedException
+     *             if interrupted while waiting
+     */
+    public int awaitFreeSlots(long timeoutMillis) throws InterruptedException {
+        if (slots.availablePermits() == 0 && slots.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            slots.release();
+        }
+        return slots.availablePermits();
+    }
+
+    /**
+     * Number of submitted but not finished tasks
+     *
+     * @return in-flight task count
+     */
+    public int inFlight() {
+        return maxInFlight - slots.availablePermits();
+    }
+
+    /**
+     * Checks whether the entry is submitted and not finished yet, or finished successfully but not drained for ACK yet
+     *
+     * @param streamEntryID
+     *            entry ID
+     * @return {@code true} if the entry is in flight
+     */
+    public boolean isInFlight(StreamEntryID streamEntryID) {
+        return inFlightIDs.contains(streamEntryID);
+    }
+
+    /**
+     * Submits the task to the lane of the partition key. If there is no free slot, waits for it. If the entry is already in flight, the task is
+     * not submitted.
+     *
+     * @param partitionKey
+     *            partition key
+     * @param streamEntryID
+     *            ID of the processed entry, collected for ACK if the task is successful
+     * @param task
+     *            processing task
+     * @return {@code false} if the entry is already in flight and the task is not submitted
+     */
+    public boolean submit(String partitionKey, StreamEntryID streamEntryID, LaneTask task) {
+        if (!inFlightIDs.add(streamEntryID)) {
+            return false;
+        }
+        slots.acquireUninterruptibly();
+        try {
+            lanes[lane(partitionKey, lanes.length)].execute(() -> {
+                boolean success = false;
+                try {
+                    success = runInOrder(partitionKey, streamEntryID, task);
+                } finally {
+                    if (!success) {
+                        // failed or skipped, stays pending and can be reclaimed
+                        inFlightIDs.remove(streamEntryID);
+                    }
+                    slots.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlightIDs.remove(streamEntryID);
+            slots.release();
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Releases the entry of a parked partition key without processing (e.g. it is moved to dead-letter), so the later entries of the key are
+     * not waiting for it any more.
+     *
+     * @param partitionKey
+     *            partition key
+     * @param streamEntryID
+     *            ID of the released entry
+     */
+    public void release(String partitionKey, StreamEntryID streamEntryID) {
+        try {
+            lanes[lane(partitionKey, lanes.length)].execute(() -> unpark(partitionKey, streamEntryID));
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Lanes are shut down, entry [" + streamEntryID + "] is not released");
+        }
+    }
+
+    /**
+     * Returns the IDs of the entries of the parked partition keys: the failed entries and the skipped later entries
+     *
+     * @return parked entry IDs
+     */
+    public Set<StreamEntryID> parkedEntryIDs() {
+        Set<StreamEntryID> ids = new TreeSet<>();
+        parkedKeys.values().forEach(ids::addAll);
+        return ids;
+    }
+
+    /**
+     * Releases the parked entries which are not owned by this consumer any more (e.g. taken over or ACKed by another consumer), so their key is
+     * not waiting for them.
+     *
+     * @param ownedIDs
+     *            parked entry IDs still pending at this consumer
+     */
+    public void retainParked(Set<StreamEntryID> ownedIDs) {
+        for (Map.Entry<String, NavigableSet<StreamEntryID>> parked : parkedKeys.entrySet()) {
+            for (StreamEntryID streamEntryID : parked.getValue()) {
+                if (!ownedIDs.contains(streamEntryID)) {
+                    LOGGER.info("Parked entry [" + streamEntryID + "] of partition key [" + parked.getKey() + "] is not owned any more, released");
+                    release(parked.getKey(), streamEntryID);
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of parked partition keys
+     *
+     * @return parked key count
+     */
+    public int parkedKeys() {
+        return parkedKeys.size();
+    }
+
+    private boolean runInOrder(String partitionKey, StreamEntryID streamEntryID, LaneTask task) {
+        NavigableSet<StreamEntryID> parked = parkedKeys.get(partitionKey);
+        if (parked != null) {
+            parked.add(streamEntryID);
+            if (!parked.first().equals(streamEntryID)) {
+                LOGGER.debug("Partition key [" + partitionKey + "] is parked, entry [" + streamEntryID + "] waits for [" + parked.first() + "]");
+                return false;
+            }
+        }
+        boolean success = false;
+        try {
+            success = task.run();
+        } catch (RuntimeException e) {
+            LOGGER.error("Unexpected error on processing stream entry [" + streamEntryID + "]", e);
+        }
+        if (success) {
+            completed.add(streamEntryID);
+            unpark(partitionKey, streamEntryID);
+        } else if (parkFailedKeys) {
+            parkedKeys.computeIfAbsent(partitionKey, key -> new ConcurrentSkipListSet<>()).add(streamEntryID);
+            LOGGER.warn("Partition key [" + partitionKey + "] is parked, the later entries of the key wait for failed entry [" + streamEntryID + "]");
+        }
+        return success;
+    }
+
+    private void unpark(String partitionKey, StreamEntryID streamEntryID) {
+        NavigableSet<StreamEntryID> parked = parkedKeys.get(partitionKey);
+        if (parked != null) {
+            parked.remove(streamEntryID);
+            if (parked.isEmpty()) {
+                parkedKeys.remove(partitionKey);
+            }
+        }
+    }
+
+    /**
+     * Returns and removes the IDs of the successfully finished entries
+     *
+     * @return finished entry IDs in completion order
+     */
+    public List<StreamEntryID> drainCompleted() {
+        List<StreamEntryID> ids = new ArrayList<>();
+        StreamEntryID id;
+        while ((id = completed.poll()) != null) {
+            ids.add(id);
+            inFlightIDs.remove(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Stops accepting tasks and waits for the submitted tasks to finish
+     *
+     * @param timeoutMillis
+     *            maximum wait time
+     * @return {@code true} if all tasks finished in time
+     */
+    public boolean shutdown(long timeoutMillis) {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            for (ExecutorService lane : lanes) {
+                if (!lane.awaitTermination(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stops the lanes immediately, the running tasks are interrupted, the waiting tasks are dropped (their entries stay pending)
+     */
+    public void shutdownNow() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+}
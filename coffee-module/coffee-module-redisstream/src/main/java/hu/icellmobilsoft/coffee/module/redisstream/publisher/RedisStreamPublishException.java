@@ -0,0 +1,82 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redisstream.publisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import hu.icellmobilsoft.coffee.dto.exception.enums.CoffeeFaultType;
+import hu.icellmobilsoft.coffee.se.api.exception.TechnicalException;
+import redis.clients.jedis.StreamEntryID;
+
+/**
+ * Some messages of a multi-message publish are not added to the stream, the others are. The identifiers of the added messages are kept, so
+ * the caller can retry only the failed messages instead of publishing the whole list again (and duplicating the added ones).
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public class RedisStreamPublishException extends TechnicalException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Identifiers in the order of the messages, empty at the failed messages */
+    private final transient List<Optional<StreamEntryID>> streamEntryIDs;
+
+    /** Indexes of the failed messages */
+    private final List<Integer> failedIndexes;
+
+    /**
+     * Constructor for RedisStreamPublishException with fault type {@link CoffeeFaultType#REDIS_OPERATION_FAILED}.
+     *
+     * @param message
+     *            exception message to set
+     * @param streamEntryIDs
+     *            identifiers in the order of the messages, empty at the failed messages
+     * @param failedIndexes
+     *            indexes of the failed messages
+     * @param e
+     *            error of the first failed message
+     */
+    public RedisStreamPublishException(String message, List<Optional<StreamEntryID>> streamEntryIDs, List<Integer> failedIndexes,
+            Throwable e) {
+        super(CoffeeFaultType.REDIS_OPERATION_FAILED, message, e);
+        this.streamEntryIDs = List.copyOf(streamEntryIDs);
+        this.failedIndexes = List.copyOf(failedIndexes);
+    }
+
+    /**
+     * Returns the identifiers of the messages added to the stream, in the order of the messages
+     *
+     * @return identifiers, empty at the failed messages
+     */
+    public List<Optional<StreamEntryID>> getStreamEntryIDs() {
+        return streamEntryIDs;
+    }
+
+    /**
+     * Returns the indexes of the messages not added to the stream
+     *
+     * @return failed message indexes
+     */
+    public List<Integer> getFailedIndexes() {
+        return failedIndexes;
+    }
+}
@@ -21,6 +21,7 @@ package hu.icellmobilsoft.coffee.module.redisstream.publisher;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,7 +47,10 @@ import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
 import hu.icellmobilsoft.coffee.se.logging.Logger;
 import hu.icellmobilsoft.coffee.se.logging.mdc.MDC;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.Transaction;
 import redis.clients.jedis.params.XAddParams;
 
 /**
@@ -176,7 +180,7 @@ public class RedisStreamPublisher {
     }
 
     /**
-     * Publish (send) multiple messages to stream calculated by input publication streamGroup name.
+     * Publish (send) multiple messages to stream calculated by input publication streamGroup name. The messages are sent in one pipeline.
      *
      * @param publications
      *            stream publication data list
@@ -185,25 +189,47 @@ public class RedisStreamPublisher {
      *             exception on sending
      */
     public List<Optional<StreamEntryID>> publishPublications(List<RedisStreamPublication> publications) throws BaseException {
+        return publishPublications(publications, false);
+    }
+
+    /**
+     * Publish (send) multiple messages to stream calculated by input publication streamGroup name. The messages are sent in one pipeline,
+     * optionally wrapped in {@code MULTI/EXEC} transaction.
+     *
+     * @param publications
+     *            stream publication data list
+     * @param transactional
+     *            if true, the messages are published in {@code MULTI/EXEC} transaction, no other command runs between them. Redis does not
+     *            roll back the transaction, if an {@code XADD} fails on execution the others are still added
+     * @return Created Redis Stream messages identifiers from Redis server, in the order of the publications
+     * @throws RedisStreamPublishException
+     *             if some of the messages are not added, holding the identifiers of the added ones
+     * @throws BaseException
+     *             exception on sending
+     * @since 2.8.0
+     */
+    public List<Optional<StreamEntryID>> publishPublications(List<RedisStreamPublication> publications, boolean transactional)
+            throws BaseException {
         if (publications == null) {
             throw new InvalidParameterException("publications is null!");
         }
         checkRedisManager();
 
-        try (RedisManagerConnection ignored = redisManager.initConnection()) {
-            List<Optional<StreamEntryID>> ids = new ArrayList<>(publications.size());
-            for (RedisStreamPublication publication : publications) {
-                Optional<StreamEntryID> id;
-                if (StringUtils.isBlank(publication.getStreamGroup())) {
-                    validateGroup(streamGroup);
-                    id = publishInActiveConnection(createJedisMessage(publication.getStreamMessage(), publication.getParameters()), streamGroup);
-                } else {
-                    id = publishInActiveConnection(createJedisMessage(publication.getStreamMessage(), publication.getParameters()),
-                            publication.getStreamGroup());
-                }
-                ids.add(id);
+        List<String> streamKeys = new ArrayList<>(publications.size());
+        List<Map<String, String>> messages = new ArrayList<>(publications.size());
+        String flowIdMessage = MDC.get(LogConstants.LOG_SESSION_ID);
+        for (RedisStreamPublication publication : publications) {
+            if (StringUtils.isBlank(publication.getStreamGroup())) {
+                validateGroup(streamGroup);
+                streamKeys.add(RedisStreamUtil.streamKey(streamGroup));
+            } else {
+                streamKeys.add(RedisStreamUtil.streamKey(publication.getStreamGroup()));
             }
-            return ids;
+            messages.add(createJedisMessage(publication.getStreamMessage(), flowIdMessage, publication.getParameters()));
+        }
+
+        try (RedisManagerConnection ignored = redisManager.initConnection()) {
+            return publishInActiveConnection(streamKeys, messages, transactional);
         }
     }
 
@@ -284,7 +310,7 @@ public class RedisStreamPublisher {
     }
 
     /**
-     * Publish (send) multiple messages to stream
+     * Publish (send) multiple messages to stream in one pipeline
      *
      * @param streamGroup
      *            Stream group to send (another than initialized)
@@ -298,14 +324,106 @@ public class RedisStreamPublisher {
      */
     protected List<Optional<StreamEntryID>> publishInActiveConnection(String streamGroup, List<String> streamMessages, Map<String, String> parameters)
             throws BaseException {
-        List<Optional<StreamEntryID>> ids = new ArrayList<>(streamMessages.size());
+        String streamKey = RedisStreamUtil.streamKey(streamGroup);
+        String flowIdMessage = MDC.get(LogConstants.LOG_SESSION_ID);
+        List<Map<String, String>> messages = new ArrayList<>(streamMessages.size());
         for (String streamMessage : streamMessages) {
-            Optional<StreamEntryID> id = publishInActiveConnection(createJedisMessage(streamMessage, parameters), streamGroup);
-            ids.add(id);
+            messages.add(createJedisMessage(streamMessage, flowIdMessage, parameters));
+        }
+        return publishInActiveConnection(Collections.nCopies(messages.size(), streamKey), messages, false);
+    }
+
+    /**
+     * Publish (send) multiple messages in one pipeline. All {@code XADD} commands are flushed at once, the stream max size is trimmed by config.
+     *
+     * @param streamKeys
+     *            Stream keys to send the messages, indexed as the messages
+     * @param messages
+     *            Redis Stream message structures, created by {@link #createJedisMessage(String, Map)}
+     * @param transactional
+     *            if true, the pipeline is wrapped in {@code MULTI/EXEC} transaction
+     * @return Created Redis Stream messages identifiers from Redis server, in the order of the messages
+     * @throws RedisStreamPublishException
+     *             if some of the messages are not added, holding the identifiers of the added ones
+     * @throws BaseException
+     *             exception on sending, the messages may be partially added if the connection fails during the pipeline
+     * @since 2.8.0
+     */
+    protected List<Optional<StreamEntryID>> publishInActiveConnection(List<String> streamKeys, List<Map<String, String>> messages,
+            boolean transactional) throws BaseException {
+        if (messages.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Response<StreamEntryID>> responses = redisManager
+                .run(RedisStreamPublisher::xaddPipelined, "xaddPipelined", streamKeys, messages, createXAddParams(), transactional)
+                .orElseGet(List::of);
+        List<Optional<StreamEntryID>> ids = collectStreamEntryIDs(responses, messages.size());
+        if (log.isTraceEnabled()) {
+            log.trace("Published [{0}] streamEntryIDs: [{1}] into [{2}]", ids.size(), ids, streamKeys);
         }
         return ids;
     }
 
+    /**
+     * Collects the result of every {@code XADD} response, a failed response does not hide the identifiers of the added messages
+     *
+     * @param responses
+     *            responses of the synced pipeline or executed transaction, in the order of the messages
+     * @param messageCount
+     *            count of the sent messages
+     * @return identifiers in the order of the messages
+     * @throws RedisStreamPublishException
+     *             if some of the responses failed, holding the identifiers of the added messages
+     */
+    static List<Optional<StreamEntryID>> collectStreamEntryIDs(List<Response<StreamEntryID>> responses, int messageCount)
+            throws RedisStreamPublishException {
+        List<Optional<StreamEntryID>> ids = new ArrayList<>(messageCount);
+        List<Integer> failedIndexes = new ArrayList<>();
+        RuntimeException failure = null;
+        for (int i = 0; i < messageCount; i++) {
+            try {
+                ids.add(Optional.ofNullable(i < responses.size() ? responses.get(i).get() : null));
+            } catch (RuntimeException e) {
+                ids.add(Optional.empty());
+                failedIndexes.add(i);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw new RedisStreamPublishException(
+                    "[" + failedIndexes.size() + "] of [" + messageCount + "] messages are not published, failed indexes: " + failedIndexes
+                            + ", first error: [" + failure.getLocalizedMessage() + "]",
+                    ids, failedIndexes, failure);
+        }
+        return ids;
+    }
+
+    private static List<Response<StreamEntryID>> xaddPipelined(Jedis jedis, List<String> streamKeys, List<Map<String, String>> messages,
+            XAddParams params, Boolean transactional) {
+        List<Response<StreamEntryID>> responses = new ArrayList<>(messages.size());
+        if (Boolean.TRUE.equals(transactional)) {
+            try (Transaction transaction = jedis.multi()) {
+                for (int i = 0; i < messages.size(); i++) {
+                    responses.add(transaction.xadd(streamKeys.get(i), params, messages.get(i)));
+                }
+                transaction.exec();
+            }
+        } else {
+            try (Pipeline pipeline = jedis.pipelined()) {
+                for (int i = 0; i < messages.size(); i++) {
+                    responses.add(pipeline.xadd(streamKeys.get(i), params, messages.get(i)));
+                }
+                pipeline.sync();
+            }
+        }
+        // the responses are evaluated by the caller one by one, a failed XADD must not hide the others
+        return responses;
+    }
+
     /**
      * Publish (send) message to stream with class initialized {@code #jedisInstance}
      *
@@ -336,8 +454,12 @@ public class RedisStreamPublisher {
      * @return Redis Stream message structure, ready to publish
      */
     protected Map<String, String> createJedisMessage(String streamMessage, Map<String, String> parameters) {
-        Map<String, String> keyValues = new HashMap<>();
-        keyValues.put(IRedisStreamConstant.Common.DATA_KEY_FLOW_ID, getFlowIdMessage(parameters));
+        return createJedisMessage(streamMessage, MDC.get(LogConstants.LOG_SESSION_ID), parameters);
+    }
+
+    private Map<String, String> createJedisMessage(String streamMessage, String flowIdMessage, Map<String, String> parameters) {
+        Map<String, String> keyValues = new HashMap<>(parameters == null ? 4 : (parameters.size() + 2) * 4 / 3 + 1);
+        keyValues.put(IRedisStreamConstant.Common.DATA_KEY_FLOW_ID, getFlowIdMessage(flowIdMessage, parameters));
         keyValues.put(IRedisStreamConstant.Common.DATA_KEY_MESSAGE, streamMessage);
         // Intentionally, it's positioned at the end so that the above values can be overridden if needed.
         if (parameters != null) {
@@ -346,8 +468,7 @@ public class RedisStreamPublisher {
         return keyValues;
     }
 
-    private String getFlowIdMessage(Map<String, String> parameters) {
-        String flowIdMessage = MDC.get(LogConstants.LOG_SESSION_ID);
+    private String getFlowIdMessage(String flowIdMessage, Map<String, String> parameters) {
         if (parameters == null) {
             return flowIdMessage;
         }
@@ -355,6 +476,13 @@ public class RedisStreamPublisher {
                 .map(extension -> flowIdMessage + "_" + extension).orElse(flowIdMessage);
     }
 
+    private XAddParams createXAddParams() {
+        XAddParams params = XAddParams.xAddParams();
+        config.getProducerMaxLen().ifPresent(params::maxLen);
+        config.getProducerTTL().ifPresent(ttl -> params.minId(new StreamEntryID(Instant.now().minusMillis(ttl).toEpochMilli(), 0).toString()));
+        return params;
+    }
+
     /**
      * Publish one element to stream with values. Stream max size is trimmed by config. This is equivalent to redis console:
      *
@@ -371,10 +499,8 @@ public class RedisStreamPublisher {
      *             Exception
      */
     protected Optional<StreamEntryID> publishInActiveConnection(Map<String, String> values, String streamGroup) throws BaseException {
-        XAddParams params = XAddParams.xAddParams();
-        config.getProducerMaxLen().ifPresent(params::maxLen);
-        config.getProducerTTL().ifPresent(ttl -> params.minId(new StreamEntryID(Instant.now().minusMillis(ttl).toEpochMilli(), 0).toString()));
-        Optional<StreamEntryID> streamEntryID = redisManager.run(Jedis::xadd, "xadd", RedisStreamUtil.streamKey(streamGroup), values, params);
+        Optional<StreamEntryID> streamEntryID = redisManager.run(Jedis::xadd, "xadd", RedisStreamUtil.streamKey(streamGroup), values,
+                createXAddParams());
         if (log.isTraceEnabled()) {
             log.trace("Published streamEntryID: [{0}] into [{1}]", streamEntryID, RedisStreamUtil.streamKey(streamGroup));
         }
@@ -22,6 +22,9 @@ package hu.icellmobilsoft.coffee.module.redisstream.service;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -40,13 +43,19 @@ import hu.icellmobilsoft.coffee.dto.exception.TechnicalException;
 import hu.icellmobilsoft.coffee.module.redis.manager.RedisManager;
 import hu.icellmobilsoft.coffee.module.redis.manager.RedisManagerConnection;
 import hu.icellmobilsoft.coffee.module.redisstream.common.RedisStreamUtil;
+import hu.icellmobilsoft.coffee.module.redisstream.config.IRedisStreamConstant;
 import hu.icellmobilsoft.coffee.module.redisstream.config.IStreamGroupConfig;
 import hu.icellmobilsoft.coffee.module.redisstream.config.StreamGroupConfig;
 import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
 import hu.icellmobilsoft.coffee.se.logging.Logger;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.Transaction;
 import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.params.XAddParams;
+import redis.clients.jedis.params.XAutoClaimParams;
 import redis.clients.jedis.params.XPendingParams;
 import redis.clients.jedis.params.XReadGroupParams;
 import redis.clients.jedis.resps.StreamEntry;
@@ -227,15 +236,104 @@ public class RedisStreamService {
         return Optional.of(entry);
     }
 
+    /**
+     * Consume a batch of entries from stream. The first read waits for new entries until the configured read timeout, if it returns less than
+     * {@code batchSize} entries, the read is repeated until the batch is full or {@code lingerMillis} is elapsed. This is equivalent to redis
+     * console:
+     *
+     * <pre>
+     * XREADGROUP GROUP group consumerIdentifier BLOCK config.StreamReadTimeoutMillis COUNT batchSize STREAMS mystream &gt;
+     * # while batch is not full and linger time is not elapsed
+     * XREADGROUP GROUP group consumerIdentifier BLOCK remainingLingerMillis COUNT remainingBatchSize STREAMS mystream &gt;
+     * </pre>
+     *
+     * @param consumerIdentifier
+     *            unique consumer identifier
+     * @param batchSize
+     *            maximum number of entries
+     * @param lingerMillis
+     *            maximum time to wait for filling the batch after the first read, 0 means no wait
+     * @return stream entries in stream order, empty list if there are no new entries
+     * @throws BaseException
+     *             exception
+     */
+    public List<StreamEntry> consumeBatch(String consumerIdentifier, int batchSize, long lingerMillis) throws BaseException {
+        return consumeBatch(consumerIdentifier, batchSize, lingerMillis, config.getStreamReadTimeoutMillis().intValue());
+    }
+
+    /**
+     * Same as {@link #consumeBatch(String, int, long)}, but the first read waits for new entries only until {@code blockMillis}
+     *
+     * @param consumerIdentifier
+     *            unique consumer identifier
+     * @param batchSize
+     *            maximum number of entries
+     * @param lingerMillis
+     *            maximum time to wait for filling the batch after the first read, 0 means no wait
+     * @param blockMillis
+     *            maximum time to wait for new entries on the first read
+     * @return stream entries in stream order, empty list if there are no new entries
+     * @throws BaseException
+     *             exception
+     * @since 2.8.0
+     */
+    public List<StreamEntry> consumeBatch(String consumerIdentifier, int batchSize, long lingerMillis, int blockMillis) throws BaseException {
+        if (StringUtils.isBlank(consumerIdentifier)) {
+            throw new InvalidParameterException("consumerIdentifier is null");
+        }
+        if (batchSize < 1) {
+            throw new InvalidParameterException("batchSize is less than 1");
+        }
+        List<StreamEntry> entries = readGroup(consumerIdentifier, createXReadGroupParams(batchSize, blockMillis));
+        if (entries.isEmpty() || entries.size() >= batchSize || lingerMillis <= 0) {
+            return entries;
+        }
+        List<StreamEntry> batch = new ArrayList<>(batchSize);
+        batch.addAll(entries);
+        long deadline = System.currentTimeMillis() + lingerMillis;
+        long remaining = lingerMillis;
+        while (batch.size() < batchSize && remaining > 0) {
+            batch.addAll(readGroup(consumerIdentifier, createXReadGroupParams(batchSize - batch.size(), (int) remaining)));
+            remaining = deadline - System.currentTimeMillis();
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("Consumed [{0}] entries from [{1}] stream", batch.size(), streamKey());
+        }
+        return batch;
+    }
+
+    private List<StreamEntry> readGroup(String consumerIdentifier, XReadGroupParams params) throws BaseException {
+        Map<String, StreamEntryID> streamQuery = Map.of(streamKey(), StreamEntryID.UNRECEIVED_ENTRY);
+        Optional<List<Entry<String, List<StreamEntry>>>> result = getRedisManager().run(Jedis::xreadGroup, "xreadGroup", getGroup(),
+                consumerIdentifier, params, streamQuery);
+        if (result.isEmpty() || result.get().isEmpty() || result.get().get(0).getValue() == null) {
+            return List.of();
+        }
+        // We are reading from one stream.
+        return result.get().get(0).getValue();
+    }
+
     /**
      * Creates the parameters for the {@link Jedis#xreadGroup}
      *
      * @return params for {@link Jedis#xreadGroup}
      */
     protected XReadGroupParams createXReadGroupParams() {
-        int readTimeoutMillis = config.getStreamReadTimeoutMillis().intValue();
+        return createXReadGroupParams(1, config.getStreamReadTimeoutMillis().intValue());
+    }
+
+    /**
+     * Creates the parameters for the {@link Jedis#xreadGroup}
+     *
+     * @param count
+     *            maximum number of entries to read
+     * @param blockMillis
+     *            blocking timeout in millis
+     * @return params for {@link Jedis#xreadGroup}
+     */
+    protected XReadGroupParams createXReadGroupParams(int count, int blockMillis) {
         // It is capable of reading from multiple streams simultaneously, but we are using it for just one.
-        XReadGroupParams params = new XReadGroupParams().count(1).block(readTimeoutMillis);
+        XReadGroupParams params = new XReadGroupParams().count(count).block(blockMillis);
         if (!config.isManualAck()) {
             params.noAck();
         }
@@ -293,6 +391,31 @@ public class RedisStreamService {
         return successCount;
     }
 
+    /**
+     * ACK stream elements with one command without opening a new connection. This is equivalent to redis console:
+     *
+     * <pre>
+     * XACK streamKey group 1526569495631-0 1526569495631-1 ...
+     * </pre>
+     *
+     * @param streamEntryIDs
+     *            stream element unique IDs. If null or empty then do nothing
+     * @return success count
+     * @throws BaseException
+     *             Exception
+     */
+    public long ackInCurrentConnection(Collection<StreamEntryID> streamEntryIDs) throws BaseException {
+        if (streamEntryIDs == null || streamEntryIDs.isEmpty()) {
+            return 0;
+        }
+        long successCount = getRedisManager().run(Jedis::xack, "xack", streamKey(), getGroup(), streamEntryIDs.toArray(new StreamEntryID[0]))
+                .orElse(0L);
+        if (log.isTraceEnabled()) {
+            log.trace("[{0}] of [{1}] StreamEntryIDs successfully ACKed", successCount, streamEntryIDs.size());
+        }
+        return successCount;
+    }
+
     /**
      * List stream entries in pending. This is equivalent to redis console:
      *
@@ -382,6 +505,141 @@ public class RedisStreamService {
         return removedEntries;
     }
 
+    /**
+     * Claims the pending entries idle for at least {@code minIdleMillis} to the given consumer, without opening a new connection. The
+     * delivery counter of the claimed entries is incremented. This is equivalent to redis console:
+     *
+     * <pre>
+     * XAUTOCLAIM streamKey group consumerIdentifier minIdleMillis start COUNT count
+     * </pre>
+     *
+     * @param consumerIdentifier
+     *            unique consumer identifier, the new owner of the entries
+     * @param minIdleMillis
+     *            minimum idle time of the claimed entries
+     * @param start
+     *            scan cursor, {@link StreamEntryID#MINIMUM_ID} on the first call
+     * @param count
+     *            maximum number of entries to claim
+     * @return cursor for the next call ({@link StreamEntryID#MINIMUM_ID} if the whole pending list was scanned) and the claimed entries
+     * @throws BaseException
+     *             Exception
+     */
+    public Entry<StreamEntryID, List<StreamEntry>> autoClaimInCurrentConnection(String consumerIdentifier, long minIdleMillis, StreamEntryID start,
+            int count) throws BaseException {
+        if (StringUtils.isBlank(consumerIdentifier)) {
+            throw new InvalidParameterException("consumerIdentifier is null");
+        }
+        String streamKey = streamKey();
+        String group = getGroup();
+        Entry<StreamEntryID, List<StreamEntry>> result = getRedisManager()
+                .run((jedis, consumer, idle, cursor, params) -> jedis.xautoclaim(streamKey, group, consumer, idle, cursor, params), "xautoclaim",
+                        consumerIdentifier, minIdleMillis, start, XAutoClaimParams.xAutoClaimParams().count(count))
+                .orElseGet(() -> Map.entry(StreamEntryID.MINIMUM_ID, List.of()));
+        List<StreamEntry> entries = new ArrayList<>(result.getValue().size());
+        // entries deleted from the stream meanwhile have no content
+        for (StreamEntry entry : result.getValue()) {
+            if (entry != null && entry.getFields() != null) {
+                entries.add(entry);
+            }
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("Claimed [{0}] idle entries from [{1}] stream to [{2}], next cursor: [{3}]", entries.size(), streamKey, consumerIdentifier,
+                    result.getKey());
+        }
+        return Map.entry(result.getKey(), entries);
+    }
+
+    /**
+     * Returns the delivery counts of the pending entries of the consumer with one pipeline, without opening a new connection. This is equivalent
+     * to redis console:
+     *
+     * <pre>
+     * # for every entry
+     * XPENDING streamKey group id id 1 consumerIdentifier
+     * </pre>
+     *
+     * @param consumerIdentifier
+     *            unique consumer identifier, the owner of the entries
+     * @param streamEntryIDs
+     *            pending entry IDs
+     * @return delivery count by entry ID, entries not pending at the consumer are missing
+     * @throws BaseException
+     *             Exception
+     */
+    public Map<StreamEntryID, Long> deliveredTimesInCurrentConnection(String consumerIdentifier, Collection<StreamEntryID> streamEntryIDs)
+            throws BaseException {
+        if (streamEntryIDs == null || streamEntryIDs.isEmpty()) {
+            return Map.of();
+        }
+        String streamKey = streamKey();
+        String group = getGroup();
+        return getRedisManager().run((jedis, consumer, ids) -> {
+            List<Response<List<StreamPendingEntry>>> responses = new ArrayList<>(ids.size());
+            try (Pipeline pipeline = jedis.pipelined()) {
+                for (StreamEntryID id : ids) {
+                    responses.add(pipeline.xpending(streamKey, group, new XPendingParams(id, id, 1).consumer(consumer)));
+                }
+                pipeline.sync();
+            }
+            Map<StreamEntryID, Long> deliveredTimes = new HashMap<>();
+            for (Response<List<StreamPendingEntry>> response : responses) {
+                for (StreamPendingEntry pendingEntry : response.get()) {
+                    deliveredTimes.put(pendingEntry.getID(), pendingEntry.getDeliveredTimes());
+                }
+            }
+            return deliveredTimes;
+        }, "xpending", consumerIdentifier, streamEntryIDs).orElseGet(Map::of);
+    }
+
+    /**
+     * Moves the entries to the dead-letter stream and ACKs them in the current stream atomically, without opening a new connection. The original
+     * fields of the entries are extended with the {@link IRedisStreamConstant.DeadLetter} keys. This is equivalent to redis console:
+     *
+     * <pre>
+     * MULTI
+     * # for every entry
+     * XADD deadLetterStreamKey * key1 value1 ... deadLetterSourceStream streamKey deadLetterSourceId id deadLetterDeliveries n
+     * XACK streamKey group id1 id2 ...
+     * EXEC
+     * </pre>
+     *
+     * @param streamEntries
+     *            entries to move
+     * @param deliveredTimes
+     *            delivery count by entry ID, see {@link #deliveredTimesInCurrentConnection(String, Collection)}
+     * @param deadLetterGroup
+     *            stream group of the dead-letter stream
+     * @throws BaseException
+     *             Exception
+     */
+    public void deadLetterInCurrentConnection(List<StreamEntry> streamEntries, Map<StreamEntryID, Long> deliveredTimes, String deadLetterGroup)
+            throws BaseException {
+        if (streamEntries == null || streamEntries.isEmpty()) {
+            return;
+        }
+        if (StringUtils.isBlank(deadLetterGroup)) {
+            throw new InvalidParameterException("deadLetterGroup is null");
+        }
+        String streamKey = streamKey();
+        String group = getGroup();
+        String deadLetterStreamKey = RedisStreamUtil.streamKey(deadLetterGroup);
+        getRedisManager().run((jedis, entries) -> {
+            try (Transaction transaction = jedis.multi()) {
+                for (StreamEntry entry : entries) {
+                    Map<String, String> fields = new HashMap<>(entry.getFields());
+                    fields.put(IRedisStreamConstant.DeadLetter.DATA_KEY_SOURCE_STREAM, streamKey);
+                    fields.put(IRedisStreamConstant.DeadLetter.DATA_KEY_SOURCE_ID, entry.getID().toString());
+                    fields.put(IRedisStreamConstant.DeadLetter.DATA_KEY_DELIVERIES, String.valueOf(deliveredTimes.getOrDefault(entry.getID(), 0L)));
+                    transaction.xadd(deadLetterStreamKey, XAddParams.xAddParams(), fields);
+                }
+                transaction.xack(streamKey, group, entries.stream().map(StreamEntry::getID).toArray(StreamEntryID[]::new));
+                return transaction.exec();
+            }
+        }, "deadLetter", streamEntries);
+        log.warn("[{0}] entries moved from [{1}] stream to dead-letter stream [{2}]", streamEntries.size(), streamKey, deadLetterStreamKey);
+    }
+
     /**
      * List stream entries in pending
      *
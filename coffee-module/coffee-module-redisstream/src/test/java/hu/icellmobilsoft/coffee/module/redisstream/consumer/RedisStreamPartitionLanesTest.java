@@ -0,0 +1,292 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redisstream.consumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import redis.clients.jedis.StreamEntryID;
+
+/**
+ * Testing {@link RedisStreamPartitionLanes}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing RedisStreamPartitionLanes")
+class RedisStreamPartitionLanesTest {
+
+    private static final StreamEntryID ID_1 = new StreamEntryID(1, 0);
+    private static final StreamEntryID ID_2 = new StreamEntryID(2, 0);
+    private static final StreamEntryID ID_3 = new StreamEntryID(3, 0);
+
+    private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+    private final Set<StreamEntryID> failing = Collections.synchronizedSet(new HashSet<>());
+
+    private RedisStreamPartitionLanes lanes;
+
+    @AfterEach
+    void shutdown() {
+        if (lanes != null) {
+            lanes.shutdown(1000);
+        }
+    }
+
+    @Test
+    @DisplayName("Testing the later entries of a failed key wait for the redelivered failed entry")
+    void orderAfterFailure() throws InterruptedException {
+        // given
+        lanes = new RedisStreamPartitionLanes(1, 10, RedisStreamPartitionLanes.platformThreadFactory("test-lane-"), true);
+        failing.add(ID_1);
+        submit("A", ID_1);
+        submit("A", ID_2);
+        submit("B", ID_3);
+        awaitIdle();
+        Assertions.assertEquals(List.of("1-0 failed", "3-0"), processed);
+        Assertions.assertEquals(List.of(ID_3), lanes.drainCompleted());
+        Assertions.assertEquals(1, lanes.parkedKeys());
+
+        // when
+        // reclaim redelivers the pending entries in ID order
+        failing.clear();
+        submit("A", ID_1);
+        submit("A", ID_2);
+        awaitIdle();
+
+        // then
+        Assertions.assertEquals(List.of("1-0 failed", "3-0", "1-0", "2-0"), processed);
+        Assertions.assertEquals(List.of(ID_1, ID_2), lanes.drainCompleted());
+        Assertions.assertEquals(0, lanes.parkedKeys());
+    }
+
+    @Test
+    @DisplayName("Testing the later entries of a failed key are skipped while the failed entry is redelivered before them")
+    void laterEntryRedeliveredFirst() throws InterruptedException {
+        // given
+        lanes = new RedisStreamPartitionLanes(1, 10, RedisStreamPartitionLanes.platformThreadFactory("test-lane-"), true);
+        failing.add(ID_1);
+        submit("A", ID_1);
+        awaitIdle();
+        failing.clear();
+
+        // when
+        submit("A", ID_2);
+        awaitIdle();
+        // the skipped entry is redelivered by reclaim after the failed one
+        submit("A", ID_1);
+        submit("A", ID_2);
+        awaitIdle();
+
+        // then
+        Assertions.assertEquals(List.of("1-0 failed", "1-0", "2-0"), processed);
+        Assertions.assertEquals(List.of(ID_1, ID_2), lanes.drainCompleted());
+    }
+
+    @Test
+    @DisplayName("Testing released (dead-lettered) entry does not block its key")
+    void release() throws InterruptedException {
+        // given
+        lanes = new RedisStreamPartitionLanes(1, 10, RedisStreamPartitionLanes.platformThreadFactory("test-lane-"), true);
+        failing.add(ID_1);
+        submit("A", ID_1);
+        submit("A", ID_2);
+        awaitIdle();
+
+        // when
+        lanes.release("A", ID_1);
+        submit("A", ID_2);
+        awaitIdle();
+
+        // then
+        Assertions.assertEquals(List.of("1-0 failed", "2-0"), processed);
+        Assertions.assertEquals(List.of(ID_2), lanes.drainCompleted());
+        Assertions.assertEquals(0, lanes.parkedKeys());
+    }
+
+    @Test
+    @DisplayName("Testing unexpected exception parks the key as well")
+    void exceptionParks() throws InterruptedException {
+        // given
+        lanes = new RedisStreamPartitionLanes(1, 10, RedisStreamPartitionLanes.platformThreadFactory("test-lane-"), true);
+
+        // when
+        lanes.submit("A", ID_1, () -> {
+            throw new IllegalStateException("test");
+        });
+        submit("A", ID_2);
+        awaitIdle();
+
+        // then
+        Assertions.assertTrue(processed.isEmpty());
+        Assertions.assertEquals(1, lanes.parkedKeys());
+    }
+
+    @Test
+    @DisplayName("Testing without parking the later entries of a failed key are processed")
+    void withoutParking() throws InterruptedException {
+        // given
+        lanes = new RedisStreamPartitionLanes(1, 10, RedisStreamPartitionLanes.platformThreadFactory("test-lane-"), false);
+        failing.add(ID_1);
+
+        // when
+        submit("A", ID_1);
+        submit("A", ID_2);
+        awaitIdle();
+
+        // then
+        Assertions.assertEquals(List.of("1-0 failed", "2-0"), processed);
+        Assertions.assertEquals(List.of(ID_2), lanes.drainCompleted());
+        Assertions.assertEquals(0, lanes.parkedKeys());
+    }
+
+    @Test
+    @DisplayName("Testing the entry is not submitted again while it is in flight")
+    void inFlightNotSubmittedTwice() throws InterruptedException {
+        // given
+        lanes = new RedisStreamPartitionLanes(1, 10, RedisStreamPartitionLanes.platformThreadFactory("test-lane-"), true);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        lanes.submit("A", ID_1, () -> {
+            running.countDown();
+            awaitLatch(finish);
+            processed.add(ID_1.toString());
+            return true;
+        });
+        Assertions.assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // when
+        // reclaimed while it is still running
+        boolean runningSubmitted = lanes.submit("A", ID_1, () -> processed.add(ID_1 + " again"));
+        finish.countDown();
+        awaitIdle();
+        // reclaimed after it is finished, before ACK
+        boolean finishedSubmitted = lanes.submit("A", ID_1, () -> processed.add(ID_1 + " again"));
+
+        // then
+        Assertions.assertFalse(runningSubmitted);
+        Assertions.assertFalse(finishedSubmitted);
+        Assertions.assertTrue(lanes.isInFlight(ID_1));
+        Assertions.assertEquals(List.of(ID_1), lanes.drainCompleted());
+        Assertions.assertFalse(lanes.isInFlight(ID_1));
+        Assertions.assertEquals(List.of("1-0"), processed);
+    }
+
+    @Test
+    @DisplayName("Testing failed and skipped entries can be submitted again")
+    void failedNotInFlight() throws InterruptedException {
+        // given
+        lanes = new RedisStreamPartitionLanes(1, 10, RedisStreamPartitionLanes.platformThreadFactory("test-lane-"), true);
+        failing.add(ID_1);
+
+        // when
+        submit("A", ID_1);
+        submit("A", ID_2);
+        awaitIdle();
+
+        // then
+        Assertions.assertFalse(lanes.isInFlight(ID_1));
+        Assertions.assertFalse(lanes.isInFlight(ID_2));
+        Assertions.assertEquals(Set.of(ID_1, ID_2), lanes.parkedEntryIDs());
+    }
+
+    @Test
+    @DisplayName("Testing parked entry ACKed by another consumer releases its key")
+    void parkedEntryAckedByOther() throws InterruptedException {
+        // given
+        lanes = new RedisStreamPartitionLanes(1, 10, RedisStreamPartitionLanes.platformThreadFactory("test-lane-"), true);
+        failing.add(ID_1);
+        submit("A", ID_1);
+        submit("A", ID_2);
+        awaitIdle();
+        Assertions.assertEquals(1, lanes.parkedKeys());
+
+        // when
+        // ID_1 is taken over and ACKed by another consumer, ID_2 is still pending at this consumer
+        lanes.retainParked(Set.of(ID_2));
+        submit("A", ID_2);
+        submit("A", ID_3);
+        awaitIdle();
+
+        // then
+        Assertions.assertEquals(List.of("1-0 failed", "2-0", "3-0"), processed);
+        Assertions.assertEquals(List.of(ID_2, ID_3), lanes.drainCompleted());
+        Assertions.assertEquals(0, lanes.parkedKeys());
+        Assertions.assertTrue(lanes.parkedEntryIDs().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testing parked key is released if none of its entries is owned any more")
+    void parkedKeyNotOwned() throws InterruptedException {
+        // given
+        lanes = new RedisStreamPartitionLanes(1, 10, RedisStreamPartitionLanes.platformThreadFactory("test-lane-"), true);
+        failing.add(ID_1);
+        submit("A", ID_1);
+        submit("A", ID_2);
+        awaitIdle();
+
+        // when
+        lanes.retainParked(Set.of());
+        submit("A", ID_3);
+        awaitIdle();
+
+        // then
+        Assertions.assertEquals(List.of("1-0 failed", "3-0"), processed);
+        Assertions.assertEquals(List.of(ID_3), lanes.drainCompleted());
+        Assertions.assertEquals(0, lanes.parkedKeys());
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(String partitionKey, StreamEntryID id) {
+        lanes.submit(partitionKey, id, () -> {
+            if (failing.contains(id)) {
+                processed.add(id + " failed");
+                return false;
+            }
+            processed.add(id.toString());
+            return true;
+        });
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (lanes.inFlight() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(0, lanes.inFlight());
+    }
+}
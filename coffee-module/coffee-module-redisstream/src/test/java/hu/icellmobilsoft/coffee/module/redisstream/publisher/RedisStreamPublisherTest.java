@@ -0,0 +1,87 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.redisstream.publisher;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * Testing {@link RedisStreamPublisher}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing RedisStreamPublisher")
+class RedisStreamPublisherTest {
+
+    private static final StreamEntryID ID_1 = new StreamEntryID(1, 0);
+    private static final StreamEntryID ID_3 = new StreamEntryID(3, 0);
+
+    @Test
+    @DisplayName("Testing every response collected")
+    void allPublished() throws Exception {
+        // given
+        List<Response<StreamEntryID>> responses = List.of(response(ID_1), response(ID_3));
+
+        // when
+        List<Optional<StreamEntryID>> ids = RedisStreamPublisher.collectStreamEntryIDs(responses, 2);
+
+        // then
+        Assertions.assertEquals(List.of(Optional.of(ID_1), Optional.of(ID_3)), ids);
+    }
+
+    @Test
+    @DisplayName("Testing failed XADD keeps the added identifiers")
+    void partiallyPublished() {
+        // given
+        List<Response<StreamEntryID>> responses = List.of(response(ID_1), failedResponse(), response(ID_3));
+
+        // when
+        RedisStreamPublishException exception = Assertions.assertThrows(RedisStreamPublishException.class,
+                () -> RedisStreamPublisher.collectStreamEntryIDs(responses, 3));
+
+        // then
+        Assertions.assertEquals(List.of(Optional.of(ID_1), Optional.empty(), Optional.of(ID_3)), exception.getStreamEntryIDs());
+        Assertions.assertEquals(List.of(1), exception.getFailedIndexes());
+        Assertions.assertInstanceOf(JedisDataException.class, exception.getCause());
+    }
+
+    private static Response<StreamEntryID> response(StreamEntryID id) {
+        Response<StreamEntryID> response = new Response<>(BuilderFactory.STREAM_ENTRY_ID);
+        response.set(id.toString().getBytes(StandardCharsets.UTF_8));
+        return response;
+    }
+
+    private static Response<StreamEntryID> failedResponse() {
+        Response<StreamEntryID> response = new Response<>(BuilderFactory.STREAM_ENTRY_ID);
+        response.set(new JedisDataException("WRONGTYPE Operation against a key holding the wrong kind of value"));
+        return response;
+    }
+}
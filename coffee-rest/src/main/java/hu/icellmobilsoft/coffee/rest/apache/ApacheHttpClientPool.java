@@ -0,0 +1,334 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.rest.apache;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import hu.icellmobilsoft.coffee.cdi.metric.MetricTag;
+import hu.icellmobilsoft.coffee.cdi.metric.constants.ApacheHttpClientMetricsConstants;
+import hu.icellmobilsoft.coffee.cdi.metric.spi.IMetricsHandler;
+import hu.icellmobilsoft.coffee.se.logging.Logger;
+
+/**
+ * Holder of the pooled {@link CloseableHttpClient}s of the {@link BaseApacheHttpClient} implementations and the executor of the asynchronous
+ * calls. One client is created for each client name (by default the {@link BaseApacheHttpClient} implementation class), with its own
+ * {@link PoolingHttpClientConnectionManager}, so the connections and TLS sessions are reused between the calls. Disabled by default, then a
+ * new client is created for each call as before. With pooling the response entity has to be consumed (or the response closed), otherwise the
+ * connection is not released to the pool.
+ *
+ * <pre>
+ * coffee:
+ *   rest:
+ *     apache:
+ *       pool:
+ *         enabled: true # default: false
+ *         maxTotal: 200 # default: 200
+ *         maxPerRoute: 20 # default: 20
+ *         keepAliveMillis: 30000 # default: 30000
+ *         idleTimeoutMillis: 60000 # default: 60000
+ *         validateAfterInactivityMillis: 2000 # default: 2000
+ *         asyncMaxThreads: 20 # default: 20
+ * </pre>
+ *
+ * The pool registers the {@value ApacheHttpClientMetricsConstants.Gauge#COFFEE_APACHE_HTTP_POOL_LEASED},
+ * {@value ApacheHttpClientMetricsConstants.Gauge#COFFEE_APACHE_HTTP_POOL_AVAILABLE},
+ * {@value ApacheHttpClientMetricsConstants.Gauge#COFFEE_APACHE_HTTP_POOL_PENDING} and
+ * {@value ApacheHttpClientMetricsConstants.Gauge#COFFEE_APACHE_HTTP_POOL_MAX} gauges for each client.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@ApplicationScoped
+public class ApacheHttpClientPool {
+
+    /**
+     * Config key of the connection pool switch, default false
+     */
+    public static final String ENABLED = "coffee.rest.apache.pool.enabled";
+
+    /**
+     * Config key of the maximum number of connections of a client, default {@value #DEFAULT_MAX_TOTAL}
+     */
+    public static final String MAX_TOTAL = "coffee.rest.apache.pool.maxTotal";
+
+    /**
+     * Config key of the maximum number of connections per route (target host) of a client, default {@value #DEFAULT_MAX_PER_ROUTE}
+     */
+    public static final String MAX_PER_ROUTE = "coffee.rest.apache.pool.maxPerRoute";
+
+    /**
+     * Config key of the keep-alive duration if the server does not send {@code Keep-Alive} timeout, default {@value #DEFAULT_KEEP_ALIVE_MILLIS}
+     */
+    public static final String KEEP_ALIVE_MILLIS = "coffee.rest.apache.pool.keepAliveMillis";
+
+    /**
+     * Config key of the idle time after the connections are evicted, default {@value #DEFAULT_IDLE_TIMEOUT_MILLIS}
+     */
+    public static final String IDLE_TIMEOUT_MILLIS = "coffee.rest.apache.pool.idleTimeoutMillis";
+
+    /**
+     * Config key of the inactivity after the connections are validated before reuse, default {@value #DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS}
+     */
+    public static final String VALIDATE_AFTER_INACTIVITY_MILLIS = "coffee.rest.apache.pool.validateAfterInactivityMillis";
+
+    /**
+     * Config key of the maximum number of threads of the asynchronous calls if there is no {@link ManagedExecutorService}, default
+     * {@value #DEFAULT_ASYNC_MAX_THREADS}
+     */
+    public static final String ASYNC_MAX_THREADS = "coffee.rest.apache.pool.asyncMaxThreads";
+
+    /**
+     * Default maximum number of connections of a client
+     */
+    public static final int DEFAULT_MAX_TOTAL = 200;
+
+    /**
+     * Default maximum number of connections per route
+     */
+    public static final int DEFAULT_MAX_PER_ROUTE = 20;
+
+    /**
+     * Default keep-alive duration
+     */
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = 30000;
+
+    /**
+     * Default idle time after the connections are evicted
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60000;
+
+    /**
+     * Default inactivity after the connections are validated before reuse
+     */
+    public static final int DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+
+    /**
+     * Default maximum number of threads of the asynchronous calls
+     */
+    public static final int DEFAULT_ASYNC_MAX_THREADS = 20;
+
+    private static final long ASYNC_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private static final String ASYNC_THREAD_NAME_PREFIX = "coffee-apache-http-";
+
+    private static final Logger LOGGER = Logger.getLogger(ApacheHttpClientPool.class);
+
+    @Inject
+    private IMetricsHandler metricsHandler;
+
+    @Resource
+    private ManagedExecutorService managedExecutorService;
+
+    private boolean enabled;
+
+    private int maxTotal;
+
+    private int maxPerRoute;
+
+    private long keepAliveMillis;
+
+    private long idleTimeoutMillis;
+
+    private int validateAfterInactivityMillis;
+
+    private int asyncMaxThreads;
+
+    private final Map<String, CloseableHttpClient> clients = new ConcurrentHashMap<>();
+
+    private ExecutorService asyncExecutor;
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public ApacheHttpClientPool() {
+        super();
+    }
+
+    /**
+     * Reads the config
+     */
+    @PostConstruct
+    public void init() {
+        Config config = ConfigProvider.getConfig();
+        enabled = config.getOptionalValue(ENABLED, Boolean.class).orElse(Boolean.FALSE);
+        maxTotal = config.getOptionalValue(MAX_TOTAL, Integer.class).orElse(DEFAULT_MAX_TOTAL);
+        maxPerRoute = config.getOptionalValue(MAX_PER_ROUTE, Integer.class).orElse(DEFAULT_MAX_PER_ROUTE);
+        keepAliveMillis = config.getOptionalValue(KEEP_ALIVE_MILLIS, Long.class).orElse(DEFAULT_KEEP_ALIVE_MILLIS);
+        idleTimeoutMillis = config.getOptionalValue(IDLE_TIMEOUT_MILLIS, Long.class).orElse(DEFAULT_IDLE_TIMEOUT_MILLIS);
+        validateAfterInactivityMillis = config.getOptionalValue(VALIDATE_AFTER_INACTIVITY_MILLIS, Integer.class)
+                .orElse(DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS);
+        asyncMaxThreads = Math.max(1, config.getOptionalValue(ASYNC_MAX_THREADS, Integer.class).orElse(DEFAULT_ASYNC_MAX_THREADS));
+    }
+
+    /**
+     * Closes the pooled clients and stops the own executor of the asynchronous calls (the {@link ManagedExecutorService} is stopped by the
+     * container)
+     */
+    @PreDestroy
+    public void close() {
+        for (Map.Entry<String, CloseableHttpClient> client : clients.entrySet()) {
+            try {
+                client.getValue().close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close pooled http client [{0}]: [{1}]", client.getKey(), e.getLocalizedMessage());
+            }
+        }
+        clients.clear();
+        synchronized (this) {
+            if (asyncExecutor != null) {
+                asyncExecutor.shutdown();
+                asyncExecutor = null;
+            }
+        }
+    }
+
+    /**
+     * Connection pooling is enabled
+     *
+     * @return {@code true} if {@value #ENABLED} is set to true
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the pooled client of the name
+     *
+     * @param name
+     *            client name
+     * @return pooled client, or {@code null} if it is not created yet
+     */
+    public CloseableHttpClient getClient(String name) {
+        return clients.get(name);
+    }
+
+    /**
+     * Creates the pooled client of the name, if it is not created yet. The connection manager, keep-alive strategy and idle connection
+     * eviction of the builder are overwritten, so the SSL settings has to be set in the {@code socketFactoryRegistry}.
+     *
+     * @param name
+     *            client name
+     * @param builder
+     *            client builder with the client settings
+     * @param socketFactoryRegistry
+     *            socket factories of the connection manager
+     * @return pooled client of the name
+     */
+    public synchronized CloseableHttpClient createClient(String name, HttpClientBuilder builder,
+            Registry<ConnectionSocketFactory> socketFactoryRegistry) {
+        CloseableHttpClient client = clients.get(name);
+        if (client != null) {
+            return client;
+        }
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMillis);
+        client = builder.setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(createKeepAliveStrategy())
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS)
+                .build();
+        clients.put(name, client);
+        addGauges(name, connectionManager);
+        LOGGER.info("Pooled http client [{0}] created, maxTotal: [{1}], maxPerRoute: [{2}]", name, maxTotal, maxPerRoute);
+        return client;
+    }
+
+    /**
+     * Returns the executor of the asynchronous calls: the {@link ManagedExecutorService} of the container if it is available, otherwise an own
+     * thread pool of at most {@value #ASYNC_MAX_THREADS} threads, the further calls wait in its queue. The own pool is stopped by
+     * {@link #close()}.
+     *
+     * @return executor of the asynchronous calls
+     */
+    public synchronized ExecutorService getAsyncExecutor() {
+        if (managedExecutorService != null) {
+            return managedExecutorService;
+        }
+        if (asyncExecutor == null) {
+            LOGGER.warn("ManagedExecutorService is not available, the asynchronous calls run in own pool of [{0}] unmanaged threads",
+                    asyncMaxThreads);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(asyncMaxThreads, asyncMaxThreads, ASYNC_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), createPlatformThreadFactory());
+            executor.allowCoreThreadTimeOut(true);
+            asyncExecutor = executor;
+        }
+        return asyncExecutor;
+    }
+
+    private ConnectionKeepAliveStrategy createKeepAliveStrategy() {
+        return (response, context) -> {
+            // the Keep-Alive timeout of the server has priority
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : keepAliveMillis;
+        };
+    }
+
+    private void addGauges(String name, PoolingHttpClientConnectionManager connectionManager) {
+        MetricTag clientTag = new MetricTag(ApacheHttpClientMetricsConstants.Tag.COFFEE_APACHE_HTTP_CLIENT, name);
+        metricsHandler.addGauge(ApacheHttpClientMetricsConstants.Gauge.COFFEE_APACHE_HTTP_POOL_LEASED,
+                ApacheHttpClientMetricsConstants.Description.COFFEE_APACHE_HTTP_POOL_LEASED_DESCRIPTION,
+                () -> connectionManager.getTotalStats().getLeased(), clientTag);
+        metricsHandler.addGauge(ApacheHttpClientMetricsConstants.Gauge.COFFEE_APACHE_HTTP_POOL_AVAILABLE,
+                ApacheHttpClientMetricsConstants.Description.COFFEE_APACHE_HTTP_POOL_AVAILABLE_DESCRIPTION,
+                () -> connectionManager.getTotalStats().getAvailable(), clientTag);
+        metricsHandler.addGauge(ApacheHttpClientMetricsConstants.Gauge.COFFEE_APACHE_HTTP_POOL_PENDING,
+                ApacheHttpClientMetricsConstants.Description.COFFEE_APACHE_HTTP_POOL_PENDING_DESCRIPTION,
+                () -> connectionManager.getTotalStats().getPending(), clientTag);
+        metricsHandler.addGauge(ApacheHttpClientMetricsConstants.Gauge.COFFEE_APACHE_HTTP_POOL_MAX,
+                ApacheHttpClientMetricsConstants.Description.COFFEE_APACHE_HTTP_POOL_MAX_DESCRIPTION,
+                () -> connectionManager.getTotalStats().getMax(), clientTag);
+    }
+
+    private static ThreadFactory createPlatformThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, ASYNC_THREAD_NAME_PREFIX + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
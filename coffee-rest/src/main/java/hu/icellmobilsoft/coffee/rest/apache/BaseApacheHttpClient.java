@@ -20,14 +20,22 @@
 package hu.icellmobilsoft.coffee.rest.apache;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.inject.Inject;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Consts;
@@ -41,8 +49,14 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
@@ -50,11 +64,17 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import hu.icellmobilsoft.coffee.dto.exception.TechnicalException;
 import hu.icellmobilsoft.coffee.dto.exception.enums.CoffeeFaultType;
 import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+import hu.icellmobilsoft.coffee.se.function.BaseExceptionSupplier;
 import hu.icellmobilsoft.coffee.se.logging.Logger;
+import hu.icellmobilsoft.coffee.se.logging.mdc.MDC;
 import hu.icellmobilsoft.coffee.tool.gson.JsonUtil;
 
 /**
- * BaseApacheHttpClient class.
+ * BaseApacheHttpClient class.<br>
+ * <br>
+ * If connection pooling is enabled (see {@link ApacheHttpClientPool}), one pooled client is created for the implementation and the connections
+ * are reused between the calls, otherwise a new client is created for each call. The {@code sendClientBase*Async} methods send the request on
+ * the executor of {@link ApacheHttpClientPool}, or on the executor of an overridden {@link #getAsyncExecutor()}.
  *
  * @author ischeffer
  * @since 1.0.0
@@ -77,6 +97,11 @@ public class BaseApacheHttpClient {
     /** "application/json" */
     public final static String APPLICATION_JSON = "application/json";
 
+    private static final String WELD_PROXY_CLASS_NAME_SEPARATOR = "$Proxy$";
+
+    @Inject
+    private ApacheHttpClientPool httpClientPool;
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -129,6 +154,101 @@ public class BaseApacheHttpClient {
         return HttpClientBuilder.create().setDefaultRequestConfig(requestConfig);
     }
 
+    /**
+     * Returns the http client of the call. If connection pooling is enabled ({@value ApacheHttpClientPool#ENABLED}), the pooled client of
+     * {@link #getHttpClientName()} is returned, which is created once with {@link #createHttpClientBuilder(RequestConfig)} and
+     * {@link #createSocketFactoryRegistry()}. Otherwise a new client is created for each call.
+     *
+     * @return http client
+     * @throws BaseException
+     *             if any exception occurs
+     * @since 2.8.0
+     */
+    protected CloseableHttpClient getHttpClient() throws BaseException {
+        ApacheHttpClientPool pool = getHttpClientPool();
+        if (pool == null || !pool.isEnabled()) {
+            return createHttpClientBuilder(createRequestConfig().build()).build();
+        }
+        String name = getHttpClientName();
+        CloseableHttpClient client = pool.getClient(name);
+        if (client == null) {
+            client = pool.createClient(name, createHttpClientBuilder(createRequestConfig().build()), createSocketFactoryRegistry());
+        }
+        return client;
+    }
+
+    /**
+     * Name of the pooled client, the implementations with the same name share the pooled client.
+     *
+     * @return implementation class name by default
+     * @since 2.8.0
+     */
+    protected String getHttpClientName() {
+        return StringUtils.substringBefore(getClass().getName(), WELD_PROXY_CLASS_NAME_SEPARATOR);
+    }
+
+    /**
+     * Creates the socket factories of the pooled connection manager. The connection manager of the pooled client is not created by
+     * {@link HttpClientBuilder}, so the SSL settings of {@link #createHttpClientBuilder(RequestConfig)} are not applied, they have to be set
+     * here.
+     *
+     * @return socket factories for http and https by default
+     * @throws BaseException
+     *             if any exception occurs
+     * @since 2.8.0
+     */
+    protected Registry<ConnectionSocketFactory> createSocketFactoryRegistry() throws BaseException {
+        return RegistryBuilder.<ConnectionSocketFactory> create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSLConnectionSocketFactory.getSocketFactory())
+                .build();
+    }
+
+    /**
+     * Sends the request asynchronously, on the executor of {@link #getAsyncExecutor()}. The MDC values of the calling thread are copied to the
+     * executor thread.
+     *
+     * @param <T>
+     *            response type
+     * @param call
+     *            sends the request
+     * @return response future, completed exceptionally with {@link CompletionException} wrapping the {@link BaseException} of the call, or
+     *         wrapping {@link TechnicalException} if there is no executor
+     * @since 2.8.0
+     */
+    protected <T> CompletableFuture<T> sendAsync(BaseExceptionSupplier<T> call) {
+        Executor executor = getAsyncExecutor();
+        if (executor == null) {
+            // the common ForkJoinPool is not used, its threads are shared by the whole JVM and not managed by the container
+            return CompletableFuture.failedFuture(new CompletionException(new TechnicalException(CoffeeFaultType.OPERATION_FAILED,
+                    "No executor for the asynchronous call, ApacheHttpClientPool is not available and getAsyncExecutor() is not overridden")));
+        }
+        Map<String, String> currentMdc = MDC.getMap();
+        Map<String, String> mdc = currentMdc == null ? Map.of() : new HashMap<>(currentMdc);
+        Supplier<T> task = () -> {
+            mdc.forEach(MDC::put);
+            try {
+                return call.get();
+            } catch (BaseException e) {
+                throw new CompletionException(e);
+            } finally {
+                MDC.clear();
+            }
+        };
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Executor of the asynchronous calls.
+     *
+     * @return the executor of {@link ApacheHttpClientPool}, or {@code null} if the pool is not available (the instance is not created by CDI)
+     * @since 2.8.0
+     */
+    protected Executor getAsyncExecutor() {
+        ApacheHttpClientPool pool = getHttpClientPool();
+        return pool == null ? null : pool.getAsyncExecutor();
+    }
+
     /**
      * Send http GET request.
      *
@@ -142,8 +262,7 @@ public class BaseApacheHttpClient {
         HttpGet get = new HttpGet(url);
         // HttpClient client = new ContentEncodingHttpClient();
 
-        RequestConfig config = createRequestConfig().build();
-        CloseableHttpClient client = createHttpClientBuilder(config).build();
+        CloseableHttpClient client = getHttpClient();
 
         // SSL handling
         handleSSL(client, get.getURI());
@@ -193,8 +312,7 @@ public class BaseApacheHttpClient {
         HttpPost post = new HttpPost(url);
         // HttpClient client = new ContentEncodingHttpClient();
 
-        RequestConfig config = createRequestConfig().build();
-        CloseableHttpClient client = createHttpClientBuilder(config).build();
+        CloseableHttpClient client = getHttpClient();
 
         // SSL handling
         handleSSL(client, post.getURI());
@@ -238,8 +356,7 @@ public class BaseApacheHttpClient {
         HttpPost post = new HttpPost(url);
         // HttpClient client = new ContentEncodingHttpClient();
 
-        RequestConfig config = createRequestConfig().build();
-        CloseableHttpClient client = createHttpClientBuilder(config).build();
+        CloseableHttpClient client = getHttpClient();
 
         // SSL handling
         handleSSL(client, post.getURI());
@@ -263,6 +380,48 @@ public class BaseApacheHttpClient {
         }
     }
 
+    /**
+     * Send http POST request with streamed entity. The entity is sent chunked while it is read from {@code request}, it is not buffered
+     * and not logged.
+     *
+     * @param url
+     *            URL
+     * @param contentType
+     *            content type
+     * @param request
+     *            entity stream, it is read until the end and closed by the client
+     * @return {@link HttpResponse}
+     * @throws BaseException
+     *             if any exception occurs
+     * @since 2.8.0
+     */
+    public HttpResponse sendClientBasePost(String url, ContentType contentType, InputStream request) throws BaseException {
+
+        HttpPost post = new HttpPost(url);
+
+        CloseableHttpClient client = getHttpClient();
+
+        // SSL handling
+        handleSSL(client, post.getURI());
+
+        // add header
+        post.setHeader(HttpHeaders.CONTENT_TYPE, contentType.getMimeType());
+
+        try {
+            post.setEntity(new InputStreamEntity(request, contentType));
+            // Modification option
+            beforePost(post);
+            // We log the request
+            logRequest(post, "<stream>");
+            // We send it
+            return client.execute(post);
+        } catch (ClientProtocolException e) {
+            throw new TechnicalException(CoffeeFaultType.OPERATION_FAILED, "HTTP protocol exception: " + e.getLocalizedMessage(), e);
+        } catch (IOException e) {
+            throw new TechnicalException(CoffeeFaultType.OPERATION_FAILED, "IOException in call: " + e.getLocalizedMessage(), e);
+        }
+    }
+
     /**
      * Method called before http PUT.
      *
@@ -293,8 +452,7 @@ public class BaseApacheHttpClient {
         HttpPut put = new HttpPut(url);
         // HttpClient client = new ContentEncodingHttpClient();
 
-        RequestConfig config = createRequestConfig().build();
-        CloseableHttpClient client = createHttpClientBuilder(config).build();
+        CloseableHttpClient client = getHttpClient();
 
         // SSL handling
         handleSSL(client, put.getURI());
@@ -338,8 +496,7 @@ public class BaseApacheHttpClient {
         HttpPut put = new HttpPut(url);
         // HttpClient client = new ContentEncodingHttpClient();
 
-        RequestConfig config = createRequestConfig().build();
-        CloseableHttpClient client = createHttpClientBuilder(config).build();
+        CloseableHttpClient client = getHttpClient();
 
         // SSL handling
         handleSSL(client, put.getURI());
@@ -363,6 +520,48 @@ public class BaseApacheHttpClient {
         }
     }
 
+    /**
+     * Send http PUT request with streamed entity. The entity is sent chunked while it is read from {@code request}, it is not buffered
+     * and not logged.
+     *
+     * @param url
+     *            URL
+     * @param contentType
+     *            content type
+     * @param request
+     *            entity stream, it is read until the end and closed by the client
+     * @return {@link HttpResponse}
+     * @throws BaseException
+     *             if any exception occurs
+     * @since 2.8.0
+     */
+    public HttpResponse sendClientBasePut(String url, ContentType contentType, InputStream request) throws BaseException {
+
+        HttpPut put = new HttpPut(url);
+
+        CloseableHttpClient client = getHttpClient();
+
+        // SSL handling
+        handleSSL(client, put.getURI());
+
+        // add header
+        put.setHeader(HttpHeaders.CONTENT_TYPE, contentType.getMimeType());
+
+        try {
+            put.setEntity(new InputStreamEntity(request, contentType));
+            // Modification option
+            beforePut(put);
+            // We log the request
+            logRequest(put, "<stream>");
+            // We send it
+            return client.execute(put);
+        } catch (ClientProtocolException e) {
+            throw new TechnicalException(CoffeeFaultType.OPERATION_FAILED, "HTTP protocol exception: " + e.getLocalizedMessage(), e);
+        } catch (IOException e) {
+            throw new TechnicalException(CoffeeFaultType.OPERATION_FAILED, "IOException in call: " + e.getLocalizedMessage(), e);
+        }
+    }
+
     /**
      * Method called before http DELETE.
      *
@@ -389,8 +588,7 @@ public class BaseApacheHttpClient {
         HttpDelete delete = new HttpDelete(url);
         // HttpClient client = new ContentEncodingHttpClient();
 
-        RequestConfig config = createRequestConfig().build();
-        CloseableHttpClient client = createHttpClientBuilder(config).build();
+        CloseableHttpClient client = getHttpClient();
 
         // SSL handling
         handleSSL(client, delete.getURI());
@@ -409,6 +607,62 @@ public class BaseApacheHttpClient {
         }
     }
 
+    /**
+     * Send http GET request asynchronously, see {@link #sendAsync(BaseExceptionSupplier)}.
+     *
+     * @param url
+     *            URL
+     * @return {@link HttpResponse} future
+     * @since 2.8.0
+     */
+    public CompletableFuture<HttpResponse> sendClientBaseGetAsync(String url) {
+        return sendAsync(() -> sendClientBaseGet(url));
+    }
+
+    /**
+     * Send http POST request asynchronously, see {@link #sendAsync(BaseExceptionSupplier)}.
+     *
+     * @param url
+     *            URL
+     * @param contentType
+     *            content type
+     * @param entityObject
+     *            entity to POST
+     * @return {@link HttpResponse} future
+     * @since 2.8.0
+     */
+    public CompletableFuture<HttpResponse> sendClientBasePostAsync(String url, ContentType contentType, Object entityObject) {
+        return sendAsync(() -> sendClientBasePost(url, contentType, entityObject));
+    }
+
+    /**
+     * Send http PUT request asynchronously, see {@link #sendAsync(BaseExceptionSupplier)}.
+     *
+     * @param url
+     *            URL
+     * @param contentType
+     *            content type
+     * @param entityObject
+     *            entity to PUT
+     * @return {@link HttpResponse} future
+     * @since 2.8.0
+     */
+    public CompletableFuture<HttpResponse> sendClientBasePutAsync(String url, ContentType contentType, Object entityObject) {
+        return sendAsync(() -> sendClientBasePut(url, contentType, entityObject));
+    }
+
+    /**
+     * Send http DELETE request asynchronously, see {@link #sendAsync(BaseExceptionSupplier)}.
+     *
+     * @param url
+     *            URL
+     * @return {@link HttpResponse} future
+     * @since 2.8.0
+     */
+    public CompletableFuture<HttpResponse> sendClientBaseDeleteAsync(String url) {
+        return sendAsync(() -> sendClientBaseDelete(url));
+    }
+
     /**
      * Adds param with given key and value to given map.
      *
@@ -577,4 +831,16 @@ public class BaseApacheHttpClient {
         }
         return entityString;
     }
+
+    private ApacheHttpClientPool getHttpClientPool() {
+        if (httpClientPool == null) {
+            // the instance is not created by CDI
+            try {
+                httpClientPool = CDI.current().select(ApacheHttpClientPool.class).get();
+            } catch (IllegalStateException e) {
+                LOGGER.debug("CDI is not available, http client pool is not used: [{0}]", e.getLocalizedMessage());
+            }
+        }
+        return httpClientPool;
+    }
 }
@@ -21,6 +21,9 @@ package hu.icellmobilsoft.coffee.rest.log.optimized;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import hu.icellmobilsoft.coffee.tool.utils.date.DateUtil;
 import jakarta.inject.Inject;
@@ -46,6 +49,9 @@ import hu.icellmobilsoft.coffee.rest.log.annotation.LogSpecifier;
 import hu.icellmobilsoft.coffee.rest.log.annotation.enumeration.LogSpecifierTarget;
 import hu.icellmobilsoft.coffee.rest.utils.RestLoggerUtil;
 import hu.icellmobilsoft.coffee.se.logging.mdc.MDC;
+import hu.icellmobilsoft.coffee.tool.utils.stream.AsyncLogRecord;
+import hu.icellmobilsoft.coffee.tool.utils.stream.AsyncLogWriter;
+import hu.icellmobilsoft.coffee.tool.utils.stream.LoggingPublisher;
 import hu.icellmobilsoft.coffee.tool.utils.stream.RequestLoggerInputStream;
 import hu.icellmobilsoft.coffee.tool.utils.stream.ResponseEntityCollectorOutputStream;
 import hu.icellmobilsoft.coffee.tool.utils.string.RandomUtil;
@@ -69,6 +75,12 @@ public abstract class BaseRestLogger implements ContainerRequestFilter, WriterIn
     @Inject
     private @Named("optimized_RequestResponseLogger") RequestResponseLogger requestResponseLogger;
 
+    @Inject
+    private LoggingPublisher loggingPublisher;
+
+    @Inject
+    private AsyncLogWriter asyncLogWriter;
+
     @Context
     private UriInfo uriInfo;
 
@@ -111,8 +123,10 @@ public abstract class BaseRestLogger implements ContainerRequestFilter, WriterIn
         appendRequestLine(logMessage, requestContext);
         appendRequestHeaders(logMessage, requestContext);
 
-        if (!requestContext.hasEntity() || requestContext.getLength() <= 0) {
+        if (!requestContext.hasEntity()) {
+            // nothing to read, the stream is not wrapped, otherwise closing it would log the request again
             log.info(logMessage.toString());
+            return;
         }
 
         int maxRequestEntityLogSize = requestResponseLogger.getMaxRequestEntityLogSize(requestContext);
@@ -121,9 +135,11 @@ public abstract class BaseRestLogger implements ContainerRequestFilter, WriterIn
                 requestContext.getEntityStream(),
                 maxRequestEntityLogSize,
                 RequestResponseLogger.REQUEST_PREFIX,
-                logMessage);
+                logMessage,
+                loggingPublisher);
 
-        // We set our own InputStream in the context, which will log the request when reading the entity stream
+        // We set our own InputStream in the context, which will log the request when reading the entity stream (also with unknown length, e.g.
+        // chunked), at the latest when the stream is closed
         requestContext.setEntityStream(requestLoggerInputStream);
     }
 
@@ -141,6 +157,10 @@ public abstract class BaseRestLogger implements ContainerRequestFilter, WriterIn
             context.proceed();
             return;
         }
+        if (asyncLogWriter.isEnabled()) {
+            processResponseAsync(context);
+            return;
+        }
 
         StringBuilder message = new StringBuilder();
         try {
@@ -166,6 +186,47 @@ public abstract class BaseRestLogger implements ContainerRequestFilter, WriterIn
         }
     }
 
+    /**
+     * Processes HTTP response with the {@link AsyncLogWriter}. On the request thread only the response line data, a copy of the header map and
+     * the entity bytes until the log limit are collected, the formatting and masking runs on the writer thread.
+     *
+     * @param context
+     *            context
+     * @throws IOException
+     *             if response cannot be processed.
+     */
+    @SuppressWarnings("Var")
+    protected void processResponseAsync(WriterInterceptorContext context) throws IOException {
+        String fullPath = uriInfo.getAbsolutePath().toASCIIString();
+        int status = httpServletResponse.getStatus();
+        Status statusEnum = Status.fromStatusCode(status);
+        String statusInfo = String.valueOf(statusEnum != null ? statusEnum.getReasonPhrase() : null);
+        MediaType mediaType = context.getMediaType();
+        Map<String, List<Object>> headers = new HashMap<>(context.getHeaders());
+
+        byte[] entity = new byte[0];
+        try {
+            int maxResponseEntityLogSize = requestResponseLogger.getMaxResponseEntityLogSize(context);
+            if (maxResponseEntityLogSize != LogSpecifier.NO_LOG) {
+                var responseEntityCollectorOutputStream = new ResponseEntityCollectorOutputStream(context.getOutputStream(),
+                        maxResponseEntityLogSize);
+                context.setOutputStream(responseEntityCollectorOutputStream);
+                try {
+                    context.proceed();
+                } finally {
+                    entity = responseEntityCollectorOutputStream.getEntity();
+                }
+            } else {
+                context.proceed();
+            }
+        } finally {
+            byte[] entityCopy = entity;
+            asyncLogWriter.write(AsyncLogRecord.of(getClass(), () -> requestResponseLogger.printResponseLine(fullPath, status, statusInfo,
+                    String.valueOf(mediaType)) + requestResponseLogger.printResponseHeaders(headers)
+                    + requestResponseLogger.printResponseEntity(fullPath, mediaType, entityCopy)));
+        }
+    }
+
     /**
      * The name of the session key appearing in the HTTP headers. 
      * The logger will look for this key in the HTTP headers and use its value in the <code>MDC.put(LogConstants.LOG_SESSION_ID, value)</code> section.<br>
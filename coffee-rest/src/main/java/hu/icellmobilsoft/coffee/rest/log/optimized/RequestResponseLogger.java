@@ -451,11 +451,26 @@ public class RequestResponseLogger {
      * @return response
      */
     public String printResponseEntity(String fullPath, WriterInterceptorContext writerInterceptorContext, byte[] entityCopy) {
-        StringBuffer sb = new StringBuffer();
         if (writerInterceptorContext == null) {
-            return sb.toString();
+            return "";
         }
-        MediaType mediaType = writerInterceptorContext.getMediaType();
+        return printResponseEntity(fullPath, writerInterceptorContext.getMediaType(), entityCopy);
+    }
+
+    /**
+     * Print response entity. Printing is disabled in some stream situation.
+     *
+     * @param fullPath
+     *            URL path
+     * @param mediaType
+     *            media type of the response
+     * @param entityCopy
+     *            entity
+     * @return response
+     * @since 2.8.0
+     */
+    public String printResponseEntity(String fullPath, MediaType mediaType, byte[] entityCopy) {
+        StringBuffer sb = new StringBuffer();
         if (skipLoggingForPathOrMediaType(fullPath, mediaType)) {
             sb.append(RequestResponseLogger.RESPONSE_PREFIX)
                     .append("Response outputstream logging disabled, because MediaType: [" + mediaType + "]\n");
@@ -51,7 +51,8 @@ import hu.icellmobilsoft.coffee.tool.gson.JsonUtil;
 
 /**
  * Extending the JSON-based implementation of XML/XSD.<br>
- * Its operation is based on generating a DTO class from the JSON inputStream, and then its values are sent to a validation XML marshaller.
+ * Its operation is based on generating a DTO class from the JSON inputStream, and then its values are sent to a validation XML marshaller, which
+ * feeds the schema validator directly, without creating XML text.
  *
  * <pre>
  * &#64;Provider
@@ -109,7 +110,7 @@ public abstract class JsonMessageBodyReaderBase<T> implements MessageBodyReader<
             T obj = deserializeJson(type, getCharsetOrUTF8(httpHeaders), entityStream);
             String requestVersion = readRequestVersion(obj);
             String schemaPath = jaxbTool.getXsdPath(validates, requestVersion);
-            jaxbTool.marshalXML(obj, schemaPath);
+            jaxbTool.validateXML(obj, schemaPath);
             return obj;
         } catch (BaseException e) {
             throw new BaseProcessingExceptionWrapper(e);
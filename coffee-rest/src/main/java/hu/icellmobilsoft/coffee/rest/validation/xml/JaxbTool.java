@@ -21,15 +21,21 @@ package hu.icellmobilsoft.coffee.rest.validation.xml;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.validation.Schema;
+
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Model;
 import jakarta.enterprise.inject.spi.CDI;
@@ -43,6 +49,7 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.w3c.dom.ls.LSResourceResolver;
 import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
 import hu.icellmobilsoft.coffee.cdi.annotation.xml.ValidateXML;
 import hu.icellmobilsoft.coffee.dto.exception.InvalidParameterException;
@@ -53,9 +60,13 @@ import hu.icellmobilsoft.coffee.rest.validation.xml.utils.IXsdHelper;
 import hu.icellmobilsoft.coffee.rest.validation.xml.utils.IXsdResourceResolver;
 import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
 import hu.icellmobilsoft.coffee.tool.utils.annotation.RangeUtil;
+import hu.icellmobilsoft.coffee.tool.utils.marshalling.JaxbObjectPool;
 
 /**
  * JAXB (un)marshaller and JAXB-related operations
+ * <p>
+ * The {@link Marshaller} and {@link Unmarshaller} instances are pooled by {@link JaxbObjectPool}, keyed by the {@link JAXBContext}, the
+ * {@link Schema} (both cached by {@link IXsdHelper}) and the marshaller properties.
  *
  * @author attila.nyers
  * @author ferenc.lutischan
@@ -69,6 +80,11 @@ public class JaxbTool {
 
     private static final String ERR_MSG_TYPE_OR_BINARY_IS_NULL_OR_EMPTY = "type or binary is null or empty!";
 
+    private static final JaxbObjectPool<Marshaller> MARSHALLER_POOL = new JaxbObjectPool<>();
+    private static final JaxbObjectPool<Unmarshaller> UNMARSHALLER_POOL = new JaxbObjectPool<>();
+
+    private IXsdHelper xsdHelper;
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -209,22 +225,52 @@ public class JaxbTool {
         if (type == null || inputStream == null) {
             throw new InvalidParameterException("type or inputStream is null!");
         }
+        return unmarshal(type, schemaPath, unmarshaller -> unmarshaller.unmarshal(inputStream));
+    }
+
+    /**
+     * Converting XML into an object with schema validation, reading from {@link XMLStreamReader}. It can be used to unmarshal an element of a
+     * bigger XML document without reading the whole document into memory. The reader is not closed.
+     *
+     * @param <T>
+     *            Returning type
+     * @param type
+     *            Type of class representing an XML object
+     * @param reader
+     *            reader positioned on the element to unmarshal
+     * @param schemaPath
+     *            Schema path, if blank, then validation is not executed
+     * @return An object corresponding to the XML with the read values.
+     * @throws BaseException
+     *             In case of invalid input, or if the input data cannot be processed
+     * @since 2.8.0
+     */
+    public <T> T unmarshalXML(Class<T> type, XMLStreamReader reader, String schemaPath) throws BaseException {
+        if (type == null || reader == null) {
+            throw new InvalidParameterException("type or reader is null!");
+        }
+        return unmarshal(type, schemaPath, unmarshaller -> unmarshaller.unmarshal(reader, type).getValue());
+    }
+
+    private <T> T unmarshal(Class<T> type, String schemaPath, UnmarshalSource source) throws BaseException {
         IXsdValidationErrorCollector errorCollector = createCDIInstance(IXsdValidationErrorCollector.class);
         try {
-            IXsdHelper xsdHelper = createCDIInstance(IXsdHelper.class);
-            JAXBContext jaxbContext = xsdHelper.getJAXBContext(type);
-            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-            unmarshaller.setEventHandler(errorCollector);
-            // if schemaPath is empty -> no validation, only conversion
-            if (StringUtils.isNotBlank(schemaPath)) {
-                unmarshaller.setSchema(xsdHelper.getSchema(schemaPath, createLSResourceResolverInstance(schemaPath)));
+            JAXBContext jaxbContext = getXsdHelper().getJAXBContext(type);
+            Schema schema = getSchema(schemaPath);
+            List<Object> key = Arrays.asList(jaxbContext, schema);
+            Unmarshaller unmarshaller = UNMARSHALLER_POOL.poll(key);
+            if (unmarshaller == null) {
+                unmarshaller = jaxbContext.createUnmarshaller();
+                unmarshaller.setSchema(schema);
             }
+            unmarshaller.setEventHandler(errorCollector);
             @SuppressWarnings("unchecked")
-            T result = (T) unmarshaller.unmarshal(inputStream);
+            T result = (T) source.unmarshal(unmarshaller);
+            unmarshaller.setEventHandler(null);
             if (!errorCollector.getErrors().isEmpty()) {
                 throw new XsdProcessingException(errorCollector.getErrors(), null);
             }
-
+            UNMARSHALLER_POOL.release(key, unmarshaller);
             return result;
         } catch (UnmarshalException e) {
             // The default parser terminates the process on the first FATAL_ERROR with an exception throw.
@@ -350,39 +396,158 @@ public class JaxbTool {
         if (obj == null) {
             throw new InvalidParameterException("obj is null!");
         }
+        StringWriter stringWriter = new StringWriter();
+        marshal(obj, schemaPath, marshallerProperties, marshaller -> marshaller.marshal(obj, stringWriter), additionalClasses);
+        return stringWriter.getBuffer().toString();
+    }
+
+    /**
+     * Marshals given XML {@link Object} directly to {@link OutputStream}, without creating XML {@link String}. <br>
+     * Sets the same fix parameters for the conversion as {@link #marshalXML(Object, String)}. The stream is not closed.
+     *
+     * @param obj
+     *            XML {@code Object}
+     * @param schemaPath
+     *            path to XSD or catalog to validate on, if null, then validation is not executed
+     * @param outputStream
+     *            target stream
+     * @throws BaseException
+     *             if invalid input or cannot be marshalled
+     * @since 2.8.0
+     */
+    public void marshalXML(Object obj, String schemaPath, OutputStream outputStream) throws BaseException {
+        marshalXML(obj, schemaPath, defaultMarshallerProperties(), outputStream);
+    }
+
+    /**
+     * Marshals given XML {@link Object} directly to {@link OutputStream} with given parameters, without creating XML {@link String}. The
+     * stream is not closed.
+     *
+     * @param obj
+     *            XML {@code Object}
+     * @param schemaPath
+     *            path to XSD or catalog to validate on, if null, then validation is not executed
+     * @param marshallerProperties
+     *            marshaller properties
+     * @param outputStream
+     *            target stream
+     * @throws BaseException
+     *             if invalid input or cannot be marshalled
+     * @since 2.8.0
+     */
+    public void marshalXML(Object obj, String schemaPath, Map<String, Object> marshallerProperties, OutputStream outputStream)
+            throws BaseException {
+        if (obj == null || outputStream == null) {
+            throw new InvalidParameterException("obj or outputStream is null!");
+        }
+        marshal(obj, schemaPath, marshallerProperties, marshaller -> marshaller.marshal(obj, outputStream));
+    }
+
+    /**
+     * Marshals given XML {@link Object} to {@link XMLStreamWriter}, for example to embed it in a bigger XML document. <br>
+     * Sets the same fix parameters for the conversion as {@link #marshalXML(Object, String)}. The writer is not flushed or closed.
+     *
+     * @param obj
+     *            XML {@code Object}
+     * @param schemaPath
+     *            path to XSD or catalog to validate on, if null, then validation is not executed
+     * @param writer
+     *            target writer
+     * @throws BaseException
+     *             if invalid input or cannot be marshalled
+     * @since 2.8.0
+     */
+    public void marshalXML(Object obj, String schemaPath, XMLStreamWriter writer) throws BaseException {
+        if (obj == null || writer == null) {
+            throw new InvalidParameterException("obj or writer is null!");
+        }
+        marshal(obj, schemaPath, defaultMarshallerProperties(), marshaller -> marshaller.marshal(obj, writer));
+    }
+
+    /**
+     * Validates given XML {@link Object} against the schema, without creating XML text. The object is marshalled directly to the schema
+     * validator as SAX events, the errors are the same as the errors of {@link #marshalXML(Object, String)}.
+     *
+     * @param obj
+     *            XML {@code Object}
+     * @param schemaPath
+     *            path to XSD or catalog to validate on, if blank, then validation is not executed
+     * @param additionalClasses
+     *            these classes will be added to the {@link JAXBContext}. Typically in case of 'Class not known to this context' errors.
+     * @throws BaseException
+     *             if invalid input, the object is not valid or cannot be marshalled
+     * @since 2.8.0
+     */
+    public void validateXML(Object obj, String schemaPath, Class<?>... additionalClasses) throws BaseException {
+        if (obj == null) {
+            throw new InvalidParameterException("obj is null!");
+        }
+        if (StringUtils.isBlank(schemaPath)) {
+            return;
+        }
+        // the validator gets the SAX events, the output is discarded
+        marshal(obj, schemaPath, null, marshaller -> marshaller.marshal(obj, new DefaultHandler()), additionalClasses);
+    }
+
+    private void marshal(Object obj, String schemaPath, Map<String, Object> marshallerProperties, MarshalTarget target,
+            Class<?>... additionalClasses) throws BaseException {
+        IXsdValidationErrorCollector errorCollector = createCDIInstance(IXsdValidationErrorCollector.class);
         try {
-            IXsdHelper xsdHelper = createCDIInstance(IXsdHelper.class);
-            JAXBContext jaxbContext;
-            if (additionalClasses != null && additionalClasses.length != 0) {
-                List<Class<?>> contextClasses = new ArrayList<>(Arrays.asList(additionalClasses));
-                contextClasses.add(obj.getClass());
-                jaxbContext = xsdHelper.getJAXBContext(contextClasses.toArray(new Class<?>[0]));
-            } else {
-                jaxbContext = xsdHelper.getJAXBContext(obj.getClass());
-            }
-            Marshaller marshaller = jaxbContext.createMarshaller();
-            if (marshallerProperties != null) {
-                for (Entry<String, Object> entry : marshallerProperties.entrySet()) {
+            JAXBContext jaxbContext = getJAXBContext(obj, additionalClasses);
+            Schema schema = getSchema(schemaPath);
+            Map<String, Object> properties = marshallerProperties == null ? Collections.emptyMap() : new HashMap<>(marshallerProperties);
+            List<Object> key = Arrays.asList(jaxbContext, schema, properties);
+            Marshaller marshaller = MARSHALLER_POOL.poll(key);
+            if (marshaller == null) {
+                marshaller = jaxbContext.createMarshaller();
+                for (Entry<String, Object> entry : properties.entrySet()) {
                     marshaller.setProperty(entry.getKey(), entry.getValue());
                 }
+                marshaller.setSchema(schema);
             }
-            IXsdValidationErrorCollector errorCollector = createCDIInstance(IXsdValidationErrorCollector.class);
             marshaller.setEventHandler(errorCollector);
-            // if schemaPath is empty -> no validation, only conversion
-            if (StringUtils.isNotBlank(schemaPath)) {
-                marshaller.setSchema(xsdHelper.getSchema(schemaPath, createLSResourceResolverInstance(schemaPath)));
-            }
-            StringWriter stringWriter = new StringWriter();
-            marshaller.marshal(obj, stringWriter);
+            target.marshal(marshaller);
+            marshaller.setEventHandler(null);
             if (!errorCollector.getErrors().isEmpty()) {
                 throw new XsdProcessingException(errorCollector.getErrors(), null);
             }
-            return stringWriter.getBuffer().toString();
+            MARSHALLER_POOL.release(key, marshaller);
         } catch (JAXBException | SAXException e) {
             throw new XsdProcessingException(CoffeeFaultType.INVALID_INPUT, e.getMessage(), e);
         }
     }
 
+    private JAXBContext getJAXBContext(Object obj, Class<?>... additionalClasses) throws BaseException, JAXBException {
+        if (additionalClasses != null && additionalClasses.length != 0) {
+            List<Class<?>> contextClasses = new ArrayList<>(Arrays.asList(additionalClasses));
+            contextClasses.add(obj.getClass());
+            return getXsdHelper().getJAXBContext(contextClasses.toArray(new Class<?>[0]));
+        }
+        return getXsdHelper().getJAXBContext(obj.getClass());
+    }
+
+    private Schema getSchema(String schemaPath) throws BaseException, SAXException {
+        // if schemaPath is empty -> no validation, only conversion
+        if (StringUtils.isBlank(schemaPath)) {
+            return null;
+        }
+        return getXsdHelper().getSchema(schemaPath, createLSResourceResolverInstance(schemaPath));
+    }
+
+    private IXsdHelper getXsdHelper() {
+        if (xsdHelper == null) {
+            xsdHelper = createCDIInstance(IXsdHelper.class);
+        }
+        return xsdHelper;
+    }
+
+    private static Map<String, Object> defaultMarshallerProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        properties.put(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+        return properties;
+    }
+
     /**
      * Returns an instance of {@link LSResourceResolver}.<br>
      * This allows overriding it to use your own {@code LSResourceResolver} implementation for locating XSDs.<br>
@@ -443,4 +608,20 @@ public class JaxbTool {
 
         return result;
     }
+
+    /**
+     * Marshalling to a target
+     */
+    @FunctionalInterface
+    private interface MarshalTarget {
+        void marshal(Marshaller marshaller) throws JAXBException;
+    }
+
+    /**
+     * Unmarshalling from a source
+     */
+    @FunctionalInterface
+    private interface UnmarshalSource {
+        Object unmarshal(Unmarshaller unmarshaller) throws JAXBException;
+    }
 }
@@ -19,11 +19,11 @@
  */
 package hu.icellmobilsoft.coffee.rest.writer;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.WebApplicationException;
@@ -31,10 +31,10 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.ext.MessageBodyWriter;
 import jakarta.ws.rs.ext.Provider;
-
-import org.apache.commons.lang3.StringUtils;
+import jakarta.xml.bind.JAXBException;
 
 import hu.icellmobilsoft.coffee.dto.common.commonservice.BaseResultType;
+import hu.icellmobilsoft.coffee.se.logging.Logger;
 import hu.icellmobilsoft.coffee.tool.utils.marshalling.MarshallingUtil;
 
 /**
@@ -49,6 +49,8 @@ import hu.icellmobilsoft.coffee.tool.utils.marshalling.MarshallingUtil;
 @Produces(MediaType.APPLICATION_OCTET_STREAM)
 public class OctetStreamBaseResultTypeXmlMessageBodyWriter implements MessageBodyWriter<BaseResultType> {
 
+    private static final Logger LOGGER = Logger.getLogger(OctetStreamBaseResultTypeXmlMessageBodyWriter.class);
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -64,9 +66,16 @@ public class OctetStreamBaseResultTypeXmlMessageBodyWriter implements MessageBod
     @Override
     public void writeTo(BaseResultType t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
-        String xmlFormat = MarshallingUtil.marshall(t);
-        if (StringUtils.isNotEmpty(xmlFormat)) {
-            entityStream.write(xmlFormat.getBytes(StandardCharsets.UTF_8));
+        // marshalled to bytes (UTF-8 by default) without creating XML String, the entity stream is written only if the marshalling succeeded,
+        // a failure in the middle would leave a truncated body already sent with the response status
+        ByteArrayOutputStream xml = new ByteArrayOutputStream();
+        try {
+            MarshallingUtil.marshallUncheckedXml(t, xml);
+        } catch (JAXBException e) {
+            // as before, the body stays empty
+            LOGGER.warn("Cannot convert [{0}] object to xml: [{1}]", t, e.getLocalizedMessage());
+            return;
         }
+        xml.writeTo(entityStream);
     }
 }
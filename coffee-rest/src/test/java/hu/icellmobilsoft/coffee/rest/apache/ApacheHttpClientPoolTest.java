@@ -0,0 +1,164 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.rest.apache;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import jakarta.inject.Inject;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.cdi.metric.spi.MetricsHandlerProducer;
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+
+/**
+ * Unit tests for {@link ApacheHttpClientPool}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@EnableWeld
+@Tag("weld")
+@DisplayName("Testing ApacheHttpClientPool")
+class ApacheHttpClientPoolTest {
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator.from(ApacheHttpClientPool.class, BaseApacheHttpClient.class, MetricsHandlerProducer.class).build();
+
+    @Inject
+    private ApacheHttpClientPool httpClientPool;
+
+    @Inject
+    private BaseApacheHttpClient httpClient;
+
+    private EchoHttpServer server;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = new EchoHttpServer();
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.close();
+        System.clearProperty(ApacheHttpClientPool.ENABLED);
+        System.clearProperty(ApacheHttpClientPool.ASYNC_MAX_THREADS);
+    }
+
+    @Test
+    @DisplayName("Testing the connection is reused between the calls with pooling")
+    void connectionReused() throws BaseException, IOException {
+        // given
+        System.setProperty(ApacheHttpClientPool.ENABLED, "true");
+        // when
+        HttpResponse first = httpClient.sendClientBaseGet(server.getUrl());
+        EntityUtils.consume(first.getEntity());
+        HttpResponse second = httpClient.sendClientBaseGet(server.getUrl());
+        EntityUtils.consume(second.getEntity());
+        // then
+        Assertions.assertTrue(httpClientPool.isEnabled());
+        Assertions.assertEquals(2, server.getClientPorts().size());
+        Assertions.assertEquals(server.getClientPorts().get(0), server.getClientPorts().get(1));
+        Assertions.assertNotNull(httpClientPool.getClient(BaseApacheHttpClient.class.getName()));
+    }
+
+    @Test
+    @DisplayName("Testing a new client and connection is used for each call without pooling")
+    void poolingDisabled() throws BaseException, IOException {
+        // given
+        System.setProperty(ApacheHttpClientPool.ENABLED, "false");
+        // when
+        HttpResponse first = httpClient.sendClientBaseGet(server.getUrl());
+        EntityUtils.consume(first.getEntity());
+        HttpResponse second = httpClient.sendClientBaseGet(server.getUrl());
+        EntityUtils.consume(second.getEntity());
+        // then
+        Assertions.assertFalse(httpClientPool.isEnabled());
+        Assertions.assertEquals(2, server.getClientPorts().size());
+        Assertions.assertNotEquals(server.getClientPorts().get(0), server.getClientPorts().get(1));
+        Assertions.assertNull(httpClientPool.getClient(BaseApacheHttpClient.class.getName()));
+    }
+
+    @Test
+    @DisplayName("Testing one client is created for a name")
+    void oneClientForName() {
+        // given
+        System.setProperty(ApacheHttpClientPool.ENABLED, "true");
+        // when
+        Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory> create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .build();
+        CloseableHttpClient first = httpClientPool.createClient("test", HttpClientBuilder.create(), registry);
+        CloseableHttpClient second = httpClientPool.createClient("test", HttpClientBuilder.create(), registry);
+        // then
+        Assertions.assertSame(first, second);
+        Assertions.assertSame(first, httpClientPool.getClient("test"));
+    }
+
+    @Test
+    @DisplayName("Testing the own executor of the asynchronous calls is bounded without ManagedExecutorService")
+    void boundedAsyncExecutor() {
+        // given
+        System.setProperty(ApacheHttpClientPool.ASYNC_MAX_THREADS, "3");
+        httpClientPool.init();
+        // when
+        ExecutorService executor = httpClientPool.getAsyncExecutor();
+        // then
+        ThreadPoolExecutor threadPool = Assertions.assertInstanceOf(ThreadPoolExecutor.class, executor);
+        Assertions.assertEquals(3, threadPool.getMaximumPoolSize());
+        Assertions.assertSame(executor, httpClientPool.getAsyncExecutor());
+    }
+
+    @Test
+    @DisplayName("Testing the pooled clients and the executor are closed on shutdown")
+    void shutdown() throws BaseException, IOException {
+        // given
+        System.setProperty(ApacheHttpClientPool.ENABLED, "true");
+        EntityUtils.consume(httpClient.sendClientBaseGet(server.getUrl()).getEntity());
+        CloseableHttpClient client = httpClientPool.getClient(BaseApacheHttpClient.class.getName());
+        ExecutorService executor = httpClientPool.getAsyncExecutor();
+        // when
+        httpClientPool.close();
+        // then
+        Assertions.assertNull(httpClientPool.getClient(BaseApacheHttpClient.class.getName()));
+        Assertions.assertTrue(executor.isShutdown());
+        Assertions.assertThrows(IllegalStateException.class, () -> client.execute(new HttpGet(server.getUrl())));
+        Assertions.assertNotSame(executor, httpClientPool.getAsyncExecutor());
+    }
+}
@@ -0,0 +1,192 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.rest.apache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.inject.Inject;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.ContentType;
+import org.apache.http.util.EntityUtils;
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.cdi.metric.spi.MetricsHandlerProducer;
+import hu.icellmobilsoft.coffee.dto.exception.TechnicalException;
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+import hu.icellmobilsoft.coffee.se.logging.mdc.MDC;
+
+/**
+ * Unit tests for the asynchronous and streaming calls of {@link BaseApacheHttpClient}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@EnableWeld
+@Tag("weld")
+@DisplayName("Testing BaseApacheHttpClient")
+class BaseApacheHttpClientTest {
+
+    private static final String MDC_KEY = "testKey";
+
+    private static final String ENTITY = "streamed entity";
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator.from(ApacheHttpClientPool.class, RecordingApacheHttpClient.class, MetricsHandlerProducer.class)
+            .build();
+
+    @Inject
+    private RecordingApacheHttpClient httpClient;
+
+    private EchoHttpServer server;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = new EchoHttpServer();
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.close();
+        MDC.clear();
+    }
+
+    /**
+     * Client recording the MDC value and the thread of the calls
+     */
+    static class RecordingApacheHttpClient extends BaseApacheHttpClient {
+
+        private final List<String> mdcValues = new CopyOnWriteArrayList<>();
+
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        private Executor asyncExecutor;
+
+        private boolean noExecutor;
+
+        @Override
+        protected void beforeGet(HttpGet get) throws BaseException {
+            mdcValues.add(MDC.get(MDC_KEY));
+            threads.add(Thread.currentThread());
+            super.beforeGet(get);
+        }
+
+        @Override
+        protected Executor getAsyncExecutor() {
+            if (noExecutor) {
+                return null;
+            }
+            return asyncExecutor != null ? asyncExecutor : super.getAsyncExecutor();
+        }
+    }
+
+    @Test
+    @DisplayName("Testing the MDC of the caller is propagated to the asynchronous call")
+    void asyncMdcPropagation() throws InterruptedException, ExecutionException, TimeoutException, IOException {
+        // given
+        MDC.put(MDC_KEY, "testValue");
+        // when
+        HttpResponse response = httpClient.sendClientBaseGetAsync(server.getUrl()).get(5, TimeUnit.SECONDS);
+        EntityUtils.consume(response.getEntity());
+        // then
+        Assertions.assertEquals(200, response.getStatusLine().getStatusCode());
+        Assertions.assertEquals(List.of("testValue"), httpClient.mdcValues);
+        Assertions.assertNotSame(Thread.currentThread(), httpClient.threads.get(0));
+        Assertions.assertEquals("testValue", MDC.get(MDC_KEY));
+    }
+
+    @Test
+    @DisplayName("Testing the asynchronous call runs on the overridden executor")
+    void asyncOverriddenExecutor() throws InterruptedException, ExecutionException, TimeoutException, IOException {
+        // given
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-async"));
+        httpClient.asyncExecutor = executor;
+        try {
+            // when
+            HttpResponse response = httpClient.sendClientBaseGetAsync(server.getUrl()).get(5, TimeUnit.SECONDS);
+            EntityUtils.consume(response.getEntity());
+            // then
+            Assertions.assertEquals("test-async", httpClient.threads.get(0).getName());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Testing the asynchronous call fails without executor")
+    void asyncWithoutExecutor() {
+        // given
+        httpClient.noExecutor = true;
+        // when
+        CompletableFuture<HttpResponse> future = httpClient.sendClientBaseGetAsync(server.getUrl());
+        // then
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(TechnicalException.class, exception.getCause());
+        Assertions.assertTrue(httpClient.threads.isEmpty());
+        Assertions.assertTrue(server.getClientPorts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testing the POST stream entity is sent chunked")
+    void streamingPost() throws BaseException, IOException {
+        // given
+        ByteArrayInputStream entity = new ByteArrayInputStream(ENTITY.getBytes(StandardCharsets.UTF_8));
+        // when
+        HttpResponse response = httpClient.sendClientBasePost(server.getUrl(), ContentType.TEXT_PLAIN, entity);
+        String responseEntity = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+        // then
+        Assertions.assertEquals(ENTITY, responseEntity);
+        Assertions.assertEquals(List.of(ENTITY), server.getBodies());
+        Assertions.assertEquals("chunked", server.getTransferEncodings().get(0));
+    }
+
+    @Test
+    @DisplayName("Testing the PUT stream entity is sent chunked")
+    void streamingPut() throws BaseException, IOException {
+        // given
+        ByteArrayInputStream entity = new ByteArrayInputStream(ENTITY.getBytes(StandardCharsets.UTF_8));
+        // when
+        HttpResponse response = httpClient.sendClientBasePut(server.getUrl(), ContentType.TEXT_PLAIN, entity);
+        EntityUtils.consume(response.getEntity());
+        // then
+        Assertions.assertEquals(List.of(ENTITY), server.getBodies());
+        Assertions.assertEquals("chunked", server.getTransferEncodings().get(0));
+    }
+}
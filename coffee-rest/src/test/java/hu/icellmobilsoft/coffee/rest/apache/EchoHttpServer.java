@@ -0,0 +1,103 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.rest.apache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local http server for the apache client tests. It records the client port, the {@code Transfer-Encoding} header and the body of each
+ * request, and responds with the body, or with {@code empty} if the request has no body.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+class EchoHttpServer implements AutoCloseable {
+
+    private static final byte[] EMPTY_RESPONSE = "empty".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    private final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+
+    private final List<String> transferEncodings = new CopyOnWriteArrayList<>();
+
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+
+    /**
+     * Starts the server on a free local port
+     *
+     * @throws IOException
+     *             if the server can not be started
+     */
+    EchoHttpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/echo", this::handle);
+        server.start();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        transferEncodings.add(exchange.getRequestHeaders().getFirst("Transfer-Encoding"));
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        bodies.add(new String(body, StandardCharsets.UTF_8));
+        byte[] response = body.length == 0 ? EMPTY_RESPONSE : body;
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    /**
+     * @return url of the echo endpoint
+     */
+    String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/echo";
+    }
+
+    List<Integer> getClientPorts() {
+        return clientPorts;
+    }
+
+    List<String> getTransferEncodings() {
+        return transferEncodings;
+    }
+
+    List<String> getBodies() {
+        return bodies;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,118 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.rest.log.optimized;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import hu.icellmobilsoft.coffee.cdi.logger.AppLogger;
+import hu.icellmobilsoft.coffee.tool.utils.stream.LoggingEvent;
+import hu.icellmobilsoft.coffee.tool.utils.stream.LoggingPublisher;
+import hu.icellmobilsoft.coffee.tool.utils.stream.RequestLoggerInputStream;
+
+/**
+ * Testing request logging of the optimized {@link BaseRestLogger}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testing optimized BaseRestLogger request logging")
+class BaseRestLoggerTest {
+
+    @Mock
+    private AppLogger log;
+
+    @Mock
+    private RequestResponseLogger requestResponseLogger;
+
+    @Mock
+    private LoggingPublisher loggingPublisher;
+
+    @Mock
+    private ContainerRequestContext requestContext;
+
+    @InjectMocks
+    private TestRestLogger restLogger;
+
+    @Test
+    @DisplayName("Testing request without entity is logged once and its stream is not wrapped")
+    void withoutEntity() {
+        // given
+        Mockito.when(requestContext.getHeaders()).thenReturn(new MultivaluedHashMap<>());
+        Mockito.when(requestContext.hasEntity()).thenReturn(false);
+
+        // when
+        restLogger.processRequest(requestContext);
+
+        // then
+        Mockito.verify(log).info(Mockito.anyString());
+        Mockito.verify(requestContext, Mockito.never()).setEntityStream(Mockito.any());
+        Mockito.verifyNoInteractions(loggingPublisher);
+    }
+
+    @Test
+    @DisplayName("Testing request with entity of unknown length (chunked) is logged once, by the stream")
+    void chunkedEntity() throws Exception {
+        // given
+        Mockito.when(requestContext.getHeaders()).thenReturn(new MultivaluedHashMap<>());
+        Mockito.when(requestContext.hasEntity()).thenReturn(true);
+        Mockito.when(requestContext.getEntityStream()).thenReturn(new ByteArrayInputStream("body".getBytes(StandardCharsets.UTF_8)));
+        Mockito.when(requestResponseLogger.getMaxRequestEntityLogSize(requestContext)).thenReturn(1000);
+        ArgumentCaptor<InputStream> entityStream = ArgumentCaptor.forClass(InputStream.class);
+
+        // when
+        restLogger.processRequest(requestContext);
+        Mockito.verify(requestContext).setEntityStream(entityStream.capture());
+        try (InputStream stream = entityStream.getValue()) {
+            stream.readAllBytes();
+        }
+
+        // then
+        Assertions.assertInstanceOf(RequestLoggerInputStream.class, entityStream.getValue());
+        Mockito.verify(log, Mockito.never()).info(Mockito.anyString());
+        Mockito.verify(loggingPublisher).publish(Mockito.any(LoggingEvent.class));
+    }
+
+    /**
+     * Concrete logger for the test
+     */
+    static class TestRestLogger extends BaseRestLogger {
+
+        @Override
+        public String sessionKey() {
+            return "sessionKey";
+        }
+    }
+}
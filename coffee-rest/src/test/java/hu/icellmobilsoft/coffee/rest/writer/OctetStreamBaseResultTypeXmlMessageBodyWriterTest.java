@@ -0,0 +1,110 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.rest.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.dto.common.commonservice.BaseResultType;
+import hu.icellmobilsoft.coffee.dto.common.commonservice.FunctionCodeType;
+import hu.icellmobilsoft.coffee.tool.utils.marshalling.MarshallingUtil;
+
+/**
+ * Unit tests for {@link OctetStreamBaseResultTypeXmlMessageBodyWriter}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing OctetStreamBaseResultTypeXmlMessageBodyWriter")
+class OctetStreamBaseResultTypeXmlMessageBodyWriterTest {
+
+    private final OctetStreamBaseResultTypeXmlMessageBodyWriter underTest = new OctetStreamBaseResultTypeXmlMessageBodyWriter();
+
+    /**
+     * Result DTO
+     */
+    @XmlRootElement(name = "result")
+    public static class ResultDto extends BaseResultType {
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Result DTO failing in the middle of the marshalling
+     */
+    @XmlRootElement(name = "failingResult")
+    @XmlAccessorType(XmlAccessType.PROPERTY)
+    public static class FailingResultDto extends BaseResultType {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * @return never, always fails
+         */
+        @XmlElement
+        public String getFailing() {
+            throw new IllegalStateException("failing getter");
+        }
+
+        /**
+         * @param failing
+         *            ignored
+         */
+        public void setFailing(String failing) {
+            // not used
+        }
+    }
+
+    @Test
+    @DisplayName("Testing the marshalled XML is written")
+    void write() throws IOException {
+        // given
+        ResultDto result = new ResultDto();
+        result.setFuncCode(FunctionCodeType.OK);
+        ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        // when
+        underTest.writeTo(result, ResultDto.class, ResultDto.class, null, MediaType.APPLICATION_OCTET_STREAM_TYPE, null, entityStream);
+        // then
+        Assertions.assertEquals(MarshallingUtil.marshall(result), entityStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Testing nothing is written if the marshalling fails in the middle")
+    void failingMarshallingWritesNothing() {
+        // given
+        FailingResultDto result = new FailingResultDto();
+        result.setFuncCode(FunctionCodeType.OK);
+        ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> underTest.writeTo(result, FailingResultDto.class, FailingResultDto.class, null,
+                MediaType.APPLICATION_OCTET_STREAM_TYPE, null, entityStream));
+        // then
+        Assertions.assertEquals(0, entityStream.size());
+    }
+}
@@ -0,0 +1,123 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.rest.xmlvalidation.jaxb;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.cdi.logger.AppLoggerImpl;
+import hu.icellmobilsoft.coffee.cdi.logger.LogContainer;
+import hu.icellmobilsoft.coffee.cdi.logger.LogProducer;
+import hu.icellmobilsoft.coffee.rest.validation.xml.JaxbTool;
+import hu.icellmobilsoft.coffee.rest.validation.xml.error.XsdValidationErrorCollector;
+import hu.icellmobilsoft.coffee.rest.validation.xml.exception.XsdProcessingException;
+import hu.icellmobilsoft.coffee.rest.validation.xml.utils.XsdHelper;
+import hu.icellmobilsoft.coffee.rest.validation.xml.utils.XsdResourceResolver;
+
+/**
+ * Testing {@link JaxbTool} streaming marshal targets and pooled (un)marshallers
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@EnableWeld
+@Tag("weld")
+@DisplayName("Testing JaxbTool marshal targets")
+class JaxbToolMarshalTest {
+
+    private static final String SCHEMA_PATH = "xsd/jaxbtool.xsd";
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator.from(WeldInitiator.createWeld()
+            .addBeanClasses(JaxbTool.class, XsdHelper.class, XsdValidationErrorCollector.class, XsdResourceResolver.class)
+            .addBeanClasses(LogContainer.class, AppLoggerImpl.class, LogProducer.class)
+            .addAlternative(XsdResourceResolver.class))
+            .activate(RequestScoped.class)
+            .build();
+
+    @Inject
+    private JaxbTool jaxbTool;
+
+    @Test
+    @DisplayName("Testing OutputStream target, the output is the same as the String output apart from surrounding whitespace")
+    void marshalToOutputStream() throws Exception {
+        // given
+        UserDto user = UserDto.of("Teszt", 20);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        // when
+        String xml = jaxbTool.marshalXML(user, SCHEMA_PATH);
+        jaxbTool.marshalXML(user, SCHEMA_PATH, outputStream);
+        // then
+        Assertions.assertEquals(xml.strip(), outputStream.toString(StandardCharsets.UTF_8).strip());
+    }
+
+    @Test
+    @DisplayName("Testing XMLStreamWriter target and XMLStreamReader source")
+    void marshalToXmlStreamWriter() throws Exception {
+        // given
+        UserDto user = UserDto.of("Teszt", 20);
+        StringWriter stringWriter = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(stringWriter);
+        // when
+        jaxbTool.marshalXML(user, SCHEMA_PATH, writer);
+        writer.flush();
+        XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(stringWriter.toString()));
+        reader.nextTag();
+        UserDto result = jaxbTool.unmarshalXML(UserDto.class, reader, SCHEMA_PATH);
+        // then
+        Assertions.assertEquals(user.getName(), result.getName());
+        Assertions.assertEquals(user.getAge(), result.getAge());
+    }
+
+    @Test
+    @DisplayName("Testing errors of a previous call are not kept by the pooled marshaller")
+    void pooledMarshallerAfterError() throws Exception {
+        // given
+        UserDto invalid = UserDto.of("Teszt User", null);
+        UserDto valid = UserDto.of("Teszt", 20);
+        // when
+        Assertions.assertThrows(XsdProcessingException.class, () -> jaxbTool.marshalXML(invalid, SCHEMA_PATH));
+        String first = jaxbTool.marshalXML(valid, SCHEMA_PATH);
+        String second = jaxbTool.marshalXML(valid, SCHEMA_PATH);
+        // then
+        Assertions.assertEquals(first, second);
+        Assertions.assertThrows(XsdProcessingException.class, () -> jaxbTool.marshalXML(invalid, SCHEMA_PATH));
+        UserDto result = jaxbTool.unmarshalXML(UserDto.class, second.getBytes(StandardCharsets.UTF_8), SCHEMA_PATH);
+        Assertions.assertEquals(valid.getName(), result.getName());
+    }
+}
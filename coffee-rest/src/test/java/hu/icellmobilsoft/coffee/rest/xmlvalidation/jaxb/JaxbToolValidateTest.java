@@ -0,0 +1,103 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.rest.xmlvalidation.jaxb;
+
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.cdi.logger.AppLoggerImpl;
+import hu.icellmobilsoft.coffee.cdi.logger.LogContainer;
+import hu.icellmobilsoft.coffee.cdi.logger.LogProducer;
+import hu.icellmobilsoft.coffee.rest.validation.xml.JaxbTool;
+import hu.icellmobilsoft.coffee.rest.validation.xml.error.XsdValidationErrorCollector;
+import hu.icellmobilsoft.coffee.rest.validation.xml.exception.XsdProcessingException;
+import hu.icellmobilsoft.coffee.rest.validation.xml.utils.XsdHelper;
+import hu.icellmobilsoft.coffee.rest.validation.xml.utils.XsdResourceResolver;
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Testing {@link JaxbTool#validateXML(Object, String, Class...)}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@EnableWeld
+@Tag("weld")
+@DisplayName("Testing JaxbTool validateXML")
+class JaxbToolValidateTest {
+
+    private static final String SCHEMA_PATH = "xsd/jaxbtool.xsd";
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator.from(WeldInitiator.createWeld()
+            .addBeanClasses(JaxbTool.class, XsdHelper.class, XsdValidationErrorCollector.class, XsdResourceResolver.class)
+            .addBeanClasses(LogContainer.class, AppLoggerImpl.class, LogProducer.class)
+            .addAlternative(XsdResourceResolver.class))
+            .activate(RequestScoped.class)
+            .build();
+
+    @Inject
+    private JaxbTool jaxbTool;
+
+    @Test
+    @DisplayName("Testing valid object")
+    void validObject() {
+        // given
+        UserDto user = UserDto.of("Teszt", 20);
+        // when
+        // then
+        Assertions.assertDoesNotThrow(() -> jaxbTool.validateXML(user, SCHEMA_PATH));
+    }
+
+    @Test
+    @DisplayName("Testing invalid object, the errors are the same as marshalXML errors")
+    void invalidObject() {
+        // given
+        UserDto user = UserDto.of("Teszt User", null);
+        // when
+        XsdProcessingException validateException = Assertions.assertThrows(XsdProcessingException.class,
+                () -> jaxbTool.validateXML(user, SCHEMA_PATH));
+        XsdProcessingException marshalException = Assertions.assertThrows(XsdProcessingException.class,
+                () -> jaxbTool.marshalXML(user, SCHEMA_PATH));
+        // then
+        Assertions.assertFalse(validateException.getErrors().isEmpty());
+        Assertions.assertEquals(marshalException.getErrors().size(), validateException.getErrors().size());
+        for (int i = 0; i < validateException.getErrors().size(); i++) {
+            Assertions.assertEquals(marshalException.getErrors().get(i).getError(), validateException.getErrors().get(i).getError());
+        }
+    }
+
+    @Test
+    @DisplayName("Testing without schema path")
+    void withoutSchema() {
+        // given
+        UserDto user = UserDto.of("Teszt User", null);
+        // when
+        // then
+        Assertions.assertDoesNotThrow(() -> jaxbTool.validateXML(user, null));
+    }
+}
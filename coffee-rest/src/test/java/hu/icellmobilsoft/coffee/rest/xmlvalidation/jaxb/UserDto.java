@@ -0,0 +1,83 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.rest.xmlvalidation.jaxb;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+
+/**
+ * Test DTO of xsd/jaxbtool.xsd
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@XmlRootElement(name = "user", namespace = UserDto.NAMESPACE)
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(propOrder = { "name", "age" })
+public class UserDto {
+
+    /**
+     * Namespace of the test schema
+     */
+    public static final String NAMESPACE = "http://coffee.icellmobilsoft.hu/test/jaxbtool";
+
+    @XmlElement(namespace = NAMESPACE, required = true)
+    private String name;
+
+    @XmlElement(namespace = NAMESPACE, required = true)
+    private Integer age;
+
+    /**
+     * Creates DTO
+     *
+     * @param name
+     *            name
+     * @param age
+     *            age
+     * @return DTO
+     */
+    public static UserDto of(String name, Integer age) {
+        UserDto user = new UserDto();
+        user.name = name;
+        user.age = age;
+        return user;
+    }
+
+    /**
+     * Getter for the field {@code name}.
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter for the field {@code age}.
+     *
+     * @return age
+     */
+    public Integer getAge() {
+        return age;
+    }
+}
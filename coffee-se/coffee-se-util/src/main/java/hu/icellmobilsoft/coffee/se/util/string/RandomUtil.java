@@ -182,14 +182,16 @@ public class RandomUtil {
         long dig;
         long numDivRadix;
         long num = inNum;
-        String result = "";
+        // 64 digits are enough for radix 2
+        char[] buffer = new char[Long.SIZE];
+        int position = buffer.length;
         do {
             numDivRadix = num / radix;
             dig = ((num % radix) + radix) % radix;
-            result = ALL_LETTER[(int) dig] + result;
+            buffer[--position] = ALL_LETTER[(int) dig];
             num = numDivRadix;
         } while (num != 0);
-        return result;
+        return new String(buffer, position, buffer.length - position);
     }
 
     /**
@@ -19,14 +19,23 @@
  */
 package hu.icellmobilsoft.coffee.tool.gson;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.YearMonth;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import javax.xml.datatype.Duration;
 import javax.xml.datatype.XMLGregorianCalendar;
@@ -43,6 +52,10 @@ import hu.icellmobilsoft.coffee.se.logging.Logger;
 
 /**
  * Json util.
+ * <p>
+ * The {@link Gson} instance is created once, on first usage, with the coffee type adapters and it is shared by every call ({@code Gson} is
+ * thread safe). Additional type adapters can be registered by {@link #registerTypeAdapter(Type, Object)} and
+ * {@link #registerTypeHierarchyAdapter(Class, Object)}, then the shared instance is created again on the next usage.
  *
  * @author imre.scheffer
  * @since 1.0.0
@@ -54,6 +67,10 @@ public class JsonUtil {
     private static final String CONVERTING_TO_OBJECT_SUCCESSFUL_0 = "Converting to Object successful: [{0}]";
     private static final String CONVERTING_TO_JSON_SUCCESSFUL_0 = "Converting to JSON successful: [{0}]";
 
+    private static final List<Consumer<GsonBuilder>> GSON_BUILDER_CUSTOMIZERS = new CopyOnWriteArrayList<>();
+
+    private static volatile Gson gson;
+
     private JsonUtil() {
     }
 
@@ -95,7 +112,7 @@ public class JsonUtil {
      * @return DTO
      */
     public static <T> T toObjectUncheckedGson(String json, Type typeOfT) {
-        Gson gson = initGson();
+        Gson gson = getGson();
 
         try {
             return gson.fromJson(json, typeOfT);
@@ -119,7 +136,7 @@ public class JsonUtil {
      * @return DTO
      */
     public static <T> T toObjectUncheckedGson(Reader reader, Type typeOfT) {
-        Gson gson = initGson();
+        Gson gson = getGson();
 
         try {
             return gson.fromJson(reader, typeOfT);
@@ -235,6 +252,74 @@ public class JsonUtil {
         }
     }
 
+    /**
+     * Converting DTO object to JSON, written directly to the writer without creating JSON string. The writer is not closed.
+     *
+     * @param dto
+     *            DTO object
+     * @param writer
+     *            target writer
+     * @throws BaseException
+     *             exception
+     * @since 2.8.0
+     */
+    public static void toJsonEx(Object dto, Writer writer) throws BaseException {
+        try {
+            getGson().toJson(dto, writer);
+            writer.flush();
+        } catch (Exception e) {
+            throw new BaseException(
+                    CoffeeFaultType.OPERATION_FAILED,
+                    "Error in converting dto [" + (dto == null ? null : dto.getClass()) + "] to Writer: " + e.getLocalizedMessage(),
+                    e);
+        }
+    }
+
+    /**
+     * Converting DTO object to UTF-8 JSON, written directly to the stream without creating JSON string. The stream is flushed, but not closed.
+     *
+     * @param dto
+     *            DTO object
+     * @param outputStream
+     *            target stream
+     * @throws BaseException
+     *             exception
+     * @since 2.8.0
+     */
+    public static void toJsonEx(Object dto, OutputStream outputStream) throws BaseException {
+        toJsonEx(dto, new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converting UTF-8 JSON stream to DTO object without reading it into a string. The stream is parsed leniently (the string based methods
+     * fall back to lenient parsing too, but the stream cannot be read again). The stream is not closed.
+     *
+     * @param <T>
+     *            type of returned object
+     * @param inputStream
+     *            JSON stream
+     * @param typeOfT
+     *            type of returned object
+     * @return object
+     * @throws BaseException
+     *             exception
+     * @since 2.8.0
+     */
+    public static <T> T toObjectEx(InputStream inputStream, Type typeOfT) throws BaseException {
+        try {
+            JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            reader.setLenient(true);
+            T dto = getGson().fromJson(reader, typeOfT);
+            LOGGER.debug(CONVERTING_TO_OBJECT_SUCCESSFUL_0, dto);
+            return dto;
+        } catch (Exception e) {
+            throw new BaseException(
+                    CoffeeFaultType.OPERATION_FAILED,
+                    "Error in converting json stream to [" + typeOfT + "]: " + e.getLocalizedMessage(),
+                    e);
+        }
+    }
+
     /**
      * Converting DTO object to JSON string
      *
@@ -243,7 +328,7 @@ public class JsonUtil {
      * @return JSON String
      */
     public static String toJsonGson(Object dto) {
-        Gson gson = initGson();
+        Gson gson = getGson();
 
         return gson.toJson(dto);
     }
@@ -260,7 +345,7 @@ public class JsonUtil {
      * @return DTO
      */
     public static <T> T toObjectGson(String json, Class<T> classType) {
-        Gson gson = initGson();
+        Gson gson = getGson();
 
         try {
             return gson.fromJson(json, classType);
@@ -284,7 +369,7 @@ public class JsonUtil {
      * @return DTO
      */
     public static <T> T toObjectGson(Reader reader, Class<T> classType) {
-        Gson gson = initGson();
+        Gson gson = getGson();
 
         try {
             return gson.fromJson(reader, classType);
@@ -296,8 +381,64 @@ public class JsonUtil {
         }
     }
 
+    /**
+     * Returns the shared {@link Gson} instance with the coffee and the registered type adapters
+     *
+     * @return shared {@code Gson} instance
+     * @since 2.8.0
+     */
+    public static Gson getGson() {
+        Gson result = gson;
+        if (result == null) {
+            synchronized (JsonUtil.class) {
+                result = gson;
+                if (result == null) {
+                    result = initGson();
+                    gson = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Registers an additional type adapter to the shared {@link Gson} instance, see {@link GsonBuilder#registerTypeAdapter(Type, Object)}. The
+     * adapter must be thread safe, it is used by every call.
+     *
+     * @param type
+     *            type definition for the type adapter being registered
+     * @param typeAdapter
+     *            type adapter, serializer or deserializer
+     * @since 2.8.0
+     */
+    public static void registerTypeAdapter(Type type, Object typeAdapter) {
+        addGsonBuilderCustomizer(builder -> builder.registerTypeAdapter(type, typeAdapter));
+    }
+
+    /**
+     * Registers an additional type hierarchy adapter to the shared {@link Gson} instance, see
+     * {@link GsonBuilder#registerTypeHierarchyAdapter(Class, Object)}. The adapter must be thread safe, it is used by every call.
+     *
+     * @param baseType
+     *            base type of the hierarchy
+     * @param typeAdapter
+     *            type adapter, serializer or deserializer
+     * @since 2.8.0
+     */
+    public static void registerTypeHierarchyAdapter(Class<?> baseType, Object typeAdapter) {
+        addGsonBuilderCustomizer(builder -> builder.registerTypeHierarchyAdapter(baseType, typeAdapter));
+    }
+
+    private static void addGsonBuilderCustomizer(Consumer<GsonBuilder> customizer) {
+        synchronized (JsonUtil.class) {
+            GSON_BUILDER_CUSTOMIZERS.add(customizer);
+            // created again on next usage
+            gson = null;
+        }
+    }
+
     private static Gson initGson() {
-        return new GsonBuilder().disableHtmlEscaping() //
+        GsonBuilder builder = new GsonBuilder().disableHtmlEscaping() //
                 .registerTypeAdapter(Class.class, new ClassTypeAdapter()) //
                 .registerTypeAdapter(XMLGregorianCalendar.class, new XMLGregorianCalendarConverter()) //
                 .registerTypeAdapter(Date.class, new DateConverter()) //
@@ -306,7 +447,8 @@ public class JsonUtil {
                 .registerTypeAdapter(LocalDate.class, new LocalDateConverter()) //
                 .registerTypeAdapter(Duration.class, new DurationConverter()) //
                 .registerTypeAdapter(YearMonth.class, new YearMonthConverter()) //
-                .registerTypeHierarchyAdapter(byte[].class, new ByteArrayConverter()) //
-                .create();
+                .registerTypeHierarchyAdapter(byte[].class, new ByteArrayConverter());
+        GSON_BUILDER_CUSTOMIZERS.forEach(customizer -> customizer.accept(builder));
+        return builder.create();
     }
 }
@@ -0,0 +1,109 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import hu.icellmobilsoft.coffee.se.logging.Logger;
+
+/**
+ * Virtual thread utils. Virtual threads are available from JDK 21, the methods are called by reflection, so the library can be used on older
+ * JDK too, then the methods return empty result and the caller has to fall back to platform threads.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public class VirtualThreadUtil {
+
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreadUtil.class);
+
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public VirtualThreadUtil() {
+        super();
+    }
+
+    /**
+     * Checks the running JDK supports virtual threads
+     *
+     * @return {@code true} if virtual threads are available (JDK 21+)
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates virtual thread factory. The created threads are named {@code namePrefix0}, {@code namePrefix1}...
+     *
+     * @param namePrefix
+     *            thread name prefix
+     * @return virtual thread factory, or empty if virtual threads are not supported
+     */
+    public static Optional<ThreadFactory> newVirtualThreadFactory(String namePrefix) {
+        if (!isSupported()) {
+            return Optional.empty();
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(builder));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.warn("Could not create virtual thread factory: [{0}]", e.getLocalizedMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Creates executor which starts a new virtual thread for each task. The threads are named {@code namePrefix0}, {@code namePrefix1}...
+     *
+     * @param namePrefix
+     *            thread name prefix
+     * @return virtual thread per task executor, or empty if virtual threads are not supported
+     */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor(String namePrefix) {
+        Optional<ThreadFactory> threadFactory = newVirtualThreadFactory(namePrefix);
+        if (threadFactory.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return Optional.of((ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory.get()));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.warn("Could not create virtual thread executor: [{0}]", e.getLocalizedMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Method findMethod(Class<?> clazz, String name) {
+        try {
+            return clazz.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
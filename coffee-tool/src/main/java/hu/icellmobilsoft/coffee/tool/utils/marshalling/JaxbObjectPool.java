@@ -0,0 +1,142 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.marshalling;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded pool of not thread safe JAXB objects ({@code Marshaller}, {@code Unmarshaller}). The instances are pooled by a key describing their
+ * configuration (for example {@code JAXBContext}, schema and properties), so an instance taken from the pool has the same configuration as
+ * it was created with. At most {@code maxIdlePerKey} instances are kept for a key and at most {@code maxKeys} keys are pooled, the instances
+ * above these limits are dropped.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * Marshaller marshaller = pool.poll(key);
+ * if (marshaller == null) {
+ *     marshaller = createMarshaller();
+ * }
+ * marshaller.marshal(object, writer);
+ * pool.release(key, marshaller);
+ * </pre>
+ *
+ * The instance should be released only after successful usage, and the per call settings (event handler) should be reset before.
+ *
+ * @param <T>
+ *            pooled type
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public class JaxbObjectPool<T> {
+
+    /**
+     * Default maximum number of idle instances per key
+     */
+    public static final int DEFAULT_MAX_IDLE_PER_KEY = 16;
+
+    /**
+     * Default maximum number of keys
+     */
+    public static final int DEFAULT_MAX_KEYS = 256;
+
+    private final int maxIdlePerKey;
+
+    private final int maxKeys;
+
+    private final Map<Object, BlockingQueue<T>> pool = new ConcurrentHashMap<>();
+
+    /**
+     * Creates pool with {@value #DEFAULT_MAX_IDLE_PER_KEY} idle instances per key and {@value #DEFAULT_MAX_KEYS} keys
+     */
+    public JaxbObjectPool() {
+        this(DEFAULT_MAX_IDLE_PER_KEY, DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * Creates pool
+     *
+     * @param maxIdlePerKey
+     *            maximum number of idle instances per key
+     * @param maxKeys
+     *            maximum number of keys
+     */
+    public JaxbObjectPool(int maxIdlePerKey, int maxKeys) {
+        this.maxIdlePerKey = Math.max(1, maxIdlePerKey);
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    /**
+     * Takes an idle instance of the key from the pool
+     *
+     * @param key
+     *            configuration key
+     * @return idle instance, or {@code null} if there is no idle instance, then the caller has to create a new one
+     */
+    public T poll(Object key) {
+        BlockingQueue<T> idle = pool.get(key);
+        return idle == null ? null : idle.poll();
+    }
+
+    /**
+     * Returns the instance to the pool. It is dropped if there are already {@code maxIdlePerKey} idle instances of the key, or the key is new
+     * and there are already {@code maxKeys} keys.
+     *
+     * @param key
+     *            configuration key
+     * @param instance
+     *            instance created with the configuration of the key
+     */
+    public void release(Object key, T instance) {
+        if (key == null || instance == null) {
+            return;
+        }
+        BlockingQueue<T> idle = pool.get(key);
+        if (idle == null) {
+            if (pool.size() >= maxKeys) {
+                return;
+            }
+            idle = pool.computeIfAbsent(key, k -> new ArrayBlockingQueue<>(maxIdlePerKey));
+        }
+        idle.offer(instance);
+    }
+
+    /**
+     * Number of the idle instances of the key
+     *
+     * @param key
+     *            configuration key
+     * @return number of idle instances
+     */
+    public int idleCount(Object key) {
+        BlockingQueue<T> idle = pool.get(key);
+        return idle == null ? 0 : idle.size();
+    }
+
+    /**
+     * Removes all idle instances
+     */
+    public void clear() {
+        pool.clear();
+    }
+}
@@ -27,6 +27,8 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
+import javax.xml.stream.XMLStreamWriter;
+
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
@@ -38,7 +40,8 @@ import org.apache.commons.lang3.StringUtils;
 import hu.icellmobilsoft.coffee.se.logging.Logger;
 
 /**
- * Utility methods for marshalling.
+ * Utility methods for marshalling. The {@link JAXBContext}s are cached by class, the {@link Marshaller}s and {@link Unmarshaller}s are pooled
+ * by {@link JaxbObjectPool}.
  *
  * @author karcsi
  * @since 1.0.0
@@ -51,6 +54,10 @@ public class MarshallingUtil {
 
     private static Map<String, JAXBContext> jaxbContextCache = new ConcurrentHashMap<>();
 
+    // keyed by the cached JAXBContext, the marshallers and unmarshallers are used with default settings
+    private static final JaxbObjectPool<Marshaller> MARSHALLER_POOL = new JaxbObjectPool<>();
+    private static final JaxbObjectPool<Unmarshaller> UNMARSHALLER_POOL = new JaxbObjectPool<>();
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -123,8 +130,20 @@ public class MarshallingUtil {
             return null;
         }
         JAXBContext jc = getJaxbContext(c);
-        Marshaller m = jc.createMarshaller();
-        return marshallUncheckedXml(object, m);
+        Marshaller m = borrowMarshaller(jc);
+        String xml = marshallUncheckedXml(object, m);
+        MARSHALLER_POOL.release(jc, m);
+        return xml;
+    }
+
+    private static Marshaller borrowMarshaller(JAXBContext jc) throws JAXBException {
+        Marshaller m = MARSHALLER_POOL.poll(jc);
+        return m != null ? m : jc.createMarshaller();
+    }
+
+    private static Unmarshaller borrowUnmarshaller(JAXBContext jc) throws JAXBException {
+        Unmarshaller um = UNMARSHALLER_POOL.poll(jc);
+        return um != null ? um : jc.createUnmarshaller();
     }
 
     /**
@@ -223,9 +242,32 @@ public class MarshallingUtil {
             LOGGER.warn("The object, type or stream is null.");
             return;
         }
-        JAXBContext jc = JAXBContext.newInstance(c);
-        Marshaller m = jc.createMarshaller();
+        JAXBContext jc = getJaxbContext(c);
+        Marshaller m = borrowMarshaller(jc);
         m.marshal(object, s);
+        MARSHALLER_POOL.release(jc, m);
+    }
+
+    /**
+     * Marshals an object to a {@link XMLStreamWriter}, for example to embed it in a bigger xml document.
+     *
+     * @param object
+     *            source object
+     * @param writer
+     *            target writer, it is not flushed or closed
+     * @throws JAXBException
+     *             if marshalling error
+     * @since 2.8.0
+     */
+    public static void marshallUncheckedXml(Object object, XMLStreamWriter writer) throws JAXBException {
+        if (object == null || writer == null) {
+            LOGGER.warn("The object or writer is null.");
+            return;
+        }
+        JAXBContext jc = getJaxbContext(object.getClass());
+        Marshaller m = borrowMarshaller(jc);
+        m.marshal(object, writer);
+        MARSHALLER_POOL.release(jc, m);
     }
 
     /**
@@ -266,10 +308,11 @@ public class MarshallingUtil {
             return null;
         }
         try {
-            JAXBContext jc = JAXBContext.newInstance(c);
-            Unmarshaller um = jc.createUnmarshaller();
-            StringReader reader = new StringReader(str);
-            return (T) um.unmarshal(reader);
+            JAXBContext jc = getJaxbContext(c);
+            Unmarshaller um = borrowUnmarshaller(jc);
+            T result = (T) um.unmarshal(new StringReader(str));
+            UNMARSHALLER_POOL.release(jc, um);
+            return result;
         } catch (JAXBException e) {
             LOGGER.error("Error during unmarshalling XML string: " + str, e);
         }
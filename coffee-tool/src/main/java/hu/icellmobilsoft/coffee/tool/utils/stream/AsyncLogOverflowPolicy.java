@@ -0,0 +1,44 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.stream;
+
+/**
+ * Policy of the {@link AsyncLogWriter} if its queue is full
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public enum AsyncLogOverflowPolicy {
+
+    /**
+     * The new record is written synchronously on the calling thread, no log is lost
+     */
+    CALLER_RUNS,
+
+    /**
+     * The new record is dropped
+     */
+    DROP,
+
+    /**
+     * The oldest queued record is dropped to make room for the new one
+     */
+    DROP_OLDEST
+}
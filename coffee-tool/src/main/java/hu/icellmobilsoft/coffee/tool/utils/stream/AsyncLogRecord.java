@@ -0,0 +1,89 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.stream;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import hu.icellmobilsoft.coffee.se.logging.mdc.MDC;
+
+/**
+ * Log record of the {@link AsyncLogWriter}. It holds the raw data needed for the log message, the formatting (and masking) runs only in
+ * {@link #format()}, on the writer thread. The MDC of the creating thread is captured, so the log message gets the same MDC values.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public final class AsyncLogRecord {
+
+    private final Class<?> source;
+
+    private final Map<String, String> mdc;
+
+    private final Supplier<String> formatter;
+
+    private AsyncLogRecord(Class<?> source, Map<String, String> mdc, Supplier<String> formatter) {
+        this.source = source;
+        this.mdc = mdc;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Creates log record with the current MDC values
+     *
+     * @param source
+     *            logger class of the message
+     * @param formatter
+     *            creates the log message, it must use only immutable or copied data
+     * @return log record
+     */
+    public static AsyncLogRecord of(Class<?> source, Supplier<String> formatter) {
+        Map<String, String> currentMdc = MDC.getMap();
+        return new AsyncLogRecord(source, currentMdc == null ? Map.of() : new HashMap<>(currentMdc), formatter);
+    }
+
+    /**
+     * Creates the log message
+     *
+     * @return log message
+     */
+    public String format() {
+        return formatter.get();
+    }
+
+    /**
+     * Getter for the field {@code source}.
+     *
+     * @return logger class of the message
+     */
+    public Class<?> getSource() {
+        return source;
+    }
+
+    /**
+     * Getter for the field {@code mdc}.
+     *
+     * @return MDC values of the creating thread
+     */
+    public Map<String, String> getMdc() {
+        return mdc;
+    }
+}
@@ -0,0 +1,298 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.stream;
+
+import java.text.MessageFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedThreadFactory;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.RequestContextController;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import hu.icellmobilsoft.coffee.cdi.logger.AppLogger;
+import hu.icellmobilsoft.coffee.cdi.logger.LogProducer;
+import hu.icellmobilsoft.coffee.cdi.logger.ThisLogger;
+import hu.icellmobilsoft.coffee.cdi.metric.constants.AsyncLogMetricsConstants;
+import hu.icellmobilsoft.coffee.cdi.metric.spi.IMetricsHandler;
+import hu.icellmobilsoft.coffee.se.logging.mdc.MDC;
+
+/**
+ * Asynchronous writer of the request/response logs. The request thread puts a compact {@link AsyncLogRecord} to a bounded queue, a background
+ * thread formats, masks and writes the log messages. Disabled by default, then the callers log synchronously as before.
+ *
+ * <pre>
+ * coffee:
+ *   log:
+ *     async:
+ *       enabled: true # default: false
+ *       queueSize: 10000 # default: 10000
+ *       overflowPolicy: DROP # default: CALLER_RUNS, see AsyncLogOverflowPolicy
+ * </pre>
+ *
+ * The writer registers the {@value AsyncLogMetricsConstants.Gauge#COFFEE_LOG_ASYNC_QUEUE_SIZE} and
+ * {@value AsyncLogMetricsConstants.Gauge#COFFEE_LOG_ASYNC_DROPPED} gauges.
+ * <p>
+ * The writer thread is created by the container {@link ManagedThreadFactory}, without it by an unmanaged daemon thread. An other thread
+ * factory can be supplied by overriding {@link #getThreadFactory()} in an alternative bean.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@ApplicationScoped
+public class AsyncLogWriter {
+
+    /**
+     * Config key of the asynchronous logging switch, default false
+     */
+    public static final String ENABLED = "coffee.log.async.enabled";
+
+    /**
+     * Config key of the queue capacity, default {@value #DEFAULT_QUEUE_SIZE}
+     */
+    public static final String QUEUE_SIZE = "coffee.log.async.queueSize";
+
+    /**
+     * Config key of the {@link AsyncLogOverflowPolicy}, default {@link AsyncLogOverflowPolicy#CALLER_RUNS}
+     */
+    public static final String OVERFLOW_POLICY = "coffee.log.async.overflowPolicy";
+
+    /**
+     * Default queue capacity
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 10000;
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private static final String WORKER_THREAD_NAME = "coffee-async-log";
+
+    @Inject
+    @ThisLogger
+    private AppLogger log;
+
+    @Inject
+    private IMetricsHandler metricsHandler;
+
+    @Inject
+    private Instance<RequestContextController> requestContextControllerInstance;
+
+    @Resource
+    private ManagedThreadFactory managedThreadFactory;
+
+    private boolean enabled;
+
+    private AsyncLogOverflowPolicy overflowPolicy;
+
+    private BlockingQueue<AsyncLogRecord> queue;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    /**
+     * Default constructor, constructs a new object.
+     */
+    public AsyncLogWriter() {
+        super();
+    }
+
+    /**
+     * Reads the config and starts the writer thread if enabled
+     */
+    @PostConstruct
+    public void init() {
+        Config config = ConfigProvider.getConfig();
+        enabled = config.getOptionalValue(ENABLED, Boolean.class).orElse(Boolean.FALSE);
+        if (!enabled) {
+            return;
+        }
+        int queueSize = config.getOptionalValue(QUEUE_SIZE, Integer.class).orElse(DEFAULT_QUEUE_SIZE);
+        overflowPolicy = config.getOptionalValue(OVERFLOW_POLICY, String.class).map(AsyncLogOverflowPolicy::valueOf)
+                .orElse(AsyncLogOverflowPolicy.CALLER_RUNS);
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+        running = true;
+        worker = getThreadFactory().newThread(this::drainLoop);
+        worker.start();
+        metricsHandler.addGauge(AsyncLogMetricsConstants.Gauge.COFFEE_LOG_ASYNC_QUEUE_SIZE,
+                AsyncLogMetricsConstants.Description.COFFEE_LOG_ASYNC_QUEUE_SIZE_DESCRIPTION, queue::size);
+        metricsHandler.addGauge(AsyncLogMetricsConstants.Gauge.COFFEE_LOG_ASYNC_DROPPED,
+                AsyncLogMetricsConstants.Description.COFFEE_LOG_ASYNC_DROPPED_DESCRIPTION, droppedCount::get);
+        runInRequestContext(() -> log.info("Asynchronous request/response logging started, queueSize: [{0}], overflowPolicy: [{1}]", queueSize,
+                overflowPolicy));
+    }
+
+    /**
+     * Thread factory of the writer thread. Returns the container {@link ManagedThreadFactory} if available, otherwise a factory of unmanaged
+     * daemon threads.
+     *
+     * @return thread factory of the writer thread
+     */
+    protected ThreadFactory getThreadFactory() {
+        if (managedThreadFactory != null) {
+            return managedThreadFactory;
+        }
+        runInRequestContext(() -> log.warn("ManagedThreadFactory is not available, asynchronous log writer runs in an unmanaged thread"));
+        return runnable -> {
+            Thread thread = new Thread(runnable, WORKER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Stops the writer thread, the queued records are written before
+     */
+    @PreDestroy
+    public void destroy() {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            runInRequestContext(() -> log.warn("Asynchronous log writer stopped with [{0}] unwritten records", queue.size()));
+        }
+    }
+
+    /**
+     * Is the asynchronous logging enabled. If not, the caller should log synchronously.
+     *
+     * @return {@code true} if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Puts the record to the queue. If the writer is disabled or the queue is full with {@link AsyncLogOverflowPolicy#CALLER_RUNS}, the record
+     * is written on the calling thread.
+     *
+     * @param record
+     *            log record
+     */
+    public void write(AsyncLogRecord record) {
+        if (record == null) {
+            return;
+        }
+        if (!enabled || !running) {
+            writeRecord(record);
+            return;
+        }
+        if (queue.offer(record)) {
+            return;
+        }
+        switch (overflowPolicy) {
+        case DROP:
+            droppedCount.incrementAndGet();
+            break;
+        case DROP_OLDEST:
+            while (!queue.offer(record)) {
+                if (queue.poll() != null) {
+                    droppedCount.incrementAndGet();
+                }
+            }
+            break;
+        case CALLER_RUNS:
+        default:
+            writeRecord(record);
+            break;
+        }
+    }
+
+    /**
+     * Number of dropped records since start
+     *
+     * @return dropped record count
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                AsyncLogRecord record = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (record != null) {
+                    writeWithMdc(record);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeWithMdc(AsyncLogRecord record) {
+        try {
+            for (Map.Entry<String, String> entry : record.getMdc().entrySet()) {
+                MDC.put(entry.getKey(), entry.getValue());
+            }
+            writeRecord(record);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private void writeRecord(AsyncLogRecord record) {
+        runInRequestContext(() -> {
+            try {
+                LogProducer.logToAppLogger(appLogger -> appLogger.info(record.format()), record.getSource());
+            } catch (RuntimeException e) {
+                log.error(MessageFormat.format("Error on writing log record of [{0}]: [{1}]", record.getSource(), e.getLocalizedMessage()), e);
+            }
+        });
+    }
+
+    /**
+     * The {@link AppLogger} needs the request context, the writer thread and the container lifecycle callbacks have none
+     */
+    private void runInRequestContext(Runnable runnable) {
+        RequestContextController requestContextController = requestContextControllerInstance.get();
+        boolean activated = requestContextController.activate();
+        try {
+            runnable.run();
+        } finally {
+            if (activated) {
+                requestContextController.deactivate();
+            }
+            requestContextControllerInstance.destroy(requestContextController);
+        }
+    }
+}
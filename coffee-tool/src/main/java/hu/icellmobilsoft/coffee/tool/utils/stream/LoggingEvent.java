@@ -19,6 +19,8 @@
  */
 package hu.icellmobilsoft.coffee.tool.utils.stream;
 
+import java.util.function.Supplier;
+
 /**
  * Logging event containing the message
  *
@@ -29,6 +31,10 @@ public class LoggingEvent {
 
     private String message;
 
+    private Supplier<String> messageSupplier;
+
+    private Class<?> source;
+
     /**
      * Constructor
      *
@@ -39,12 +45,66 @@ public class LoggingEvent {
         this.message = message;
     }
 
+    /**
+     * Constructor with lazy message, it is created on the first {@link #getMessage()} call, which can be on the asynchronous log writer thread
+     *
+     * @param messageSupplier
+     *            creates the message to be logged, it must use only immutable or copied data
+     * @since 2.8.0
+     */
+    public LoggingEvent(Supplier<String> messageSupplier) {
+        this.messageSupplier = messageSupplier;
+    }
+
+    /**
+     * Constructor with the logger class of the message
+     *
+     * @param source
+     *            the message is logged by the logger of this class, if {@code null} by the {@link LoggingObserver} logger
+     * @param message
+     *            message to be logged
+     * @since 2.8.0
+     */
+    public LoggingEvent(Class<?> source, String message) {
+        this.source = source;
+        this.message = message;
+    }
+
+    /**
+     * Constructor with the logger class of the message and lazy message
+     *
+     * @param source
+     *            the message is logged by the logger of this class, if {@code null} by the {@link LoggingObserver} logger
+     * @param messageSupplier
+     *            creates the message to be logged, it must use only immutable or copied data
+     * @since 2.8.0
+     * @see #LoggingEvent(Supplier)
+     */
+    public LoggingEvent(Class<?> source, Supplier<String> messageSupplier) {
+        this.source = source;
+        this.messageSupplier = messageSupplier;
+    }
+
+    /**
+     * Getter for the field {@code source}.
+     *
+     * @return logger class of the message, or {@code null} if it is logged by the {@link LoggingObserver} logger
+     * @since 2.8.0
+     */
+    public Class<?> getSource() {
+        return source;
+    }
+
     /**
      * Getter
      *
      * @return the message
      */
-    public String getMessage() {
+    public synchronized String getMessage() {
+        if (message == null && messageSupplier != null) {
+            message = messageSupplier.get();
+            messageSupplier = null;
+        }
         return message;
     }
 }
@@ -24,6 +24,7 @@ import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 
 import hu.icellmobilsoft.coffee.cdi.logger.AppLogger;
+import hu.icellmobilsoft.coffee.cdi.logger.LogProducer;
 import hu.icellmobilsoft.coffee.cdi.logger.ThisLogger;
 
 /**
@@ -39,6 +40,9 @@ public class LoggingObserver {
     @ThisLogger
     private AppLogger log;
 
+    @Inject
+    private AsyncLogWriter asyncLogWriter;
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -47,12 +51,22 @@ public class LoggingObserver {
     }
 
     /**
-     * Observer method that logs the message
+     * Observer method that logs the message, on the {@link AsyncLogWriter} thread if it is enabled. The message is logged by the logger of
+     * {@link LoggingEvent#getSource()} if it is set, otherwise by the own logger.
      *
      * @param event
      *            containing the message to be logged
      */
     public void observe(@Observes LoggingEvent event) {
+        Class<?> source = event.getSource();
+        if (asyncLogWriter.isEnabled()) {
+            asyncLogWriter.write(AsyncLogRecord.of(source != null ? source : LoggingObserver.class, event::getMessage));
+            return;
+        }
+        if (source != null) {
+            LogProducer.logToAppLogger(appLogger -> appLogger.info(event.getMessage()), source);
+            return;
+        }
         log.info(event.getMessage());
     }
 }
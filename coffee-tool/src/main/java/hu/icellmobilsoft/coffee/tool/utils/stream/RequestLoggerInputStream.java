@@ -19,26 +19,32 @@
  */
 package hu.icellmobilsoft.coffee.tool.utils.stream;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 import jakarta.enterprise.inject.spi.CDI;
 
 import hu.icellmobilsoft.coffee.tool.utils.string.StringHelper;
 
 /**
- * Custom {@link InputStream} for logging request with entity
+ * Custom {@link InputStream} for logging request (or REST client response) with entity. The entity bytes are collected until the limit and
+ * decoded as UTF-8 once, when the log message is published.
  *
  * @author mate.biro
  * @since 2.4.0
  */
-@SuppressWarnings("InputStreamSlowMultibyteRead")
 public class RequestLoggerInputStream extends InputStream {
 
+    private static final int DEFAULT_INITIAL_BYTE_ARRAY_SIZE = 1024;
+
     private final InputStream inputStream;
     private final String requestPrefix;
-    private final StringBuilder entityLog = new StringBuilder();
+    private final ByteArrayOutputStream entityLog;
     private final StringBuilder logMessage;
+    private final LoggingPublisher loggingPublisher;
+    private final Class<?> logSource;
     private int logCollectLimit;
     private boolean isLogged = false;
 
@@ -55,60 +61,160 @@ public class RequestLoggerInputStream extends InputStream {
      *            log message
      */
     public RequestLoggerInputStream(InputStream requestEntityStream, int logCollectLimit, String requestPrefix, StringBuilder logMessage) {
+        this(requestEntityStream, logCollectLimit, requestPrefix, logMessage, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param requestEntityStream
+     *            original requestEntityStream
+     * @param logCollectLimit
+     *            read limit
+     * @param requestPrefix
+     *            request log prefix
+     * @param logMessage
+     *            log message
+     * @param loggingPublisher
+     *            publisher of the log message, if {@code null} it is looked up from CDI on publishing
+     * @since 2.8.0
+     */
+    public RequestLoggerInputStream(InputStream requestEntityStream, int logCollectLimit, String requestPrefix, StringBuilder logMessage,
+            LoggingPublisher loggingPublisher) {
+        this(requestEntityStream, logCollectLimit, requestPrefix, logMessage, loggingPublisher, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param requestEntityStream
+     *            original requestEntityStream
+     * @param logCollectLimit
+     *            read limit
+     * @param requestPrefix
+     *            request log prefix
+     * @param logMessage
+     *            log message
+     * @param loggingPublisher
+     *            publisher of the log message, if {@code null} it is looked up from CDI on publishing
+     * @param logSource
+     *            the log message is logged by the logger of this class, if {@code null} by the {@link LoggingObserver} logger
+     * @since 2.8.0
+     */
+    public RequestLoggerInputStream(InputStream requestEntityStream, int logCollectLimit, String requestPrefix, StringBuilder logMessage,
+            LoggingPublisher loggingPublisher, Class<?> logSource) {
         this.inputStream = requestEntityStream;
         this.logCollectLimit = logCollectLimit;
         this.requestPrefix = requestPrefix;
         this.logMessage = logMessage;
+        this.loggingPublisher = loggingPublisher;
+        this.logSource = logSource;
+        entityLog = new ByteArrayOutputStream(logCollectLimit > 0 ? Math.min(logCollectLimit, DEFAULT_INITIAL_BYTE_ARRAY_SIZE)
+                : DEFAULT_INITIAL_BYTE_ARRAY_SIZE);
     }
 
     /**
      * {@inheritDoc}
      *
      * <br>
-     * Extra functionality: On read the request entity data is appended from the original {@link InputStream} to an internal {@link StringBuilder}
-     * until a given limit is reached (or until the end of stream if log limit exceeds the length of the stream). Then publishes an event to log the
-     * given request message with the appended request entity.
+     * Extra functionality: On read the request entity data is appended from the original {@link InputStream} to an internal buffer until a given
+     * limit is reached (or until the end of stream if log limit exceeds the length of the stream). Then publishes an event to log the given
+     * request message with the appended request entity.
      *
      */
     @Override
     public int read() throws IOException {
-        int streamData = -1;
+        int streamData;
         try {
             streamData = inputStream.read();
         } catch (IOException e) {
             // hiba keletkezett az olvasasnal, logolni kell
-            prepareAndSendLoggingEvent();
-
-            isLogged = true;
-
+            logOnce();
             throw e;
         }
-
         if (streamData != -1 && logCollectLimit != 0) {
             // We collect the content of a stream for logging purposes as long as there is content and we have not reached the limit
-            entityLog.append((char) streamData);
+            entityLog.write(streamData);
             logCollectLimit--;
-        } else if (!isLogged) {
+        } else {
             // If we reach the end of the stream or reach the limit without logging yet, we send an event to trigger logging.
-            prepareAndSendLoggingEvent();
+            logOnce();
+        }
+        return streamData;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <br>
+     * Extra functionality: At most the remaining limit of the read bytes is appended to an internal buffer. The log event is published when the
+     * limit or the end of stream is reached, after that the data is only passed through.
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int count;
+        try {
+            count = inputStream.read(b, off, len);
+        } catch (IOException e) {
+            // hiba keletkezett az olvasasnal, logolni kell
+            logOnce();
+            throw e;
+        }
+        if (count > 0 && logCollectLimit != 0) {
+            // negative limit means unlimited collection
+            int collectLength = logCollectLimit < 0 ? count : Math.min(count, logCollectLimit);
+            entityLog.write(b, off, collectLength);
+            if (logCollectLimit > 0) {
+                logCollectLimit -= collectLength;
+            }
+        }
+        if (count == -1 || logCollectLimit == 0) {
+            logOnce();
+        }
+        return count;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() throws IOException {
+        return inputStream.available();
+    }
 
-            isLogged = true;
+    /**
+     * {@inheritDoc}
+     *
+     * <br>
+     * Extra functionality: If the entity was not read until the end or the limit, the collected part is logged.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            logOnce();
+        } finally {
+            inputStream.close();
         }
+    }
 
-        return streamData;
+    private void logOnce() {
+        if (isLogged) {
+            return;
+        }
+        isLogged = true;
+        prepareAndSendLoggingEvent();
     }
 
     private void prepareAndSendLoggingEvent() {
-        String maskedEntityLog = getMaskedEntity(entityLog.toString());
-        logMessage.append(maskedEntityLog);
-
-        LoggingEvent event = new LoggingEvent(logMessage.toString());
-        LoggingPublisher loggingPublisher = CDI.current().select(LoggingPublisher.class).get();
-        loggingPublisher.publish(event);
+        byte[] entity = entityLog.toByteArray();
+        // decoding and masking runs when the message is needed, it can be on the asynchronous log writer thread
+        LoggingEvent event = new LoggingEvent(logSource, () -> appendMaskedEntity(new String(entity, StandardCharsets.UTF_8)).toString());
+        LoggingPublisher publisher = loggingPublisher != null ? loggingPublisher : CDI.current().select(LoggingPublisher.class).get();
+        publisher.publish(event);
     }
 
-    private String getMaskedEntity(String entityLogText) {
-        String maskedText = StringHelper.maskValueInXmlJson(entityLogText);
-        return requestPrefix + "entity: [" + maskedText + "]\n";
+    private StringBuilder appendMaskedEntity(String entityLogText) {
+        logMessage.append(requestPrefix).append("entity: [");
+        // masked directly into the log message
+        StringHelper.maskValueInXmlJson(entityLogText, logMessage);
+        return logMessage.append("]\n");
     }
 }
@@ -54,8 +54,8 @@ public class ResponseEntityCollectorOutputStream extends OutputStream {
      * {@inheritDoc}
      *
      * <br>
-     * Extra functionality: It appends the response entity data written to the original {@link OutputStream} to an internal {@link StringBuilder}
-     * until the given limit has been reached.
+     * Extra functionality: It appends the response entity data written to the original {@link OutputStream} to an internal buffer until the
+     * given limit has been reached.
      */
     @Override
     public void write(int b) throws IOException {
@@ -67,6 +67,37 @@ public class ResponseEntityCollectorOutputStream extends OutputStream {
         originalResponseStream.write(b);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <br>
+     * Extra functionality: It appends at most the remaining limit of the written bytes to an internal buffer, after the limit the data is only
+     * passed to the original {@link OutputStream}.
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (logCollectLimit != 0 && len > 0) {
+            // negative limit means unlimited collection
+            int collectLength = logCollectLimit < 0 ? len : Math.min(len, logCollectLimit);
+            entityLog.write(b, off, collectLength);
+            if (logCollectLimit > 0) {
+                logCollectLimit -= collectLength;
+            }
+        }
+        originalResponseStream.write(b, off, len);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <br>
+     * Flushes the original {@link OutputStream}.
+     */
+    @Override
+    public void flush() throws IOException {
+        originalResponseStream.flush();
+    }
+
     /**
      * Returns the entity as byte array
      *
@@ -0,0 +1,262 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.string;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Compiled masker of sensitive values in XML and JSON texts. The text is scanned once: XML tag names ({@code <key>value<}) and JSON keys
+ * followed by a string value ({@code "key": "value"}) are tokenized, only these keys are matched against the key patterns, and the values
+ * of the matching keys are replaced by {@value #MASK}. The key patterns are compiled once into one case-insensitive pattern and the match
+ * result of the keys is cached.
+ * <p>
+ * The result is the same as the regex replacement of {@link StringUtil#replaceAllIgnoreCase(String, String, String)} with the
+ * {@code <(keyPattern)>(.*?)<} and {@code ("keyPattern" *?: *?)"(.*?)"} expressions, except that escaped quotes in JSON string values are
+ * handled and tab is allowed around the colon.
+ * <p>
+ * Instances are immutable and thread safe.
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+public class SensitiveValueMasker {
+
+    /**
+     * Replacement of the sensitive values
+     */
+    public static final String MASK = "*";
+
+    private static final char LINE_SEPARATOR = 0x2028;
+
+    private static final char PARAGRAPH_SEPARATOR = 0x2029;
+
+    private static final int MAX_CACHED_KEY_LENGTH = 128;
+
+    private static final int MAX_CACHED_KEYS = 4096;
+
+    private final Pattern keyPattern;
+
+    private final Map<String, Boolean> keyCache = new ConcurrentHashMap<>();
+
+    /**
+     * Compiles the key patterns
+     *
+     * @param keyPatterns
+     *            case-insensitive regular expressions of the sensitive keys, blank patterns are ignored
+     */
+    public SensitiveValueMasker(String... keyPatterns) {
+        String joined = keyPatterns == null ? ""
+                : Arrays.stream(keyPatterns).filter(StringUtils::isNotBlank).map(pattern -> "(?:" + pattern + ")").collect(Collectors.joining("|"));
+        this.keyPattern = joined.isEmpty() ? null : Pattern.compile(joined, Pattern.CASE_INSENSITIVE);
+    }
+
+    /**
+     * Checks if the key matches any key pattern (case ignored)
+     *
+     * @param key
+     *            key to check
+     * @return {@code true} if the key is sensitive
+     */
+    public boolean isSensitiveKey(CharSequence key) {
+        if (keyPattern == null || key == null) {
+            return false;
+        }
+        if (key.length() > MAX_CACHED_KEY_LENGTH) {
+            return keyPattern.matcher(key).matches();
+        }
+        String keyString = key.toString();
+        Boolean sensitive = keyCache.get(keyString);
+        if (sensitive == null) {
+            sensitive = keyPattern.matcher(keyString).matches();
+            if (keyCache.size() >= MAX_CACHED_KEYS) {
+                keyCache.clear();
+            }
+            keyCache.put(keyString, sensitive);
+        }
+        return sensitive;
+    }
+
+    /**
+     * Masks the sensitive values in XML or JSON text
+     *
+     * @param text
+     *            XML or JSON text
+     * @return masked text, or the input if it is blank or there is no key pattern
+     */
+    public String mask(String text) {
+        if (keyPattern == null || StringUtils.isBlank(text)) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        mask(text, out);
+        return out.toString();
+    }
+
+    /**
+     * Masks the sensitive values in XML or JSON text and appends the result to {@code out}, without creating intermediate strings
+     *
+     * @param text
+     *            XML or JSON text
+     * @param out
+     *            target of the masked text
+     */
+    public void mask(CharSequence text, StringBuilder out) {
+        if (text == null) {
+            out.append((String) null);
+            return;
+        }
+        if (keyPattern == null) {
+            out.append(text);
+            return;
+        }
+        int length = text.length();
+        // start of the part not yet copied to out
+        int copied = 0;
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            int valueEnd = -1;
+            if (c == '<') {
+                valueEnd = maskXmlValue(text, i, copied, out);
+            } else if (c == '"') {
+                valueEnd = maskJsonValue(text, i, copied, out);
+            }
+            if (valueEnd < 0) {
+                i++;
+            } else {
+                // the value end character is kept, but the scan continues after it, like the regex replacement
+                copied = valueEnd;
+                i = valueEnd + 1;
+            }
+        }
+        out.append(text, copied, length);
+    }
+
+    /**
+     * Masks the value if {@code tagStart} is the start of a sensitive XML tag
+     *
+     * @return index of the {@code <} after the masked value, or -1 if not masked
+     */
+    private int maskXmlValue(CharSequence text, int tagStart, int copied, StringBuilder out) {
+        int tagEnd = indexOfTagEnd(text, tagStart + 1);
+        if (tagEnd < 0 || !isSensitiveKey(text.subSequence(tagStart + 1, tagEnd))) {
+            return -1;
+        }
+        int valueEnd = indexOfXmlValueEnd(text, tagEnd + 1);
+        if (valueEnd < 0) {
+            return -1;
+        }
+        out.append(text, copied, tagEnd + 1).append(MASK);
+        return valueEnd;
+    }
+
+    /**
+     * Masks the value if {@code keyStart} is the start of a sensitive JSON key with string value
+     *
+     * @return index of the closing quote of the masked value, or -1 if not masked
+     */
+    private int maskJsonValue(CharSequence text, int keyStart, int copied, StringBuilder out) {
+        int keyEnd = indexOf(text, '"', keyStart + 1);
+        if (keyEnd < 0) {
+            return -1;
+        }
+        int colon = skipBlanks(text, keyEnd + 1);
+        if (colon >= text.length() || text.charAt(colon) != ':') {
+            return -1;
+        }
+        int valueStart = skipBlanks(text, colon + 1);
+        if (valueStart >= text.length() || text.charAt(valueStart) != '"' || !isSensitiveKey(text.subSequence(keyStart + 1, keyEnd))) {
+            return -1;
+        }
+        int valueEnd = indexOfJsonStringEnd(text, valueStart + 1);
+        if (valueEnd < 0) {
+            return -1;
+        }
+        out.append(text, copied, valueStart + 1).append(MASK);
+        return valueEnd;
+    }
+
+    private static int indexOfTagEnd(CharSequence text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '>') {
+                return i;
+            } else if (c == '<') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfXmlValueEnd(CharSequence text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '<') {
+                return i;
+            } else if (isLineTerminator(c)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfJsonStringEnd(CharSequence text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                return i;
+            } else if (c == '\\') {
+                // escaped character
+                i++;
+            } else if (isLineTerminator(c)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(CharSequence text, char ch, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipBlanks(CharSequence text, int from) {
+        int i = from;
+        while (i < text.length() && (text.charAt(i) == ' ' || text.charAt(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isLineTerminator(char c) {
+        // same as the line terminators not matched by the regex '.'
+        return c == '\n' || c == '\r' || c == '\u0085' || c == LINE_SEPARATOR || c == PARAGRAPH_SEPARATOR;
+    }
+}
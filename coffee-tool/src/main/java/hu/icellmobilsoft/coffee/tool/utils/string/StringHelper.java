@@ -19,10 +19,12 @@
  */
 package hu.icellmobilsoft.coffee.tool.utils.string;
 
+import java.util.Objects;
 import java.util.Optional;
 
 import jakarta.enterprise.context.Dependent;
 
+import org.apache.commons.lang3.StringUtils;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
 
@@ -44,6 +46,10 @@ public class StringHelper {
     // (hence the @org.eclipse.microprofile.config.inject.ConfigProperty annotation is not appropriate).
     private static Config config = ConfigProviderResolver.instance().getBuilder().addDefaultSources().build();
 
+    // The resolved patterns and their masker are cached. Environment and microprofile-config.properties do not change at runtime, only the
+    // system property is checked on each call, and the patterns are resolved again if it differs.
+    private static volatile SensitiveKeyPatternHolder patternHolder;
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -70,7 +76,7 @@ public class StringHelper {
      * @return "*" if key and pattern are not blank and key matches pattern (case ignored); value otherwise
      */
     public static String maskPropertyValue(String key, Object value) {
-        return StringUtil.maskPropertyValue(key, value, getSensitiveKeyPattern());
+        return StringUtil.maskPropertyValue(key, value, getPatternHolder().patterns);
     }
 
     /**
@@ -124,8 +130,23 @@ public class StringHelper {
      * @return masked text
      */
     public static String maskValueInXmlJson(String text) {
-        // Default config sources (sys, env, microprofile-config.properties)
-        return StringUtil.maskValueInXmlJson(text, getSensitiveKeyPattern());
+        if (StringUtils.isBlank(text)) {
+            return text;
+        }
+        return getPatternHolder().masker.mask(text);
+    }
+
+    /**
+     * Masks values belonging to properties ignore-case matching a defined keyPattern in XML or JSON texts, like
+     * {@link #maskValueInXmlJson(String)}, but appends the masked text directly to {@code out}.
+     *
+     * @param text
+     *            XML or JSON text to replace sensitive data
+     * @param out
+     *            target of the masked text
+     */
+    public static void maskValueInXmlJson(CharSequence text, StringBuilder out) {
+        getPatternHolder().masker.mask(text, out);
     }
 
     /**
@@ -136,9 +157,31 @@ public class StringHelper {
      * @return value of config key {@value IConfigKey#LOG_SENSITIVE_KEY_PATTERN} if set, {@link #DEFAULT_PATTERN} otherwise.
      */
     public static String[] getSensitiveKeyPattern() {
-        // Default config sources (sys, env, microprofile-config.properties)
-        Optional<String[]> patternOpt = config.getOptionalValue(IConfigKey.LOG_SENSITIVE_KEY_PATTERN, String[].class);
-        return patternOpt.filter(patternArray -> patternArray.length > 0).orElse(DEFAULT_PATTERN);
+        return getPatternHolder().patterns.clone();
+    }
+
+    private static SensitiveKeyPatternHolder getPatternHolder() {
+        String systemProperty = System.getProperty(IConfigKey.LOG_SENSITIVE_KEY_PATTERN);
+        SensitiveKeyPatternHolder holder = patternHolder;
+        if (holder == null || !Objects.equals(holder.systemProperty, systemProperty)) {
+            // Default config sources (sys, env, microprofile-config.properties)
+            Optional<String[]> patternOpt = config.getOptionalValue(IConfigKey.LOG_SENSITIVE_KEY_PATTERN, String[].class);
+            holder = new SensitiveKeyPatternHolder(systemProperty, patternOpt.filter(patternArray -> patternArray.length > 0).orElse(DEFAULT_PATTERN));
+            patternHolder = holder;
+        }
+        return holder;
     }
 
+    private static final class SensitiveKeyPatternHolder {
+
+        private final String systemProperty;
+        private final String[] patterns;
+        private final SensitiveValueMasker masker;
+
+        private SensitiveKeyPatternHolder(String systemProperty, String[] patterns) {
+            this.systemProperty = systemProperty;
+            this.patterns = patterns;
+            this.masker = StringUtil.getMasker(patterns);
+        }
+    }
 }
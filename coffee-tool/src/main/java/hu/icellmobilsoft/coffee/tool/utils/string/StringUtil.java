@@ -22,7 +22,11 @@ package hu.icellmobilsoft.coffee.tool.utils.string;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,6 +47,9 @@ public class StringUtil {
     private static Logger LOGGER = Logger.getLogger(StringUtil.class);
     private static RegexPatternCache patternCache = new RegexPatternCache();
 
+    private static final int MAX_CACHED_MASKERS = 64;
+    private static final Map<List<String>, SensitiveValueMasker> MASKER_CACHE = new ConcurrentHashMap<>();
+
     /**
      * Default constructor, constructs a new object.
      */
@@ -102,16 +109,8 @@ public class StringUtil {
      */
     public static String maskPropertyValue(String key, Object value, String... keyPatterns) {
         String valueStr = toString(value);
-        if (StringUtils.isNoneBlank(key, valueStr) && keyPatterns != null) {
-            for (String keyPattern : keyPatterns) {
-                if (StringUtils.isNotBlank(keyPattern)) {
-                    Pattern pattern = patternCache.getPattern(keyPattern);
-                    Matcher matcher = pattern.matcher(key);
-                    if (matcher.matches()) {
-                        return "*";
-                    }
-                }
-            }
+        if (StringUtils.isNoneBlank(key, valueStr) && keyPatterns != null && getMasker(keyPatterns).isSensitiveKey(key)) {
+            return SensitiveValueMasker.MASK;
         }
         return valueStr;
     }
@@ -141,7 +140,8 @@ public class StringUtil {
     }
 
     /**
-     * Masks values belonging to properties ignore-case matching keyPattern in XML or JSON texts. ie.:<br>
+     * Masks values belonging to properties ignore-case matching keyPattern in XML or JSON texts in a single pass, see
+     * {@link SensitiveValueMasker}. ie.:<br>
      * keypattern = {@code .*?(pass).*?}
      * <table border="1">
      * <caption>Example input-output pairs</caption> <tbody>
@@ -183,18 +183,30 @@ public class StringUtil {
      * @return masked {@code String}
      */
     public static String maskValueInXmlJson(String text, String... keyPatterns) {
-        String result = text;
         if (StringUtils.isNotBlank(text) && keyPatterns != null) {
-            for (String keyPattern : keyPatterns) {
-                // xml replacement: pl.<(.*?(pass).*?)>(.*?)<
-                // <somethingPasswordLike>abc123</somethingPasswordLike> -> <somethingPasswordLike>*</somethingPasswordLike>
-                result = replaceAllIgnoreCase(result, "<(" + keyPattern + ")>(.*?)<", "<$1>*<");
-                // json replacement: pl. (".*?(pass).*?" *?: *?)"(.*?)"
-                // "somethingPasswordLike":"abc123" -> "somethingPasswordLike":"*"
-                result = replaceAllIgnoreCase(result, "(\"" + keyPattern + "\" *?: *?)\"(.*?)\"", "$1\"*\"");
+            return getMasker(keyPatterns).mask(text);
+        }
+        return text;
+    }
+
+    /**
+     * Returns the compiled {@link SensitiveValueMasker} of the key patterns. The maskers are cached by the key patterns.
+     *
+     * @param keyPatterns
+     *            The patterns to which keys are checked
+     * @return masker of the key patterns
+     */
+    public static SensitiveValueMasker getMasker(String... keyPatterns) {
+        List<String> key = keyPatterns == null ? List.of() : Arrays.asList(keyPatterns.clone());
+        SensitiveValueMasker masker = MASKER_CACHE.get(key);
+        if (masker == null) {
+            masker = new SensitiveValueMasker(keyPatterns);
+            if (MASKER_CACHE.size() >= MAX_CACHED_MASKERS) {
+                MASKER_CACHE.clear();
             }
+            MASKER_CACHE.put(key, masker);
         }
-        return result;
+        return masker;
     }
 
     /**
@@ -20,9 +20,15 @@
 package hu.icellmobilsoft.coffee.tool.gson;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
@@ -48,8 +54,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
 import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
 
 
@@ -387,6 +396,74 @@ class JsonUtilTest {
         }
     }
 
+    @Nested
+    @DisplayName("Testing streaming and shared Gson")
+    class StreamingTest {
+
+        @Test
+        @DisplayName("Testing toJsonEx() with OutputStream")
+        void toJsonOutputStream() throws Exception {
+            // given
+            TestObject source = givenWeHaveTestObject();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            // when
+            JsonUtil.toJsonEx(source, outputStream);
+
+            // then
+            assertEquals(JsonUtil.toJsonGson(source), outputStream.toString(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("Testing toObjectEx() with InputStream")
+        void toObjectInputStream() throws Exception {
+            // given
+            InputStream inputStream = new ByteArrayInputStream(TEST_OBJECT_AS_JSON.getBytes(StandardCharsets.UTF_8));
+
+            // when
+            TestObject actual = JsonUtil.toObjectEx(inputStream, TestObject.class);
+
+            // then
+            assertEquals(JsonParser.parseString(TEST_OBJECT_AS_JSON), JsonParser.parseString(JsonUtil.toJsonGson(actual)));
+        }
+
+        @Test
+        @DisplayName("Testing toObjectEx() with invalid InputStream")
+        void toObjectInvalidInputStream() {
+            // given
+            InputStream inputStream = new ByteArrayInputStream(INVALID_JSON.getBytes(StandardCharsets.UTF_8));
+
+            // when
+            Executable operation = () -> JsonUtil.toObjectEx(inputStream, TestObject.class);
+
+            // then
+            assertThrows(BaseException.class, operation);
+        }
+
+        @Test
+        @DisplayName("Testing registerTypeAdapter()")
+        void registerTypeAdapter() {
+            // given
+            Gson before = JsonUtil.getGson();
+            assertSame(before, JsonUtil.getGson());
+
+            // when
+            JsonUtil.registerTypeAdapter(Money.class, (JsonSerializer<Money>) (src, typeOfSrc, context) -> new JsonPrimitive(src.amount + " HUF"));
+
+            // then
+            assertNotSame(before, JsonUtil.getGson());
+            assertEquals("\"10 HUF\"", JsonUtil.toJson(new Money(10)));
+        }
+    }
+
+    private static class Money {
+        final int amount;
+
+        Money(int amount) {
+            this.amount = amount;
+        }
+    }
+
     /**
      * Helper class for testing
      */
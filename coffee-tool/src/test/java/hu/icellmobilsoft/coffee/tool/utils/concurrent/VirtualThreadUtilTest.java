@@ -0,0 +1,74 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.concurrent;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing VirtualThreadUtil")
+class VirtualThreadUtilTest {
+
+    private static final boolean JDK21 = Runtime.version().feature() >= 21;
+
+    @Test
+    @DisplayName("Testing isSupported()")
+    void isSupported() {
+        // given
+        // when
+        boolean supported = VirtualThreadUtil.isSupported();
+        // then
+        Assertions.assertEquals(JDK21, supported);
+    }
+
+    @Test
+    @DisplayName("Testing newVirtualThreadFactory()")
+    void newVirtualThreadFactory() {
+        // given
+        // when
+        Optional<ThreadFactory> threadFactory = VirtualThreadUtil.newVirtualThreadFactory("test-");
+        // then
+        Assertions.assertEquals(JDK21, threadFactory.isPresent());
+        threadFactory.ifPresent(factory -> Assertions.assertEquals("test-0", factory.newThread(() -> {
+        }).getName()));
+    }
+
+    @Test
+    @DisplayName("Testing newVirtualThreadPerTaskExecutor()")
+    void newVirtualThreadPerTaskExecutor() throws Exception {
+        // given
+        // when
+        Optional<ExecutorService> executor = VirtualThreadUtil.newVirtualThreadPerTaskExecutor("test-");
+        // then
+        Assertions.assertEquals(JDK21, executor.isPresent());
+        if (executor.isPresent()) {
+            Assertions.assertEquals("test-0", executor.get().submit(() -> Thread.currentThread().getName()).get());
+            executor.get().shutdown();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.marshalling;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing {@link JaxbObjectPool}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing JaxbObjectPool")
+class JaxbObjectPoolTest {
+
+    @Test
+    @DisplayName("Testing released instance is reused by the same key only")
+    void reuseByKey() {
+        // given
+        JaxbObjectPool<Object> pool = new JaxbObjectPool<>();
+        Object instance = new Object();
+        // when
+        pool.release("a", instance);
+        // then
+        Assertions.assertNull(pool.poll("b"));
+        Assertions.assertSame(instance, pool.poll("a"));
+        Assertions.assertNull(pool.poll("a"));
+    }
+
+    @Test
+    @DisplayName("Testing idle instance limit per key")
+    void maxIdlePerKey() {
+        // given
+        JaxbObjectPool<Object> pool = new JaxbObjectPool<>(2, 10);
+        // when
+        pool.release("a", new Object());
+        pool.release("a", new Object());
+        pool.release("a", new Object());
+        // then
+        Assertions.assertEquals(2, pool.idleCount("a"));
+    }
+
+    @Test
+    @DisplayName("Testing key limit")
+    void maxKeys() {
+        // given
+        JaxbObjectPool<Object> pool = new JaxbObjectPool<>(2, 1);
+        // when
+        pool.release("a", new Object());
+        pool.release("b", new Object());
+        // then
+        Assertions.assertEquals(1, pool.idleCount("a"));
+        Assertions.assertEquals(0, pool.idleCount("b"));
+    }
+}
@@ -21,6 +21,11 @@ package hu.icellmobilsoft.coffee.tool.utils.marshalling;
 
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.io.StringWriter;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -113,6 +118,28 @@ public class MarshallingUtilTest {
         Assertions.assertEquals(xml, os.toString());
     }
 
+    @DisplayName("Testing marshallUncheckedXml() with XMLStreamWriter")
+    @Test
+    void marshallUncheckedXmlWithXmlStreamWriter() throws JAXBException, XMLStreamException {
+
+        StringWriter stringWriter = new StringWriter();
+        XMLStreamWriter xmlStreamWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(stringWriter);
+        MarshallingUtil.marshallUncheckedXml(testXmlObject, xmlStreamWriter);
+        xmlStreamWriter.flush();
+
+        Assertions.assertTrue(stringWriter.toString().endsWith("<testXmlObject><string>test</string></testXmlObject>"));
+    }
+
+    @DisplayName("Testing marshallUncheckedXml() repeatedly with pooled marshaller")
+    @Test
+    void marshallUncheckedXmlRepeated() throws JAXBException {
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(xml, MarshallingUtil.marshallUncheckedXml(testXmlObject));
+            Assertions.assertEquals(testXmlObject.getString(), MarshallingUtil.unmarshallUncheckedXml(xml, TestXmlObject.class).getString());
+        }
+    }
+
     @DisplayName("Testing unmarshall()")
     @Test
     void unmarshall() {
@@ -0,0 +1,114 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.stream;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.cdi.logger.AppLoggerImpl;
+import hu.icellmobilsoft.coffee.cdi.logger.LogContainer;
+import hu.icellmobilsoft.coffee.cdi.logger.LogProducer;
+import hu.icellmobilsoft.coffee.cdi.metric.spi.MetricsHandlerProducer;
+import hu.icellmobilsoft.coffee.se.logging.mdc.MDC;
+
+/**
+ * Unit tests for {@link AsyncLogWriter}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@EnableWeld
+@Tag("weld")
+@DisplayName("Testing AsyncLogWriter")
+class AsyncLogWriterTest {
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator
+            .from(AsyncLogWriter.class, MetricsHandlerProducer.class, LogProducer.class, AppLoggerImpl.class, LogContainer.class)
+            .build();
+
+    @Inject
+    private AsyncLogWriter asyncLogWriter;
+
+    @BeforeAll
+    static void beforeAll() {
+        System.setProperty(AsyncLogWriter.ENABLED, "true");
+    }
+
+    @AfterAll
+    static void afterAll() {
+        System.clearProperty(AsyncLogWriter.ENABLED);
+    }
+
+    @Test
+    @DisplayName("Testing the record is formatted on the writer thread with the MDC of the caller")
+    void writeOnWorkerThread() throws InterruptedException {
+        // given
+        List<String> formatted = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        MDC.put("testKey", "testValue");
+        AsyncLogRecord record = AsyncLogRecord.of(AsyncLogWriterTest.class, () -> {
+            formatted.add(Thread.currentThread().getName());
+            formatted.add(MDC.get("testKey"));
+            latch.countDown();
+            return "message";
+        });
+        MDC.clear();
+        // when
+        asyncLogWriter.write(record);
+        // then
+        Assertions.assertTrue(asyncLogWriter.isEnabled());
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of("coffee-async-log", "testValue"), formatted);
+        Assertions.assertEquals(0, asyncLogWriter.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Testing lazy logging event message is created once")
+    void lazyLoggingEvent() {
+        // given
+        List<String> calls = new CopyOnWriteArrayList<>();
+        LoggingEvent event = new LoggingEvent(() -> {
+            calls.add("call");
+            return "message";
+        });
+        // when
+        String first = event.getMessage();
+        String second = event.getMessage();
+        // then
+        Assertions.assertEquals("message", first);
+        Assertions.assertEquals("message", second);
+        Assertions.assertEquals(1, calls.size());
+    }
+}
@@ -0,0 +1,109 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.stream;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.junit5.EnableWeld;
+import org.jboss.weld.junit5.WeldInitiator;
+import org.jboss.weld.junit5.WeldSetup;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.cdi.logger.AppLoggerImpl;
+import hu.icellmobilsoft.coffee.cdi.logger.LogContainer;
+import hu.icellmobilsoft.coffee.cdi.logger.LogProducer;
+import hu.icellmobilsoft.coffee.cdi.metric.spi.MetricsHandlerProducer;
+
+/**
+ * Testing the writer thread of {@link AsyncLogWriter} is created by the supplied thread factory
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@EnableWeld
+@Tag("weld")
+@DisplayName("Testing AsyncLogWriter thread factory")
+class AsyncLogWriterThreadFactoryTest {
+
+    private static final String THREAD_NAME = "custom-async-log";
+
+    @WeldSetup
+    public WeldInitiator weld = WeldInitiator
+            .from(CustomThreadFactoryAsyncLogWriter.class, MetricsHandlerProducer.class, LogProducer.class, AppLoggerImpl.class,
+                    LogContainer.class)
+            .build();
+
+    @Inject
+    private AsyncLogWriter asyncLogWriter;
+
+    @BeforeAll
+    static void beforeAll() {
+        System.setProperty(AsyncLogWriter.ENABLED, "true");
+    }
+
+    @AfterAll
+    static void afterAll() {
+        System.clearProperty(AsyncLogWriter.ENABLED);
+    }
+
+    /**
+     * Writer supplying its own thread factory, as an EE deployment could do with a managed one
+     */
+    @Alternative
+    @Priority(1)
+    static class CustomThreadFactoryAsyncLogWriter extends AsyncLogWriter {
+
+        @Override
+        protected ThreadFactory getThreadFactory() {
+            return runnable -> new Thread(runnable, THREAD_NAME);
+        }
+    }
+
+    @Test
+    @DisplayName("Testing the record is written on the thread of the supplied factory")
+    void suppliedThreadFactory() throws InterruptedException {
+        // given
+        List<String> threadNames = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        AsyncLogRecord record = AsyncLogRecord.of(AsyncLogWriterThreadFactoryTest.class, () -> {
+            threadNames.add(Thread.currentThread().getName());
+            latch.countDown();
+            return "message";
+        });
+        // when
+        asyncLogWriter.write(record);
+        // then
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(THREAD_NAME), threadNames);
+    }
+}
@@ -0,0 +1,122 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RequestLoggerInputStream}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+class RequestLoggerInputStreamTest {
+
+    private static final String TEST_TEXT = "This is a test text. Árvíztűrő tükörfúrógép";
+
+    private static final byte[] TEST_BYTES_UTF_8 = TEST_TEXT.getBytes(StandardCharsets.UTF_8);
+
+    private final List<String> published = new ArrayList<>();
+
+    private final List<Class<?>> publishedSources = new ArrayList<>();
+
+    private final LoggingPublisher loggingPublisher = new LoggingPublisher() {
+        @Override
+        public void publish(LoggingEvent event) {
+            published.add(event.getMessage());
+            publishedSources.add(event.getSource());
+        }
+    };
+
+    @Test
+    @DisplayName("Testing bulk read collects the whole UTF-8 entity and logs once")
+    void bulkReadUnlimited() throws IOException {
+        // given
+        RequestLoggerInputStream in = new RequestLoggerInputStream(new ByteArrayInputStream(TEST_BYTES_UTF_8), -1, "> ", new StringBuilder(),
+                loggingPublisher);
+        // when
+        byte[] actual = IOUtils.toByteArray(in);
+        in.close();
+        // then
+        Assertions.assertArrayEquals(TEST_BYTES_UTF_8, actual);
+        Assertions.assertEquals(List.of("> entity: [" + TEST_TEXT + "]\n"), published);
+    }
+
+    @Test
+    @DisplayName("Testing bulk read collects the entity until the limit and passes the rest through")
+    void bulkReadLimited() throws IOException {
+        // given
+        RequestLoggerInputStream in = new RequestLoggerInputStream(new ByteArrayInputStream(TEST_BYTES_UTF_8), 10, "> ", new StringBuilder("request\n"),
+                loggingPublisher);
+        // when
+        byte[] actual = IOUtils.toByteArray(in);
+        // then
+        Assertions.assertArrayEquals(TEST_BYTES_UTF_8, actual);
+        Assertions.assertEquals(List.of("request\n> entity: [" + TEST_TEXT.substring(0, 10) + "]\n"), published);
+    }
+
+    @Test
+    @DisplayName("Testing single byte read decodes the entity as UTF-8")
+    void singleByteRead() throws IOException {
+        // given
+        RequestLoggerInputStream in = new RequestLoggerInputStream(new ByteArrayInputStream(TEST_BYTES_UTF_8), -1, "> ", new StringBuilder(),
+                loggingPublisher);
+        // when
+        while (in.read() != -1) {
+            // read until the end of stream
+        }
+        // then
+        Assertions.assertEquals(List.of("> entity: [" + TEST_TEXT + "]\n"), published);
+    }
+
+    @Test
+    @DisplayName("Testing close logs the partially read entity")
+    void closeLogsPartialEntity() throws IOException {
+        // given
+        RequestLoggerInputStream in = new RequestLoggerInputStream(new ByteArrayInputStream(TEST_BYTES_UTF_8), -1, "> ", new StringBuilder(),
+                loggingPublisher);
+        // when
+        in.read(new byte[4], 0, 4);
+        in.close();
+        // then
+        Assertions.assertEquals(List.of("> entity: [This]\n"), published);
+    }
+
+    @Test
+    @DisplayName("Testing the log event keeps the logger class of the caller")
+    void logSource() throws IOException {
+        // given
+        RequestLoggerInputStream in = new RequestLoggerInputStream(new ByteArrayInputStream(TEST_BYTES_UTF_8), -1, "> ", new StringBuilder(),
+                loggingPublisher, RequestLoggerInputStreamTest.class);
+        // when
+        IOUtils.toByteArray(in);
+        // then
+        Assertions.assertEquals(List.of(RequestLoggerInputStreamTest.class), publishedSources);
+    }
+}
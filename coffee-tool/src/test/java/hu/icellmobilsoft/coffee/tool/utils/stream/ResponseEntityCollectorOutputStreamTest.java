@@ -64,4 +64,23 @@ class ResponseEntityCollectorOutputStreamTest {
         Assertions.assertEquals(TEST_TEXT, actualString);
         Assertions.assertArrayEquals(TEST_BYTES_UTF_8, actualCollectedBytes);
     }
+
+    /**
+     * Test outputStream collector with limit
+     *
+     * @throws IOException
+     *             on error
+     */
+    @Test
+    void outputStreamCollectorLimitTest() throws IOException {
+        // given
+        ByteArrayOutputStream original = new ByteArrayOutputStream(TEST_BYTES_UTF_8.length);
+        ResponseEntityCollectorOutputStream out = new ResponseEntityCollectorOutputStream(original, 10);
+        // when
+        out.write(TEST_BYTES_UTF_8, 0, 6);
+        out.write(TEST_BYTES_UTF_8, 6, TEST_BYTES_UTF_8.length - 6);
+        // then
+        Assertions.assertArrayEquals(TEST_BYTES_UTF_8, original.toByteArray());
+        Assertions.assertEquals(TEST_TEXT.substring(0, 10), new String(out.getEntity(), StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,112 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.tool.utils.string;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Testing {@link SensitiveValueMasker}
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing SensitiveValueMasker")
+class SensitiveValueMaskerTest {
+
+    private static final SensitiveValueMasker MASKER = new SensitiveValueMasker(StringHelper.DEFAULT_PATTERN);
+
+    @DisplayName("Testing mask(String) result is the same as the regex replacement")
+    @ParameterizedTest(name = "Testing mask(\"{0}\")")
+    // given
+    @MethodSource("maskTestParams")
+    void maskSameAsRegex(String text) {
+        // when
+        String actual = MASKER.mask(text);
+        // then
+        Assertions.assertEquals(regexMask(text, StringHelper.DEFAULT_PATTERN), actual);
+    }
+
+    @Test
+    @DisplayName("Testing mask(CharSequence, StringBuilder) appends the masked text")
+    void maskAppend() {
+        // given
+        StringBuilder out = new StringBuilder("entity: [");
+        // when
+        MASKER.mask("{\"userPassword\": \"abc\", \"userName\": \"abc\"}", out);
+        // then
+        Assertions.assertEquals("entity: [{\"userPassword\": \"*\", \"userName\": \"abc\"}", out.toString());
+    }
+
+    @Test
+    @DisplayName("Testing escaped quote in JSON value")
+    void maskEscapedQuote() {
+        // given
+        String text = "{\"password\":\"a\\\"b\",\"name\":\"c\"}";
+        // when
+        String actual = MASKER.mask(text);
+        // then
+        Assertions.assertEquals("{\"password\":\"*\",\"name\":\"c\"}", actual);
+    }
+
+    @Test
+    @DisplayName("Testing without key pattern")
+    void maskWithoutPattern() {
+        // given
+        SensitiveValueMasker masker = new SensitiveValueMasker(null, " ");
+        String text = "<password>abc</password>";
+        // when
+        String actual = masker.mask(text);
+        // then
+        Assertions.assertSame(text, actual);
+        Assertions.assertFalse(masker.isSensitiveKey("password"));
+    }
+
+    static Stream<Arguments> maskTestParams() {
+        return Stream.of(//
+                Arguments.arguments("<test><user><userName>Teszt User</userName><password>abc</password></user></test>"), //
+                Arguments.arguments("<test>\n  <verySecretToken>abc</verySecretToken>\n  <Password>abc\ndef</Password>\n</test>"), //
+                Arguments.arguments("<ns:password>abc</ns:password><password/><password attr=\"x\">abc</password>"), //
+                Arguments.arguments("<userPassword>abc<userPassword>abc"), //
+                Arguments.arguments("{\"user\":{\"userName\":\"Teszt User\",\"password\":\"abc\",\"secret\" : \"abc\"}}"), //
+                Arguments.arguments("{\n  \"pass\":  \"abc\",\n  \"passwords\": [\"abc\"],\n  \"secretCount\": 1,\n  \"passEmpty\": \"\"\n}"), //
+                Arguments.arguments("\"password\":\"abc\ndef\" \"secret\":\"a\""), //
+                Arguments.arguments("text without key \"pass\" or <secret"), //
+                Arguments.arguments("{\"userName\":\"abc\"}"), //
+                Arguments.arguments(""), //
+                Arguments.arguments((String) null)//
+        );
+    }
+
+    private static String regexMask(String text, String... keyPatterns) {
+        String result = text;
+        for (String keyPattern : keyPatterns) {
+            result = StringUtil.replaceAllIgnoreCase(result, "<(" + keyPattern + ")>(.*?)<", "<$1>*<");
+            result = StringUtil.replaceAllIgnoreCase(result, "(\"" + keyPattern + "\" *?: *?)\"(.*?)\"", "$1\"*\"");
+        }
+        return result;
+    }
+}
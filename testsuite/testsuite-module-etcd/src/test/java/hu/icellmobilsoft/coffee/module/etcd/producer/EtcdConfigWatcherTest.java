@@ -0,0 +1,170 @@
+/*-
+ * #%L
+ * Coffee
+ * %%
+ * Copyright (C) 2020 - 2026 i-Cell Mobilsoft Zrt.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package hu.icellmobilsoft.coffee.module.etcd.producer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import hu.icellmobilsoft.coffee.se.api.exception.BaseException;
+import hu.icellmobilsoft.coffee.tool.utils.string.RandomUtil;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.KV;
+
+/**
+ * EtcdConfigWatcher tests
+ *
+ * @author imre.scheffer
+ * @since 2.8.0
+ */
+@DisplayName("Testing EtcdConfigWatcher")
+public class EtcdConfigWatcherTest extends BaseEtcdTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static EtcdConfigSourceCache cache;
+
+    private static EtcdConfigWatcher watcher;
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        cache = EtcdConfigSourceCache.instance();
+        watcher = new EtcdConfigWatcher(cache);
+        watcher.start();
+        await(() -> watcher.getRevision() > 0, "the watch is not started");
+    }
+
+    @Test
+    @DisplayName("changed key is invalidated")
+    public void putInvalidates() throws Exception {
+        // given
+        String key = "TEST_WATCH_KEY_" + RandomUtil.generateId();
+        put(key, "value1");
+        Assertions.assertEquals(Optional.of("value1"), cache.getValue(key));
+        // when
+        put(key, "value2");
+        // then
+        awaitValue(key, Optional.of("value2"));
+        await(() -> cache.getPropertyNames(Set::of).contains(key), "the key is not added to the property names");
+    }
+
+    @Test
+    @DisplayName("deleted key is invalidated and removed from the property names")
+    public void deleteInvalidates() throws Exception {
+        // given
+        String key = "TEST_WATCH_KEY_" + RandomUtil.generateId();
+        put(key, "value1");
+        Assertions.assertEquals(Optional.of("value1"), cache.getValue(key));
+        await(() -> cache.getPropertyNames(Set::of).contains(key), "the key is not added to the property names");
+        // when
+        kv().delete(bytes(key)).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        // then
+        awaitValue(key, Optional.empty());
+        await(() -> !cache.getPropertyNames(Set::of).contains(key), "the key is not removed from the property names");
+    }
+
+    @Test
+    @DisplayName("key referencing the changed key is invalidated")
+    public void referencingKeyInvalidates() throws Exception {
+        // given
+        String target = "TEST_WATCH_TARGET_" + RandomUtil.generateId();
+        String referencing = "TEST_WATCH_REF_" + RandomUtil.generateId();
+        put(target, "value1");
+        put(referencing, "{" + target + "}");
+        Assertions.assertEquals(Optional.of("value1"), cache.getValue(referencing));
+        // when
+        put(target, "value2");
+        // then
+        awaitValue(referencing, Optional.of("value2"));
+    }
+
+    @Test
+    @DisplayName("watch is resumed from the last revision after a disconnect")
+    public void resumeAfterDisconnect() throws Exception {
+        // given
+        String key = "TEST_WATCH_KEY_" + RandomUtil.generateId();
+        put(key, "value1");
+        Assertions.assertEquals(Optional.of("value1"), cache.getValue(key));
+        // when
+        watcher.onError(new IllegalStateException("test disconnect"));
+        // changed while the watch is closed
+        long revision = put(key, "value2");
+        // then
+        awaitValue(key, Optional.of("value2"));
+        await(() -> watcher.getRevision() >= revision, "the watch is not resumed");
+    }
+
+    @Test
+    @DisplayName("keys are read again if the last revision is compacted")
+    public void resyncAfterCompaction() throws Exception {
+        // given
+        String key = "TEST_WATCH_KEY_" + RandomUtil.generateId();
+        put(key, "value1");
+        Assertions.assertEquals(Optional.of("value1"), cache.getValue(key));
+        // when
+        watcher.onError(new IllegalStateException("test disconnect"));
+        // changed and compacted while the watch is closed, the watch can not be resumed from the last revision
+        put(key, "value2");
+        long revision = put(key, "value3");
+        kv().compact(revision).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        // then
+        awaitValue(key, Optional.of("value3"));
+        await(() -> watcher.getRevision() >= revision, "the keys are not read again");
+    }
+
+    private static KV kv() throws BaseException {
+        return DefaultEtcdConfigSource.getEtcdClient().getKVClient();
+    }
+
+    private static ByteSequence bytes(String value) {
+        return ByteSequence.from(value, StandardCharsets.UTF_8);
+    }
+
+    private static long put(String key, String value) throws Exception {
+        return kv().put(bytes(key), bytes(value)).get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getHeader().getRevision();
+    }
+
+    private static void awaitValue(String key, Optional<String> expected) throws Exception {
+        await(() -> {
+            try {
+                return expected.equals(cache.getValue(key));
+            } catch (BaseException e) {
+                return false;
+            }
+        }, "the cached value of [" + key + "] is not " + expected);
+    }
+
+    private static void await(Supplier<Boolean> condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!condition.get()) {
+            if (System.nanoTime() > deadline) {
+                Assertions.fail(message);
+            }
+            Thread.sleep(50);
+        }
+    }
+}